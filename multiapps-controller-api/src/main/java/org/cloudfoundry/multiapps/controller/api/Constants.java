@@ -15,6 +15,8 @@ public class Constants {
         public static final String LOG_ID = "logId";
         public static final String SPACE_GUID = "spaceGuid";
         public static final String JOB_ID = "jobId";
+        public static final String SESSION_ID = "sessionId";
+        public static final String CHUNK_NUMBER = "chunkNumber";
 
     }
 
@@ -68,6 +70,10 @@ public class Constants {
         public static final String OPERATION_ACTIONS = OPERATION + "/actions";
         public static final String ASYNC_UPLOAD = "/async";
         public static final String ASYNC_UPLOAD_JOB = "/jobs/{" + PathVariables.JOB_ID + "}";
+        public static final String UPLOAD_SESSIONS = "/upload-sessions";
+        public static final String UPLOAD_SESSION = UPLOAD_SESSIONS + "/{" + PathVariables.SESSION_ID + "}";
+        public static final String UPLOAD_SESSION_CHUNK = UPLOAD_SESSION + "/chunks/{" + PathVariables.CHUNK_NUMBER + "}";
+        public static final String UPLOAD_SESSION_COMMIT = UPLOAD_SESSION + "/commit";
 
     }
 
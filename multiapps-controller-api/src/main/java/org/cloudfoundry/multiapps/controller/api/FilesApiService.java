@@ -2,19 +2,31 @@ package org.cloudfoundry.multiapps.controller.api;
 
 import java.util.List;
 
+import javax.servlet.http.HttpServletRequest;
+
 import org.cloudfoundry.multiapps.controller.api.model.AsyncUploadResult;
 import org.cloudfoundry.multiapps.controller.api.model.FileMetadata;
 import org.cloudfoundry.multiapps.controller.api.model.FileUrl;
+import org.cloudfoundry.multiapps.controller.api.model.UploadSession;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.multipart.MultipartHttpServletRequest;
 
 public interface FilesApiService {
 
     ResponseEntity<List<FileMetadata>> getFiles(String spaceGuid, String namespace);
 
-    ResponseEntity<FileMetadata> uploadFile(MultipartHttpServletRequest request, String spaceGuid, String namespace);
+    ResponseEntity<FileMetadata> uploadFile(HttpServletRequest request, String spaceGuid, String namespace);
 
     ResponseEntity<Void> startUploadFromUrl(String spaceGuid, String namespace, FileUrl fileUrl);
 
     ResponseEntity<AsyncUploadResult> getUploadFromUrlJob(String spaceGuid, String namespace, String jobId);
+
+    ResponseEntity<UploadSession> startUploadSession(String spaceGuid, String namespace, UploadSession uploadSession);
+
+    ResponseEntity<UploadSession> getUploadSession(String spaceGuid, String namespace, String sessionId);
+
+    ResponseEntity<Void> uploadChunk(HttpServletRequest request, String spaceGuid, String namespace, String sessionId, int chunkNumber);
+
+    ResponseEntity<FileMetadata> commitUploadSession(String spaceGuid, String namespace, String sessionId);
+
+    ResponseEntity<Void> deleteUploadSession(String spaceGuid, String namespace, String sessionId);
 }
@@ -0,0 +1,52 @@
+package org.cloudfoundry.multiapps.controller.api.model;
+
+import java.util.List;
+
+import org.cloudfoundry.multiapps.common.Nullable;
+import org.immutables.value.Value;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import io.swagger.annotations.ApiModelProperty;
+
+@Value.Immutable
+@JsonSerialize(as = ImmutableUploadSession.class)
+@JsonDeserialize(as = ImmutableUploadSession.class)
+public interface UploadSession {
+
+    @Nullable
+    @ApiModelProperty(readOnly = true)
+    @JsonProperty("id")
+    String getId();
+
+    @ApiModelProperty
+    @JsonProperty("file_name")
+    String getFileName();
+
+    @ApiModelProperty
+    @JsonProperty("size")
+    long getSize();
+
+    @Nullable
+    @ApiModelProperty
+    @JsonProperty("chunk_size")
+    Long getChunkSize();
+
+    @Nullable
+    @ApiModelProperty
+    @JsonProperty("digest")
+    String getDigest();
+
+    @Nullable
+    @ApiModelProperty(readOnly = true)
+    @JsonProperty("chunks_count")
+    Integer getChunksCount();
+
+    @Nullable
+    @ApiModelProperty(readOnly = true)
+    @JsonProperty("received_chunks")
+    List<Integer> getReceivedChunks();
+
+}
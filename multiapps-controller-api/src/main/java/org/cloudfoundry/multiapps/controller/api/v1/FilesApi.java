@@ -3,6 +3,7 @@ package org.cloudfoundry.multiapps.controller.api.v1;
 import java.util.List;
 
 import javax.inject.Inject;
+import javax.servlet.http.HttpServletRequest;
 
 import org.cloudfoundry.multiapps.controller.api.Constants.Endpoints;
 import org.cloudfoundry.multiapps.controller.api.Constants.PathVariables;
@@ -12,16 +13,18 @@ import org.cloudfoundry.multiapps.controller.api.FilesApiService;
 import org.cloudfoundry.multiapps.controller.api.model.AsyncUploadResult;
 import org.cloudfoundry.multiapps.controller.api.model.FileMetadata;
 import org.cloudfoundry.multiapps.controller.api.model.FileUrl;
+import org.cloudfoundry.multiapps.controller.api.model.UploadSession;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.multipart.MultipartHttpServletRequest;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -57,7 +60,7 @@ public class FilesApi {
         }) }, tags = {})
     @ApiResponses(value = { @ApiResponse(code = 201, message = "Created", response = FileMetadata.class) })
     public ResponseEntity<FileMetadata>
-           uploadFile(MultipartHttpServletRequest request,
+           uploadFile(HttpServletRequest request,
                       @ApiParam(value = "GUID of space you wish to deploy in") @PathVariable(PathVariables.SPACE_GUID) String spaceGuid,
                       @ApiParam(value = "file namespace") @RequestParam(name = RequestVariables.NAMESPACE, required = false) String namespace) {
         return delegate.uploadFile(request, spaceGuid, namespace);
@@ -90,4 +93,71 @@ public class FilesApi {
         return delegate.getUploadFromUrlJob(spaceGuid, namespace, jobId);
     }
 
+    @PostMapping(path = Endpoints.UPLOAD_SESSIONS, consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiOperation(value = "", nickname = "startUploadSession", notes = "Starts a resumable upload of a Multi Target Application archive, whose content is uploaded in chunks", response = UploadSession.class, authorizations = {
+        @Authorization(value = "oauth2", scopes = {
+
+        }) }, tags = {})
+    @ApiResponses(value = { @ApiResponse(code = 201, message = "Created", response = UploadSession.class) })
+    public ResponseEntity<UploadSession>
+           startUploadSession(@ApiParam(value = "GUID of space you wish to deploy in") @PathVariable(PathVariables.SPACE_GUID) String spaceGuid,
+                              @ApiParam(value = "file namespace") @RequestParam(name = RequestVariables.NAMESPACE, required = false) String namespace,
+                              @ApiParam(value = "Name and size of the file") @RequestBody UploadSession uploadSession) {
+        return delegate.startUploadSession(spaceGuid, namespace, uploadSession);
+    }
+
+    @GetMapping(path = Endpoints.UPLOAD_SESSION, produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiOperation(value = "", nickname = "getUploadSession", notes = "Gets an upload session with the numbers of the chunks received so far", response = UploadSession.class, authorizations = {
+        @Authorization(value = "oauth2", scopes = {
+
+        }) }, tags = {})
+    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK", response = UploadSession.class) })
+    public ResponseEntity<UploadSession>
+           getUploadSession(@ApiParam(value = "GUID of space you wish to deploy in") @PathVariable(PathVariables.SPACE_GUID) String spaceGuid,
+                            @ApiParam(value = "file namespace") @RequestParam(name = RequestVariables.NAMESPACE, required = false) String namespace,
+                            @ApiParam(value = "ID of the upload session") @PathVariable(PathVariables.SESSION_ID) String sessionId) {
+        return delegate.getUploadSession(spaceGuid, namespace, sessionId);
+    }
+
+    @PutMapping(path = Endpoints.UPLOAD_SESSION_CHUNK, consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @ApiOperation(value = "", nickname = "uploadChunk", notes = "Uploads a chunk of the file of an upload session, replacing any chunk previously uploaded with the same number", authorizations = {
+        @Authorization(value = "oauth2", scopes = {
+
+        }) }, tags = {})
+    @ApiResponses(value = { @ApiResponse(code = 204, message = "No Content") })
+    public ResponseEntity<Void>
+           uploadChunk(HttpServletRequest request,
+                       @ApiParam(value = "GUID of space you wish to deploy in") @PathVariable(PathVariables.SPACE_GUID) String spaceGuid,
+                       @ApiParam(value = "file namespace") @RequestParam(name = RequestVariables.NAMESPACE, required = false) String namespace,
+                       @ApiParam(value = "ID of the upload session") @PathVariable(PathVariables.SESSION_ID) String sessionId,
+                       @ApiParam(value = "Number of the chunk, starting from 1") @PathVariable(PathVariables.CHUNK_NUMBER) int chunkNumber) {
+        return delegate.uploadChunk(request, spaceGuid, namespace, sessionId, chunkNumber);
+    }
+
+    @PostMapping(path = Endpoints.UPLOAD_SESSION_COMMIT, produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiOperation(value = "", nickname = "commitUploadSession", notes = "Assembles the file of an upload session from its chunks", response = FileMetadata.class, authorizations = {
+        @Authorization(value = "oauth2", scopes = {
+
+        }) }, tags = {})
+    @ApiResponses(value = { @ApiResponse(code = 201, message = "Created", response = FileMetadata.class) })
+    public ResponseEntity<FileMetadata>
+           commitUploadSession(@ApiParam(value = "GUID of space you wish to deploy in") @PathVariable(PathVariables.SPACE_GUID) String spaceGuid,
+                               @ApiParam(value = "file namespace") @RequestParam(name = RequestVariables.NAMESPACE, required = false) String namespace,
+                               @ApiParam(value = "ID of the upload session") @PathVariable(PathVariables.SESSION_ID) String sessionId) {
+        return delegate.commitUploadSession(spaceGuid, namespace, sessionId);
+    }
+
+    @DeleteMapping(path = Endpoints.UPLOAD_SESSION)
+    @ApiOperation(value = "", nickname = "deleteUploadSession", notes = "Aborts an upload session and deletes the chunks received so far", authorizations = {
+        @Authorization(value = "oauth2", scopes = {
+
+        }) }, tags = {})
+    @ApiResponses(value = { @ApiResponse(code = 204, message = "No Content") })
+    public ResponseEntity<Void>
+           deleteUploadSession(@ApiParam(value = "GUID of space you wish to deploy in") @PathVariable(PathVariables.SPACE_GUID) String spaceGuid,
+                               @ApiParam(value = "file namespace") @RequestParam(name = RequestVariables.NAMESPACE, required = false) String namespace,
+                               @ApiParam(value = "ID of the upload session") @PathVariable(PathVariables.SESSION_ID) String sessionId) {
+        return delegate.deleteUploadSession(spaceGuid, namespace, sessionId);
+    }
+
 }
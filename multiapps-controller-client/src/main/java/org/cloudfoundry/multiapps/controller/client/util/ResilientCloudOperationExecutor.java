@@ -33,6 +33,11 @@ public class ResilientCloudOperationExecutor extends ResilientOperationExecutor
         return (ResilientCloudOperationExecutor) super.withWaitTimeBetweenRetriesInMillis(waitTimeBetweenRetriesInMillis);
     }
 
+    @Override
+    public ResilientCloudOperationExecutor withMaxWaitTimeBetweenRetriesInMillis(long maxWaitTimeBetweenRetriesInMillis) {
+        return (ResilientCloudOperationExecutor) super.withMaxWaitTimeBetweenRetriesInMillis(maxWaitTimeBetweenRetriesInMillis);
+    }
+
     public ResilientCloudOperationExecutor withStatusesToIgnore(HttpStatus... statusesToIgnore) {
         this.additionalStatusesToIgnore = new HashSet<>(Arrays.asList(statusesToIgnore));
         return this;
@@ -1,6 +1,7 @@
 package org.cloudfoundry.multiapps.controller.client.util;
 
 import java.text.MessageFormat;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Supplier;
 
 import org.cloudfoundry.multiapps.common.util.MiscUtil;
@@ -9,15 +10,24 @@ import org.slf4j.LoggerFactory;
 
 import io.netty.handler.timeout.TimeoutException;
 
+/**
+ * Retries failed operations. The wait time between retries grows exponentially, starting from the configured wait time and limited by the
+ * configured maximum wait time. Each wait is at least half of the current limit, so that a degraded service is given time to recover, and
+ * a random duration up to the limit, so that the retries of operations which failed at the same time are spread over time instead of being
+ * executed together.
+ */
 public class ResilientOperationExecutor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ResilientOperationExecutor.class);
 
     private static final long DEFAULT_RETRY_COUNT = 3;
     private static final long DEFAULT_WAIT_TIME_BETWEEN_RETRIES_IN_MILLIS = 5000;
+    private static final long DEFAULT_MAX_WAIT_TIME_BETWEEN_RETRIES_IN_MILLIS = 60000;
+    private static final int MAX_BACKOFF_EXPONENT = 16;
 
     private long retryCount = DEFAULT_RETRY_COUNT;
     private long waitTimeBetweenRetriesInMillis = DEFAULT_WAIT_TIME_BETWEEN_RETRIES_IN_MILLIS;
+    private long maxWaitTimeBetweenRetriesInMillis = DEFAULT_MAX_WAIT_TIME_BETWEEN_RETRIES_IN_MILLIS;
 
     public ResilientOperationExecutor withRetryCount(long retryCount) {
         this.retryCount = retryCount;
@@ -29,6 +39,11 @@ public class ResilientOperationExecutor {
         return this;
     }
 
+    public ResilientOperationExecutor withMaxWaitTimeBetweenRetriesInMillis(long maxWaitTimeBetweenRetriesInMillis) {
+        this.maxWaitTimeBetweenRetriesInMillis = maxWaitTimeBetweenRetriesInMillis;
+        return this;
+    }
+
     public void execute(Runnable operation) {
         execute((Supplier<Void>) () -> {
             operation.run();
@@ -42,7 +57,7 @@ public class ResilientOperationExecutor {
                 return operation.get();
             } catch (RuntimeException e) {
                 handle(e);
-                MiscUtil.sleep(waitTimeBetweenRetriesInMillis);
+                MiscUtil.sleep(getWaitTimeBeforeRetry(i));
             }
         }
         return operation.get();
@@ -54,12 +69,31 @@ public class ResilientOperationExecutor {
                 return operation.get();
             } catch (Exception e) {
                 LOGGER.warn(MessageFormat.format("Retrying operation that failed with message: {0}", e.getMessage()), e);
-                MiscUtil.sleep(waitTimeBetweenRetriesInMillis);
+                MiscUtil.sleep(getWaitTimeBeforeRetry(i));
             }
         }
         return operation.get();
     }
 
+    protected long getWaitTimeBeforeRetry(int attempt) {
+        long waitTimeLimit = getWaitTimeLimit(attempt);
+        if (waitTimeLimit <= 0) {
+            return 0;
+        }
+        long minWaitTime = waitTimeLimit / 2;
+        return minWaitTime + ThreadLocalRandom.current()
+                                              .nextLong(waitTimeLimit - minWaitTime + 1);
+    }
+
+    private long getWaitTimeLimit(int attempt) {
+        int backoffExponent = Math.min(attempt - 1, MAX_BACKOFF_EXPONENT);
+        // Compared before shifting, so that large wait times do not overflow
+        if (waitTimeBetweenRetriesInMillis > maxWaitTimeBetweenRetriesInMillis >> backoffExponent) {
+            return maxWaitTimeBetweenRetriesInMillis;
+        }
+        return waitTimeBetweenRetriesInMillis << backoffExponent;
+    }
+
     protected void handle(RuntimeException e) {
         if (e instanceof TimeoutException) {
             LOGGER.warn("Retrying operation that failed with exceeded timeout while waiting response from Cloud Controller", e);
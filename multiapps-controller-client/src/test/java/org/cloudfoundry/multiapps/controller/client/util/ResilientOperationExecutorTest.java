@@ -0,0 +1,94 @@
+package org.cloudfoundry.multiapps.controller.client.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class ResilientOperationExecutorTest {
+
+    private static final long WAIT_TIME_BETWEEN_RETRIES_IN_MILLIS = 1000;
+    private static final long MAX_WAIT_TIME_BETWEEN_RETRIES_IN_MILLIS = 10000;
+
+    static Stream<Arguments> testWaitTimeBeforeRetry() {
+        return Stream.of(
+//@formatter:off
+            Arguments.of(1, 500, 1000),
+            Arguments.of(2, 1000, 2000),
+            Arguments.of(3, 2000, 4000),
+            Arguments.of(4, 4000, 8000),
+            Arguments.of(5, 5000, 10000),
+            Arguments.of(100, 5000, 10000)
+//@formatter:on
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testWaitTimeBeforeRetry(int attempt, long expectedMinWaitTime, long expectedMaxWaitTime) {
+        ResilientOperationExecutor executor = new ResilientOperationExecutor();
+        executor.withWaitTimeBetweenRetriesInMillis(WAIT_TIME_BETWEEN_RETRIES_IN_MILLIS)
+                .withMaxWaitTimeBetweenRetriesInMillis(MAX_WAIT_TIME_BETWEEN_RETRIES_IN_MILLIS);
+
+        for (int i = 0; i < 100; i++) {
+            long waitTime = executor.getWaitTimeBeforeRetry(attempt);
+            assertTrue(waitTime >= expectedMinWaitTime && waitTime <= expectedMaxWaitTime,
+                       "Wait time " + waitTime + " is not between " + expectedMinWaitTime + " and " + expectedMaxWaitTime);
+        }
+    }
+
+    @Test
+    void testWaitTimeBeforeRetryDoesNotOverflow() {
+        ResilientOperationExecutor executor = new ResilientOperationExecutor();
+        executor.withWaitTimeBetweenRetriesInMillis(Long.MAX_VALUE / 2)
+                .withMaxWaitTimeBetweenRetriesInMillis(Long.MAX_VALUE / 2);
+
+        assertTrue(executor.getWaitTimeBeforeRetry(10) >= Long.MAX_VALUE / 4);
+    }
+
+    @Test
+    void testNoWaitTimeBeforeRetry() {
+        ResilientOperationExecutor executor = new ResilientOperationExecutor().withWaitTimeBetweenRetriesInMillis(0);
+
+        assertEquals(0, executor.getWaitTimeBeforeRetry(3));
+    }
+
+    @Test
+    void testOperationIsRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        ResilientOperationExecutor executor = new ResilientOperationExecutor().withRetryCount(3)
+                                                                              .withWaitTimeBetweenRetriesInMillis(0);
+
+        String result = executor.execute((Supplier<String>) () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("Failed");
+            }
+            return "result";
+        });
+
+        assertEquals("result", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void testExceptionIsThrownWhenRetriesAreExhausted() {
+        AtomicInteger attempts = new AtomicInteger();
+        ResilientOperationExecutor executor = new ResilientOperationExecutor().withRetryCount(3)
+                                                                              .withWaitTimeBetweenRetriesInMillis(0);
+
+        assertThrows(IllegalStateException.class, () -> executor.execute((Runnable) () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("Failed");
+        }));
+        assertEquals(3, attempts.get());
+    }
+
+}
@@ -78,6 +78,9 @@ public final class Messages {
     public static final String ENVIRONMENT_VARIABLE_IS_NOT_SET_USING_DEFAULT = "Environment variable \"{0}\" is not set. Using default \"{1}\"...";
     public static final String OPTIONAL_RESOURCE_IS_NOT_SERVICE = "Optional resource \"{0}\" it will be not created because it''s not a service";
     public static final String SERVICE_IS_NOT_ACTIVE = "Service \"{0}\" is inactive and will not be processed";
+    public static final String COULD_NOT_REFRESH_TOKEN_KEY = "Could not refresh the token key: {0}";
+    public static final String OBJECT_STORE_READ_AHEAD_CHUNK_SIZE_0_IS_NOT_BETWEEN_1_AND_2_USING_DEFAULT_3 = "Object store read-ahead chunk size {0} is not between {1} and {2}. Using default: {3}";
+    public static final String COULD_NOT_DELETE_SURPLUS_TOKENS = "Could not delete surplus access tokens: {0}";
 
     public static final String INVALID_VCAP_APPLICATION = "Invalid VCAP_APPLICATION \"{0}\"";
     public static final String IGNORING_LABEL_FOR_USER_PROVIDED_SERVICE = "Ignoring label \"{0}\" for service \"{1}\", as user-provided services do not support labels!";
@@ -166,6 +169,17 @@ public final class Messages {
     public static final String ABORTED_OPERATIONS_TTL_IN_SECONDS = "Aborted operations TTL in seconds: {0}";
     public static final String SPRING_SCHEDULER_TASK_EXECUTOR_THREADS = "Spring scheduler task executor threads: {0}";
     public static final String FILES_ASYNC_UPLOAD_EXECUTOR_MAX_THREADS = "Files async executor max threads: {0}";
+    public static final String MODULES_EXTRACTION_MAX_THREADS = "Modules extraction max threads: {0}";
+    public static final String MODULES_EXTRACTION_MIN_FREE_DISK_SPACE = "Modules extraction min free disk space: {0}";
+    public static final String OBJECT_STORE_READ_AHEAD_CHUNK_SIZE = "Object store read-ahead chunk size: {0}";
+    public static final String OBJECT_STORE_READ_AHEAD_WINDOW = "Object store read-ahead window: {0}";
+    public static final String OBJECT_STORE_READ_AHEAD_MAX_MEMORY = "Object store read-ahead max memory: {0}";
+    public static final String OBJECT_STORE_MAX_THREADS = "Object store max threads: {0}";
+    public static final String COMPRESS_PROCESS_VARIABLES = "Compress process variables: {0}";
+    public static final String CONTROLLER_CLIENT_PAGE_FETCH_CONCURRENCY = "Controller client page fetch concurrency: {0}";
+    public static final String RATE_LIMIT_UPLOADS_PER_HOUR = "Rate limit for uploads per hour: {0}";
+    public static final String RATE_LIMIT_POLLING_PER_HOUR = "Rate limit for polling requests per hour: {0}";
+    public static final String RATE_LIMIT_MUTATIONS_PER_HOUR = "Rate limit for modifying requests per hour: {0}";
     public static final String ON_START_FILES_CLEANER_WITHOUT_CONTENT_ENABLED_0 = "On start files cleaner without content enabled: {0}";
 
     // Debug messages
@@ -177,6 +191,7 @@ public final class Messages {
     public static final String PARSED_TOKEN_TYPE_0 = "Parsed token type: {0}";
     public static final String PARSED_TOKEN_EXPIRES_IN_0 = "Parsed token expires in: {0}";
     public static final String PARSER_CHAIN_0 = "Parser chain: {0}";
+    public static final String DELETED_SURPLUS_TOKENS_0 = "Deleted surplus access tokens: {0}";
 
     // Audit log
 
@@ -189,6 +204,7 @@ public final class Messages {
     public static final String UPLOAD_FILE_AUDIT_LOG_MESSAGE = "Upload file in space with id: {0}";
     public static final String UPLOAD_FILE_FROM_URL_AUDIT_LOG_MESSAGE = "Upload file from url in space with id: {0}";
     public static final String GET_INFO_FOR_UPLOAD_URL_JOB_AUDIT_LOG_MESSAGE = "Get info for upload from url job in space with id: {0}";
+    public static final String START_UPLOAD_SESSION_AUDIT_LOG_MESSAGE = "Start upload session in space with id: {0}";
 
     public static final String LIST_OPERATIONS_AUDIT_LOG_MESSAGE = "List operations for mta in space with id: {0}";
     public static final String LIST_OPERATION_ACTIONS_AUDIT_LOG_MESSAGE = "List operation action in space with id: {0}";
@@ -218,6 +234,7 @@ public final class Messages {
     public static final String FILE_UPLOAD_AUDIT_LOG_CONFIG = "File upload";
     public static final String FILE_UPLOAD_FROM_URL_AUDIT_LOG_CONFIG = "File upload from url";
     public static final String UPLOAD_FROM_URL_JOB_INFO_AUDIT_LOG_CONFIG = "Upload from url job info";
+    public static final String UPLOAD_SESSION_START_AUDIT_LOG_CONFIG = "Upload session start";
 
     public static final String OPERATION_LIST_AUDIT_LOG_CONFIG = "Operation list";
     public static final String OPERATION_ACTIONS_LIST_AUDIT_LOG_CONFIG = "Operation actions list";
@@ -6,6 +6,7 @@ import java.util.Map;
 import java.util.Objects;
 
 import org.cloudfoundry.multiapps.controller.api.model.FileMetadata;
+import org.cloudfoundry.multiapps.controller.api.model.UploadSession;
 import org.cloudfoundry.multiapps.controller.core.Messages;
 import org.cloudfoundry.multiapps.controller.core.auditlogging.model.AuditLogConfiguration;
 import org.cloudfoundry.multiapps.controller.core.auditlogging.model.ConfigurationChangeActions;
@@ -19,6 +20,8 @@ public class FilesApiServiceAuditLog {
     private static final String FILE_ID_PROPERTY_NAME = "fileId";
     private static final String SIZE_PROPERTY_NAME = "size";
     private static final String DIGEST_PROPERTY_NAME = "digest";
+    private static final String SESSION_ID_PROPERTY_NAME = "sessionId";
+    private static final String FILE_NAME_PROPERTY_NAME = "fileName";
 
     private final AuditLoggingFacade auditLoggingFacade;
 
@@ -65,6 +68,16 @@ public class FilesApiServiceAuditLog {
                                                                                                                                     jobId)));
     }
 
+    public void logStartUploadSession(String username, String spaceGuid, UploadSession uploadSession) {
+        String performedAction = MessageFormat.format(Messages.START_UPLOAD_SESSION_AUDIT_LOG_MESSAGE, spaceGuid);
+        auditLoggingFacade.logConfigurationChangeAuditLog(new AuditLogConfiguration(username,
+                                                                                    spaceGuid,
+                                                                                    performedAction,
+                                                                                    Messages.UPLOAD_SESSION_START_AUDIT_LOG_CONFIG,
+                                                                                    createUploadSessionConfigurationIdentifier(uploadSession)),
+                                                          ConfigurationChangeActions.CONFIGURATION_CREATE);
+    }
+
     private Map<String, String> createFileMetadataConfigurationIdentifier(FileMetadata fileMetadata) {
         Map<String, String> identifiers = new HashMap<>();
 
@@ -77,6 +90,16 @@ public class FilesApiServiceAuditLog {
         return identifiers;
     }
 
+    private Map<String, String> createUploadSessionConfigurationIdentifier(UploadSession uploadSession) {
+        Map<String, String> identifiers = new HashMap<>();
+
+        identifiers.put(SESSION_ID_PROPERTY_NAME, uploadSession.getId());
+        identifiers.put(FILE_NAME_PROPERTY_NAME, uploadSession.getFileName());
+        identifiers.put(SIZE_PROPERTY_NAME, Long.toString(uploadSession.getSize()));
+
+        return identifiers;
+    }
+
     private Map<String, String> createAuditLogGetFilesConfigurationIdentifier(String namespace) {
         Map<String, String> identifiers = new HashMap<>();
 
@@ -13,6 +13,7 @@ import org.springframework.beans.factory.DisposableBean;
 
 import com.sap.cloudfoundry.client.facade.CloudControllerClient;
 import com.sap.cloudfoundry.client.facade.CloudOperationException;
+import com.sap.cloudfoundry.client.facade.adapters.LogCacheClient;
 
 @Named
 public class CloudControllerClientProvider implements DisposableBean {
@@ -23,6 +24,7 @@ public class CloudControllerClientProvider implements DisposableBean {
     private TokenService tokenService;
 
     private final CachedMap<String, CloudControllerClient> clients = new CachedMap<>(Duration.ofMinutes(30));
+    private final CachedMap<String, LogCacheClient> logCacheClients = new CachedMap<>(Duration.ofMinutes(30));
 
     /**
      * Returns a client for the specified user name and space id by either getting it from the clients cache or creating a new one.
@@ -55,6 +57,20 @@ public class CloudControllerClientProvider implements DisposableBean {
         }
     }
 
+    /**
+     * Returns a log cache client for the specified user name by either getting it from the log cache clients cache or creating a new one.
+     * The client is shared by the steps of the same process, so that polling for logs does not create a new HTTP client each time.
+     *
+     * @param userName the user name associated with the client
+     * @param correlationId of the process which is used to tag HTTP requests
+     * @return a log cache client for the specified user
+     */
+    public LogCacheClient getLogCacheClient(String userName, String correlationId) {
+        String key = getKey(correlationId, userName);
+        return logCacheClients.computeIfAbsent(key,
+                                               () -> clientFactory.createLogCacheClient(tokenService.getToken(userName), correlationId));
+    }
+
     /**
      * Releases the client for the specified user name and space id by removing it from the clients cache.
      *
@@ -84,5 +100,6 @@ public class CloudControllerClientProvider implements DisposableBean {
     @Override
     public void destroy() {
         clients.clear();
+        logCacheClients.clear();
     }
 }
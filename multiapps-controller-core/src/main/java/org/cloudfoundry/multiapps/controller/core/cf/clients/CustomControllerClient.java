@@ -16,45 +16,70 @@ import org.springframework.web.reactive.function.client.WebClient;
 
 import com.sap.cloudfoundry.client.facade.CloudCredentials;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 public abstract class CustomControllerClient {
 
     private final WebClient webClient;
     private String correlationId = StringUtils.EMPTY;
     private final CloudControllerHeaderConfiguration headerConfiguration;
+    private final int pageFetchConcurrency;
 
     protected CustomControllerClient(ApplicationConfiguration configuration, WebClientFactory webClientFactory,
                                      CloudCredentials credentials, String correlationID) {
-        this.webClient = webClientFactory.getWebClient(credentials);
+        this(configuration, webClientFactory, credentials);
         this.correlationId = correlationID;
-        this.headerConfiguration = new CloudControllerHeaderConfiguration(configuration.getVersion());
     }
 
     protected CustomControllerClient(ApplicationConfiguration configuration, WebClientFactory webClientFactory,
                                      CloudCredentials credentials) {
         this.webClient = webClientFactory.getWebClient(credentials);
         this.headerConfiguration = new CloudControllerHeaderConfiguration(configuration.getVersion());
+        this.pageFetchConcurrency = configuration.getControllerClientPageFetchConcurrency();
     }
 
+    /**
+     * Returns the resources from all pages of the specified list. Once the first page reports the total number of pages, the remaining
+     * pages are requested concurrently, and added to the response mapper in the order of the pages.
+     */
     protected <T> List<T> getListOfResources(ResourcesResponseMapper<T> responseMapper, String uri, Object... urlVariables) {
         PaginationV3 pagination = addPageOfResources(uri, responseMapper, urlVariables);
+        if (pagination.getTotalPages() != null && pageFetchConcurrency > 1) {
+            addRemainingPagesOfResources(pagination, responseMapper);
+            return responseMapper.getMappedResources();
+        }
         while (!StringUtils.isEmpty(pagination.getNextUri())) {
             pagination = addPageOfResources(pagination.getNextUri(), responseMapper);
         }
         return responseMapper.getMappedResources();
     }
 
+    private void addRemainingPagesOfResources(PaginationV3 firstPagePagination, ResourcesResponseMapper<?> responseMapper) {
+        if (StringUtils.isEmpty(firstPagePagination.getNextUri())) {
+            return;
+        }
+        Flux.range(2, firstPagePagination.getTotalPages() - 1)
+            .flatMapSequential(page -> getPageOfResources(firstPagePagination.getPageUri(page)), pageFetchConcurrency)
+            .doOnNext(responseMapper::addResources)
+            .blockLast();
+    }
+
     private PaginationV3 addPageOfResources(String uri, ResourcesResponseMapper<?> responseMapper, Object... urlVariables) {
-        String responseString = webClient.get()
-                                         .uri(uri, urlVariables)
-                                         .headers(httpHeaders -> httpHeaders.addAll(generateRequestHeaders()))
-                                         .retrieve()
-                                         .bodyToMono(String.class)
-                                         .block();
-        Map<String, Object> responseMap = JsonUtil.convertJsonToMap(responseString);
+        Map<String, Object> responseMap = getPageOfResources(uri, urlVariables).block();
         responseMapper.addResources(responseMap);
         return PaginationV3.fromResponse(responseMap);
     }
 
+    private Mono<Map<String, Object>> getPageOfResources(String uri, Object... urlVariables) {
+        return webClient.get()
+                        .uri(uri, urlVariables)
+                        .headers(httpHeaders -> httpHeaders.addAll(generateRequestHeaders()))
+                        .retrieve()
+                        .bodyToMono(String.class)
+                        .map(JsonUtil::convertJsonToMap);
+    }
+
     private MultiValueMap<String, String> generateRequestHeaders() {
         var result = new LinkedMultiValueMap<String, String>();
         headerConfiguration.generateHeaders(correlationId)
@@ -2,10 +2,23 @@ package org.cloudfoundry.multiapps.controller.core.cf.clients;
 
 import java.util.Map;
 
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
 public class PaginationV3 extends ResponseUrisV3 {
 
+    private final Integer totalPages;
+
     private PaginationV3(Map<String, Object> includedUris) {
         super(includedUris);
+        this.totalPages = getTotalPages(includedUris);
+    }
+
+    private static Integer getTotalPages(Map<String, Object> includedUris) {
+        if (includedUris == null || !(includedUris.get("total_pages") instanceof Number)) {
+            return null;
+        }
+        return ((Number) includedUris.get("total_pages")).intValue();
     }
 
     public static PaginationV3 fromResponse(Map<String, Object> responseMap) {
@@ -27,4 +40,20 @@ public class PaginationV3 extends ResponseUrisV3 {
     public String getPreviousUri() {
         return getUriString("previous");
     }
+
+    public Integer getTotalPages() {
+        return totalPages;
+    }
+
+    public String getPageUri(int page) {
+        UriComponents nextUri = getUriComponents("next");
+        if (nextUri == null) {
+            return null;
+        }
+        return UriComponentsBuilder.newInstance()
+                                   .uriComponents(nextUri)
+                                   .replaceQueryParam("page", page)
+                                   .build()
+                                   .toUriString();
+    }
 }
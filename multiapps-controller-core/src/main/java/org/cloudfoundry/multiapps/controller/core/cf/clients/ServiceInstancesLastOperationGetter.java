@@ -0,0 +1,93 @@
+package org.cloudfoundry.multiapps.controller.core.cf.clients;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.cloudfoundry.multiapps.controller.core.util.ApplicationConfiguration;
+
+import com.sap.cloudfoundry.client.facade.CloudCredentials;
+import com.sap.cloudfoundry.client.facade.domain.ServiceOperation;
+
+/**
+ * Gets the last operations of many service instances in the same space with as few requests as possible, instead of one request per
+ * service instance.
+ */
+public class ServiceInstancesLastOperationGetter extends CustomControllerClient {
+
+    private static final int MAX_CHAR_LENGTH_FOR_PARAMS_IN_REQUEST = 4000;
+    private static final String SERVICE_INSTANCES_BY_NAMES_URL = "/v3/service_instances?space_guids={spaceGuid}&names={names}";
+
+    public ServiceInstancesLastOperationGetter(ApplicationConfiguration configuration, WebClientFactory webClientFactory,
+                                               CloudCredentials credentials, String correlationId) {
+        super(configuration, webClientFactory, credentials, correlationId);
+    }
+
+    /**
+     * @return the last operations of the service instances, mapped by service instance name. Service instances which do not exist or which
+     *         have no last operation are not included.
+     */
+    public Map<String, ServiceOperation> getLastOperations(String spaceGuid, Collection<String> serviceInstanceNames) {
+        return new CustomControllerClientErrorHandler().handleErrorsOrReturnResult(() -> doGetLastOperations(spaceGuid,
+                                                                                                             serviceInstanceNames));
+    }
+
+    private Map<String, ServiceOperation> doGetLastOperations(String spaceGuid, Collection<String> serviceInstanceNames) {
+        Map<String, ServiceOperation> lastOperations = new HashMap<>();
+        for (List<String> batch : getBatchedServiceInstanceNames(serviceInstanceNames)) {
+            var batchLastOperations = getListOfResources(new LastOperationsResponseMapper(), SERVICE_INSTANCES_BY_NAMES_URL, spaceGuid,
+                                                         String.join(",", batch));
+            batchLastOperations.forEach(lastOperations::putAll);
+        }
+        return lastOperations;
+    }
+
+    private List<List<String>> getBatchedServiceInstanceNames(Collection<String> serviceInstanceNames) {
+        List<List<String>> batches = new ArrayList<>();
+        List<String> currentBatch = new ArrayList<>();
+        int currentBatchLength = 0;
+        for (String serviceInstanceName : serviceInstanceNames) {
+            int elementLength = serviceInstanceName.length();
+            if (!currentBatch.isEmpty() && elementLength + currentBatchLength >= MAX_CHAR_LENGTH_FOR_PARAMS_IN_REQUEST) {
+                batches.add(currentBatch);
+                currentBatch = new ArrayList<>();
+                currentBatchLength = 0;
+            }
+            currentBatch.add(serviceInstanceName);
+            currentBatchLength += elementLength;
+        }
+        if (!currentBatch.isEmpty()) {
+            batches.add(currentBatch);
+        }
+        return batches;
+    }
+
+    protected static class LastOperationsResponseMapper extends ResourcesResponseMapper<Map<String, ServiceOperation>> {
+
+        @Override
+        public List<Map<String, ServiceOperation>> getMappedResources() {
+            List<Map<String, ServiceOperation>> result = new ArrayList<>();
+            for (Map<String, Object> resource : getQueriedResources()) {
+                ServiceOperation lastOperation = getLastOperation(resource);
+                if (lastOperation != null) {
+                    result.add(Map.of((String) resource.get("name"), lastOperation));
+                }
+            }
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private ServiceOperation getLastOperation(Map<String, Object> resource) {
+            Map<String, Object> lastOperation = (Map<String, Object>) resource.get("last_operation");
+            if (lastOperation == null || lastOperation.get("type") == null || lastOperation.get("state") == null) {
+                return null;
+            }
+            return new ServiceOperation(ServiceOperation.Type.fromString((String) lastOperation.get("type")),
+                                        (String) lastOperation.get("description"),
+                                        ServiceOperation.State.fromString((String) lastOperation.get("state")));
+        }
+    }
+
+}
@@ -18,13 +18,35 @@ public class WebClientFactory {
     @Inject
     private OAuthClientFactory oAuthClientFactory;
 
+    private volatile WebClient controllerWebClient;
+
+    /**
+     * Returns a web client for the specified credentials. The clients share the HTTP connector and its connection pool, so that the
+     * connections to the controller are reused instead of being opened for each client.
+     */
     public WebClient getWebClient(CloudCredentials credentials) {
-        WebClient.Builder webClientBuilder = new RestUtil().createWebClient(false)
-                                                           .mutate()
-                                                           .baseUrl(configuration.getControllerUrl()
-                                                                                 .toString());
-        webClientBuilder.defaultHeaders(httpHeaders -> httpHeaders.setBearerAuth(computeAuthorizationToken(credentials)));
-        return webClientBuilder.build();
+        return getControllerWebClient().mutate()
+                                       .defaultHeaders(httpHeaders -> httpHeaders.setBearerAuth(computeAuthorizationToken(credentials)))
+                                       .build();
+    }
+
+    private WebClient getControllerWebClient() {
+        if (controllerWebClient == null) {
+            synchronized (this) {
+                if (controllerWebClient == null) {
+                    controllerWebClient = createControllerWebClient();
+                }
+            }
+        }
+        return controllerWebClient;
+    }
+
+    private WebClient createControllerWebClient() {
+        return new RestUtil().createWebClient(false)
+                             .mutate()
+                             .baseUrl(configuration.getControllerUrl()
+                                                   .toString())
+                             .build();
     }
 
     private String computeAuthorizationToken(CloudCredentials credentials) {
@@ -1,37 +1,41 @@
 package org.cloudfoundry.multiapps.controller.core.model;
 
 import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Supplier;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * A map whose entries expire after a fixed time and whose size is bounded. When the maximum size is reached, the least recently used
+ * entries are evicted. Values are computed only once for concurrent calls of {@link #computeIfAbsent(Object, Supplier)} with the same
+ * key, the other callers wait for the computed value.
+ */
 public class CachedMap<K, V> {
 
-    private final Duration expirationTime;
-    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
-    private final Map<K, CachedObject<V>> cache = new ConcurrentHashMap<>();
+    public static final long DEFAULT_MAXIMUM_SIZE = 10000;
+
+    private final Cache<K, V> cache;
 
     public CachedMap(Duration expirationTime) {
-        this(expirationTime, 10, TimeUnit.MINUTES);
+        this(expirationTime, DEFAULT_MAXIMUM_SIZE);
     }
 
-    public CachedMap(Duration expirationTime, long evictionCheckPeriod, TimeUnit evictionCheckTimeUnit) {
-        this.expirationTime = expirationTime;
-        executor.scheduleAtFixedRate(this::clearStaleEntries, evictionCheckPeriod, evictionCheckPeriod, evictionCheckTimeUnit);
+    public CachedMap(Duration expirationTime, long maximumSize) {
+        this.cache = CacheBuilder.newBuilder()
+                                 .expireAfterWrite(expirationTime)
+                                 .maximumSize(maximumSize)
+                                 .recordStats()
+                                 .build();
     }
 
     public V get(K key) {
-        var value = cache.get(key);
-        if (value != null) {
-            if (!value.isExpired()) {
-                return value.get();
-            }
-            cache.remove(key);
-        }
-        return null;
+        return cache.getIfPresent(key);
     }
 
     public V getOrDefault(K key, V defaultValue) {
@@ -40,32 +44,42 @@ public class CachedMap<K, V> {
     }
 
     public V computeIfAbsent(K key, Supplier<V> creator) {
-        V value = get(key);
-        if (value != null) {
-            return value;
+        try {
+            return cache.get(key, creator::get);
+        } catch (CacheLoader.InvalidCacheLoadException e) {
+            return null;
+        } catch (UncheckedExecutionException e) {
+            throw (RuntimeException) e.getCause();
+        } catch (ExecutionError e) {
+            throw (Error) e.getCause();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
         }
-        value = creator.get();
-        put(key, value);
-        return value;
     }
 
     public void put(K key, V value) {
-        long expirationTimestamp = System.currentTimeMillis() + expirationTime.toMillis();
-        cache.put(key, new CachedObject<>(value, expirationTimestamp));
+        if (value == null) {
+            cache.invalidate(key);
+            return;
+        }
+        cache.put(key, value);
     }
 
     public void remove(K key) {
-        cache.remove(key);
+        cache.invalidate(key);
     }
 
     public void clear() {
-        cache.clear();
-        executor.shutdown();
+        cache.invalidateAll();
+        cache.cleanUp();
+    }
+
+    public long size() {
+        return cache.size();
     }
 
-    private void clearStaleEntries() {
-        long currentTime = System.currentTimeMillis();
-        cache.values().removeIf(obj -> obj.isExpired(currentTime));
+    public CacheStats getStats() {
+        return cache.stats();
     }
 
 }
@@ -5,33 +5,47 @@ import java.text.MessageFormat;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import org.apache.commons.collections4.ListUtils;
 import org.cloudfoundry.multiapps.controller.core.Messages;
 import org.cloudfoundry.multiapps.controller.core.model.CachedMap;
 import org.cloudfoundry.multiapps.controller.core.security.token.parsers.TokenParserChain;
 import org.cloudfoundry.multiapps.controller.persistence.OrderDirection;
 import org.cloudfoundry.multiapps.controller.persistence.model.AccessToken;
 import org.cloudfoundry.multiapps.controller.persistence.services.AccessTokenService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
 
 import com.sap.cloudfoundry.client.facade.oauth2.OAuth2AccessTokenWithAdditionalInfo;
 
 /**
- * Provides functionality for persisting, updating and removing tokens from a token store
+ * Provides functionality for persisting, updating and removing tokens from a token store. Tokens which are superseded by a newer token of
+ * the same user are only collected when the tokens are read, and are deleted in batches by a scheduled sweeper. Expired tokens are deleted
+ * by the tokens cleaner job.
  */
 @Named
 public class TokenService implements DisposableBean {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenService.class);
+
+    static final int TOKEN_DELETION_BATCH_SIZE = 100;
+    private static final long TOKEN_SWEEP_INTERVAL_IN_MINUTES = 5;
+
     private final AccessTokenService accessTokenService;
     private final TokenParserChain tokenParserChain;
     private final Duration tokenExpirationTime = Duration.ofMinutes(10);
     private final CachedMap<String, OAuth2AccessTokenWithAdditionalInfo> cachedTokens = new CachedMap<>(tokenExpirationTime);
+    private final Set<Long> surplusTokenIds = ConcurrentHashMap.newKeySet();
 
     @Inject
     public TokenService(AccessTokenService accessTokenService, TokenParserChain tokenParserChain) {
@@ -56,7 +70,7 @@ public class TokenService implements DisposableBean {
         }
         OAuth2AccessTokenWithAdditionalInfo tokenByUser = getLatestToken(accessTokens);
         cachedTokens.put(username, tokenByUser);
-        deleteTokens(accessTokens.subList(1, accessTokens.size()));
+        markTokensForDeletion(accessTokens.subList(1, accessTokens.size()));
         return tokenByUser;
     }
 
@@ -79,20 +93,30 @@ public class TokenService implements DisposableBean {
         return tokenParserChain.parse(new String(latestAccessToken.getValue(), StandardCharsets.UTF_8));
     }
 
-    private void deleteTokens(List<AccessToken> accessTokens) {
-        if (accessTokens.isEmpty()) {
-            return;
+    private void markTokensForDeletion(List<AccessToken> accessTokens) {
+        for (AccessToken accessToken : accessTokens) {
+            surplusTokenIds.add(accessToken.getId());
         }
-        Executors.newSingleThreadExecutor()
-                 .submit(() -> doDeleteTokens(accessTokens));
     }
 
-    private void doDeleteTokens(List<AccessToken> tokens) {
-        accessTokenService.createQuery()
-                          .withIdAnyOf(tokens.stream()
-                                             .map(AccessToken::getId)
-                                             .collect(Collectors.toList()))
-                          .delete();
+    @Scheduled(initialDelay = TOKEN_SWEEP_INTERVAL_IN_MINUTES, fixedRate = TOKEN_SWEEP_INTERVAL_IN_MINUTES, timeUnit = TimeUnit.MINUTES)
+    public void deleteSurplusTokens() {
+        try {
+            LOGGER.debug(MessageFormat.format(Messages.DELETED_SURPLUS_TOKENS_0, deleteSurplusTokensInBatches()));
+        } catch (RuntimeException e) {
+            LOGGER.warn(MessageFormat.format(Messages.COULD_NOT_DELETE_SURPLUS_TOKENS, e.getMessage()), e);
+        }
+    }
+
+    private int deleteSurplusTokensInBatches() {
+        int deletedTokensCount = 0;
+        for (List<Long> batch : ListUtils.partition(new ArrayList<>(surplusTokenIds), TOKEN_DELETION_BATCH_SIZE)) {
+            deletedTokensCount += accessTokenService.createQuery()
+                                                    .withIdAnyOf(batch)
+                                                    .delete();
+            surplusTokenIds.removeAll(batch);
+        }
+        return deletedTokensCount;
     }
 
     @Override
@@ -1,7 +1,12 @@
 package org.cloudfoundry.multiapps.controller.core.security.token.parsers;
 
+import java.text.MessageFormat;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -13,27 +18,54 @@ import org.cloudfoundry.multiapps.controller.core.security.token.parsing.Validat
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.authentication.InternalAuthenticationServiceException;
 
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.JWSVerifier;
 import com.sap.cloudfoundry.client.facade.oauth2.OAuth2AccessTokenWithAdditionalInfo;
 import com.sap.cloudfoundry.client.facade.oauth2.TokenFactory;
 
+/**
+ * Verifies JWT tokens with the token key of the UAA. The key is refreshed periodically in the background. Keys which were replaced during a
+ * key rotation are kept by their key id for {@link #MAX_TOKEN_LIFETIME} after they were replaced, so that the tokens signed with them can
+ * still be verified until they expire. When a token cannot be verified, the key is refreshed at most once per
+ * {@link #MIN_TOKEN_KEY_REFRESH_INTERVAL}, and concurrent failures share the same refresh.
+ */
 @Named
 @Order(0)
 public class JwtTokenParser implements TokenParser {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JwtTokenParser.class);
 
+    static final Duration MIN_TOKEN_KEY_REFRESH_INTERVAL = Duration.ofSeconds(30);
+    // The default validity of the access tokens issued by the UAA
+    static final Duration MAX_TOKEN_LIFETIME = Duration.ofHours(12);
+    private static final long TOKEN_KEY_REFRESH_INTERVAL_IN_MINUTES = 10;
+    private static final int MAX_KNOWN_TOKEN_KEYS = 5;
+
     protected final TokenFactory tokenFactory;
-    private TokenKey tokenKey;
+    private volatile TokenKey tokenKey;
+    private volatile Map<String, TokenKey> tokenKeysById = Map.of();
+    private volatile long lastTokenKeyRefreshTime;
     private final UAAClient uaaClient;
     private final TokenValidationStrategyFactory tokenValidationStrategyFactory;
+    private final long minTokenKeyRefreshIntervalInNanos;
+    private final long maxTokenLifetimeInNanos;
 
     @Inject
     public JwtTokenParser(UAAClient uaaClient, TokenValidationStrategyFactory tokenValidationStrategyFactory) {
+        this(uaaClient, tokenValidationStrategyFactory, MIN_TOKEN_KEY_REFRESH_INTERVAL, MAX_TOKEN_LIFETIME);
+    }
+
+    JwtTokenParser(UAAClient uaaClient, TokenValidationStrategyFactory tokenValidationStrategyFactory, Duration minTokenKeyRefreshInterval,
+                   Duration maxTokenLifetime) {
         this.tokenFactory = new TokenFactory();
         this.uaaClient = uaaClient;
         this.tokenValidationStrategyFactory = tokenValidationStrategyFactory;
+        this.minTokenKeyRefreshIntervalInNanos = minTokenKeyRefreshInterval.toNanos();
+        this.maxTokenLifetimeInNanos = maxTokenLifetime.toNanos();
+        this.lastTokenKeyRefreshTime = System.nanoTime() - minTokenKeyRefreshIntervalInNanos;
     }
 
     @Override
@@ -48,24 +80,53 @@ public class JwtTokenParser implements TokenParser {
     }
 
     protected void verifyToken(String tokenString) {
+        long verificationStartTime = System.nanoTime();
         try {
             verify(tokenString);
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
+            if (!refreshTokenKeyAfterFailedVerification(verificationStartTime)) {
+                throw e;
+            }
             LOGGER.error(e.getMessage(), e);
-            refreshTokenKey();
             verify(tokenString);
         }
     }
 
     private void verify(String tokenString) {
-        TokenKey tokenKey = getCachedTokenKey();
-        String algorithm = tokenKey.getAlgorithm();
-        ValidationStrategy validationStrategy = tokenValidationStrategyFactory.createStrategy(algorithm);
-        if (!validationStrategy.validateToken(tokenString, tokenKey.getValue())) {
+        TokenKey tokenKey = getTokenKey(tokenString);
+        if (!tokenKey.getValidationStrategy()
+                     .validateToken(tokenString, tokenKey.getVerifier())) {
             throw new InternalAuthenticationServiceException(Messages.INVALID_TOKEN_PROVIDED);
         }
     }
 
+    private TokenKey getTokenKey(String tokenString) {
+        TokenKey latestTokenKey = getCachedTokenKey();
+        String keyId = getKeyId(tokenString);
+        if (keyId == null) {
+            return latestTokenKey;
+        }
+        TokenKey tokenKey = tokenKeysById.get(keyId);
+        if (tokenKey == null || isExpired(tokenKey, System.nanoTime())) {
+            return latestTokenKey;
+        }
+        return tokenKey;
+    }
+
+    private boolean isExpired(TokenKey tokenKey, long currentTime) {
+        return tokenKey.isRetired() && currentTime - tokenKey.getRetirementTime() >= maxTokenLifetimeInNanos;
+    }
+
+    private String getKeyId(String tokenString) {
+        try {
+            return JWSObject.parse(tokenString)
+                            .getHeader()
+                            .getKeyID();
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
     private TokenKey getCachedTokenKey() {
         if (tokenKey == null) {
             synchronized (this) {
@@ -77,8 +138,59 @@ public class JwtTokenParser implements TokenParser {
         return tokenKey;
     }
 
+    private synchronized boolean refreshTokenKeyAfterFailedVerification(long verificationStartTime) {
+        if (lastTokenKeyRefreshTime - verificationStartTime >= 0) {
+            return true;
+        }
+        if (System.nanoTime() - lastTokenKeyRefreshTime < minTokenKeyRefreshIntervalInNanos) {
+            return false;
+        }
+        refreshTokenKey();
+        return true;
+    }
+
+    @Scheduled(initialDelay = TOKEN_KEY_REFRESH_INTERVAL_IN_MINUTES, fixedRate = TOKEN_KEY_REFRESH_INTERVAL_IN_MINUTES,
+               timeUnit = TimeUnit.MINUTES)
+    public void refreshTokenKeyInBackground() {
+        try {
+            synchronized (this) {
+                refreshTokenKey();
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn(MessageFormat.format(Messages.COULD_NOT_REFRESH_TOKEN_KEY, e.getMessage()), e);
+        }
+    }
+
     private void refreshTokenKey() {
-        tokenKey = readTokenKey();
+        lastTokenKeyRefreshTime = System.nanoTime();
+        TokenKey newTokenKey = readTokenKey();
+        if (newTokenKey.getId() != null) {
+            tokenKeysById = addTokenKey(newTokenKey);
+        }
+        tokenKey = newTokenKey;
+    }
+
+    private Map<String, TokenKey> addTokenKey(TokenKey newTokenKey) {
+        long currentTime = System.nanoTime();
+        Map<String, TokenKey> updatedTokenKeys = new LinkedHashMap<>();
+        for (TokenKey knownTokenKey : tokenKeysById.values()) {
+            if (knownTokenKey.getId()
+                             .equals(newTokenKey.getId())) {
+                continue;
+            }
+            // A key is retired when it is replaced, and the tokens signed with it expire at most a token lifetime later
+            TokenKey retiredTokenKey = knownTokenKey.isRetired() ? knownTokenKey : knownTokenKey.retire(currentTime);
+            if (!isExpired(retiredTokenKey, currentTime)) {
+                updatedTokenKeys.put(retiredTokenKey.getId(), retiredTokenKey);
+            }
+        }
+        updatedTokenKeys.put(newTokenKey.getId(), newTokenKey);
+        while (updatedTokenKeys.size() > MAX_KNOWN_TOKEN_KEYS) {
+            updatedTokenKeys.remove(updatedTokenKeys.keySet()
+                                                    .iterator()
+                                                    .next());
+        }
+        return updatedTokenKeys;
     }
 
     private TokenKey readTokenKey() {
@@ -88,25 +200,51 @@ public class JwtTokenParser implements TokenParser {
         if (value == null || algorithm == null) {
             throw new InternalAuthenticationServiceException("Response from /token_key does not contain a key value or an algorithm");
         }
-        return new TokenKey(value.toString(), algorithm.toString());
+        Object keyId = tokenKeyResponse.get("kid");
+        ValidationStrategy validationStrategy = tokenValidationStrategyFactory.createStrategy(algorithm.toString());
+        return new TokenKey(keyId == null ? null : keyId.toString(), validationStrategy, validationStrategy.getVerifier(value.toString()));
     }
 
     static class TokenKey {
 
-        private final String value;
-        private final String algorithm;
+        private final String id;
+        private final ValidationStrategy validationStrategy;
+        private final JWSVerifier verifier;
+        private final Long retirementTime;
+
+        TokenKey(String id, ValidationStrategy validationStrategy, JWSVerifier verifier) {
+            this(id, validationStrategy, verifier, null);
+        }
+
+        private TokenKey(String id, ValidationStrategy validationStrategy, JWSVerifier verifier, Long retirementTime) {
+            this.id = id;
+            this.validationStrategy = validationStrategy;
+            this.verifier = verifier;
+            this.retirementTime = retirementTime;
+        }
+
+        TokenKey retire(long retirementTime) {
+            return new TokenKey(id, validationStrategy, verifier, retirementTime);
+        }
+
+        boolean isRetired() {
+            return retirementTime != null;
+        }
+
+        long getRetirementTime() {
+            return retirementTime;
+        }
 
-        TokenKey(String value, String algorithm) {
-            this.value = value;
-            this.algorithm = algorithm;
+        String getId() {
+            return id;
         }
 
-        String getValue() {
-            return value;
+        ValidationStrategy getValidationStrategy() {
+            return validationStrategy;
         }
 
-        String getAlgorithm() {
-            return algorithm;
+        JWSVerifier getVerifier() {
+            return verifier;
         }
 
     }
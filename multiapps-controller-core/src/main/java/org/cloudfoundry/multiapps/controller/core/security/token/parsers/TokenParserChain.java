@@ -1,6 +1,12 @@
 package org.cloudfoundry.multiapps.controller.core.security.token.parsers;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.MessageFormat;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Optional;
 
@@ -8,6 +14,7 @@ import javax.inject.Inject;
 import javax.inject.Named;
 
 import org.cloudfoundry.multiapps.controller.core.Messages;
+import org.cloudfoundry.multiapps.controller.core.model.CachedMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.InternalAuthenticationServiceException;
@@ -20,7 +27,11 @@ public class TokenParserChain {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TokenParserChain.class);
 
+    private static final String TOKEN_DIGEST_ALGORITHM = "SHA-256";
+    private static final Duration VERIFIED_TOKENS_EXPIRATION_TIME = Duration.ofMinutes(5);
+
     private final List<TokenParser> tokenParsers;
+    private final CachedMap<String, OAuth2AccessTokenWithAdditionalInfo> verifiedTokens = new CachedMap<>(VERIFIED_TOKENS_EXPIRATION_TIME);
 
     @Inject
     public TokenParserChain(List<TokenParser> tokenParsers) {
@@ -28,12 +39,41 @@ public class TokenParserChain {
         this.tokenParsers = tokenParsers;
     }
 
+    /**
+     * Parses and verifies the specified token. Verified tokens are kept in memory until they expire, so that the signature of a token is
+     * not verified again for each request in which it is used.
+     */
     public OAuth2AccessTokenWithAdditionalInfo parse(String tokenString) {
+        String tokenDigest = computeDigest(tokenString);
+        OAuth2AccessTokenWithAdditionalInfo verifiedToken = verifiedTokens.get(tokenDigest);
+        if (verifiedToken != null && !isExpired(verifiedToken)) {
+            return verifiedToken;
+        }
         OAuth2AccessTokenWithAdditionalInfo parsedToken = parseTokenString(tokenString);
         logTokenInfo(parsedToken.getOAuth2AccessToken());
+        if (!isExpired(parsedToken)) {
+            verifiedTokens.put(tokenDigest, parsedToken);
+        }
         return parsedToken;
     }
 
+    private String computeDigest(String tokenString) {
+        try {
+            byte[] digest = MessageDigest.getInstance(TOKEN_DIGEST_ALGORITHM)
+                                         .digest(tokenString.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of()
+                            .formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private boolean isExpired(OAuth2AccessTokenWithAdditionalInfo token) {
+        Instant expiresAt = token.getOAuth2AccessToken()
+                                 .getExpiresAt();
+        return expiresAt == null || !expiresAt.isAfter(Instant.now());
+    }
+
     private OAuth2AccessTokenWithAdditionalInfo parseTokenString(String tokenString) {
         return tokenParsers.stream()
                            .map(tokenParser -> tokenParser.parse(tokenString))
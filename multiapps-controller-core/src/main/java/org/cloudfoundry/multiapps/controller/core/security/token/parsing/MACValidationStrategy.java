@@ -16,7 +16,7 @@ import com.nimbusds.jose.crypto.MACVerifier;
 public class MACValidationStrategy extends ValidationStrategy {
 
     @Override
-    protected JWSVerifier getVerifier(String key) {
+    public JWSVerifier getVerifier(String key) {
         SecretKey secretKey = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), 0, key.length(), "HS256");
         return getMACVerifier(secretKey);
     }
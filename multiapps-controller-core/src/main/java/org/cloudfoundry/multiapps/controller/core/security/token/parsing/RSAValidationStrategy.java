@@ -17,7 +17,7 @@ import com.nimbusds.jose.crypto.RSASSAVerifier;
 public class RSAValidationStrategy extends ValidationStrategy {
 
     @Override
-    protected JWSVerifier getVerifier(String publicKey) {
+    public JWSVerifier getVerifier(String publicKey) {
         String encodedKey = removeX509Wrapper(publicKey);
         byte[] encodedPublicKeyValue = Base64.getDecoder()
                                              .decode(encodedKey);
@@ -9,7 +9,10 @@ import com.nimbusds.jose.JWSVerifier;
 public abstract class ValidationStrategy {
 
     public boolean validateToken(String jwtTokenString, String key) {
-        JWSVerifier jwsVerifier = getVerifier(key);
+        return validateToken(jwtTokenString, getVerifier(key));
+    }
+
+    public boolean validateToken(String jwtTokenString, JWSVerifier jwsVerifier) {
         JWSObject jwsObject = getObject(jwtTokenString);
         return verify(jwsVerifier, jwsObject);
     }
@@ -22,7 +25,7 @@ public abstract class ValidationStrategy {
         }
     }
 
-    protected abstract JWSVerifier getVerifier(String key);
+    public abstract JWSVerifier getVerifier(String key);
 
     protected abstract JWSObject getObject(String jwtTokenString);
 
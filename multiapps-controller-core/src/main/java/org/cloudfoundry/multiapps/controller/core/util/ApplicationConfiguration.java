@@ -93,6 +93,17 @@ public class ApplicationConfiguration {
     static final String CFG_SPRING_SCHEDULER_TASK_EXECUTOR_THREADS = "SPRING_SCHEDULER_TASK_EXECUTOR_THREADS";
     static final String CFG_FILES_ASYNC_UPLOAD_EXECUTOR_MAX_THREADS = "FILES_ASYNC_UPLOAD_EXECUTOR_THREADS";
     static final String CFG_ENABLE_ON_START_FILES_WITHOUT_CONTENT_CLEANER = "ENABLE_ON_START_FILES_WITHOUT_CONTENT_CLEANER";
+    static final String CFG_MODULES_EXTRACTION_MAX_THREADS = "MODULES_EXTRACTION_MAX_THREADS";
+    static final String CFG_MODULES_EXTRACTION_MIN_FREE_DISK_SPACE = "MODULES_EXTRACTION_MIN_FREE_DISK_SPACE";
+    static final String CFG_OBJECT_STORE_READ_AHEAD_CHUNK_SIZE = "OBJECT_STORE_READ_AHEAD_CHUNK_SIZE";
+    static final String CFG_OBJECT_STORE_READ_AHEAD_WINDOW = "OBJECT_STORE_READ_AHEAD_WINDOW";
+    static final String CFG_OBJECT_STORE_READ_AHEAD_MAX_MEMORY = "OBJECT_STORE_READ_AHEAD_MAX_MEMORY";
+    static final String CFG_OBJECT_STORE_MAX_THREADS = "OBJECT_STORE_MAX_THREADS";
+    static final String CFG_COMPRESS_PROCESS_VARIABLES = "COMPRESS_PROCESS_VARIABLES";
+    static final String CFG_CONTROLLER_CLIENT_PAGE_FETCH_CONCURRENCY = "CONTROLLER_CLIENT_PAGE_FETCH_CONCURRENCY";
+    static final String CFG_RATE_LIMIT_UPLOADS_PER_HOUR = "RATE_LIMIT_UPLOADS_PER_HOUR";
+    static final String CFG_RATE_LIMIT_POLLING_PER_HOUR = "RATE_LIMIT_POLLING_PER_HOUR";
+    static final String CFG_RATE_LIMIT_MUTATIONS_PER_HOUR = "RATE_LIMIT_MUTATIONS_PER_HOUR";
 
     private static final List<String> VCAP_APPLICATION_URIS_KEYS = List.of("full_application_uris", "application_uris", "uris");
 
@@ -148,6 +159,17 @@ public class ApplicationConfiguration {
     public static final int DEFAULT_SPRING_SCHEDULER_TASK_EXECUTOR_THREADS = 3;
     public static final int DEFAULT_FILES_ASYNC_UPLOAD_EXECUTOR_MAX_THREADS = 50;
     public static final boolean DEFAULT_ENABLE_ON_START_FILES_WITHOUT_CONTENT_CLEANER = false;
+    public static final int DEFAULT_MODULES_EXTRACTION_MAX_THREADS = 4;
+    public static final long DEFAULT_MODULES_EXTRACTION_MIN_FREE_DISK_SPACE = 1024 * 1024 * 1024L; // 1GB
+    public static final int DEFAULT_OBJECT_STORE_READ_AHEAD_CHUNK_SIZE = 8 * 1024 * 1024; // 8MB
+    public static final int MIN_OBJECT_STORE_READ_AHEAD_CHUNK_SIZE = 256 * 1024; // 256KB
+    public static final int MAX_OBJECT_STORE_READ_AHEAD_CHUNK_SIZE = 256 * 1024 * 1024; // 256MB
+    public static final int DEFAULT_OBJECT_STORE_READ_AHEAD_WINDOW = 4;
+    public static final long DEFAULT_OBJECT_STORE_READ_AHEAD_MAX_MEMORY = 256 * 1024 * 1024L; // 256MB
+    public static final int DEFAULT_OBJECT_STORE_MAX_THREADS = 16;
+    public static final boolean DEFAULT_COMPRESS_PROCESS_VARIABLES = false;
+    public static final int DEFAULT_CONTROLLER_CLIENT_PAGE_FETCH_CONCURRENCY = 4;
+    public static final int DEFAULT_RATE_LIMIT_PER_HOUR = 5000;
 
     protected final Environment environment;
 
@@ -205,6 +227,17 @@ public class ApplicationConfiguration {
     private Integer springSchedulerTaskExecutorThreads;
     private Integer filesAsyncUploadExecutorThreads;
     private Boolean isOnStartFilesWithoutContentCleanerEnabledThroughEnvironment;
+    private Integer modulesExtractionMaxThreads;
+    private Long modulesExtractionMinFreeDiskSpace;
+    private Integer objectStoreReadAheadChunkSize;
+    private Integer objectStoreReadAheadWindow;
+    private Long objectStoreReadAheadMaxMemory;
+    private Integer objectStoreMaxThreads;
+    private Boolean compressProcessVariables;
+    private Integer controllerClientPageFetchConcurrency;
+    private Integer rateLimitUploadsPerHour;
+    private Integer rateLimitPollingPerHour;
+    private Integer rateLimitMutationsPerHour;
 
     public ApplicationConfiguration() {
         this(new Environment());
@@ -248,6 +281,17 @@ public class ApplicationConfiguration {
         getServiceHandlingMaxParallelThreads();
         getAbortedOperationsTtlInSeconds();
         getFilesAsyncUploadExecutorMaxThreads();
+        getModulesExtractionMaxThreads();
+        getModulesExtractionMinFreeDiskSpace();
+        getObjectStoreReadAheadChunkSize();
+        getObjectStoreReadAheadWindow();
+        getObjectStoreReadAheadMaxMemory();
+        getObjectStoreMaxThreads();
+        shouldCompressProcessVariables();
+        getControllerClientPageFetchConcurrency();
+        getRateLimitUploadsPerHour();
+        getRateLimitPollingPerHour();
+        getRateLimitMutationsPerHour();
     }
 
     public Map<String, String> getNotSensitiveVariables() {
@@ -386,6 +430,86 @@ public class ApplicationConfiguration {
         return filesAsyncUploadExecutorThreads;
     }
 
+    public Integer getModulesExtractionMaxThreads() {
+        if (modulesExtractionMaxThreads == null) {
+            modulesExtractionMaxThreads = getModulesExtractionMaxThreadsFromEnvironment();
+        }
+        return modulesExtractionMaxThreads;
+    }
+
+    public Long getModulesExtractionMinFreeDiskSpace() {
+        if (modulesExtractionMinFreeDiskSpace == null) {
+            modulesExtractionMinFreeDiskSpace = getModulesExtractionMinFreeDiskSpaceFromEnvironment();
+        }
+        return modulesExtractionMinFreeDiskSpace;
+    }
+
+    public Integer getObjectStoreReadAheadChunkSize() {
+        if (objectStoreReadAheadChunkSize == null) {
+            objectStoreReadAheadChunkSize = getObjectStoreReadAheadChunkSizeFromEnvironment();
+        }
+        return objectStoreReadAheadChunkSize;
+    }
+
+    public Integer getObjectStoreReadAheadWindow() {
+        if (objectStoreReadAheadWindow == null) {
+            objectStoreReadAheadWindow = getObjectStoreReadAheadWindowFromEnvironment();
+        }
+        return objectStoreReadAheadWindow;
+    }
+
+    public Long getObjectStoreReadAheadMaxMemory() {
+        if (objectStoreReadAheadMaxMemory == null) {
+            objectStoreReadAheadMaxMemory = getObjectStoreReadAheadMaxMemoryFromEnvironment();
+        }
+        return objectStoreReadAheadMaxMemory;
+    }
+
+    public Integer getObjectStoreMaxThreads() {
+        if (objectStoreMaxThreads == null) {
+            objectStoreMaxThreads = getObjectStoreMaxThreadsFromEnvironment();
+        }
+        return objectStoreMaxThreads;
+    }
+
+    public boolean shouldCompressProcessVariables() {
+        if (compressProcessVariables == null) {
+            compressProcessVariables = shouldCompressProcessVariablesBasedOnEnvironment();
+        }
+        return compressProcessVariables;
+    }
+
+    public Integer getControllerClientPageFetchConcurrency() {
+        if (controllerClientPageFetchConcurrency == null) {
+            controllerClientPageFetchConcurrency = getControllerClientPageFetchConcurrencyFromEnvironment();
+        }
+        return controllerClientPageFetchConcurrency;
+    }
+
+    public Integer getRateLimitUploadsPerHour() {
+        if (rateLimitUploadsPerHour == null) {
+            rateLimitUploadsPerHour = getRateLimitPerHourFromEnvironment(CFG_RATE_LIMIT_UPLOADS_PER_HOUR,
+                                                                         Messages.RATE_LIMIT_UPLOADS_PER_HOUR);
+        }
+        return rateLimitUploadsPerHour;
+    }
+
+    public Integer getRateLimitPollingPerHour() {
+        if (rateLimitPollingPerHour == null) {
+            rateLimitPollingPerHour = getRateLimitPerHourFromEnvironment(CFG_RATE_LIMIT_POLLING_PER_HOUR,
+                                                                         Messages.RATE_LIMIT_POLLING_PER_HOUR);
+        }
+        return rateLimitPollingPerHour;
+    }
+
+    public Integer getRateLimitMutationsPerHour() {
+        if (rateLimitMutationsPerHour == null) {
+            rateLimitMutationsPerHour = getRateLimitPerHourFromEnvironment(CFG_RATE_LIMIT_MUTATIONS_PER_HOUR,
+                                                                           Messages.RATE_LIMIT_MUTATIONS_PER_HOUR);
+        }
+        return rateLimitMutationsPerHour;
+    }
+
     public String getGlobalAuditorUser() {
         if (globalAuditorUser == null) {
             globalAuditorUser = getGlobalAuditorUserFromEnvironment();
@@ -797,6 +921,67 @@ public class ApplicationConfiguration {
         return value;
     }
 
+    private Integer getModulesExtractionMaxThreadsFromEnvironment() {
+        Integer value = environment.getPositiveInteger(CFG_MODULES_EXTRACTION_MAX_THREADS, DEFAULT_MODULES_EXTRACTION_MAX_THREADS);
+        LOGGER.info(format(Messages.MODULES_EXTRACTION_MAX_THREADS, value));
+        return value;
+    }
+
+    private Long getModulesExtractionMinFreeDiskSpaceFromEnvironment() {
+        Long value = environment.getLong(CFG_MODULES_EXTRACTION_MIN_FREE_DISK_SPACE, DEFAULT_MODULES_EXTRACTION_MIN_FREE_DISK_SPACE);
+        LOGGER.info(format(Messages.MODULES_EXTRACTION_MIN_FREE_DISK_SPACE, value));
+        return value;
+    }
+
+    private Integer getObjectStoreReadAheadChunkSizeFromEnvironment() {
+        long value = environment.getLong(CFG_OBJECT_STORE_READ_AHEAD_CHUNK_SIZE, (long) DEFAULT_OBJECT_STORE_READ_AHEAD_CHUNK_SIZE);
+        if (value < MIN_OBJECT_STORE_READ_AHEAD_CHUNK_SIZE || value > MAX_OBJECT_STORE_READ_AHEAD_CHUNK_SIZE) {
+            LOGGER.warn(format(Messages.OBJECT_STORE_READ_AHEAD_CHUNK_SIZE_0_IS_NOT_BETWEEN_1_AND_2_USING_DEFAULT_3, value,
+                               MIN_OBJECT_STORE_READ_AHEAD_CHUNK_SIZE, MAX_OBJECT_STORE_READ_AHEAD_CHUNK_SIZE,
+                               DEFAULT_OBJECT_STORE_READ_AHEAD_CHUNK_SIZE));
+            value = DEFAULT_OBJECT_STORE_READ_AHEAD_CHUNK_SIZE;
+        }
+        LOGGER.info(format(Messages.OBJECT_STORE_READ_AHEAD_CHUNK_SIZE, value));
+        return (int) value;
+    }
+
+    private Integer getObjectStoreReadAheadWindowFromEnvironment() {
+        Integer value = environment.getInteger(CFG_OBJECT_STORE_READ_AHEAD_WINDOW, DEFAULT_OBJECT_STORE_READ_AHEAD_WINDOW);
+        LOGGER.info(format(Messages.OBJECT_STORE_READ_AHEAD_WINDOW, value));
+        return value;
+    }
+
+    private Long getObjectStoreReadAheadMaxMemoryFromEnvironment() {
+        Long value = environment.getLong(CFG_OBJECT_STORE_READ_AHEAD_MAX_MEMORY, DEFAULT_OBJECT_STORE_READ_AHEAD_MAX_MEMORY);
+        LOGGER.info(format(Messages.OBJECT_STORE_READ_AHEAD_MAX_MEMORY, value));
+        return value;
+    }
+
+    private Integer getObjectStoreMaxThreadsFromEnvironment() {
+        Integer value = environment.getPositiveInteger(CFG_OBJECT_STORE_MAX_THREADS, DEFAULT_OBJECT_STORE_MAX_THREADS);
+        LOGGER.info(format(Messages.OBJECT_STORE_MAX_THREADS, value));
+        return value;
+    }
+
+    private Boolean shouldCompressProcessVariablesBasedOnEnvironment() {
+        Boolean value = environment.getBoolean(CFG_COMPRESS_PROCESS_VARIABLES, DEFAULT_COMPRESS_PROCESS_VARIABLES);
+        LOGGER.info(format(Messages.COMPRESS_PROCESS_VARIABLES, value));
+        return value;
+    }
+
+    private Integer getControllerClientPageFetchConcurrencyFromEnvironment() {
+        Integer value = environment.getPositiveInteger(CFG_CONTROLLER_CLIENT_PAGE_FETCH_CONCURRENCY,
+                                                       DEFAULT_CONTROLLER_CLIENT_PAGE_FETCH_CONCURRENCY);
+        LOGGER.info(format(Messages.CONTROLLER_CLIENT_PAGE_FETCH_CONCURRENCY, value));
+        return value;
+    }
+
+    private Integer getRateLimitPerHourFromEnvironment(String variableName, String message) {
+        Integer value = environment.getPositiveInteger(variableName, DEFAULT_RATE_LIMIT_PER_HOUR);
+        LOGGER.info(format(message, value));
+        return value;
+    }
+
     private String getGlobalAuditorUserFromEnvironment() {
         String value = environment.getString(CFG_GLOBAL_AUDITOR_USER);
         return value;
@@ -0,0 +1,154 @@
+package org.cloudfoundry.multiapps.controller.core.cf.clients;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.cloudfoundry.multiapps.common.util.JsonUtil;
+import org.cloudfoundry.multiapps.controller.core.util.ApplicationConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.sap.cloudfoundry.client.facade.CloudCredentials;
+
+import reactor.core.publisher.Mono;
+
+class CustomControllerClientTest {
+
+    private static final String CONTROLLER_URL = "https://api.example.com";
+    private static final String RESOURCES_URI = "/v3/resources?per_page=1";
+    private static final int TOTAL_PAGES = 5;
+
+    @Mock
+    private ApplicationConfiguration configuration;
+    @Mock
+    private WebClientFactory webClientFactory;
+
+    private final AtomicInteger requestsInProgress = new AtomicInteger();
+    private final AtomicInteger maxRequestsInProgress = new AtomicInteger();
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this)
+                          .close();
+        WebClient webClient = WebClient.builder()
+                                       .baseUrl(CONTROLLER_URL)
+                                       .exchangeFunction(this::respondWithPage)
+                                       .build();
+        when(webClientFactory.getWebClient(any())).thenReturn(webClient);
+    }
+
+    @Test
+    void testRemainingPagesAreFetchedConcurrentlyInPageOrder() {
+        when(configuration.getControllerClientPageFetchConcurrency()).thenReturn(4);
+
+        List<String> resources = new TestControllerClient().getResources(true);
+
+        assertEquals(getExpectedResources(), resources);
+        assertEquals(TOTAL_PAGES, requestCount.get());
+        assertTrue(maxRequestsInProgress.get() > 1);
+    }
+
+    @Test
+    void testPagesAreFetchedSequentiallyWithoutTotalPages() {
+        when(configuration.getControllerClientPageFetchConcurrency()).thenReturn(4);
+
+        List<String> resources = new TestControllerClient().getResources(false);
+
+        assertEquals(getExpectedResources(), resources);
+        assertEquals(1, maxRequestsInProgress.get());
+    }
+
+    @Test
+    void testPagesAreFetchedSequentiallyWithoutConcurrency() {
+        when(configuration.getControllerClientPageFetchConcurrency()).thenReturn(1);
+
+        List<String> resources = new TestControllerClient().getResources(true);
+
+        assertEquals(getExpectedResources(), resources);
+        assertEquals(1, maxRequestsInProgress.get());
+    }
+
+    private Mono<ClientResponse> respondWithPage(ClientRequest request) {
+        Map<String, String> queryParams = UriComponentsBuilder.fromUri(request.url())
+                                                              .build()
+                                                              .getQueryParams()
+                                                              .toSingleValueMap();
+        int page = Integer.parseInt(queryParams.getOrDefault("page", "1"));
+        boolean includeTotalPages = !queryParams.containsKey("skip_total_pages");
+        // Earlier pages respond later, so that responses arrive in the reverse order of the pages:
+        Duration delay = Duration.ofMillis((TOTAL_PAGES - page) * 50L);
+        return Mono.fromCallable(() -> startRequest(page, includeTotalPages))
+                   .delayElement(delay)
+                   .doOnTerminate(requestsInProgress::decrementAndGet);
+    }
+
+    private ClientResponse startRequest(int page, boolean includeTotalPages) {
+        requestCount.incrementAndGet();
+        maxRequestsInProgress.accumulateAndGet(requestsInProgress.incrementAndGet(), Math::max);
+        return ClientResponse.create(HttpStatus.OK)
+                             .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                             .body(JsonUtil.toJson(createPage(page, includeTotalPages)))
+                             .build();
+    }
+
+    private Map<String, Object> createPage(int page, boolean includeTotalPages) {
+        Map<String, Object> pagination = new HashMap<>();
+        if (page < TOTAL_PAGES) {
+            String query = includeTotalPages ? "" : "&skip_total_pages=true";
+            pagination.put("next", Map.of("href", CONTROLLER_URL + RESOURCES_URI + query + "&page=" + (page + 1)));
+        }
+        if (includeTotalPages) {
+            pagination.put("total_pages", TOTAL_PAGES);
+        }
+        return Map.of("pagination", pagination, "resources", List.of(Map.of("name", "resource-" + page)));
+    }
+
+    private static List<String> getExpectedResources() {
+        return IntStream.rangeClosed(1, TOTAL_PAGES)
+                        .mapToObj(page -> "resource-" + page)
+                        .collect(Collectors.toList());
+    }
+
+    private class TestControllerClient extends CustomControllerClient {
+
+        TestControllerClient() {
+            super(configuration, webClientFactory, new CloudCredentials("user", "password"));
+        }
+
+        List<String> getResources(boolean includeTotalPages) {
+            String uri = includeTotalPages ? RESOURCES_URI : RESOURCES_URI + "&skip_total_pages=true";
+            return getListOfResources(new NamesResponseMapper(), uri);
+        }
+    }
+
+    private static class NamesResponseMapper extends CustomControllerClient.ResourcesResponseMapper<String> {
+
+        @Override
+        public List<String> getMappedResources() {
+            return getQueriedResources().stream()
+                                        .map(resource -> (String) resource.get("name"))
+                                        .collect(Collectors.toList());
+        }
+    }
+
+}
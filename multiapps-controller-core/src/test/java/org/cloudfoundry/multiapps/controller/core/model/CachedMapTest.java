@@ -1,18 +1,29 @@
 package org.cloudfoundry.multiapps.controller.core.model;
 
-import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.cloudfoundry.multiapps.common.SLException;
 import org.junit.jupiter.api.Test;
 
 class CachedMapTest {
 
     @Test
     void testEviction() throws InterruptedException {
-        CachedMap<String, String> map = new CachedMap<>(Duration.ofMillis(3), 10, TimeUnit.MILLISECONDS);
+        CachedMap<String, String> map = new CachedMap<>(Duration.ofMillis(3));
         map.put("test", "test");
         assertNotNull(map.get("test"));
         TimeUnit.MILLISECONDS.sleep(15);
@@ -20,4 +31,65 @@ class CachedMapTest {
         map.clear();
     }
 
+    @Test
+    void testSizeIsBounded() {
+        CachedMap<Integer, String> map = new CachedMap<>(Duration.ofMinutes(1), 10);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "value-" + i);
+        }
+        assertTrue(map.size() <= 10);
+        assertEquals("value-99", map.get(99));
+    }
+
+    @Test
+    void testConcurrentMissesComputeValueOnce() throws Exception {
+        CachedMap<String, String> map = new CachedMap<>(Duration.ofMinutes(1));
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return map.computeIfAbsent("key", () -> computeSlowly(computations));
+                }));
+            }
+            start.countDown();
+            for (Future<String> result : results) {
+                assertEquals("value", result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, computations.get());
+    }
+
+    @Test
+    void testComputeIfAbsentRethrowsException() {
+        CachedMap<String, String> map = new CachedMap<>(Duration.ofMinutes(1));
+        assertThrows(SLException.class, () -> map.computeIfAbsent("key", () -> {
+            throw new SLException("Token could not be retrieved");
+        }));
+        assertEquals("value", map.computeIfAbsent("key", () -> "value"));
+    }
+
+    @Test
+    void testComputeIfAbsentWithNullValue() {
+        CachedMap<String, String> map = new CachedMap<>(Duration.ofMinutes(1));
+        assertNull(map.computeIfAbsent("key", () -> null));
+        assertNull(map.get("key"));
+    }
+
+    private static String computeSlowly(AtomicInteger computations) {
+        computations.incrementAndGet();
+        try {
+            TimeUnit.MILLISECONDS.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+        return "value";
+    }
+
 }
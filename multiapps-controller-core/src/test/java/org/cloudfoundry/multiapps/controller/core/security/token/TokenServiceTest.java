@@ -2,8 +2,10 @@ package org.cloudfoundry.multiapps.controller.core.security.token;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 
+import java.lang.management.ManagementFactory;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.Month;
@@ -29,6 +31,8 @@ import com.sap.cloudfoundry.client.facade.oauth2.OAuth2AccessTokenWithAdditional
 class TokenServiceTest {
 
     private static final LocalDateTime DATE_1 = LocalDateTime.of(2021, Month.MARCH, 15, 9, 54, 10);
+    private static final long OLDER_TOKEN_ID = 1;
+    private static final long NEWER_TOKEN_ID = 2;
     @Mock
     private AccessTokenService accessTokenService;
     @Mock
@@ -95,6 +99,50 @@ class TokenServiceTest {
         assertEquals(mockedToken, token);
     }
 
+    @Test
+    void testSurplusTokensAreDeletedBySweeper() {
+        AccessTokenQuery accessTokenQuery = mockAccessTokenQuery();
+        mockAccessTokenService(accessTokenQuery);
+        OAuth2AccessTokenWithAdditionalInfo mockedToken = Mockito.mock(OAuth2AccessTokenWithAdditionalInfo.class);
+        Mockito.when(tokenParserChain.parse(any()))
+               .thenReturn(mockedToken);
+        tokenService.getToken("deploy-service-user");
+        Mockito.verify(accessTokenQuery, Mockito.never())
+               .delete();
+
+        tokenService.deleteSurplusTokens();
+        tokenService.deleteSurplusTokens();
+
+        Mockito.verify(accessTokenQuery, Mockito.times(1))
+               .withIdAnyOf(List.of(OLDER_TOKEN_ID));
+        Mockito.verify(accessTokenQuery, Mockito.times(1))
+               .delete();
+    }
+
+    @Test
+    void testGetTokenDoesNotCreateThreads() {
+        AccessTokenQuery accessTokenQuery = mockAccessTokenQuery();
+        mockAccessTokenService(accessTokenQuery);
+        OAuth2AccessTokenWithAdditionalInfo mockedToken = Mockito.mock(OAuth2AccessTokenWithAdditionalInfo.class);
+        OAuth2AccessToken oAuth2AccessToken = Mockito.mock(OAuth2AccessToken.class);
+        Mockito.when(oAuth2AccessToken.getExpiresAt())
+               .thenReturn(Instant.now());
+        Mockito.when(mockedToken.getOAuth2AccessToken())
+               .thenReturn(oAuth2AccessToken);
+        Mockito.when(tokenParserChain.parse(any()))
+               .thenReturn(mockedToken);
+        int threadCount = ManagementFactory.getThreadMXBean()
+                                           .getThreadCount();
+
+        for (int i = 0; i < 10000; i++) {
+            tokenService.getToken("deploy-service-user");
+        }
+
+        int threadCountAfterCalls = ManagementFactory.getThreadMXBean()
+                                                     .getThreadCount();
+        assertTrue(threadCountAfterCalls - threadCount < 10);
+    }
+
     private AccessTokenQuery mockAccessTokenQuery() {
         AccessTokenQuery accessTokenQuery = Mockito.mock(AccessTokenQuery.class);
         AccessToken olderAccessToken = Mockito.mock(AccessToken.class);
@@ -102,15 +150,19 @@ class TokenServiceTest {
                .thenReturn(new byte[0]);
         Mockito.when(olderAccessToken.getExpiresAt())
                .thenReturn(DATE_1);
+        Mockito.when(olderAccessToken.getId())
+               .thenReturn(OLDER_TOKEN_ID);
         AccessToken newerAccessToken = Mockito.mock(AccessToken.class);
         Mockito.when(newerAccessToken.getValue())
                .thenReturn(new byte[0]);
+        Mockito.when(newerAccessToken.getId())
+               .thenReturn(NEWER_TOKEN_ID);
         Mockito.when(newerAccessToken.getExpiresAt())
                .thenReturn(Instant.now()
                                   .atZone(ZoneId.systemDefault())
                                   .toLocalDateTime());
         Mockito.when(accessTokenQuery.list())
-               .thenReturn(List.of(olderAccessToken, newerAccessToken));
+               .thenReturn(List.of(newerAccessToken, olderAccessToken));
         return accessTokenQuery;
     }
 
@@ -123,6 +175,8 @@ class TokenServiceTest {
                .thenReturn(accessTokenQuery);
         Mockito.when(accessTokenQuery.id(any()))
                .thenReturn(accessTokenQuery);
+        Mockito.when(accessTokenQuery.withIdAnyOf(any()))
+               .thenReturn(accessTokenQuery);
     }
 
 }
@@ -4,9 +4,16 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.nullable;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Map;
 import java.util.Optional;
 
@@ -17,6 +24,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.security.authentication.InternalAuthenticationServiceException;
 
+import com.nimbusds.jose.JWSVerifier;
 import com.sap.cloudfoundry.client.facade.oauth2.OAuth2AccessTokenWithAdditionalInfo;
 
 class JwtTokenParserTest {
@@ -55,7 +63,7 @@ class JwtTokenParserTest {
     @Test
     void testWhenValidationStrategyThrowsException() {
         ValidationStrategy validationStrategy = Mockito.mock(ValidationStrategy.class);
-        Mockito.when(validationStrategy.validateToken(anyString(), anyString()))
+        Mockito.when(validationStrategy.validateToken(anyString(), nullable(JWSVerifier.class)))
                .thenThrow(InternalAuthenticationServiceException.class);
         TokenValidationStrategyFactory tokenValidationStrategyFactory = mockTokenValidationStrategyFactory();
         Mockito.when(tokenValidationStrategyFactory.createStrategy(anyString()))
@@ -70,7 +78,7 @@ class JwtTokenParserTest {
     @Test
     void testWhenValidationStrategyReturnsFalse() {
         ValidationStrategy validationStrategy = Mockito.mock(ValidationStrategy.class);
-        Mockito.when(validationStrategy.validateToken(anyString(), anyString()))
+        Mockito.when(validationStrategy.validateToken(anyString(), nullable(JWSVerifier.class)))
                .thenReturn(false);
         TokenValidationStrategyFactory tokenValidationStrategyFactory = mockTokenValidationStrategyFactory();
         Mockito.when(tokenValidationStrategyFactory.createStrategy(anyString()))
@@ -85,7 +93,7 @@ class JwtTokenParserTest {
     @Test
     void testWhenValidationStrategyReturnsTrue() {
         ValidationStrategy validationStrategy = Mockito.mock(ValidationStrategy.class);
-        Mockito.when(validationStrategy.validateToken(anyString(), anyString()))
+        Mockito.when(validationStrategy.validateToken(anyString(), nullable(JWSVerifier.class)))
                .thenReturn(true);
         TokenValidationStrategyFactory tokenValidationStrategyFactory = Mockito.mock(TokenValidationStrategyFactory.class);
         Mockito.when(tokenValidationStrategyFactory.createStrategy(anyString()))
@@ -96,6 +104,84 @@ class JwtTokenParserTest {
         assertDoesNotThrow(() -> parser.parse("token-value"));
     }
 
+    @Test
+    void testTokensSignedWithRotatedKeysAreVerified() {
+        UAAClient uaaClient = Mockito.mock(UAAClient.class);
+        Mockito.when(uaaClient.readTokenKey())
+               .thenReturn(Map.of("alg", "RS256", "value", "key-1", "kid", "key-id-1"))
+               .thenReturn(Map.of("alg", "RS256", "value", "key-2", "kid", "key-id-2"));
+        ValidationStrategy validationStrategy = mockValidationStrategy();
+        TokenValidationStrategyFactory tokenValidationStrategyFactory = mockTokenValidationStrategyFactory();
+        Mockito.when(tokenValidationStrategyFactory.createStrategy("RS256"))
+               .thenReturn(validationStrategy);
+        JwtTokenParser parser = new JwtTokenParserMock(uaaClient, true, tokenValidationStrategyFactory, Duration.ZERO);
+
+        assertDoesNotThrow(() -> parser.verifyToken(createToken("key-id-1")));
+        assertDoesNotThrow(() -> parser.verifyToken(createToken("key-id-2")));
+        assertDoesNotThrow(() -> parser.verifyToken(createToken("key-id-1")));
+        Mockito.verify(uaaClient, Mockito.times(2))
+               .readTokenKey();
+    }
+
+    @Test
+    void testTokensSignedWithRetiredKeysAreRejectedAfterTheMaxTokenLifetime() {
+        UAAClient uaaClient = Mockito.mock(UAAClient.class);
+        Mockito.when(uaaClient.readTokenKey())
+               .thenReturn(Map.of("alg", "RS256", "value", "key-1", "kid", "key-id-1"))
+               .thenReturn(Map.of("alg", "RS256", "value", "key-2", "kid", "key-id-2"));
+        ValidationStrategy validationStrategy = mockValidationStrategy();
+        TokenValidationStrategyFactory tokenValidationStrategyFactory = mockTokenValidationStrategyFactory();
+        Mockito.when(tokenValidationStrategyFactory.createStrategy("RS256"))
+               .thenReturn(validationStrategy);
+        JwtTokenParser parser = new JwtTokenParserMock(uaaClient, true, tokenValidationStrategyFactory, Duration.ZERO, Duration.ZERO);
+
+        assertDoesNotThrow(() -> parser.verifyToken(createToken("key-id-1")));
+        assertDoesNotThrow(() -> parser.verifyToken(createToken("key-id-2")));
+        assertThrows(InternalAuthenticationServiceException.class, () -> parser.verifyToken(createToken("key-id-1")));
+    }
+
+    @Test
+    void testInvalidTokensDoNotRefreshTokenKeyRepeatedly() {
+        UAAClient uaaClient = mockUaaClient(false, "RS256", "key-1");
+        ValidationStrategy validationStrategy = mockValidationStrategy();
+        TokenValidationStrategyFactory tokenValidationStrategyFactory = mockTokenValidationStrategyFactory();
+        Mockito.when(tokenValidationStrategyFactory.createStrategy("RS256"))
+               .thenReturn(validationStrategy);
+        JwtTokenParser parser = new JwtTokenParserMock(uaaClient, true, tokenValidationStrategyFactory);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(parser.parse(createToken("unknown-key-id"))
+                             .isEmpty());
+        }
+        Mockito.verify(uaaClient, Mockito.times(1))
+               .readTokenKey();
+    }
+
+    private ValidationStrategy mockValidationStrategy() {
+        ValidationStrategy validationStrategy = Mockito.mock(ValidationStrategy.class);
+        JWSVerifier verifier1 = Mockito.mock(JWSVerifier.class);
+        JWSVerifier verifier2 = Mockito.mock(JWSVerifier.class);
+        Mockito.when(validationStrategy.getVerifier("key-1"))
+               .thenReturn(verifier1);
+        Mockito.when(validationStrategy.getVerifier("key-2"))
+               .thenReturn(verifier2);
+        Mockito.when(validationStrategy.validateToken(anyString(), any(JWSVerifier.class)))
+               .thenReturn(false);
+        Mockito.when(validationStrategy.validateToken(eq(createToken("key-id-1")), eq(verifier1)))
+               .thenReturn(true);
+        Mockito.when(validationStrategy.validateToken(eq(createToken("key-id-2")), eq(verifier2)))
+               .thenReturn(true);
+        return validationStrategy;
+    }
+
+    private static String createToken(String keyId) {
+        String header = "{\"alg\":\"RS256\",\"kid\":\"" + keyId + "\"}";
+        Base64.Encoder encoder = Base64.getUrlEncoder()
+                                       .withoutPadding();
+        return encoder.encodeToString(header.getBytes(StandardCharsets.UTF_8)) + "."
+            + encoder.encodeToString("{}".getBytes(StandardCharsets.UTF_8)) + ".c2lnbmF0dXJl";
+    }
+
     private UAAClient mockUaaClient() {
         return mockUaaClient(true, null, null);
     }
@@ -136,7 +222,17 @@ class JwtTokenParserTest {
 
         public JwtTokenParserMock(UAAClient uaaClient, boolean shouldVerify,
                                   TokenValidationStrategyFactory tokenValidationStrategyFactory) {
-            super(uaaClient, tokenValidationStrategyFactory);
+            this(uaaClient, shouldVerify, tokenValidationStrategyFactory, MIN_TOKEN_KEY_REFRESH_INTERVAL);
+        }
+
+        public JwtTokenParserMock(UAAClient uaaClient, boolean shouldVerify, TokenValidationStrategyFactory tokenValidationStrategyFactory,
+                                  Duration minTokenKeyRefreshInterval) {
+            this(uaaClient, shouldVerify, tokenValidationStrategyFactory, minTokenKeyRefreshInterval, MAX_TOKEN_LIFETIME);
+        }
+
+        public JwtTokenParserMock(UAAClient uaaClient, boolean shouldVerify, TokenValidationStrategyFactory tokenValidationStrategyFactory,
+                                  Duration minTokenKeyRefreshInterval, Duration maxTokenLifetime) {
+            super(uaaClient, tokenValidationStrategyFactory, minTokenKeyRefreshInterval, maxTokenLifetime);
             this.shouldVerify = shouldVerify;
         }
 
@@ -0,0 +1,67 @@
+package org.cloudfoundry.multiapps.controller.core.security.token.parsers;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+
+import com.sap.cloudfoundry.client.facade.oauth2.OAuth2AccessTokenWithAdditionalInfo;
+
+class TokenParserChainTest {
+
+    private static final String TOKEN_STRING = "token";
+
+    private final TokenParser tokenParser = Mockito.mock(TokenParser.class);
+    private final TokenParserChain tokenParserChain = new TokenParserChain(List.of(tokenParser));
+
+    @Test
+    void testVerifiedTokenIsNotParsedAgain() {
+        OAuth2AccessTokenWithAdditionalInfo token = mockToken(Instant.now()
+                                                                     .plus(5, ChronoUnit.MINUTES));
+        when(tokenParser.parse(TOKEN_STRING)).thenReturn(Optional.of(token));
+
+        assertSame(token, tokenParserChain.parse(TOKEN_STRING));
+        assertSame(token, tokenParserChain.parse(TOKEN_STRING));
+        verify(tokenParser, times(1)).parse(TOKEN_STRING);
+    }
+
+    @Test
+    void testExpiredTokenIsParsedAgain() {
+        OAuth2AccessTokenWithAdditionalInfo token = mockToken(Instant.now()
+                                                                     .minus(5, ChronoUnit.MINUTES));
+        when(tokenParser.parse(TOKEN_STRING)).thenReturn(Optional.of(token));
+
+        tokenParserChain.parse(TOKEN_STRING);
+        tokenParserChain.parse(TOKEN_STRING);
+        verify(tokenParser, times(2)).parse(TOKEN_STRING);
+    }
+
+    @Test
+    void testInvalidTokenIsNotCached() {
+        when(tokenParser.parse(TOKEN_STRING)).thenReturn(Optional.empty());
+
+        assertThrows(InternalAuthenticationServiceException.class, () -> tokenParserChain.parse(TOKEN_STRING));
+        assertThrows(InternalAuthenticationServiceException.class, () -> tokenParserChain.parse(TOKEN_STRING));
+        verify(tokenParser, times(2)).parse(TOKEN_STRING);
+    }
+
+    private static OAuth2AccessTokenWithAdditionalInfo mockToken(Instant expiresAt) {
+        OAuth2AccessTokenWithAdditionalInfo token = Mockito.mock(OAuth2AccessTokenWithAdditionalInfo.class);
+        OAuth2AccessToken accessToken = Mockito.mock(OAuth2AccessToken.class);
+        when(accessToken.getExpiresAt()).thenReturn(expiresAt);
+        when(token.getOAuth2AccessToken()).thenReturn(accessToken);
+        return token;
+    }
+
+}
@@ -528,6 +528,56 @@ class ApplicationConfigurationTest {
         assertTrue(configuration.isOnStartFilesWithoutContentCleanerEnabled());
     }
 
+    @Test
+    void testShouldCompressProcessVariables() {
+        assertFalse(configuration.shouldCompressProcessVariables());
+    }
+
+    @Test
+    void testShouldCompressProcessVariablesWithEnv() {
+        Mockito.when(environment.getBoolean(ApplicationConfiguration.CFG_COMPRESS_PROCESS_VARIABLES,
+                                            ApplicationConfiguration.DEFAULT_COMPRESS_PROCESS_VARIABLES))
+               .thenReturn(true);
+        assertTrue(configuration.shouldCompressProcessVariables());
+    }
+
+    @Test
+    void testGetControllerClientPageFetchConcurrency() {
+        int pageFetchConcurrency = 8;
+        Mockito.when(environment.getPositiveInteger(ApplicationConfiguration.CFG_CONTROLLER_CLIENT_PAGE_FETCH_CONCURRENCY,
+                                                    ApplicationConfiguration.DEFAULT_CONTROLLER_CLIENT_PAGE_FETCH_CONCURRENCY))
+               .thenReturn(pageFetchConcurrency);
+        Assertions.assertEquals(pageFetchConcurrency, configuration.getControllerClientPageFetchConcurrency());
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = { 0, 1024, 4L * 1024 * 1024 * 1024 })
+    void testGetObjectStoreReadAheadChunkSizeOutOfRange(long chunkSize) {
+        Mockito.when(environment.getLong(ApplicationConfiguration.CFG_OBJECT_STORE_READ_AHEAD_CHUNK_SIZE,
+                                         (long) ApplicationConfiguration.DEFAULT_OBJECT_STORE_READ_AHEAD_CHUNK_SIZE))
+               .thenReturn(chunkSize);
+        Assertions.assertEquals(ApplicationConfiguration.DEFAULT_OBJECT_STORE_READ_AHEAD_CHUNK_SIZE,
+                                configuration.getObjectStoreReadAheadChunkSize());
+    }
+
+    @Test
+    void testGetObjectStoreReadAheadChunkSize() {
+        int chunkSize = 16 * 1024 * 1024;
+        Mockito.when(environment.getLong(ApplicationConfiguration.CFG_OBJECT_STORE_READ_AHEAD_CHUNK_SIZE,
+                                         (long) ApplicationConfiguration.DEFAULT_OBJECT_STORE_READ_AHEAD_CHUNK_SIZE))
+               .thenReturn((long) chunkSize);
+        Assertions.assertEquals(chunkSize, configuration.getObjectStoreReadAheadChunkSize());
+    }
+
+    @Test
+    void testGetRateLimitUploadsPerHour() {
+        int rateLimit = 100;
+        Mockito.when(environment.getPositiveInteger(ApplicationConfiguration.CFG_RATE_LIMIT_UPLOADS_PER_HOUR,
+                                                    ApplicationConfiguration.DEFAULT_RATE_LIMIT_PER_HOUR))
+               .thenReturn(rateLimit);
+        Assertions.assertEquals(rateLimit, configuration.getRateLimitUploadsPerHour());
+    }
+
     @Test
     void testLoad() {
         Map<String, Object> vcapApplication = injectFileInEnvironment(VCAP_APPLICATION, ApplicationConfiguration.CFG_VCAP_APPLICATION);
@@ -15,7 +15,6 @@ public final class Messages {
     public static final String ERROR_GETTING_FILES_WITH_SPACE_AND_OPERATION_ID = "Error getting files with space {0} and operation id {1}";
     public static final String ERROR_GETTING_FILES_WITH_SPACE_OPERATION_ID_AND_NAME = "Error getting files with space {0} operation id {1} and file name {2}";
     public static final String ERROR_GETTING_ALL_FILES = "Error getting all files";
-    public static final String ERROR_STORING_LOG_FILE = "Error storing log file \"{0}\"";
     public static final String ERROR_LOG_FILE_NOT_FOUND = "Log file with name \"{0}\" for operation \"{1}\" in space \"{2}\" was not found";
     public static final String ERROR_CORRELATION_ID_OR_ACTIVITY_ID_NULL = "Unable to retrieve correlation id or activity id for process \"{0}\" at activity \"{1}\" and space \"{2}\"";
     public static final String COLUMN_VALUE_SHOULD_NOT_BE_NULL = "Configuration subscription''s \"{0}\" column value should not be null";
@@ -41,7 +40,15 @@ public final class Messages {
     public static final String GENERATING_KEY_FILE_FAILED = "Generating key failed: {0}";
     public static final String ASYNC_UPLOAD_JOB_NOT_FOUND = "Async upload job entry with ID \"{0}\" not found";
     public static final String ASYNC_UPLOAD_JOB_ALREADY_EXISTS = "Async upload job entry with ID \"{0}\" already exists";
+    public static final String UPLOAD_SESSION_NOT_FOUND = "Upload session with ID \"{0}\" not found";
+    public static final String UPLOAD_SESSION_ALREADY_EXISTS = "Upload session with ID \"{0}\" already exists";
     public static final String ERROR_GETTING_FILES_CREATED_AFTER_0_AND_BEFORE_1 = "Error getting files created after {0} and before {1]";
+    public static final String STREAM_IS_CLOSED = "Stream is closed";
+    public static final String UNEXPECTED_END_OF_RANGE_0_1_AFTER_2_BYTES = "Unexpected end of range [{0}, {1}) after {2} bytes";
+    public static final String DIGEST_OF_FILE_0_IS_1_BUT_2_WAS_EXPECTED = "Digest of file \"{0}\" is \"{1}\", but \"{2}\" was expected";
+    public static final String SIZE_OF_FILE_0_IS_1_BUT_2_WAS_EXPECTED = "Size of file \"{0}\" is {1}, but {2} was expected";
+    public static final String CHUNKS_0_OF_FILE_1_WERE_NOT_UPLOADED = "Chunks {0} of file \"{1}\" were not uploaded";
+    public static final String UPLOAD_OF_PART_0_OF_FILE_1_FAILED = "Upload of part {0} of file \"{1}\" failed: {2}";
 
     // ERROR log messages:
     public static final String UPLOAD_STREAM_FAILED_TO_CLOSE = "Cannot close file upload stream";
@@ -50,19 +57,24 @@ public final class Messages {
     public static final String COULD_NOT_CLOSE_RESULT_SET = "Could not close result set.";
     public static final String COULD_NOT_CLOSE_STATEMENT = "Could not close statement.";
     public static final String COULD_NOT_CLOSE_CONNECTION = "Could not close connection.";
-    public static final String COULD_NOT_CLOSE_LOGGER_CONTEXT = "Could not close logger context";
     public static final String COULD_NOT_ROLLBACK_TRANSACTION = "Could not rollback transaction!";
-    public static final String COULD_NOT_PERSIST_LOGS_FILE = "Could not persist logs file: {0}";
+    public static final String COULD_NOT_PERSIST_PROCESS_LOGS_0_RETRYING_IN_1_SECONDS = "Could not persist process logs: {0}. Retrying in {1} seconds";
+    public static final String DROPPED_PROCESS_LOGS_0_WHICH_COULD_NOT_BE_PERSISTED = "Dropped process logs which could not be persisted: {0}";
     public static final String ATTEMPT_TO_UPLOAD_BLOB_FAILED = "Attempt [{0}/{1}] to upload blob to ObjectStore failed with \"{2}\"";
+    public static final String ATTEMPT_TO_UPLOAD_PART_0_OF_BLOB_1_FAILED = "Attempt [{2}/{3}] to upload part {0} of blob {1} to ObjectStore failed with \"{4}\"";
     public static final String ATTEMPT_TO_DOWNLOAD_MISSING_BLOB = "Attempt [{0}/{1}] to download missing blob {2} from ObjectStore";
+    public static final String COULD_NOT_BUILD_ARCHIVE_INDEX_FOR_FILE_0 = "Could not build archive index for file \"{0}\", its content will be read sequentially: {1}";
 
     // INFO log messages:
-    public static final String DEFAULT_CONSOLE = "DefaultConsole";
     public static final String DELETING_FILES_WITHOUT_CONTENT_WITH_IDS_0 = "Deleting files without content with ids: {0}";
 
     // DEBUG log messages:
     public static final String STORED_FILE_0 = "Stored file: \"{0}\"";
     public static final String STORED_FILE_0_WITH_SIZE_1 = "Stored file \"{0}\" with size {1}";
+    public static final String STORED_FILE_0_WITH_SIZE_1_IN_2_PARTS = "Stored file \"{0}\" with size {1} in {2} parts";
+    public static final String MULTIPART_UPLOAD_IS_NOT_SUPPORTED_SPOOLING_FILE_0_TO_DISK = "Multipart upload is not supported, spooling file \"{0}\" to disk to upload it with a known length";
+    public static final String STORED_ARCHIVE_INDEX_FOR_FILE_0_WITH_1_ENTRIES = "Stored archive index for file \"{0}\" with {1} entries";
+    public static final String FILE_0_SHARES_THE_CONTENT_OF_FILE_1 = "File \"{0}\" shares the content of file \"{1}\"";
     public static final String DELETED_0_FILES_WITH_SPACEIDS_1 = "Deleted {0} files with space ids \"{1}\".";
     public static final String DELETED_0_FILES_WITH_SPACE_1_AND_NAMESPACE_2 = "Deleted {0} files with space \"{1}\" and namespace \"{2}\".";
     public static final String DELETED_0_FILES_MODIFIED_BEFORE_1 = "Deleted {0} files modified before \"{1}\".";
@@ -0,0 +1,187 @@
+package org.cloudfoundry.multiapps.controller.persistence.dto;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.cloudfoundry.multiapps.controller.persistence.model.PersistenceMetadata;
+
+@Entity
+@Table(name = PersistenceMetadata.TableNames.UPLOAD_SESSION_TABLE)
+public class UploadSessionDto implements DtoWithPrimaryKey<String> {
+
+    public static class AttributeNames {
+
+        private AttributeNames() {
+        }
+
+        public static final String ID = "id";
+        public static final String USER = "mtaUser";
+        public static final String SPACE_GUID = "spaceGuid";
+        public static final String NAMESPACE = "namespace";
+        public static final String ADDED_AT = "addedAt";
+    }
+
+    @Id
+    @Column(name = PersistenceMetadata.TableColumnNames.UPLOAD_SESSION_ID)
+    private String id;
+
+    @Column(name = PersistenceMetadata.TableColumnNames.UPLOAD_SESSION_USER, nullable = false)
+    private String mtaUser;
+
+    @Column(name = PersistenceMetadata.TableColumnNames.UPLOAD_SESSION_SPACE_GUID, nullable = false)
+    private String spaceGuid;
+
+    @Column(name = PersistenceMetadata.TableColumnNames.UPLOAD_SESSION_NAMESPACE)
+    private String namespace;
+
+    @Column(name = PersistenceMetadata.TableColumnNames.UPLOAD_SESSION_FILE_NAME, nullable = false)
+    private String fileName;
+
+    @Column(name = PersistenceMetadata.TableColumnNames.UPLOAD_SESSION_FILE_SIZE, nullable = false)
+    private long fileSize;
+
+    @Column(name = PersistenceMetadata.TableColumnNames.UPLOAD_SESSION_CHUNK_SIZE, nullable = false)
+    private long chunkSize;
+
+    @Column(name = PersistenceMetadata.TableColumnNames.UPLOAD_SESSION_FILE_ID, nullable = false)
+    private String fileId;
+
+    @Column(name = PersistenceMetadata.TableColumnNames.UPLOAD_SESSION_MULTIPART_UPLOAD_ID)
+    private String multipartUploadId;
+
+    @Column(name = PersistenceMetadata.TableColumnNames.UPLOAD_SESSION_DIGEST)
+    private String digest;
+
+    @Column(name = PersistenceMetadata.TableColumnNames.UPLOAD_SESSION_ADDED_AT)
+    private LocalDateTime addedAt;
+
+    public UploadSessionDto() {
+        // Required by JPA
+    }
+
+    public UploadSessionDto(String id, String mtaUser, String spaceGuid, String namespace, String fileName, long fileSize, long chunkSize,
+                            String fileId, String multipartUploadId, String digest, LocalDateTime addedAt) {
+        this.id = id;
+        this.mtaUser = mtaUser;
+        this.spaceGuid = spaceGuid;
+        this.namespace = namespace;
+        this.fileName = fileName;
+        this.fileSize = fileSize;
+        this.chunkSize = chunkSize;
+        this.fileId = fileId;
+        this.multipartUploadId = multipartUploadId;
+        this.digest = digest;
+        this.addedAt = addedAt;
+    }
+
+    @Override
+    public String getPrimaryKey() {
+        return id;
+    }
+
+    @Override
+    public void setPrimaryKey(String primaryKey) {
+        this.id = primaryKey;
+    }
+
+    public String getMtaUser() {
+        return mtaUser;
+    }
+
+    public void setMtaUser(String mtaUser) {
+        this.mtaUser = mtaUser;
+    }
+
+    public String getSpaceGuid() {
+        return spaceGuid;
+    }
+
+    public void setSpaceGuid(String spaceGuid) {
+        this.spaceGuid = spaceGuid;
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public void setNamespace(String namespace) {
+        this.namespace = namespace;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public long getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(long chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public String getFileId() {
+        return fileId;
+    }
+
+    public void setFileId(String fileId) {
+        this.fileId = fileId;
+    }
+
+    public String getMultipartUploadId() {
+        return multipartUploadId;
+    }
+
+    public void setMultipartUploadId(String multipartUploadId) {
+        this.multipartUploadId = multipartUploadId;
+    }
+
+    public String getDigest() {
+        return digest;
+    }
+
+    public void setDigest(String digest) {
+        this.digest = digest;
+    }
+
+    public LocalDateTime getAddedAt() {
+        return addedAt;
+    }
+
+    public void setAddedAt(LocalDateTime addedAt) {
+        this.addedAt = addedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "UploadSessionDto{" +
+                "id='" + id + '\'' +
+                ", mtaUser='" + mtaUser + '\'' +
+                ", spaceGuid='" + spaceGuid + '\'' +
+                ", namespace='" + namespace + '\'' +
+                ", fileName='" + fileName + '\'' +
+                ", fileSize=" + fileSize +
+                ", chunkSize=" + chunkSize +
+                ", fileId='" + fileId + '\'' +
+                ", multipartUploadId='" + multipartUploadId + '\'' +
+                ", digest='" + digest + '\'' +
+                ", addedAt=" + addedAt +
+                '}';
+    }
+}
@@ -149,8 +149,8 @@ public class AliOSSBlobStore extends BaseBlobStore {
             String[] ranges = options.getRanges()
                                      .get(0)
                                      .split("-");
-            long start = Integer.parseInt(ranges[0]);
-            long end = Integer.parseInt(ranges[1]);
+            long start = Long.parseLong(ranges[0]);
+            long end = Long.parseLong(ranges[1]);
             request.setRange(start, end);
         }
         return request;
@@ -0,0 +1,32 @@
+package org.cloudfoundry.multiapps.controller.persistence.model;
+
+import org.immutables.value.Value;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Location of a single ZIP entry inside a stored archive. The start position points to the local file header of the entry and the end
+ * position (exclusive) to the local file header of the next entry or to the beginning of the central directory, so the range covers the
+ * header, the data and the optional data descriptor of the entry.
+ */
+@Value.Immutable
+@JsonSerialize(as = ImmutableArchiveEntryWithStreamPositions.class)
+@JsonDeserialize(as = ImmutableArchiveEntryWithStreamPositions.class)
+public interface ArchiveEntryWithStreamPositions {
+
+    String getName();
+
+    long getStartPosition();
+
+    long getEndPosition();
+
+    /**
+     * The size of the entry data after decompression. Indexes stored before this size was recorded report 0.
+     */
+    @Value.Default
+    default long getUncompressedSize() {
+        return 0;
+    }
+
+}
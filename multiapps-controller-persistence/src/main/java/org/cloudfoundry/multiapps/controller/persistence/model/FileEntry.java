@@ -41,4 +41,10 @@ public interface FileEntry {
     @Nullable
     String getOperationId();
 
+    /**
+     * The ID of the file whose stored content is shared by this file, or null if the file has its own content
+     */
+    @Nullable
+    String getContentId();
+
 }
@@ -19,6 +19,7 @@ public class PersistenceMetadata {
         public static final String ACCESS_TOKEN_TABLE = "access_token";
         public static final String LOCK_OWNERS_TABLE = "lock_owners";
         public static final String ASYNC_UPLOAD_JOB_TABLE = "async_upload_job";
+        public static final String UPLOAD_SESSION_TABLE = "upload_session";
 
     }
 
@@ -99,6 +100,18 @@ public class PersistenceMetadata {
         public static final String ASYNC_UPLOAD_JOB_FILE_ID = "file_id";
         public static final String ASYNC_UPLOAD_JOB_ERROR = "error";
         public static final String ASYNC_UPLOAD_JOB_INSTANCE_INDEX = "instance_index";
+
+        public static final String UPLOAD_SESSION_ID = "id";
+        public static final String UPLOAD_SESSION_USER = "mta_user";
+        public static final String UPLOAD_SESSION_SPACE_GUID = "space_guid";
+        public static final String UPLOAD_SESSION_NAMESPACE = "namespace";
+        public static final String UPLOAD_SESSION_FILE_NAME = "file_name";
+        public static final String UPLOAD_SESSION_FILE_SIZE = "file_size";
+        public static final String UPLOAD_SESSION_CHUNK_SIZE = "chunk_size";
+        public static final String UPLOAD_SESSION_FILE_ID = "file_id";
+        public static final String UPLOAD_SESSION_MULTIPART_UPLOAD_ID = "multipart_upload_id";
+        public static final String UPLOAD_SESSION_DIGEST = "digest";
+        public static final String UPLOAD_SESSION_ADDED_AT = "added_at";
     }
 
 }
@@ -0,0 +1,74 @@
+package org.cloudfoundry.multiapps.controller.persistence.model;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+
+import org.cloudfoundry.multiapps.common.Nullable;
+import org.immutables.value.Value;
+
+/**
+ * A resumable upload of a file, whose content is sent in chunks of a fixed size. The file is stored with the ID {@link #getFileId()} once
+ * all chunks are received and the session is committed.
+ */
+@Value.Immutable
+public interface UploadSessionEntry {
+
+    String getId();
+
+    String getUser();
+
+    String getSpaceGuid();
+
+    @Nullable
+    String getNamespace();
+
+    String getFileName();
+
+    long getFileSize();
+
+    long getChunkSize();
+
+    String getFileId();
+
+    /**
+     * The ID of the multipart upload in the object store, or null if the chunks are stored as separate files
+     */
+    @Nullable
+    String getMultipartUploadId();
+
+    /**
+     * The MD5 digest of the whole file sent by the client, against which the digest of the assembled content is verified
+     */
+    @Nullable
+    String getDigest();
+
+    @Nullable
+    LocalDateTime getAddedAt();
+
+    default int getChunksCount() {
+        return (int) Math.max(1, (getFileSize() + getChunkSize() - 1) / getChunkSize());
+    }
+
+    /**
+     * The size of the chunk with the specified number, starting from 1. Only the last chunk may be smaller than the chunk size.
+     */
+    default long getSizeOfChunk(int chunkNumber) {
+        return Math.min(getChunkSize(), getFileSize() - (chunkNumber - 1) * getChunkSize());
+    }
+
+    /**
+     * The entry of the file assembled from the chunks, which is used for all chunked upload operations of the file service
+     */
+    default FileEntry toFileEntry() {
+        return ImmutableFileEntry.builder()
+                                 .id(getFileId())
+                                 .space(getSpaceGuid())
+                                 .namespace(getNamespace())
+                                 .name(getFileName())
+                                 .size(BigInteger.valueOf(getFileSize()))
+                                 .digest(getDigest())
+                                 .modified(getAddedAt())
+                                 .build();
+    }
+
+}
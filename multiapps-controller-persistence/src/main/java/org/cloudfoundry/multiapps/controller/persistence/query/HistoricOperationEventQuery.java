@@ -15,6 +15,8 @@ public interface HistoricOperationEventQuery extends Query<HistoricOperationEven
 
     HistoricOperationEventQuery olderThan(LocalDateTime time);
 
+    HistoricOperationEventQuery newerThan(LocalDateTime time);
+
     HistoricOperationEventQuery orderByTimestamp(OrderDirection orderDirection);
 
 }
\ No newline at end of file
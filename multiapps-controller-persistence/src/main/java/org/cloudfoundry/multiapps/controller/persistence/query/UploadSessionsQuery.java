@@ -0,0 +1,19 @@
+package org.cloudfoundry.multiapps.controller.persistence.query;
+
+import java.time.LocalDateTime;
+
+import org.cloudfoundry.multiapps.controller.persistence.model.UploadSessionEntry;
+
+public interface UploadSessionsQuery extends Query<UploadSessionEntry, UploadSessionsQuery> {
+
+    UploadSessionsQuery id(String id);
+
+    UploadSessionsQuery spaceGuid(String spaceGuid);
+
+    UploadSessionsQuery namespace(String namespace);
+
+    UploadSessionsQuery user(String user);
+
+    UploadSessionsQuery addedBefore(LocalDateTime addedBefore);
+
+}
@@ -66,6 +66,16 @@ public class HistoricOperationEventQueryImpl extends AbstractQueryImpl<HistoricO
         return this;
     }
 
+    @Override
+    public HistoricOperationEventQuery newerThan(LocalDateTime time) {
+        queryCriteria.addRestriction(ImmutableQueryAttributeRestriction.<LocalDateTime> builder()
+                                                                       .attribute(AttributeNames.TIMESTAMP)
+                                                                       .condition(getCriteriaBuilder()::greaterThan)
+                                                                       .value(time)
+                                                                       .build());
+        return this;
+    }
+
     @Override
     public HistoricOperationEvent singleResult() {
         HistoricOperationEventDto dto = executeInTransaction(manager -> createQuery(manager, queryCriteria,
@@ -0,0 +1,101 @@
+package org.cloudfoundry.multiapps.controller.persistence.query.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.NoResultException;
+import javax.persistence.NonUniqueResultException;
+
+import org.cloudfoundry.multiapps.controller.persistence.dto.UploadSessionDto;
+import org.cloudfoundry.multiapps.controller.persistence.dto.UploadSessionDto.AttributeNames;
+import org.cloudfoundry.multiapps.controller.persistence.model.UploadSessionEntry;
+import org.cloudfoundry.multiapps.controller.persistence.query.UploadSessionsQuery;
+import org.cloudfoundry.multiapps.controller.persistence.query.criteria.ImmutableQueryAttributeRestriction;
+import org.cloudfoundry.multiapps.controller.persistence.query.criteria.QueryCriteria;
+import org.cloudfoundry.multiapps.controller.persistence.services.UploadSessionService.UploadSessionMapper;
+
+public class UploadSessionsQueryImpl extends AbstractQueryImpl<UploadSessionEntry, UploadSessionsQuery> implements UploadSessionsQuery {
+
+    private final QueryCriteria queryCriteria = new QueryCriteria();
+    private final UploadSessionMapper mapper = new UploadSessionMapper();
+
+    public UploadSessionsQueryImpl(EntityManager entityManager) {
+        super(entityManager);
+    }
+
+    @Override
+    public UploadSessionsQuery id(String id) {
+        queryCriteria.addRestriction(ImmutableQueryAttributeRestriction.builder()
+                                                                       .attribute(AttributeNames.ID)
+                                                                       .condition(getCriteriaBuilder()::equal)
+                                                                       .value(id)
+                                                                       .build());
+        return this;
+    }
+
+    @Override
+    public UploadSessionsQuery spaceGuid(String spaceGuid) {
+        queryCriteria.addRestriction(ImmutableQueryAttributeRestriction.builder()
+                                                                       .attribute(AttributeNames.SPACE_GUID)
+                                                                       .condition(getCriteriaBuilder()::equal)
+                                                                       .value(spaceGuid)
+                                                                       .build());
+        return this;
+    }
+
+    @Override
+    public UploadSessionsQuery namespace(String namespace) {
+        if (namespace == null) {
+            return this;
+        }
+        queryCriteria.addRestriction(ImmutableQueryAttributeRestriction.builder()
+                                                                       .attribute(AttributeNames.NAMESPACE)
+                                                                       .condition(getCriteriaBuilder()::equal)
+                                                                       .value(namespace)
+                                                                       .build());
+        return this;
+    }
+
+    @Override
+    public UploadSessionsQuery user(String user) {
+        queryCriteria.addRestriction(ImmutableQueryAttributeRestriction.builder()
+                                                                       .attribute(AttributeNames.USER)
+                                                                       .condition(getCriteriaBuilder()::equal)
+                                                                       .value(user)
+                                                                       .build());
+        return this;
+    }
+
+    @Override
+    public UploadSessionsQuery addedBefore(LocalDateTime addedBefore) {
+        queryCriteria.addRestriction(ImmutableQueryAttributeRestriction.<LocalDateTime> builder()
+                                                                       .attribute(AttributeNames.ADDED_AT)
+                                                                       .condition(getCriteriaBuilder()::lessThan)
+                                                                       .value(addedBefore)
+                                                                       .build());
+        return this;
+    }
+
+    @Override
+    public UploadSessionEntry singleResult() throws NoResultException, NonUniqueResultException {
+        UploadSessionDto dto = executeInTransaction(manager -> createQuery(manager, queryCriteria,
+                                                                           UploadSessionDto.class).getSingleResult());
+        return mapper.fromDto(dto);
+    }
+
+    @Override
+    public List<UploadSessionEntry> list() {
+        List<UploadSessionDto> dtos = executeInTransaction(manager -> createQuery(manager, queryCriteria,
+                                                                                  UploadSessionDto.class).getResultList());
+        return dtos.stream()
+                   .map(mapper::fromDto)
+                   .collect(Collectors.toList());
+    }
+
+    @Override
+    public int delete() {
+        return executeInTransaction(manager -> createDeleteQuery(manager, queryCriteria, UploadSessionDto.class).executeUpdate());
+    }
+}
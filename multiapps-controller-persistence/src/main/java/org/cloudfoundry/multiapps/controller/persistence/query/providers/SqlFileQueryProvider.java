@@ -1,10 +1,13 @@
 package org.cloudfoundry.multiapps.controller.persistence.query.providers;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigInteger;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.sql.Array;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -15,7 +18,12 @@ import java.text.MessageFormat;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.IntStream;
 
 import javax.xml.bind.DatatypeConverter;
@@ -27,6 +35,7 @@ import org.cloudfoundry.multiapps.controller.persistence.model.FileEntry;
 import org.cloudfoundry.multiapps.controller.persistence.model.ImmutableFileEntry;
 import org.cloudfoundry.multiapps.controller.persistence.query.SqlQuery;
 import org.cloudfoundry.multiapps.controller.persistence.services.FileContentProcessor;
+import org.cloudfoundry.multiapps.controller.persistence.stream.CountingInputStream;
 import org.cloudfoundry.multiapps.controller.persistence.stream.DBInputStream;
 import org.cloudfoundry.multiapps.controller.persistence.util.JdbcUtil;
 import org.slf4j.Logger;
@@ -35,17 +44,24 @@ public abstract class SqlFileQueryProvider {
 
     private static final String INSERT_FILE_ATTRIBUTES_AND_CONTENT = "INSERT INTO %s (FILE_ID, SPACE, FILE_NAME, NAMESPACE, FILE_SIZE, DIGEST, DIGEST_ALGORITHM, MODIFIED, OPERATION_ID, %s) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
     private static final String INSERT_FILE_ATTRIBUTES_AND_CONTENT_WITHOUT_DIGEST = "INSERT INTO %s (FILE_ID, SPACE, FILE_NAME, NAMESPACE, FILE_SIZE, DIGEST_ALGORITHM, MODIFIED, OPERATION_ID, %s) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-    private static final String UPDATE_FILE_DIGEST = "UPDATE %s SET DIGEST = ? WHERE FILE_ID = ?";
+    private static final String UPDATE_FILE_DIGEST_AND_SIZE = "UPDATE %s SET DIGEST = ?, FILE_SIZE = ? WHERE FILE_ID = ?";
+    private static final String UPDATE_FILE_ARCHIVE_INDEX = "UPDATE %s SET ARCHIVE_INDEX = ? WHERE FILE_ID = ? AND SPACE = ?";
     private static final String UPDATE_FILES_OPERATION_ID = "UPDATE %s SET OPERATION_ID = ? where FILE_ID = ANY(?)";
-    private static final String INSERT_FILE_ATTRIBUTES = "INSERT INTO %s (FILE_ID, SPACE, FILE_NAME, NAMESPACE, FILE_SIZE, DIGEST, DIGEST_ALGORITHM, MODIFIED, OPERATION_ID) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-    private static final String SELECT_FILES_WITHOUT_OPERATION_CREATED_AFTER_TIME1_AND_BEFORE_TIME2 = "SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE, OPERATION_ID FROM %s WHERE MODIFIED > ? AND MODIFIED < ? AND OPERATION_ID ISNULL";
-    private static final String SELECT_ALL_FILES = "SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE, OPERATION_ID FROM %s";
-    private static final String SELECT_FILES_BY_NAMESPACE_AND_SPACE_ID = "SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE, OPERATION_ID FROM %s WHERE NAMESPACE=? AND SPACE=?";
-    private static final String SELECT_FILES_BY_SPACE_ID_AND_OPERATION_ID = "SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE, OPERATION_ID FROM %s WHERE SPACE=? AND OPERATION_ID=?";
-    private static final String SELECT_FILES_BY_SPACE_ID_OPERATION_ID_AND_NAME = "SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE, OPERATION_ID FROM %s WHERE SPACE=? AND OPERATION_ID=? AND FILE_NAME=? ORDER BY MODIFIED ASC";
-    private static final String SELECT_FILES_BY_SPACE_ID_WITH_NO_NAMESPACE = "SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE, OPERATION_ID FROM %s WHERE SPACE=? AND NAMESPACE IS NULL";
-    private static final String SELECT_FILES_BY_SPACE_ID = "SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE, OPERATION_ID FROM %s WHERE SPACE=?";
-    private static final String SELECT_FILE_BY_ID_AND_SPACE_ID = "SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE, OPERATION_ID FROM %s WHERE FILE_ID=? AND SPACE=?";
+    private static final String INSERT_FILE_ATTRIBUTES = "INSERT INTO %s (FILE_ID, SPACE, FILE_NAME, NAMESPACE, FILE_SIZE, DIGEST, DIGEST_ALGORITHM, MODIFIED, OPERATION_ID, CONTENT_ID) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_FILES_WITHOUT_OPERATION_CREATED_AFTER_TIME1_AND_BEFORE_TIME2 = "SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE, OPERATION_ID, CONTENT_ID FROM %s WHERE MODIFIED > ? AND MODIFIED < ? AND OPERATION_ID ISNULL";
+    private static final String SELECT_ALL_FILES = "SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE, OPERATION_ID, CONTENT_ID FROM %s";
+    private static final String SELECT_FILES_BY_NAMESPACE_AND_SPACE_ID = "SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE, OPERATION_ID, CONTENT_ID FROM %s WHERE NAMESPACE=? AND SPACE=?";
+    private static final String SELECT_FILES_BY_SPACE_ID_AND_OPERATION_ID = "SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE, OPERATION_ID, CONTENT_ID FROM %s WHERE SPACE=? AND OPERATION_ID=?";
+    private static final String SELECT_FILES_BY_SPACE_ID_OPERATION_ID_AND_NAME = "SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE, OPERATION_ID, CONTENT_ID FROM %s WHERE SPACE=? AND OPERATION_ID=? AND FILE_NAME=? ORDER BY MODIFIED ASC";
+    private static final String SELECT_FILES_BY_SPACE_ID_WITH_NO_NAMESPACE = "SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE, OPERATION_ID, CONTENT_ID FROM %s WHERE SPACE=? AND NAMESPACE IS NULL";
+    private static final String SELECT_FILES_BY_SPACE_ID = "SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE, OPERATION_ID, CONTENT_ID FROM %s WHERE SPACE=?";
+    private static final String SELECT_FILE_BY_ID_AND_SPACE_ID = "SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE, OPERATION_ID, CONTENT_ID FROM %s WHERE FILE_ID=? AND SPACE=?";
+    private static final String SELECT_FILE_BY_ID_AND_SPACE_ID_FOR_UPDATE = "SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE, OPERATION_ID, CONTENT_ID FROM %s WHERE FILE_ID=? AND SPACE=? FOR UPDATE";
+    private static final String SELECT_FILES_BY_CONTENT_AND_SPACE_ID_FOR_UPDATE = "SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE, OPERATION_ID, CONTENT_ID FROM %s WHERE DIGEST=? AND DIGEST_ALGORITHM=? AND FILE_SIZE=? AND SPACE=? ORDER BY MODIFIED DESC FOR UPDATE";
+    private static final String SELECT_SHARED_CONTENT_IDS_OF_DELETED_FILES = "SELECT DISTINCT SHARING_FILE.CONTENT_ID FROM %1$s SHARING_FILE WHERE SHARING_FILE.CONTENT_ID IS NOT NULL AND NOT EXISTS (SELECT 1 FROM %1$s STORING_FILE WHERE STORING_FILE.FILE_ID = SHARING_FILE.CONTENT_ID)";
+    private static final String SELECT_CONTENT_IDS_BY_FILE_IDS_FOR_UPDATE = "SELECT COALESCE(CONTENT_ID, FILE_ID) AS CONTENT_ID FROM %s WHERE FILE_ID = ANY(?) FOR UPDATE";
+    private static final String SELECT_REFERENCED_CONTENT_IDS = "SELECT DISTINCT COALESCE(CONTENT_ID, FILE_ID) AS CONTENT_ID FROM %s WHERE (FILE_ID = ANY(?) OR CONTENT_ID = ANY(?)) AND NOT FILE_ID = ANY(?)";
+    private static final String SELECT_FILE_ARCHIVE_INDEX_BY_ID_AND_SPACE_ID = "SELECT ARCHIVE_INDEX FROM %s WHERE FILE_ID=? AND SPACE=?";
     private static final String SELECT_FILE_WITH_CONTENT_BY_ID_AND_SPACE_ID = "SELECT FILE_ID, SPACE, %s FROM %s WHERE FILE_ID=? AND SPACE=?";
     private static final String DELETE_FILES_BY_NAMESPACE_AND_SPACE_ID = "DELETE FROM %s WHERE NAMESPACE=? AND SPACE=?";
     private static final String DELETE_FILES_BY_SPACE_ID = "DELETE FROM %s WHERE SPACE=?";
@@ -86,30 +102,75 @@ public abstract class SqlFileQueryProvider {
         };
     }
 
-    public SqlQuery<String> getStoreFileAndComputeDigestQuery(FileEntry entryWithoutDigest, InputStream content) {
+    /**
+     * Stores the contents of several small files with a single batch of inserts and returns the number of stored files.
+     */
+    public SqlQuery<Integer> getStoreFilesQuery(Map<FileEntry, byte[]> filesWithContent) {
         return (Connection connection) -> {
             PreparedStatement statement = null;
-            try (DigestInputStream dis = new DigestInputStream(content, MessageDigest.getInstance(Constants.DIGEST_ALGORITHM))) {
+            try {
+                statement = connection.prepareStatement(getInsertWithContentQuery());
+                for (Map.Entry<FileEntry, byte[]> fileWithContent : filesWithContent.entrySet()) {
+                    FileEntry fileEntry = fileWithContent.getKey();
+                    statement.setString(1, fileEntry.getId());
+                    statement.setString(2, fileEntry.getSpace());
+                    statement.setString(3, fileEntry.getName());
+                    setOrNull(statement, 4, fileEntry.getNamespace());
+                    getDataSourceDialect().setBigInteger(statement, 5, fileEntry.getSize());
+                    statement.setString(6, fileEntry.getDigest());
+                    statement.setString(7, fileEntry.getDigestAlgorithm());
+                    statement.setTimestamp(8, Timestamp.valueOf(fileEntry.getModified()));
+                    statement.setString(9, fileEntry.getOperationId());
+                    setContentBinaryStream(statement, 10, new ByteArrayInputStream(fileWithContent.getValue()));
+                    statement.addBatch();
+                }
+                return IntStream.of(statement.executeBatch())
+                                .map(rowsInserted -> rowsInserted == PreparedStatement.SUCCESS_NO_INFO ? 1 : rowsInserted)
+                                .sum();
+            } finally {
+                JdbcUtil.closeQuietly(statement);
+            }
+        };
+    }
+
+    /**
+     * Stores the content of a file and returns its entry with the computed digest. The size of the entry may be omitted for content of
+     * unknown length, in which case it is counted while the content is stored.
+     */
+    public SqlQuery<FileEntry> getStoreFileAndComputeDigestQuery(FileEntry entryWithoutDigest, InputStream content) {
+        return (Connection connection) -> {
+            PreparedStatement statement = null;
+            CountingInputStream countingContent = new CountingInputStream(content);
+            try (DigestInputStream dis = new DigestInputStream(countingContent, MessageDigest.getInstance(Constants.DIGEST_ALGORITHM))) {
                 statement = connection.prepareStatement(getInsertWithContentWithoutDigestQuery());
                 statement.setString(1, entryWithoutDigest.getId());
                 statement.setString(2, entryWithoutDigest.getSpace());
                 statement.setString(3, entryWithoutDigest.getName());
                 setOrNull(statement, 4, entryWithoutDigest.getNamespace());
-                getDataSourceDialect().setBigInteger(statement, 5, entryWithoutDigest.getSize());
+                // The size of content with unknown length is updated together with the digest
+                getDataSourceDialect().setBigInteger(statement, 5, Objects.requireNonNullElse(entryWithoutDigest.getSize(),
+                                                                                              BigInteger.ZERO));
                 statement.setString(6, Constants.DIGEST_ALGORITHM);
                 statement.setTimestamp(7, Timestamp.valueOf(entryWithoutDigest.getModified()));
                 statement.setString(8, entryWithoutDigest.getOperationId());
                 setContentBinaryStream(statement, 9, dis);
                 statement.executeUpdate();
 
+                JdbcUtil.closeQuietly(statement);
+
                 String digest = DatatypeConverter.printHexBinary(dis.getMessageDigest()
                                                                     .digest());
-                statement = connection.prepareStatement(getUpdateDigestQuery());
+                BigInteger size = BigInteger.valueOf(countingContent.getCount());
+                statement = connection.prepareStatement(getUpdateDigestAndSizeQuery());
                 statement.setString(1, digest);
-                statement.setString(2, entryWithoutDigest.getId());
+                getDataSourceDialect().setBigInteger(statement, 2, size);
+                statement.setString(3, entryWithoutDigest.getId());
                 statement.executeUpdate();
 
-                return digest;
+                return ImmutableFileEntry.copyOf(entryWithoutDigest)
+                                         .withSize(size)
+                                         .withDigest(digest)
+                                         .withDigestAlgorithm(Constants.DIGEST_ALGORITHM);
             } catch (NoSuchAlgorithmException | IOException e) {
                 throw new IllegalStateException(e.getMessage(), e);
             } finally {
@@ -132,6 +193,41 @@ public abstract class SqlFileQueryProvider {
         };
     }
 
+    public SqlQuery<Boolean> getUpdateArchiveIndexQuery(String space, String id, String archiveIndex) {
+        return (Connection connection) -> {
+            PreparedStatement statement = null;
+            try {
+                statement = connection.prepareStatement(getQuery(UPDATE_FILE_ARCHIVE_INDEX));
+                statement.setString(1, archiveIndex);
+                statement.setString(2, id);
+                statement.setString(3, space);
+                return statement.executeUpdate() > 0;
+            } finally {
+                JdbcUtil.closeQuietly(statement);
+            }
+        };
+    }
+
+    public SqlQuery<String> getRetrieveArchiveIndexQuery(String space, String id) {
+        return (Connection connection) -> {
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                statement = connection.prepareStatement(getQuery(SELECT_FILE_ARCHIVE_INDEX_BY_ID_AND_SPACE_ID));
+                statement.setString(1, id);
+                statement.setString(2, space);
+                resultSet = statement.executeQuery();
+                if (resultSet.next()) {
+                    return resultSet.getString(Constants.FILE_ENTRY_ARCHIVE_INDEX);
+                }
+                return null;
+            } finally {
+                JdbcUtil.closeQuietly(resultSet);
+                JdbcUtil.closeQuietly(statement);
+            }
+        };
+    }
+
     protected abstract void setContentBinaryStream(PreparedStatement statement, int index, InputStream content) throws SQLException;
 
     public SqlQuery<Boolean> getStoreFileAttributesQuery(FileEntry fileEntry) {
@@ -148,6 +244,7 @@ public abstract class SqlFileQueryProvider {
                 statement.setString(7, fileEntry.getDigestAlgorithm());
                 statement.setTimestamp(8, Timestamp.valueOf(fileEntry.getModified()));
                 statement.setString(9, fileEntry.getOperationId());
+                statement.setString(10, fileEntry.getContentId());
                 return statement.executeUpdate() > 0;
             } finally {
                 JdbcUtil.closeQuietly(statement);
@@ -261,12 +358,111 @@ public abstract class SqlFileQueryProvider {
         };
     }
 
+    /**
+     * Finds the most recently modified file with the specified content in a space. The file is locked until the end of the transaction, so
+     * that it cannot be deleted while its content is being shared with a new file.
+     */
+    public SqlQuery<FileEntry> getRetrieveFileWithContentQuery(String digest, String digestAlgorithm, BigInteger size, String space) {
+        return (Connection connection) -> {
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                statement = connection.prepareStatement(getQuery(SELECT_FILES_BY_CONTENT_AND_SPACE_ID_FOR_UPDATE));
+                statement.setMaxRows(1);
+                statement.setString(1, digest);
+                statement.setString(2, digestAlgorithm);
+                getDataSourceDialect().setBigInteger(statement, 3, size);
+                statement.setString(4, space);
+                resultSet = statement.executeQuery();
+                if (resultSet.next()) {
+                    return getFileEntry(resultSet);
+                }
+                return null;
+            } finally {
+                JdbcUtil.closeQuietly(resultSet);
+                JdbcUtil.closeQuietly(statement);
+            }
+        };
+    }
+
+    /**
+     * Returns the IDs of the content which is still shared by files, although the file which stored it is deleted. The storage may only
+     * delete the content of deleted files, so only that content has to be retained.
+     */
+    public SqlQuery<Set<String>> getSharedContentIdsOfDeletedFilesQuery() {
+        return (Connection connection) -> {
+            PreparedStatement statement = null;
+            try {
+                statement = connection.prepareStatement(getQuery(SELECT_SHARED_CONTENT_IDS_OF_DELETED_FILES));
+                return getContentIds(statement);
+            } finally {
+                JdbcUtil.closeQuietly(statement);
+            }
+        };
+    }
+
+    /**
+     * Returns the IDs of the content stored for the specified files and locks the files until the end of the transaction
+     */
+    public SqlQuery<Set<String>> getContentIdsByFileIdsQuery(Collection<String> fileIds) {
+        return (Connection connection) -> {
+            PreparedStatement statement = null;
+            try {
+                statement = connection.prepareStatement(getQuery(SELECT_CONTENT_IDS_BY_FILE_IDS_FOR_UPDATE));
+                statement.setArray(1, connection.createArrayOf("VARCHAR", fileIds.toArray(new String[0])));
+                return getContentIds(statement);
+            } finally {
+                JdbcUtil.closeQuietly(statement);
+            }
+        };
+    }
+
+    /**
+     * Returns those of the specified content IDs which are still used by files other than the excluded ones
+     */
+    public SqlQuery<Set<String>> getReferencedContentIdsQuery(Collection<String> contentIds, Collection<String> excludedFileIds) {
+        return (Connection connection) -> {
+            PreparedStatement statement = null;
+            try {
+                statement = connection.prepareStatement(getQuery(SELECT_REFERENCED_CONTENT_IDS));
+                Array contentIdsArray = connection.createArrayOf("VARCHAR", contentIds.toArray(new String[0]));
+                statement.setArray(1, contentIdsArray);
+                statement.setArray(2, contentIdsArray);
+                statement.setArray(3, connection.createArrayOf("VARCHAR", excludedFileIds.toArray(new String[0])));
+                return getContentIds(statement);
+            } finally {
+                JdbcUtil.closeQuietly(statement);
+            }
+        };
+    }
+
+    private Set<String> getContentIds(PreparedStatement statement) throws SQLException {
+        Set<String> contentIds = new HashSet<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                contentIds.add(resultSet.getString(Constants.FILE_ENTRY_CONTENT_ID));
+            }
+        }
+        return contentIds;
+    }
+
     public SqlQuery<FileEntry> getRetrieveFileQuery(String space, String id) {
+        return getRetrieveFileQuery(SELECT_FILE_BY_ID_AND_SPACE_ID, space, id);
+    }
+
+    /**
+     * Retrieves a file and locks it until the end of the transaction
+     */
+    public SqlQuery<FileEntry> getRetrieveFileForUpdateQuery(String space, String id) {
+        return getRetrieveFileQuery(SELECT_FILE_BY_ID_AND_SPACE_ID_FOR_UPDATE, space, id);
+    }
+
+    private SqlQuery<FileEntry> getRetrieveFileQuery(String query, String space, String id) {
         return (Connection connection) -> {
             PreparedStatement statement = null;
             ResultSet resultSet = null;
             try {
-                statement = connection.prepareStatement(getQuery(SELECT_FILE_BY_ID_AND_SPACE_ID));
+                statement = connection.prepareStatement(getQuery(query));
                 statement.setString(1, id);
                 statement.setString(2, space);
                 resultSet = statement.executeQuery();
@@ -433,8 +629,8 @@ public abstract class SqlFileQueryProvider {
         return String.format(INSERT_FILE_ATTRIBUTES_AND_CONTENT_WITHOUT_DIGEST, tableName, getContentColumnName());
     }
 
-    private String getUpdateDigestQuery() {
-        return String.format(UPDATE_FILE_DIGEST, tableName);
+    private String getUpdateDigestAndSizeQuery() {
+        return String.format(UPDATE_FILE_DIGEST_AND_SIZE, tableName);
     }
 
     private String getSelectWithContentQuery() {
@@ -508,6 +704,7 @@ public abstract class SqlFileQueryProvider {
                                                               .toLocalDateTime())
                                  .size(getDataSourceDialect().getBigInteger(resultSet, Constants.FILE_ENTRY_SIZE))
                                  .operationId(resultSet.getString(Constants.FILE_ENTRY_OPERATION_ID))
+                                 .contentId(resultSet.getString(Constants.FILE_ENTRY_CONTENT_ID))
                                  .build();
     }
 
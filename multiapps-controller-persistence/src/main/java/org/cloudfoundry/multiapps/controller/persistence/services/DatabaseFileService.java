@@ -5,10 +5,8 @@ import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 
-import org.cloudfoundry.multiapps.controller.persistence.Constants;
 import org.cloudfoundry.multiapps.controller.persistence.DataSourceWithDialect;
 import org.cloudfoundry.multiapps.controller.persistence.model.FileEntry;
-import org.cloudfoundry.multiapps.controller.persistence.model.ImmutableFileEntry;
 import org.cloudfoundry.multiapps.controller.persistence.query.providers.BlobSqlFileQueryProvider;
 import org.cloudfoundry.multiapps.controller.persistence.query.providers.SqlFileQueryProvider;
 
@@ -35,6 +33,11 @@ public class DatabaseFileService extends FileService {
         }
     }
 
+    @Override
+    public <T> T processFileContent(FileEntry fileEntry, FileContentProcessor<T> fileContentProcessor) throws FileStorageException {
+        return processFileContent(fileEntry.getSpace(), fileEntry.getId(), fileContentProcessor);
+    }
+
     @Override
     public InputStream openInputStream(String space, String id) throws FileStorageException {
         try {
@@ -44,6 +47,24 @@ public class DatabaseFileService extends FileService {
         }
     }
 
+    @Override
+    public InputStream openInputStream(FileEntry fileEntry) throws FileStorageException {
+        return openInputStream(fileEntry.getSpace(), fileEntry.getId());
+    }
+
+    @Override
+    public <T> T processArchiveEntriesContent(String space, String id, String entryNamePrefix,
+                                              FileContentProcessor<T> fileContentProcessor)
+        throws FileStorageException {
+        return processFileContent(space, id, fileContentProcessor);
+    }
+
+    @Override
+    public <T> T processArchiveEntriesContent(FileEntry fileEntry, String entryNamePrefix, FileContentProcessor<T> fileContentProcessor)
+        throws FileStorageException {
+        return processFileContent(fileEntry, fileContentProcessor);
+    }
+
     @Override
     public int deleteBySpaceAndNamespace(String space, String namespace) throws FileStorageException {
         return deleteFileAttributesBySpaceAndNamespace(space, namespace);
@@ -73,14 +94,15 @@ public class DatabaseFileService extends FileService {
         }
     }
 
+    @Override
+    protected void storeArchiveIndex(FileEntry fileEntry) {
+        // Ranged reads are not supported for content stored in the database, so an index would never be used
+    }
+
     @Override
     protected FileEntry storeFile(FileEntry fileEntry, InputStream fileStream) throws FileStorageException {
         try {
-            String digest = getSqlQueryExecutor().execute(getSqlFileQueryProvider().getStoreFileAndComputeDigestQuery(fileEntry,
-                                                                                                                      fileStream));
-            return ImmutableFileEntry.copyOf(fileEntry)
-                                     .withDigest(digest)
-                                     .withDigestAlgorithm(Constants.DIGEST_ALGORITHM);
+            return getSqlQueryExecutor().execute(getSqlFileQueryProvider().getStoreFileAndComputeDigestQuery(fileEntry, fileStream));
         } catch (SQLException e) {
             throw new FileStorageException(e.getMessage(), e);
         }
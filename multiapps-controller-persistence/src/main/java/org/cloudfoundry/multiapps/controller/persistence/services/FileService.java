@@ -6,33 +6,58 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
 import java.math.BigInteger;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.text.MessageFormat;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 import javax.xml.bind.DatatypeConverter;
 
+import org.apache.commons.io.IOUtils;
+import org.cloudfoundry.multiapps.common.SLException;
+import org.cloudfoundry.multiapps.common.util.JsonUtil;
 import org.cloudfoundry.multiapps.controller.persistence.Constants;
 import org.cloudfoundry.multiapps.controller.persistence.DataSourceWithDialect;
 import org.cloudfoundry.multiapps.controller.persistence.Messages;
+import org.cloudfoundry.multiapps.controller.persistence.model.ArchiveEntryWithStreamPositions;
 import org.cloudfoundry.multiapps.controller.persistence.model.FileEntry;
 import org.cloudfoundry.multiapps.controller.persistence.model.ImmutableFileEntry;
+import org.cloudfoundry.multiapps.controller.persistence.query.SqlQuery;
 import org.cloudfoundry.multiapps.controller.persistence.query.providers.ExternalSqlFileQueryProvider;
 import org.cloudfoundry.multiapps.controller.persistence.query.providers.SqlFileQueryProvider;
+import org.cloudfoundry.multiapps.controller.persistence.stream.CountingInputStream;
 import org.cloudfoundry.multiapps.controller.persistence.util.SqlQueryExecutor;
+import org.cloudfoundry.multiapps.controller.persistence.util.ZipCentralDirectoryReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+
 public class FileService {
 
     protected static final String DEFAULT_TABLE_NAME = "LM_SL_PERSISTENCE_FILE";
     private static final int INPUT_STREAM_BUFFER_SIZE = 16 * 1024;
+    // File names never contain a slash, so a chunk cannot be mistaken for a file named like one
+    private static final String CHUNK_NAME_SEPARATOR = "/part/";
 
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -54,11 +79,26 @@ public class FileService {
         this.fileStorage = fileStorage;
     }
 
+    /**
+     * Stores a new file. If the base entry contains the expected digest of the content and a file with the same content already exists in
+     * the same space, the content is not read at all and the stored content is shared instead. Otherwise the digest of the content is
+     * verified against the expected one. The size of the stored content is always counted while it is stored. If the base entry contains
+     * a size, the file is rejected when the counted size differs from it.
+     */
     public FileEntry addFile(FileEntry baseEntry, InputStream content) throws FileStorageException {
-        FileEntry entryWithoutDigest = ImmutableFileEntry.copyOf(baseEntry)
-                                                         .withId(generateRandomId())
-                                                         .withModified(LocalDateTime.now());
-        FileEntry fileEntry = storeFile(entryWithoutDigest, content);
+        FileEntry newEntry = ImmutableFileEntry.copyOf(baseEntry)
+                                               .withId(generateRandomId())
+                                               .withModified(LocalDateTime.now())
+                                               .withDigest(null)
+                                               .withDigestAlgorithm(null)
+                                               .withContentId(null);
+        FileEntry fileEntry = addFileWithExpectedContent(newEntry, baseEntry.getDigest(), baseEntry.getDigestAlgorithm());
+        if (fileEntry == null) {
+            fileEntry = storeFile(newEntry, content);
+            verifySize(fileEntry, baseEntry.getSize());
+            verifyDigest(fileEntry, baseEntry.getDigest());
+            storeArchiveIndex(fileEntry);
+        }
         logger.debug(MessageFormat.format(Messages.STORED_FILE_0, fileEntry));
         return fileEntry;
     }
@@ -75,9 +115,237 @@ public class FileService {
         }
     }
 
+    /**
+     * Starts an upload of the content of a file in chunks, which can be added in any order, in parallel and more than once. The file entry
+     * must contain the ID, size and modification time of the file. When the storage supports multipart uploads, the chunks are uploaded as
+     * parts of a single upload, whose ID is returned and has to be passed to the other chunked upload methods. Otherwise, null is returned
+     * and every chunk is stored as a separate file until the upload is completed.
+     */
+    public String startChunkedUpload(FileEntry fileEntry) throws FileStorageException {
+        return fileStorage == null ? null : fileStorage.startMultipartUpload(fileEntry);
+    }
+
+    public void addChunk(FileEntry fileEntry, String uploadId, int chunkNumber, long chunkSize, InputStream content)
+        throws FileStorageException {
+        if (uploadId != null) {
+            fileStorage.uploadPart(fileEntry, uploadId, chunkNumber, chunkSize, content);
+            return;
+        }
+        FileEntry chunk = addFile(ImmutableFileEntry.builder()
+                                                    .space(fileEntry.getSpace())
+                                                    .namespace(fileEntry.getNamespace())
+                                                    .name(getChunkName(fileEntry, chunkNumber))
+                                                    .size(BigInteger.valueOf(chunkSize))
+                                                    .operationId(fileEntry.getId())
+                                                    .build(),
+                                  content);
+        // A chunk added again replaces the previous one only once it is stored, so that the chunk is never missing
+        for (FileEntry previousChunk : getChunks(fileEntry)) {
+            if (chunk.getName()
+                     .equals(previousChunk.getName())
+                && !chunk.getId()
+                         .equals(previousChunk.getId())) {
+                deleteFile(previousChunk.getSpace(), previousChunk.getId());
+            }
+        }
+    }
+
+    public Set<Integer> getReceivedChunks(FileEntry fileEntry, String uploadId) throws FileStorageException {
+        if (uploadId != null) {
+            return fileStorage.getUploadedParts(fileEntry, uploadId);
+        }
+        return getChunksByNumber(fileEntry).keySet();
+    }
+
+    /**
+     * Stores the file assembled from the chunks with numbers from 1 to {@code chunksCount}. The digest is the key by which content is
+     * shared, so the assembled content of a multipart upload is read once to compute it and the digest of the file entry, sent by the
+     * client, is only verified against it. Chunks stored as separate files are read while they are assembled, so their digest is computed
+     * the same way.
+     */
+    public FileEntry completeChunkedUpload(FileEntry fileEntry, String uploadId, int chunksCount) throws FileStorageException {
+        if (uploadId == null) {
+            return addFileFromChunks(fileEntry, chunksCount);
+        }
+        BigInteger size = BigInteger.valueOf(fileStorage.completeMultipartUpload(fileEntry, uploadId, chunksCount));
+        if (!size.equals(fileEntry.getSize())) {
+            fileStorage.deleteFile(fileEntry.getId(), fileEntry.getSpace());
+            throw new FileStorageException(MessageFormat.format(Messages.SIZE_OF_FILE_0_IS_1_BUT_2_WAS_EXPECTED, fileEntry.getName(), size,
+                                                                fileEntry.getSize()));
+        }
+        FileEntry completeFileEntry = computeDigest(fileEntry);
+        if (fileEntry.getDigest() != null && !fileEntry.getDigest()
+                                                       .equalsIgnoreCase(completeFileEntry.getDigest())) {
+            fileStorage.deleteFile(fileEntry.getId(), fileEntry.getSpace());
+            throw new FileStorageException(MessageFormat.format(Messages.DIGEST_OF_FILE_0_IS_1_BUT_2_WAS_EXPECTED, fileEntry.getName(),
+                                                                completeFileEntry.getDigest(), fileEntry.getDigest()));
+        }
+        FileEntry storedFileEntry = storeFileAttributesOrShareContent(completeFileEntry);
+        storeArchiveIndex(storedFileEntry);
+        logger.debug(MessageFormat.format(Messages.STORED_FILE_0, storedFileEntry));
+        return storedFileEntry;
+    }
+
+    public void abortChunkedUpload(FileEntry fileEntry, String uploadId) throws FileStorageException {
+        if (uploadId != null) {
+            fileStorage.abortMultipartUpload(fileEntry, uploadId);
+            return;
+        }
+        for (FileEntry chunk : getChunks(fileEntry)) {
+            deleteFile(chunk.getSpace(), chunk.getId());
+        }
+    }
+
+    private FileEntry addFileFromChunks(FileEntry fileEntry, int chunksCount) throws FileStorageException {
+        Map<Integer, FileEntry> chunks = getChunksByNumber(fileEntry);
+        List<Integer> missingChunks = IntStream.rangeClosed(1, chunksCount)
+                                               .filter(chunkNumber -> !chunks.containsKey(chunkNumber))
+                                               .boxed()
+                                               .toList();
+        if (!missingChunks.isEmpty()) {
+            throw new FileStorageException(MessageFormat.format(Messages.CHUNKS_0_OF_FILE_1_WERE_NOT_UPLOADED, missingChunks,
+                                                                fileEntry.getName()));
+        }
+        List<FileEntry> orderedChunks = IntStream.rangeClosed(1, chunksCount)
+                                                 .mapToObj(chunks::get)
+                                                 .toList();
+        FileEntry storedFileEntry;
+        try (InputStream content = new SequenceInputStream(new ChunksEnumeration(orderedChunks))) {
+            storedFileEntry = addFile(fileEntry, content);
+        } catch (IOException e) {
+            throw new FileStorageException(e);
+        }
+        abortChunkedUpload(fileEntry, null);
+        return storedFileEntry;
+    }
+
+    private Map<Integer, FileEntry> getChunksByNumber(FileEntry fileEntry) throws FileStorageException {
+        String chunkNamePrefix = fileEntry.getName() + CHUNK_NAME_SEPARATOR;
+        Map<Integer, FileEntry> chunks = new HashMap<>();
+        // When a chunk was added again and the previous one is not deleted yet, the latest one is used
+        getChunks(fileEntry).stream()
+                            .filter(chunk -> chunk.getName()
+                                                  .startsWith(chunkNamePrefix))
+                            .sorted(Comparator.comparing(FileEntry::getModified))
+                            .forEach(chunk -> chunks.put(Integer.valueOf(chunk.getName()
+                                                                              .substring(chunkNamePrefix.length())),
+                                                         chunk));
+        return chunks;
+    }
+
+    private List<FileEntry> getChunks(FileEntry fileEntry) throws FileStorageException {
+        return listFilesBySpaceAndOperationId(fileEntry.getSpace(), fileEntry.getId());
+    }
+
+    private String getChunkName(FileEntry fileEntry, int chunkNumber) {
+        return fileEntry.getName() + CHUNK_NAME_SEPARATOR + chunkNumber;
+    }
+
+    private boolean isChunk(FileEntry fileEntry) {
+        return fileEntry.getOperationId() != null && fileEntry.getName()
+                                                              .contains(CHUNK_NAME_SEPARATOR);
+    }
+
+    private FileEntry computeDigest(FileEntry fileEntry) throws FileStorageException {
+        try (DigestInputStream dis = new DigestInputStream(fileStorage.openInputStream(fileEntry),
+                                                           MessageDigest.getInstance(Constants.DIGEST_ALGORITHM))) {
+            dis.transferTo(OutputStream.nullOutputStream());
+            return ImmutableFileEntry.copyOf(fileEntry)
+                                     .withDigest(DatatypeConverter.printHexBinary(dis.getMessageDigest()
+                                                                                     .digest()))
+                                     .withDigestAlgorithm(Constants.DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException | IOException e) {
+            throw new FileStorageException(e);
+        }
+    }
+
+    private FileEntry addFileWithExpectedContent(FileEntry fileEntry, String expectedDigest, String expectedDigestAlgorithm)
+        throws FileStorageException {
+        if (fileStorage == null || expectedDigest == null) {
+            return null;
+        }
+        if (expectedDigestAlgorithm != null && !Constants.DIGEST_ALGORITHM.equalsIgnoreCase(expectedDigestAlgorithm)) {
+            return null;
+        }
+        return addFileWithExistingContent(ImmutableFileEntry.copyOf(fileEntry)
+                                                            .withDigest(expectedDigest.toUpperCase())
+                                                            .withDigestAlgorithm(Constants.DIGEST_ALGORITHM));
+    }
+
+    /**
+     * Stores the attributes of a file which shares the content of an existing file with the same digest and size. Content is shared only
+     * within a space, since an MD5 collision must not let a file replace the content of a file from another space.
+     */
+    private FileEntry addFileWithExistingContent(FileEntry fileEntry) throws FileStorageException {
+        if (fileEntry.getSize() == null) {
+            return null;
+        }
+        try {
+            FileEntry sharedContentFileEntry = getSqlQueryExecutor().execute(connection -> addFileWithExistingContent(connection,
+                                                                                                                      fileEntry));
+            if (sharedContentFileEntry != null) {
+                logger.debug(MessageFormat.format(Messages.FILE_0_SHARES_THE_CONTENT_OF_FILE_1, sharedContentFileEntry.getId(),
+                                                  sharedContentFileEntry.getContentId()));
+            }
+            return sharedContentFileEntry;
+        } catch (SQLException e) {
+            throw new FileStorageException(e.getMessage(), e);
+        }
+    }
+
+    // The existing file stays locked until the new file is stored, so that the content cannot be deleted before it is referenced
+    private FileEntry addFileWithExistingContent(Connection connection, FileEntry fileEntry) throws SQLException {
+        SqlQuery<FileEntry> query = getSqlFileQueryProvider().getRetrieveFileWithContentQuery(fileEntry.getDigest(),
+                                                                                              fileEntry.getDigestAlgorithm(),
+                                                                                              fileEntry.getSize(), fileEntry.getSpace());
+        FileEntry existingFileEntry = query.execute(connection);
+        if (existingFileEntry == null) {
+            return null;
+        }
+        FileEntry sharedContentFileEntry = ImmutableFileEntry.copyOf(fileEntry)
+                                                             .withContentId(getStoredContentId(existingFileEntry));
+        getSqlFileQueryProvider().getStoreFileAttributesQuery(sharedContentFileEntry)
+                                 .execute(connection);
+        copyArchiveIndex(connection, existingFileEntry, sharedContentFileEntry);
+        return sharedContentFileEntry;
+    }
+
+    private void copyArchiveIndex(Connection connection, FileEntry sourceFileEntry, FileEntry targetFileEntry) throws SQLException {
+        String archiveIndex = getSqlFileQueryProvider().getRetrieveArchiveIndexQuery(sourceFileEntry.getSpace(), sourceFileEntry.getId())
+                                                       .execute(connection);
+        if (archiveIndex != null) {
+            getSqlFileQueryProvider().getUpdateArchiveIndexQuery(targetFileEntry.getSpace(), targetFileEntry.getId(), archiveIndex)
+                                     .execute(connection);
+        }
+    }
+
+    private void verifySize(FileEntry fileEntry, BigInteger expectedSize) throws FileStorageException {
+        if (expectedSize == null || expectedSize.equals(fileEntry.getSize())) {
+            return;
+        }
+        deleteFile(fileEntry.getSpace(), fileEntry.getId());
+        throw new FileStorageException(MessageFormat.format(Messages.SIZE_OF_FILE_0_IS_1_BUT_2_WAS_EXPECTED, fileEntry.getName(),
+                                                            fileEntry.getSize(), expectedSize));
+    }
+
+    private void verifyDigest(FileEntry fileEntry, String expectedDigest) throws FileStorageException {
+        if (expectedDigest == null || expectedDigest.equalsIgnoreCase(fileEntry.getDigest())) {
+            return;
+        }
+        deleteFile(fileEntry.getSpace(), fileEntry.getId());
+        throw new FileStorageException(MessageFormat.format(Messages.DIGEST_OF_FILE_0_IS_1_BUT_2_WAS_EXPECTED, fileEntry.getName(),
+                                                            fileEntry.getDigest(), expectedDigest));
+    }
+
+    /**
+     * Lists the files in the space and namespace, except for the chunks of uploads which are not completed yet
+     */
     public List<FileEntry> listFiles(String space, String namespace) throws FileStorageException {
         try {
-            return getSqlQueryExecutor().execute(getSqlFileQueryProvider().getListFilesQuery(space, namespace));
+            return getSqlQueryExecutor().execute(getSqlFileQueryProvider().getListFilesQuery(space, namespace))
+                                        .stream()
+                                        .filter(fileEntry -> !isChunk(fileEntry))
+                                        .toList();
         } catch (SQLException e) {
             throw new FileStorageException(MessageFormat.format(Messages.ERROR_GETTING_FILES_WITH_SPACE_AND_NAMESPACE, space, namespace),
                                            e);
@@ -129,36 +397,159 @@ public class FileService {
     }
 
     public <T> T processFileContent(String space, String id, FileContentProcessor<T> fileContentProcessor) throws FileStorageException {
-        return fileStorage.processFileContent(space, id, fileContentProcessor);
+        return processFileContent(getFileEntry(space, id), fileContentProcessor);
+    }
+
+    /**
+     * Processes the content of a file whose entry was already retrieved, without retrieving the entry again
+     */
+    public <T> T processFileContent(FileEntry fileEntry, FileContentProcessor<T> fileContentProcessor) throws FileStorageException {
+        return fileStorage.processFileContent(getStoredContent(fileEntry), fileContentProcessor);
     }
 
     public InputStream openInputStream(String space, String id) throws FileStorageException {
-        return fileStorage.openInputStream(space, id);
+        return openInputStream(getFileEntry(space, id));
+    }
+
+    /**
+     * Opens the content of a file whose entry was already retrieved, without retrieving the entry again
+     */
+    public InputStream openInputStream(FileEntry fileEntry) throws FileStorageException {
+        return fileStorage.openInputStream(getStoredContent(fileEntry));
+    }
+
+    public boolean supportsReadAhead() {
+        return fileStorage != null && fileStorage.supportsReadAhead();
+    }
+
+    /**
+     * Processes the part of a stored ZIP archive which contains all entries whose names start with the specified prefix. The processor
+     * receives a valid ZIP stream (a sequence of local file headers) which may also contain unrelated entries located between the matching
+     * ones. If the archive was not indexed on upload, the whole file content is processed.
+     */
+    public <T> T processArchiveEntriesContent(String space, String id, String entryNamePrefix,
+                                              FileContentProcessor<T> fileContentProcessor)
+        throws FileStorageException {
+        return processArchiveEntriesContent(getFileEntry(space, id), entryNamePrefix, fileContentProcessor);
+    }
+
+    /**
+     * Processes the matching entries of an archive whose file entry was already retrieved, without retrieving the file entry again
+     *
+     * @see #processArchiveEntriesContent(String, String, String, FileContentProcessor)
+     */
+    public <T> T processArchiveEntriesContent(FileEntry fileEntry, String entryNamePrefix, FileContentProcessor<T> fileContentProcessor)
+        throws FileStorageException {
+        List<ArchiveEntryWithStreamPositions> archiveIndex = getArchiveIndex(fileEntry.getSpace(), fileEntry.getId());
+        List<ArchiveEntryWithStreamPositions> matchingEntries = archiveIndex.stream()
+                                                                            .filter(entry -> entry.getName()
+                                                                                                  .startsWith(entryNamePrefix))
+                                                                            .toList();
+        if (matchingEntries.isEmpty()) {
+            return processFileContent(fileEntry, fileContentProcessor);
+        }
+        long startPosition = matchingEntries.get(0)
+                                            .getStartPosition();
+        long endPosition = matchingEntries.get(matchingEntries.size() - 1)
+                                          .getEndPosition();
+        return fileStorage.processFileContentRange(fileEntry.getSpace(), getStoredContentId(fileEntry), startPosition, endPosition,
+                                                   fileContentProcessor);
+    }
+
+    public List<ArchiveEntryWithStreamPositions> getArchiveIndex(String space, String id) throws FileStorageException {
+        try {
+            String archiveIndex = getSqlQueryExecutor().execute(getSqlFileQueryProvider().getRetrieveArchiveIndexQuery(space, id));
+            if (archiveIndex == null) {
+                return Collections.emptyList();
+            }
+            return JsonUtil.fromJson(archiveIndex, new TypeReference<List<ArchiveEntryWithStreamPositions>>() {
+            });
+        } catch (SQLException e) {
+            throw new FileStorageException(e.getMessage(), e);
+        }
     }
 
+    // The attributes are committed before the content is deleted, so that no lock or connection is held while the storage is called. Only
+    // the content still shared by the remaining files is retained. Retained content keeps its original modification time, so it is deleted
+    // by a later clean up once it is no longer shared. A file whose content is being shared at the same time is locked, so it is either
+    // deleted before it can be found or the new file referring to it is stored first and its content is retained.
     public int deleteBySpaceAndNamespace(String space, String namespace) throws FileStorageException {
-        fileStorage.deleteFilesBySpaceAndNamespace(space, namespace);
-        return deleteFileAttributesBySpaceAndNamespace(space, namespace);
+        int deletedFiles = deleteFileAttributesBySpaceAndNamespace(space, namespace);
+        fileStorage.deleteFilesBySpaceAndNamespace(space, namespace, getSharedContentIdsOfDeletedFiles());
+        return deletedFiles;
     }
 
     public int deleteBySpaceIds(List<String> spaceIds) throws FileStorageException {
-        fileStorage.deleteFilesBySpaceIds(spaceIds);
-        return deleteFileAttributesBySpaceIds(spaceIds);
+        int deletedFiles = deleteFileAttributesBySpaceIds(spaceIds);
+        fileStorage.deleteFilesBySpaceIds(spaceIds, getSharedContentIdsOfDeletedFiles());
+        return deletedFiles;
     }
 
     public int deleteModifiedBefore(LocalDateTime modificationTime) throws FileStorageException {
-        int deletedItems = fileStorage.deleteFilesModifiedBefore(modificationTime);
-        return deleteFileAttributesModifiedBefore(modificationTime) + deletedItems;
+        int deletedFiles = deleteFileAttributesModifiedBefore(modificationTime);
+        return fileStorage.deleteFilesModifiedBefore(modificationTime, getSharedContentIdsOfDeletedFiles()) + deletedFiles;
     }
 
+    // The content is deleted only after the attributes are committed. If it cannot be deleted, it is no longer referenced and is removed
+    // by the clean up of the files modified before the configured time.
     public boolean deleteFile(String space, String id) throws FileStorageException {
-        fileStorage.deleteFile(id, space);
-        return deleteFileAttribute(space, id);
+        Set<String> unreferencedContentIds;
+        try {
+            unreferencedContentIds = getSqlQueryExecutor().execute(connection -> deleteFileEntry(connection, space, id));
+        } catch (SQLException e) {
+            throw new FileStorageException(e.getMessage(), e);
+        }
+        if (unreferencedContentIds == null) {
+            return false;
+        }
+        for (String contentId : unreferencedContentIds) {
+            fileStorage.deleteFile(contentId, space);
+        }
+        return true;
     }
 
+    // Returns the ID of the content if no other file refers to it, or null if the file does not exist. The file stays locked until its
+    // attributes are deleted, so that its content cannot be shared with a new file once it is found to be unused.
+    private Set<String> deleteFileEntry(Connection connection, String space, String id) throws SQLException {
+        FileEntry fileEntry = getSqlFileQueryProvider().getRetrieveFileForUpdateQuery(space, id)
+                                                       .execute(connection);
+        if (fileEntry == null) {
+            return null;
+        }
+        String contentId = getStoredContentId(fileEntry);
+        Set<String> referencedContentIds = getSqlFileQueryProvider().getReferencedContentIdsQuery(List.of(contentId), List.of(id))
+                                                                    .execute(connection);
+        getSqlFileQueryProvider().getDeleteFileEntryQuery(space, id)
+                                 .execute(connection);
+        return referencedContentIds.isEmpty() ? Set.of(contentId) : Set.of();
+    }
+
+    // The content is deleted only after the attributes are committed, for the same reason as in deleteFile
     public int deleteFilesByIds(List<String> fileIds) throws FileStorageException {
-        fileStorage.deleteFilesByIds(fileIds);
-        return deleteFilesAttributesByIds(fileIds);
+        Set<String> unreferencedContentIds = new HashSet<>();
+        int deletedFiles;
+        try {
+            deletedFiles = getSqlQueryExecutor().execute(connection -> deleteFileEntriesByIds(connection, fileIds, unreferencedContentIds));
+        } catch (SQLException e) {
+            throw new FileStorageException(e.getMessage(), e);
+        }
+        fileStorage.deleteFilesByIds(new ArrayList<>(unreferencedContentIds));
+        return deletedFiles;
+    }
+
+    // The files stay locked until their attributes are deleted, for the same reason as in deleteFileEntry
+    private int deleteFileEntriesByIds(Connection connection, List<String> fileIds, Set<String> unreferencedContentIds)
+        throws SQLException {
+        Set<String> contentIds = getSqlFileQueryProvider().getContentIdsByFileIdsQuery(fileIds)
+                                                          .execute(connection);
+        // Content without attributes is deleted as well
+        contentIds.addAll(fileIds);
+        contentIds.removeAll(getSqlFileQueryProvider().getReferencedContentIdsQuery(contentIds, fileIds)
+                                                      .execute(connection));
+        int deletedFiles = getSqlFileQueryProvider().getDeleteByFileIdsQuery(fileIds)
+                                                    .execute(connection);
+        unreferencedContentIds.addAll(contentIds);
+        return deletedFiles;
     }
 
     public int deleteFilesEntriesWithoutContent() throws FileStorageException {
@@ -176,19 +567,57 @@ public class FileService {
     }
 
     protected FileEntry storeFile(FileEntry fileEntry, InputStream content) throws FileStorageException {
-        try (DigestInputStream dis = new DigestInputStream(content, MessageDigest.getInstance(Constants.DIGEST_ALGORITHM))) {
+        CountingInputStream countingContent = new CountingInputStream(content);
+        try (DigestInputStream dis = new DigestInputStream(countingContent, MessageDigest.getInstance(Constants.DIGEST_ALGORITHM))) {
             fileStorage.addFile(fileEntry, dis);
             FileEntry completeFileEntry = ImmutableFileEntry.copyOf(fileEntry)
+                                                            .withSize(BigInteger.valueOf(countingContent.getCount()))
                                                             .withDigest(DatatypeConverter.printHexBinary(dis.getMessageDigest()
                                                                                                             .digest()))
                                                             .withDigestAlgorithm(Constants.DIGEST_ALGORITHM);
-            storeFileAttributes(completeFileEntry);
-            return completeFileEntry;
+            return storeFileAttributesOrShareContent(completeFileEntry);
         } catch (NoSuchAlgorithmException | IOException e) {
             throw new FileStorageException(e);
         }
     }
 
+    private FileEntry storeFileAttributesOrShareContent(FileEntry completeFileEntry) throws FileStorageException {
+        FileEntry sharedContentFileEntry = addFileWithExistingContent(completeFileEntry);
+        if (sharedContentFileEntry != null) {
+            fileStorage.deleteFile(completeFileEntry.getId(), completeFileEntry.getSpace());
+            return sharedContentFileEntry;
+        }
+        storeFileAttributes(completeFileEntry);
+        return completeFileEntry;
+    }
+
+    protected void storeArchiveIndex(FileEntry fileEntry) {
+        // The index of shared content is copied together with its attributes
+        if (fileEntry.getSize() == null || fileEntry.getContentId() != null) {
+            return;
+        }
+        try {
+            ZipCentralDirectoryReader centralDirectoryReader = new ZipCentralDirectoryReader(createRangeReader(fileEntry));
+            List<ArchiveEntryWithStreamPositions> archiveEntries = centralDirectoryReader.readEntries(fileEntry.getSize()
+                                                                                                               .longValue());
+            if (archiveEntries.isEmpty()) {
+                return;
+            }
+            getSqlQueryExecutor().execute(getSqlFileQueryProvider().getUpdateArchiveIndexQuery(fileEntry.getSpace(), fileEntry.getId(),
+                                                                                               JsonUtil.toJson(archiveEntries)));
+            logger.debug(MessageFormat.format(Messages.STORED_ARCHIVE_INDEX_FOR_FILE_0_WITH_1_ENTRIES, fileEntry.getId(),
+                                              archiveEntries.size()));
+        } catch (FileStorageException | SQLException e) {
+            // The index is only an optimization, the archive can still be read sequentially
+            logger.warn(MessageFormat.format(Messages.COULD_NOT_BUILD_ARCHIVE_INDEX_FOR_FILE_0, fileEntry.getId(), e.getMessage()), e);
+        }
+    }
+
+    private ZipCentralDirectoryReader.RangeReader createRangeReader(FileEntry fileEntry) {
+        return (startPosition, endPosition) -> fileStorage.processFileContentRange(fileEntry.getSpace(), fileEntry.getId(), startPosition,
+                                                                                   endPosition, IOUtils::toByteArray);
+    }
+
     protected boolean deleteFileAttribute(String space, String id) throws FileStorageException {
         try {
             return getSqlQueryExecutor().execute(getSqlFileQueryProvider().getDeleteFileEntryQuery(space, id));
@@ -229,6 +658,38 @@ public class FileService {
         }
     }
 
+    private FileEntry getFileEntry(String space, String id) throws FileStorageException {
+        FileEntry fileEntry = getFile(space, id);
+        if (fileEntry == null) {
+            return ImmutableFileEntry.builder()
+                                     .space(space)
+                                     .id(id)
+                                     .build();
+        }
+        return fileEntry;
+    }
+
+    /**
+     * Returns the entry of the file with the ID of its stored content, so that the storage can use the size of the entry instead of
+     * requesting it again
+     */
+    private FileEntry getStoredContent(FileEntry fileEntry) {
+        return ImmutableFileEntry.copyOf(fileEntry)
+                                 .withId(getStoredContentId(fileEntry));
+    }
+
+    private String getStoredContentId(FileEntry fileEntry) {
+        return Objects.requireNonNullElse(fileEntry.getContentId(), fileEntry.getId());
+    }
+
+    private Set<String> getSharedContentIdsOfDeletedFiles() throws FileStorageException {
+        try {
+            return getSqlQueryExecutor().execute(getSqlFileQueryProvider().getSharedContentIdsOfDeletedFilesQuery());
+        } catch (SQLException e) {
+            throw new FileStorageException(e.getMessage(), e);
+        }
+    }
+
     protected SqlQueryExecutor getSqlQueryExecutor() {
         return sqlQueryExecutor;
     }
@@ -250,4 +711,32 @@ public class FileService {
         }
     }
 
+    /**
+     * Opens the content of every chunk only when the previous one is fully read, so that a single chunk is open at any time
+     */
+    private class ChunksEnumeration implements Enumeration<InputStream> {
+
+        private final Iterator<FileEntry> chunks;
+
+        ChunksEnumeration(List<FileEntry> chunks) {
+            this.chunks = chunks.iterator();
+        }
+
+        @Override
+        public boolean hasMoreElements() {
+            return chunks.hasNext();
+        }
+
+        @Override
+        public InputStream nextElement() {
+            FileEntry chunk = chunks.next();
+            try {
+                return openInputStream(chunk.getSpace(), chunk.getId());
+            } catch (FileStorageException e) {
+                throw new SLException(e, e.getMessage());
+            }
+        }
+
+    }
+
 }
@@ -3,28 +3,87 @@ package org.cloudfoundry.multiapps.controller.persistence.services;
 import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 import org.cloudfoundry.multiapps.controller.persistence.model.FileEntry;
 
 public interface FileStorage {
 
+    /**
+     * Stores the content of a file. The size of the entry is null when the content is streamed with an unknown length.
+     */
     void addFile(FileEntry fileEntry, InputStream content) throws FileStorageException;
 
+    /**
+     * Starts an upload of the content of a file in numbered parts, which may be uploaded in any order, in parallel and more than once.
+     * Returns the ID of the upload, or null if the storage does not support such uploads.
+     */
+    String startMultipartUpload(FileEntry fileEntry) throws FileStorageException;
+
+    /**
+     * Uploads a part of the content of a file, replacing any part previously uploaded with the same number
+     */
+    void uploadPart(FileEntry fileEntry, String uploadId, int partNumber, long partSize, InputStream content) throws FileStorageException;
+
+    Set<Integer> getUploadedParts(FileEntry fileEntry, String uploadId) throws FileStorageException;
+
+    /**
+     * Assembles the content of the file from the parts with numbers from 1 to {@code partsCount}, all of which must be uploaded, and
+     * returns the size of the assembled content
+     */
+    long completeMultipartUpload(FileEntry fileEntry, String uploadId, int partsCount) throws FileStorageException;
+
+    void abortMultipartUpload(FileEntry fileEntry, String uploadId) throws FileStorageException;
+
     @Deprecated // This method is not reliable for aws as BlobStore::list might not return a complete list
     List<FileEntry> getFileEntriesWithoutContent(List<FileEntry> fileEntries) throws FileStorageException;
 
     void deleteFile(String id, String space) throws FileStorageException;
 
-    void deleteFilesBySpaceIds(List<String> spaceIds) throws FileStorageException;
+    /**
+     * Deletes the content of the files in the specified spaces, except for the content with IDs in {@code retainedFileIds}, which is still
+     * shared by other files
+     */
+    void deleteFilesBySpaceIds(List<String> spaceIds, Set<String> retainedFileIds) throws FileStorageException;
 
-    void deleteFilesBySpaceAndNamespace(String space, String namespace);
+    void deleteFilesBySpaceAndNamespace(String space, String namespace, Set<String> retainedFileIds);
 
-    int deleteFilesModifiedBefore(LocalDateTime modificationTime) throws FileStorageException;
+    int deleteFilesModifiedBefore(LocalDateTime modificationTime, Set<String> retainedFileIds) throws FileStorageException;
 
     <T> T processFileContent(String space, String id, FileContentProcessor<T> fileContentProcessor) throws FileStorageException;
 
+    /**
+     * Processes the content with the ID of the entry. The storage may use the other attributes of the entry, such as its size, instead of
+     * requesting them again.
+     */
+    default <T> T processFileContent(FileEntry fileEntry, FileContentProcessor<T> fileContentProcessor) throws FileStorageException {
+        return processFileContent(fileEntry.getSpace(), fileEntry.getId(), fileContentProcessor);
+    }
+
     InputStream openInputStream(String space, String id) throws FileStorageException;
 
+    /**
+     * Opens the content with the ID of the entry. The storage may use the other attributes of the entry, such as its size, instead of
+     * requesting them again.
+     */
+    default InputStream openInputStream(FileEntry fileEntry) throws FileStorageException {
+        return openInputStream(fileEntry.getSpace(), fileEntry.getId());
+    }
+
+    /**
+     * Whether the streams returned by {@link #openInputStream(String, String)} start fetching the content before it is read
+     */
+    default boolean supportsReadAhead() {
+        return false;
+    }
+
+    /**
+     * Processes only the bytes of the file in the range [startPosition, endPosition) without reading the content before it
+     */
+    <T> T processFileContentRange(String space, String id, long startPosition, long endPosition,
+                                  FileContentProcessor<T> fileContentProcessor)
+        throws FileStorageException;
+
     /**
      * Executes a simple call to Object Store to validate it operates properly, otherwise throws runtime exception
      */
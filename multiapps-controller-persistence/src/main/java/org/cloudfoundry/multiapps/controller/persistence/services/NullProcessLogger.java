@@ -1,6 +1,5 @@
 package org.cloudfoundry.multiapps.controller.persistence.services;
 
-import org.apache.logging.log4j.core.LoggerContext;
 import org.cloudfoundry.multiapps.controller.persistence.Messages;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,7 +12,7 @@ public class NullProcessLogger extends ProcessLogger {
     private static final String NULL_LOGGER_NAME = "NULL_LOGGER";
 
     public NullProcessLogger(String spaceId, String processId, String activityId) {
-        super(LoggerContext.getContext(false), spaceId, processId, activityId);
+        super(spaceId, processId, activityId);
     }
 
     @Override
@@ -52,7 +51,7 @@ public class NullProcessLogger extends ProcessLogger {
     }
 
     @Override
-    public synchronized void persistLogFile(ProcessLogsPersistenceService processLogsPersistenceService) {
+    public void persistLogFile(ProcessLogsPersistenceService processLogsPersistenceService) {
         logNullCorrelationId();
     }
 
@@ -62,7 +61,7 @@ public class NullProcessLogger extends ProcessLogger {
     }
 
     @Override
-    public synchronized void deleteLogFile() {
+    public void deleteLogFile() {
         logNullCorrelationId();
     }
 
@@ -2,31 +2,58 @@ package org.cloudfoundry.multiapps.controller.persistence.services;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.MessageFormat;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import org.apache.commons.io.IOUtils;
+import org.cloudfoundry.multiapps.common.SLException;
 import org.cloudfoundry.multiapps.common.util.MiscUtil;
 import org.cloudfoundry.multiapps.controller.persistence.Constants;
 import org.cloudfoundry.multiapps.controller.persistence.Messages;
 import org.cloudfoundry.multiapps.controller.persistence.model.FileEntry;
 import org.cloudfoundry.multiapps.controller.persistence.model.ImmutableFileEntry;
+import org.cloudfoundry.multiapps.controller.persistence.stream.ChunkBufferPool;
+import org.cloudfoundry.multiapps.controller.persistence.stream.ParallelRangeInputStream;
 import org.jclouds.blobstore.BlobStore;
 import org.jclouds.blobstore.ContainerNotFoundException;
 import org.jclouds.blobstore.domain.Blob;
+import org.jclouds.blobstore.domain.BlobBuilder;
+import org.jclouds.blobstore.domain.BlobMetadata;
+import org.jclouds.blobstore.domain.MultipartPart;
+import org.jclouds.blobstore.domain.MultipartUpload;
+import org.jclouds.blobstore.domain.PageSet;
 import org.jclouds.blobstore.domain.StorageMetadata;
+import org.jclouds.blobstore.options.GetOptions;
 import org.jclouds.blobstore.options.ListContainerOptions;
 import org.jclouds.blobstore.options.PutOptions;
 import org.jclouds.http.HttpResponseException;
 import org.jclouds.io.Payload;
+import org.jclouds.io.Payloads;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.MediaType;
@@ -37,44 +64,234 @@ public class ObjectStoreFileStorage implements FileStorage {
     private static final Logger LOGGER = LoggerFactory.getLogger(ObjectStoreFileStorage.class);
 
     private static final long RETRY_BASE_WAIT_TIME_IN_MILLIS = 5000L;
+    // Most providers accept at most 1000 blobs in a single bulk delete request
+    private static final int REMOVE_BLOBS_BATCH_SIZE = 1000;
+    private static final int MAX_PARALLEL_REMOVE_BLOBS_BATCHES = 4;
+    // Above the minimum part size of all supported providers
+    private static final int UPLOAD_PART_SIZE = 8 * 1024 * 1024; // 8MB
 
     private final BlobStore blobStore;
     private final String container;
+    private final ExecutorService objectStoreExecutor;
+    private final ChunkBufferPool readAheadBufferPool;
+    private final int readAheadWindow;
 
     public ObjectStoreFileStorage(BlobStore blobStore, String container) {
+        this(blobStore, container, null, null, 0);
+    }
+
+    /**
+     * Files larger than the buffer size of {@code readAheadBufferPool} are read with up to {@code readAheadWindow} concurrent range
+     * requests, executed by {@code objectStoreExecutor}, which also removes blobs in parallel batches. The buffers are shared by all open
+     * files and a file is read with a single request when all of them are in use. Read-ahead is disabled when the executor or the pool is
+     * null or the window is smaller than 2.
+     */
+    public ObjectStoreFileStorage(BlobStore blobStore, String container, ExecutorService objectStoreExecutor,
+                                  ChunkBufferPool readAheadBufferPool, int readAheadWindow) {
         this.blobStore = blobStore;
         this.container = container;
+        this.objectStoreExecutor = objectStoreExecutor;
+        this.readAheadBufferPool = readAheadBufferPool;
+        this.readAheadWindow = readAheadWindow;
     }
 
+    /**
+     * Content of unknown length, i.e. with no size in the file entry, is uploaded in parts of {@link #getUploadPartSize()} bytes, which are
+     * read into a single buffer, so it is never spooled to disk. Content which fits in one part is uploaded with a single request. When the
+     * provider does not support multipart uploads, larger content is spooled to a temporary file, so that its length is known.
+     */
     @Override
     public void addFile(FileEntry fileEntry, InputStream content) throws FileStorageException {
-        String entryName = fileEntry.getId();
-        long fileSize = fileEntry.getSize()
-                                 .longValue();
-        Blob blob = blobStore.blobBuilder(entryName)
-                             .payload(content)
-                             .contentDisposition(fileEntry.getName())
-                             .contentType(MediaType.APPLICATION_OCTET_STREAM_VALUE)
-                             .contentLength(fileSize)
-                             .userMetadata(createFileEntryMetadata(fileEntry))
-                             .build();
         try {
-            putBlobWithRetries(blob, 3);
+            if (fileEntry.getSize() == null) {
+                addFileWithUnknownSize(fileEntry, content);
+                return;
+            }
+            long fileSize = fileEntry.getSize()
+                                     .longValue();
+            putBlobWithRetries(createBlob(fileEntry, blobStore.blobBuilder(fileEntry.getId())
+                                                              .payload(content)
+                                                              .contentLength(fileSize)),
+                               3);
             LOGGER.debug(MessageFormat.format(Messages.STORED_FILE_0_WITH_SIZE_1, fileEntry.getId(), fileSize));
         } catch (ContainerNotFoundException e) {
             throw new FileStorageException(MessageFormat.format(Messages.FILE_UPLOAD_FAILED, fileEntry.getName(),
                                                                 fileEntry.getNamespace()));
+        } catch (IOException e) {
+            throw new FileStorageException(e);
+        }
+    }
+
+    private Blob createBlob(FileEntry fileEntry, BlobBuilder.PayloadBlobBuilder blobBuilder) {
+        return blobBuilder.contentDisposition(fileEntry.getName())
+                          .contentType(MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                          .userMetadata(createFileEntryMetadata(fileEntry))
+                          .build();
+    }
+
+    private void addFileWithUnknownSize(FileEntry fileEntry, InputStream content) throws IOException {
+        byte[] buffer = new byte[getUploadPartSize()];
+        int bytesRead = IOUtils.read(content, buffer);
+        if (bytesRead < buffer.length) {
+            putBlobWithRetries(createBlob(fileEntry, blobStore.blobBuilder(fileEntry.getId())
+                                                              .payload(Arrays.copyOf(buffer, bytesRead))),
+                               3);
+            LOGGER.debug(MessageFormat.format(Messages.STORED_FILE_0_WITH_SIZE_1, fileEntry.getId(), bytesRead));
+            return;
+        }
+        MultipartUpload multipartUpload;
+        try {
+            multipartUpload = blobStore.initiateMultipartUpload(container, createBlobMetadata(fileEntry), PutOptions.NONE);
+        } catch (UnsupportedOperationException e) {
+            LOGGER.debug(MessageFormat.format(Messages.MULTIPART_UPLOAD_IS_NOT_SUPPORTED_SPOOLING_FILE_0_TO_DISK, fileEntry.getId()));
+            addFileFromTemporaryFile(fileEntry, buffer, content);
+            return;
         }
+        uploadParts(multipartUpload, buffer, content);
+    }
+
+    private void addFileFromTemporaryFile(FileEntry fileEntry, byte[] firstPart, InputStream content) throws IOException {
+        Path temporaryFile = Files.createTempFile(fileEntry.getId(), null);
+        try {
+            try (OutputStream temporaryFileStream = Files.newOutputStream(temporaryFile)) {
+                temporaryFileStream.write(firstPart);
+                content.transferTo(temporaryFileStream);
+            }
+            long fileSize = Files.size(temporaryFile);
+            // A file payload is read again from the start when the upload is retried
+            putBlobWithRetries(createBlob(fileEntry, blobStore.blobBuilder(fileEntry.getId())
+                                                              .payload(temporaryFile.toFile())
+                                                              .contentLength(fileSize)),
+                               3);
+            LOGGER.debug(MessageFormat.format(Messages.STORED_FILE_0_WITH_SIZE_1, fileEntry.getId(), fileSize));
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private void uploadParts(MultipartUpload multipartUpload, byte[] buffer, InputStream content) throws IOException {
+        List<MultipartPart> parts = new ArrayList<>();
+        long fileSize = 0;
+        try {
+            int bytesRead = buffer.length;
+            while (bytesRead > 0) {
+                byte[] part = bytesRead == buffer.length ? buffer : Arrays.copyOf(buffer, bytesRead);
+                parts.add(uploadPartWithRetries(multipartUpload, parts.size() + 1, part, 3));
+                fileSize += bytesRead;
+                bytesRead = IOUtils.read(content, buffer);
+            }
+            blobStore.completeMultipartUpload(multipartUpload, parts);
+        } catch (IOException | RuntimeException e) {
+            blobStore.abortMultipartUpload(multipartUpload);
+            throw e;
+        }
+        LOGGER.debug(MessageFormat.format(Messages.STORED_FILE_0_WITH_SIZE_1_IN_2_PARTS, multipartUpload.blobName(), fileSize,
+                                          parts.size()));
+    }
+
+    private MultipartPart uploadPartWithRetries(MultipartUpload multipartUpload, int partNumber, byte[] part, int retries) {
+        for (int i = 1;; i++) {
+            try {
+                return blobStore.uploadMultipartPart(multipartUpload, partNumber, Payloads.newByteArrayPayload(part));
+            } catch (HttpResponseException e) {
+                LOGGER.warn(MessageFormat.format(Messages.ATTEMPT_TO_UPLOAD_PART_0_OF_BLOB_1_FAILED, partNumber, multipartUpload.blobName(),
+                                                 i, retries, e.getMessage()),
+                            e);
+                if (i == retries) {
+                    throw e;
+                }
+            }
+            MiscUtil.sleep(i * getRetryWaitTime());
+        }
+    }
+
+    protected int getUploadPartSize() {
+        return UPLOAD_PART_SIZE;
     }
 
     @Override
-    public List<FileEntry> getFileEntriesWithoutContent(List<FileEntry> fileEntries) {
-        Set<String> existingFiles = blobStore.list(container)
+    public String startMultipartUpload(FileEntry fileEntry) {
+        try {
+            MultipartUpload multipartUpload = blobStore.initiateMultipartUpload(container, createBlobMetadata(fileEntry), PutOptions.NONE);
+            return multipartUpload.id();
+        } catch (UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void uploadPart(FileEntry fileEntry, String uploadId, int partNumber, long partSize, InputStream content)
+        throws FileStorageException {
+        Payload payload = Payloads.newInputStreamPayload(content);
+        payload.getContentMetadata()
+               .setContentLength(partSize);
+        try {
+            blobStore.uploadMultipartPart(createMultipartUpload(fileEntry, uploadId), partNumber, payload);
+        } catch (HttpResponseException e) {
+            throw new FileStorageException(MessageFormat.format(Messages.UPLOAD_OF_PART_0_OF_FILE_1_FAILED, partNumber, fileEntry.getId(),
+                                                                e.getMessage()),
+                                           e);
+        }
+    }
+
+    @Override
+    public Set<Integer> getUploadedParts(FileEntry fileEntry, String uploadId) {
+        return blobStore.listMultipartUpload(createMultipartUpload(fileEntry, uploadId))
+                        .stream()
+                        .map(MultipartPart::partNumber)
+                        .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    @Override
+    public long completeMultipartUpload(FileEntry fileEntry, String uploadId, int partsCount) throws FileStorageException {
+        MultipartUpload multipartUpload = createMultipartUpload(fileEntry, uploadId);
+        List<MultipartPart> parts = blobStore.listMultipartUpload(multipartUpload)
                                              .stream()
-                                             .map(StorageMetadata::getName)
-                                             .collect(Collectors.toSet());
+                                             .filter(part -> part.partNumber() <= partsCount)
+                                             .sorted(Comparator.comparingInt(MultipartPart::partNumber))
+                                             .collect(Collectors.toList());
+        if (parts.size() != partsCount) {
+            Set<Integer> uploadedParts = parts.stream()
+                                              .map(MultipartPart::partNumber)
+                                              .collect(Collectors.toSet());
+            List<Integer> missingParts = IntStream.rangeClosed(1, partsCount)
+                                                  .filter(partNumber -> !uploadedParts.contains(partNumber))
+                                                  .boxed()
+                                                  .collect(Collectors.toList());
+            throw new FileStorageException(MessageFormat.format(Messages.CHUNKS_0_OF_FILE_1_WERE_NOT_UPLOADED, missingParts,
+                                                                fileEntry.getName()));
+        }
+        blobStore.completeMultipartUpload(multipartUpload, parts);
+        long fileSize = parts.stream()
+                             .mapToLong(MultipartPart::partSize)
+                             .sum();
+        LOGGER.debug(MessageFormat.format(Messages.STORED_FILE_0_WITH_SIZE_1_IN_2_PARTS, fileEntry.getId(), fileSize, partsCount));
+        return fileSize;
+    }
+
+    @Override
+    public void abortMultipartUpload(FileEntry fileEntry, String uploadId) {
+        blobStore.abortMultipartUpload(createMultipartUpload(fileEntry, uploadId));
+    }
+
+    // The metadata of the blob is set only when the upload is completed by some providers, so it is the same for every request of the
+    // upload
+    private MultipartUpload createMultipartUpload(FileEntry fileEntry, String uploadId) {
+        return MultipartUpload.create(container, fileEntry.getId(), uploadId, createBlobMetadata(fileEntry), PutOptions.NONE);
+    }
+
+    private BlobMetadata createBlobMetadata(FileEntry fileEntry) {
+        return createBlob(fileEntry, blobStore.blobBuilder(fileEntry.getId())
+                                              .payload(new byte[0])).getMetadata();
+    }
+
+    @Override
+    public List<FileEntry> getFileEntriesWithoutContent(List<FileEntry> fileEntries) {
+        Set<String> existingFiles = new HashSet<>();
+        listBlobs(new ListContainerOptions(), blob -> existingFiles.add(blob.getName()));
         return fileEntries.stream()
-                          .filter(fileEntry -> !existingFiles.contains(fileEntry.getId()))
+                          .filter(fileEntry -> !existingFiles.contains(Objects.requireNonNullElse(fileEntry.getContentId(),
+                                                                                                 fileEntry.getId())))
                           .collect(Collectors.toList());
     }
 
@@ -84,33 +301,53 @@ public class ObjectStoreFileStorage implements FileStorage {
     }
 
     @Override
-    public void deleteFilesBySpaceIds(List<String> spaceIds) {
-        removeBlobsByFilter(blob -> filterBySpaceIds(blob, spaceIds));
+    public void deleteFilesBySpaceIds(List<String> spaceIds, Set<String> retainedFileIds) {
+        removeBlobsByFilter(blob -> filterBySpaceIds(blob, spaceIds), retainedFileIds);
     }
 
     @Override
-    public void deleteFilesBySpaceAndNamespace(String space, String namespace) {
-        removeBlobsByFilter(blob -> filterBySpaceAndNamespace(blob, space, namespace));
+    public void deleteFilesBySpaceAndNamespace(String space, String namespace, Set<String> retainedFileIds) {
+        removeBlobsByFilter(blob -> filterBySpaceAndNamespace(blob, space, namespace), retainedFileIds);
     }
 
     @Override
-    public int deleteFilesModifiedBefore(LocalDateTime modificationTime) {
-        return removeBlobsByFilter(blob -> filterByModificationTime(blob, modificationTime));
+    public int deleteFilesModifiedBefore(LocalDateTime modificationTime, Set<String> retainedFileIds) {
+        return removeBlobsByFilter(blob -> filterByModificationTime(blob, modificationTime), retainedFileIds);
     }
 
     @Override
     public <T> T processFileContent(String space, String id, FileContentProcessor<T> fileContentProcessor) throws FileStorageException {
+        return processFileContent(createFileEntry(space, id), fileContentProcessor);
+    }
+
+    @Override
+    public <T> T processFileContent(FileEntry fileEntry, FileContentProcessor<T> fileContentProcessor) throws FileStorageException {
+        try (InputStream fileContentStream = openInputStream(fileEntry)) {
+            return fileContentProcessor.process(fileContentStream);
+        } catch (Exception e) {
+            throw new FileStorageException(e);
+        }
+    }
+
+    @Override
+    public <T> T processFileContentRange(String space, String id, long startPosition, long endPosition,
+                                         FileContentProcessor<T> fileContentProcessor)
+        throws FileStorageException {
         FileEntry fileEntry = createFileEntry(space, id);
-        try {
-            Payload payload = getBlobPayload(fileEntry);
-            return processContent(fileContentProcessor, payload);
+        InputStream fileContentStream = openRangeInputStream(fileEntry, startPosition, endPosition);
+        try (fileContentStream) {
+            return fileContentProcessor.process(fileContentStream);
         } catch (Exception e) {
             throw new FileStorageException(e);
         }
     }
 
     private Payload getBlobPayload(FileEntry fileEntry) throws FileStorageException {
-        Blob blob = getBlobWithRetries(fileEntry, 3);
+        return getBlobPayload(fileEntry, GetOptions.NONE);
+    }
+
+    private Payload getBlobPayload(FileEntry fileEntry, GetOptions getOptions) throws FileStorageException {
+        Blob blob = getBlobWithRetries(fileEntry, getOptions, 3);
         if (blob == null) {
             throw new FileStorageException(MessageFormat.format(Messages.FILE_WITH_ID_AND_SPACE_DOES_NOT_EXIST, fileEntry.getId(),
                                                                 fileEntry.getSpace()));
@@ -120,8 +357,48 @@ public class ObjectStoreFileStorage implements FileStorage {
 
     @Override
     public InputStream openInputStream(String space, String id) throws FileStorageException {
-        FileEntry fileEntry = createFileEntry(space, id);
-        Payload payload = getBlobPayload(fileEntry);
+        return openInputStream(createFileEntry(space, id));
+    }
+
+    /**
+     * The size of the entry, when known, is used to decide whether to read the file with range requests, so that its metadata is not
+     * requested again
+     */
+    @Override
+    public InputStream openInputStream(FileEntry fileEntry) throws FileStorageException {
+        if (supportsReadAhead()) {
+            Long size = getSize(fileEntry);
+            byte[] firstBuffer = size != null && size > readAheadBufferPool.getBufferSize() ? readAheadBufferPool.tryAcquire() : null;
+            if (firstBuffer != null) {
+                return new ParallelRangeInputStream((startPosition, endPosition) -> openRangeInputStream(fileEntry, startPosition,
+                                                                                                        endPosition),
+                                                    size,
+                                                    readAheadWindow,
+                                                    readAheadBufferPool,
+                                                    firstBuffer,
+                                                    objectStoreExecutor);
+            }
+        }
+        return openPayloadInputStream(getBlobPayload(fileEntry));
+    }
+
+    private Long getSize(FileEntry fileEntry) {
+        if (fileEntry.getSize() != null) {
+            return fileEntry.getSize()
+                            .longValue();
+        }
+        BlobMetadata blobMetadata = blobStore.blobMetadata(container, fileEntry.getId());
+        return blobMetadata == null ? null : blobMetadata.getSize();
+    }
+
+    @Override
+    public boolean supportsReadAhead() {
+        return objectStoreExecutor != null && readAheadBufferPool != null && readAheadWindow > 1;
+    }
+
+    private InputStream openRangeInputStream(FileEntry fileEntry, long startPosition, long endPosition) throws FileStorageException {
+        // The end of a jclouds range is inclusive
+        Payload payload = getBlobPayload(fileEntry, GetOptions.Builder.range(startPosition, endPosition - 1));
         return openPayloadInputStream(payload);
     }
 
@@ -140,7 +417,8 @@ public class ObjectStoreFileStorage implements FileStorage {
 
     @Override
     public void deleteFilesByIds(List<String> fileIds) {
-        removeBlobsByFilter(blob -> fileIds.contains(blob.getName()));
+        Set<String> fileIdsToDelete = new HashSet<>(fileIds);
+        removeBlobsByFilter(blob -> fileIdsToDelete.contains(blob.getName()), Collections.emptySet());
     }
 
     private FileEntry createFileEntry(String space, String id) {
@@ -150,14 +428,6 @@ public class ObjectStoreFileStorage implements FileStorage {
                                  .build();
     }
 
-    private <T> T processContent(FileContentProcessor<T> fileContentProcessor, Payload payload) throws FileStorageException {
-        try (InputStream fileContentStream = payload.openStream()) {
-            return fileContentProcessor.process(fileContentStream);
-        } catch (Exception e) {
-            throw new FileStorageException(e);
-        }
-    }
-
     private void putBlobWithRetries(Blob blob, int retries) {
         for (int i = 1; i <= retries; i++) {
             try {
@@ -173,9 +443,9 @@ public class ObjectStoreFileStorage implements FileStorage {
         }
     }
 
-    private Blob getBlobWithRetries(FileEntry fileEntry, int retries) {
+    private Blob getBlobWithRetries(FileEntry fileEntry, GetOptions getOptions, int retries) {
         for (int i = 1; i <= retries; i++) {
-            Blob blob = blobStore.getBlob(container, fileEntry.getId());
+            Blob blob = blobStore.getBlob(container, fileEntry.getId(), getOptions);
             if (blob != null) {
                 return blob;
             }
@@ -205,21 +475,31 @@ public class ObjectStoreFileStorage implements FileStorage {
         return metadata;
     }
 
-    private int removeBlobsByFilter(Predicate<? super StorageMetadata> filter) {
-        Set<String> entries = getEntryNames(filter);
-        if (!entries.isEmpty()) {
-            blobStore.removeBlobs(container, entries);
-        }
-        return entries.size();
+    private int removeBlobsByFilter(Predicate<? super StorageMetadata> filter, Set<String> retainedBlobNames) {
+        BlobsRemoval blobsRemoval = new BlobsRemoval();
+        listBlobs(new ListContainerOptions().withDetails(), blob -> {
+            if (!retainedBlobNames.contains(blob.getName()) && filter.test(blob)) {
+                blobsRemoval.add(blob.getName());
+            }
+        });
+        return blobsRemoval.complete();
     }
 
-    private Set<String> getEntryNames(Predicate<? super StorageMetadata> filter) {
-        return blobStore.list(container, new ListContainerOptions().withDetails())
-                        .stream()
-                        .filter(Objects::nonNull)
-                        .filter(filter)
-                        .map(StorageMetadata::getName)
-                        .collect(Collectors.toSet());
+    /**
+     * Lists all blobs of the container page by page, since a single list request returns only the first page of the blobs
+     */
+    private void listBlobs(ListContainerOptions options, Consumer<StorageMetadata> blobConsumer) {
+        String marker = null;
+        do {
+            if (marker != null) {
+                options.afterMarker(marker);
+            }
+            PageSet<? extends StorageMetadata> page = blobStore.list(container, options);
+            page.stream()
+                .filter(Objects::nonNull)
+                .forEach(blobConsumer);
+            marker = page.getNextMarker();
+        } while (marker != null);
     }
 
     private boolean filterByModificationTime(StorageMetadata blobMetadata, LocalDateTime modificationTime) {
@@ -258,4 +538,60 @@ public class ObjectStoreFileStorage implements FileStorage {
         return space.equals(spaceParameter) && namespace.equals(namespaceParameter);
     }
 
+    /**
+     * Removes the added blobs in batches while the listing continues. Up to {@link #MAX_PARALLEL_REMOVE_BLOBS_BATCHES} batches are removed
+     * in parallel when an executor is available.
+     */
+    private class BlobsRemoval {
+
+        private final Deque<Future<?>> pendingBatches = new ArrayDeque<>();
+        private List<String> currentBatch = new ArrayList<>();
+        private int removedBlobs;
+
+        void add(String blobName) {
+            currentBatch.add(blobName);
+            if (currentBatch.size() >= REMOVE_BLOBS_BATCH_SIZE) {
+                removeCurrentBatch();
+            }
+        }
+
+        int complete() {
+            if (!currentBatch.isEmpty()) {
+                removeCurrentBatch();
+            }
+            while (!pendingBatches.isEmpty()) {
+                awaitBatch(pendingBatches.poll());
+            }
+            return removedBlobs;
+        }
+
+        private void removeCurrentBatch() {
+            List<String> batch = currentBatch;
+            currentBatch = new ArrayList<>();
+            removedBlobs += batch.size();
+            if (objectStoreExecutor == null) {
+                blobStore.removeBlobs(container, batch);
+                return;
+            }
+            if (pendingBatches.size() >= MAX_PARALLEL_REMOVE_BLOBS_BATCHES) {
+                awaitBatch(pendingBatches.poll());
+            }
+            pendingBatches.add(objectStoreExecutor.submit(() -> blobStore.removeBlobs(container, batch)));
+        }
+
+        private void awaitBatch(Future<?> batch) {
+            try {
+                batch.get();
+            } catch (ExecutionException e) {
+                throw new SLException(e.getCause(), e.getCause()
+                                                     .getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                      .interrupt();
+                throw new SLException(e, e.getMessage());
+            }
+        }
+
+    }
+
 }
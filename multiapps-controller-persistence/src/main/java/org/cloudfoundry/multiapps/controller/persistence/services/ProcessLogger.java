@@ -1,71 +1,102 @@
 package org.cloudfoundry.multiapps.controller.persistence.services;
 
-import org.apache.commons.io.FileUtils;
-import org.apache.logging.log4j.core.Logger;
-import org.apache.logging.log4j.core.LoggerContext;
-import org.cloudfoundry.multiapps.controller.persistence.Messages;
-
-import java.io.File;
-
+import java.io.ByteArrayOutputStream;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.ContextDataInjector;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.StringLayout;
+import org.apache.logging.log4j.core.impl.ContextDataFactory;
+import org.apache.logging.log4j.core.impl.ContextDataInjectorFactory;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.ObjectMessage;
+
+/**
+ * Formats the messages of a process step with the layout of the process logs and keeps them in memory until they are persisted. The log
+ * events are built directly, without a dedicated Log4j logger context and file appender per step.
+ */
 public class ProcessLogger {
 
-    private Logger logger;
-    private File log;
-    private String logName;
+    private static final Level LOGGING_LEVEL = Level.DEBUG;
+    private static final StackTraceElement SOURCE = new StackTraceElement(ProcessLogger.class.getName(), "log", null, -1);
+    private static final ContextDataInjector CONTEXT_DATA_INJECTOR = ContextDataInjectorFactory.createInjector();
+
+    private final ByteArrayOutputStream logContent = new ByteArrayOutputStream();
+    private final StringLayout layout;
+    private final String loggerName;
+    private final String logName;
     protected final String spaceId;
     protected final String processId;
     protected final String activityId;
-    private LoggerContext loggerContext;
 
-    public ProcessLogger(LoggerContext loggerContext, Logger logger, File log, String logName, String spaceId, String processId,
-                         String activityId) {
-        this.logger = logger;
-        this.log = log;
+    public ProcessLogger(StringLayout layout, String loggerName, String logName, String spaceId, String processId, String activityId) {
+        this.layout = layout;
+        this.loggerName = loggerName;
         this.logName = logName;
         this.spaceId = spaceId;
         this.processId = processId;
         this.activityId = activityId;
-        this.loggerContext = loggerContext;
     }
 
-    protected ProcessLogger(LoggerContext loggerContext, String spaceId, String processId, String activityId) {
-        this.loggerContext = loggerContext;
-        this.logger = loggerContext.getRootLogger();
-        this.spaceId = spaceId;
-        this.processId = processId;
-        this.activityId = activityId;
+    protected ProcessLogger(String spaceId, String processId, String activityId) {
+        this(null, null, null, spaceId, processId, activityId);
     }
 
     public void info(Object message) {
-        logger.info(message);
+        log(Level.INFO, message, null);
     }
 
     public void debug(Object message) {
-        logger.debug(message);
+        log(Level.DEBUG, message, null);
     }
 
     public void debug(Object message, Throwable throwable) {
-        logger.debug(message, throwable);
+        log(Level.DEBUG, message, throwable);
     }
 
     public void error(Object message) {
-        logger.error(message);
+        log(Level.ERROR, message, null);
     }
 
     public void error(Object message, Throwable t) {
-        logger.error(message, t);
+        log(Level.ERROR, message, t);
     }
 
     public void trace(Object message) {
-        logger.trace(message);
+        log(Level.TRACE, message, null);
     }
 
     public void warn(Object message) {
-        logger.warn(message);
+        log(Level.WARN, message, null);
     }
 
     public void warn(Object message, Throwable t) {
-        logger.warn(message, t);
+        log(Level.WARN, message, t);
+    }
+
+    private void log(Level level, Object message, Throwable throwable) {
+        if (!level.isMoreSpecificThan(LOGGING_LEVEL)) {
+            return;
+        }
+        byte[] formattedEvent = layout.toByteArray(createLogEvent(level, message, throwable));
+        synchronized (logContent) {
+            logContent.writeBytes(formattedEvent);
+        }
+    }
+
+    private LogEvent createLogEvent(Level level, Object message, Throwable throwable) {
+        return Log4jLogEvent.newBuilder()
+                            .setLoggerName(loggerName)
+                            .setLoggerFqcn(ProcessLogger.class.getName())
+                            .setLevel(level)
+                            .setMessage(new ObjectMessage(message))
+                            .setThrown(throwable)
+                            .setContextData(CONTEXT_DATA_INJECTOR.injectContextData(null, ContextDataFactory.createContextData()))
+                            .setThreadName(Thread.currentThread()
+                                                 .getName())
+                            .setSource(SOURCE)
+                            .setTimeMillis(System.currentTimeMillis())
+                            .build();
     }
 
     public String getProcessId() {
@@ -76,25 +107,25 @@ public class ProcessLogger {
         return this.activityId;
     }
 
-    public synchronized void persistLogFile(ProcessLogsPersistenceService processLogsPersistenceService) {
-        if (log.exists()) {
-            processLogsPersistenceService.persistLog(spaceId, processId, log, logName);
+    public void persistLogFile(ProcessLogsPersistenceService processLogsPersistenceService) {
+        byte[] content;
+        synchronized (logContent) {
+            content = logContent.toByteArray();
+            logContent.reset();
+        }
+        if (content.length > 0) {
+            processLogsPersistenceService.persistLog(spaceId, processId, content, logName);
         }
     }
 
-    public synchronized void deleteLogFile() {
-        FileUtils.deleteQuietly(log);
+    public void deleteLogFile() {
+        synchronized (logContent) {
+            logContent.reset();
+        }
     }
 
     public String getLoggerName() {
-        return this.logger.getName();
+        return this.loggerName;
     }
 
-    public void closeLoggerContext() {
-        try {
-            loggerContext.close();
-        } catch (Exception exception) {
-            logger.error(Messages.COULD_NOT_CLOSE_LOGGER_CONTEXT, exception);
-        }
-    }
 }
@@ -1,42 +1,68 @@
 package org.cloudfoundry.multiapps.controller.persistence.services;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.io.InputStream;
+import java.io.ByteArrayOutputStream;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.sql.SQLException;
 import java.text.MessageFormat;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.inject.Named;
+import javax.xml.bind.DatatypeConverter;
 
 import org.apache.commons.io.IOUtils;
 import org.cloudfoundry.multiapps.common.NotFoundException;
-import org.cloudfoundry.multiapps.common.util.DigestHelper;
 import org.cloudfoundry.multiapps.controller.persistence.Constants;
 import org.cloudfoundry.multiapps.controller.persistence.DataSourceWithDialect;
 import org.cloudfoundry.multiapps.controller.persistence.Messages;
 import org.cloudfoundry.multiapps.controller.persistence.model.FileEntry;
-import org.cloudfoundry.multiapps.controller.persistence.model.FileInfo;
 import org.cloudfoundry.multiapps.controller.persistence.model.ImmutableFileEntry;
-import org.cloudfoundry.multiapps.controller.persistence.model.ImmutableFileInfo;
 import org.cloudfoundry.multiapps.controller.persistence.query.providers.ByteArraySqlFileQueryProvider;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
 
+/**
+ * Stores the process logs as append-only chunks. The lines logged by the steps are buffered in memory and every log is stored with a
+ * single row per flush, instead of a row per step execution. The buffer is flushed periodically, when it exceeds a size threshold and
+ * before the logs are read, so that the logs of an operation are always complete when read from the instance which executed it. Logs
+ * which could not be stored are kept in the buffer, up to a limit, and the next flushes are backed off until the storing succeeds again.
+ */
 @Named("processLogsPersistenceService")
-public class ProcessLogsPersistenceService extends DatabaseFileService {
+public class ProcessLogsPersistenceService extends DatabaseFileService implements DisposableBean {
 
     public static final String TABLE_NAME = "process_log";
 
+    static final long FLUSH_INTERVAL_IN_SECONDS = 3;
+    static final long MAX_PENDING_BYTES = 512L * 1024;
+    static final long MAX_BUFFERED_BYTES = 16 * MAX_PENDING_BYTES;
+    static final Duration MAX_FLUSH_BACKOFF = Duration.ofMinutes(1);
+
+    private final Map<LogKey, ByteArrayOutputStream> pendingLogs = new LinkedHashMap<>();
+    private long pendingBytes;
+    private int failedFlushes;
+    // Set only while the last flush has failed
+    private volatile Instant nextFlushAttemptTime;
+    private LocalDateTime lastModified = LocalDateTime.MIN;
+
     public ProcessLogsPersistenceService(DataSourceWithDialect dataSourceWithDialect) {
         super(dataSourceWithDialect, new ByteArraySqlFileQueryProvider(TABLE_NAME, dataSourceWithDialect.getDataSourceDialect()));
     }
 
     public List<String> getLogNames(String space, String operationId) throws FileStorageException {
+        flushLogs();
         List<FileEntry> logFiles = listFilesBySpaceAndOperationId(space, operationId);
         return logFiles.stream()
                        .map(FileEntry::getName)
@@ -45,17 +71,17 @@ public class ProcessLogsPersistenceService extends DatabaseFileService {
     }
 
     public String getLogContent(String space, String operationId, String logName) throws FileStorageException {
+        flushLogs();
         List<FileEntry> logFiles = listFiles(space, operationId, logName);
         if (logFiles.isEmpty()) {
             throw new NotFoundException(MessageFormat.format(Messages.ERROR_LOG_FILE_NOT_FOUND, logName, operationId, space));
         }
 
-        StringBuilder builder = new StringBuilder();
+        ByteArrayOutputStream logContent = new ByteArrayOutputStream();
         for (FileEntry file : logFiles) {
-            String content = processFileContent(space, file.getId(), inputStream -> IOUtils.toString(inputStream, StandardCharsets.UTF_8));
-            builder.append(content);
+            processFileContent(space, file.getId(), inputStream -> IOUtils.copy(inputStream, logContent));
         }
-        return builder.toString();
+        return logContent.toString(StandardCharsets.UTF_8);
     }
 
     private List<FileEntry> listFiles(final String space, final String operationId, final String fileName) throws FileStorageException {
@@ -70,43 +96,171 @@ public class ProcessLogsPersistenceService extends DatabaseFileService {
         }
     }
 
-    public void persistLog(String space, String operationId, File localLog, String remoteLogName) {
+    public void persistLog(String space, String operationId, byte[] content, String logName) {
+        // While the flushes fail, the buffer is stored only by the scheduled flush, so that the steps do not wait for a failing flush
+        if (appendToPendingLog(new LogKey(space, operationId, logName), content) >= MAX_PENDING_BYTES && nextFlushAttemptTime == null) {
+            flushLogs();
+        }
+    }
+
+    private long appendToPendingLog(LogKey logKey, byte[] content) {
+        synchronized (pendingLogs) {
+            pendingLogs.computeIfAbsent(logKey, key -> new ByteArrayOutputStream())
+                       .writeBytes(content);
+            pendingBytes += content.length;
+            dropOldestLogsAboveLimit();
+            return pendingBytes;
+        }
+    }
+
+    @Scheduled(fixedRate = FLUSH_INTERVAL_IN_SECONDS, timeUnit = TimeUnit.SECONDS)
+    public synchronized void flushLogs() {
+        Instant flushAttemptTime = nextFlushAttemptTime;
+        if (flushAttemptTime != null && Instant.now()
+                                               .isBefore(flushAttemptTime)) {
+            return;
+        }
+        storePendingLogs();
+    }
+
+    private synchronized void storePendingLogs() {
+        Map<LogKey, ByteArrayOutputStream> logsToStore;
+        synchronized (pendingLogs) {
+            if (pendingLogs.isEmpty()) {
+                return;
+            }
+            logsToStore = new LinkedHashMap<>(pendingLogs);
+            pendingLogs.clear();
+            pendingBytes = 0;
+        }
         try {
-            storeLogFile(space, operationId, remoteLogName, localLog);
-        } catch (FileStorageException e) {
-            logger.warn(MessageFormat.format(Messages.COULD_NOT_PERSIST_LOGS_FILE, localLog.getName()), e);
+            getSqlQueryExecutor().execute(getSqlFileQueryProvider().getStoreFilesQuery(createFileEntries(logsToStore)));
+            failedFlushes = 0;
+            nextFlushAttemptTime = null;
+        } catch (SQLException | NoSuchAlgorithmException e) {
+            failedFlushes++;
+            Duration flushBackoff = getFlushBackoff();
+            nextFlushAttemptTime = Instant.now()
+                                          .plus(flushBackoff);
+            logger.warn(MessageFormat.format(Messages.COULD_NOT_PERSIST_PROCESS_LOGS_0_RETRYING_IN_1_SECONDS, logsToStore.keySet(),
+                                             flushBackoff.toSeconds()),
+                        e);
+            restorePendingLogs(logsToStore);
+        }
+    }
+
+    private Duration getFlushBackoff() {
+        long flushBackoffInSeconds = FLUSH_INTERVAL_IN_SECONDS << Math.min(failedFlushes, 10);
+        return Duration.ofSeconds(Math.min(flushBackoffInSeconds, MAX_FLUSH_BACKOFF.toSeconds()));
+    }
+
+    private void restorePendingLogs(Map<LogKey, ByteArrayOutputStream> logsToRestore) {
+        synchronized (pendingLogs) {
+            // The lines logged while the flush was in progress follow the restored ones, so that the order of the lines is kept
+            for (Map.Entry<LogKey, ByteArrayOutputStream> log : pendingLogs.entrySet()) {
+                logsToRestore.computeIfAbsent(log.getKey(), key -> new ByteArrayOutputStream())
+                             .writeBytes(log.getValue()
+                                            .toByteArray());
+            }
+            pendingLogs.clear();
+            pendingLogs.putAll(logsToRestore);
+            pendingBytes = logsToRestore.values()
+                                        .stream()
+                                        .mapToLong(ByteArrayOutputStream::size)
+                                        .sum();
+            dropOldestLogsAboveLimit();
+        }
+    }
+
+    // The first logs in the buffer are the ones which have not been stored for the longest time
+    private void dropOldestLogsAboveLimit() {
+        if (pendingBytes <= MAX_BUFFERED_BYTES) {
+            return;
+        }
+        List<LogKey> droppedLogs = new ArrayList<>();
+        Iterator<Map.Entry<LogKey, ByteArrayOutputStream>> logs = pendingLogs.entrySet()
+                                                                             .iterator();
+        while (pendingBytes > MAX_BUFFERED_BYTES && logs.hasNext()) {
+            Map.Entry<LogKey, ByteArrayOutputStream> log = logs.next();
+            pendingBytes -= log.getValue()
+                               .size();
+            droppedLogs.add(log.getKey());
+            logs.remove();
         }
+        logger.warn(MessageFormat.format(Messages.DROPPED_PROCESS_LOGS_0_WHICH_COULD_NOT_BE_PERSISTED, droppedLogs));
     }
 
-    private void storeLogFile(final String space, final String operationId, final String remoteLogName, File localLog)
-        throws FileStorageException {
-        try (InputStream inputStream = new FileInputStream(localLog)) {
-            FileEntry localLogFileEntry = createFileEntry(space, operationId, remoteLogName, localLog);
-            getSqlQueryExecutor().execute(getSqlFileQueryProvider().getStoreFileQuery(localLogFileEntry, inputStream));
-        } catch (SQLException | IOException | NoSuchAlgorithmException e) {
-            throw new FileStorageException(MessageFormat.format(Messages.ERROR_STORING_LOG_FILE, localLog.getName()), e);
+    private Map<FileEntry, byte[]> createFileEntries(Map<LogKey, ByteArrayOutputStream> logs) throws NoSuchAlgorithmException {
+        Map<FileEntry, byte[]> fileEntries = new LinkedHashMap<>();
+        for (Map.Entry<LogKey, ByteArrayOutputStream> log : logs.entrySet()) {
+            byte[] content = log.getValue()
+                                .toByteArray();
+            fileEntries.put(createFileEntry(log.getKey(), content, getNextModified()), content);
         }
+        return fileEntries;
+    }
+
+    // The chunks of a log are read in the order of their modification time, so no two chunks stored by this instance share it
+    private LocalDateTime getNextModified() {
+        LocalDateTime now = LocalDateTime.now()
+                                         .truncatedTo(ChronoUnit.MICROS);
+        lastModified = now.isAfter(lastModified) ? now : lastModified.plus(1, ChronoUnit.MICROS);
+        return lastModified;
     }
 
-    private FileEntry createFileEntry(final String space, final String operationId, final String remoteLogName, File localLog)
-        throws NoSuchAlgorithmException, IOException {
-        FileInfo localLogFileInfo = ImmutableFileInfo.builder()
-                                                     .file(localLog)
-                                                     .size(BigInteger.valueOf(localLog.length()))
-                                                     .digest(DigestHelper.computeFileChecksum(localLog.toPath(),
-                                                                                              Constants.DIGEST_ALGORITHM))
-                                                     .digestAlgorithm(Constants.DIGEST_ALGORITHM)
-                                                     .build();
+    private FileEntry createFileEntry(LogKey logKey, byte[] content, LocalDateTime modified) throws NoSuchAlgorithmException {
+        String digest = DatatypeConverter.printHexBinary(MessageDigest.getInstance(Constants.DIGEST_ALGORITHM)
+                                                                      .digest(content));
         return ImmutableFileEntry.builder()
                                  .id(generateRandomId())
-                                 .space(space)
-                                 .name(remoteLogName)
-                                 .size(localLogFileInfo.getSize())
-                                 .digest(localLogFileInfo.getDigest())
-                                 .digestAlgorithm(localLogFileInfo.getDigestAlgorithm())
-                                 .modified(LocalDateTime.now())
-                                 .operationId(operationId)
+                                 .space(logKey.space)
+                                 .name(logKey.logName)
+                                 .size(BigInteger.valueOf(content.length))
+                                 .digest(digest)
+                                 .digestAlgorithm(Constants.DIGEST_ALGORITHM)
+                                 .modified(modified)
+                                 .operationId(logKey.operationId)
                                  .build();
     }
 
+    @Override
+    public void destroy() {
+        storePendingLogs();
+    }
+
+    private static class LogKey {
+
+        private final String space;
+        private final String operationId;
+        private final String logName;
+
+        LogKey(String space, String operationId, String logName) {
+            this.space = space;
+            this.operationId = operationId;
+            this.logName = logName;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof LogKey)) {
+                return false;
+            }
+            LogKey other = (LogKey) object;
+            return space.equals(other.space) && operationId.equals(other.operationId) && logName.equals(other.logName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(space, operationId, logName);
+        }
+
+        @Override
+        public String toString() {
+            return operationId + "/" + logName;
+        }
+    }
+
 }
@@ -29,7 +29,6 @@ public class ProcessLogsPersister {
         } finally {
             processLoggerProvider.removeLoggersCache(processLogger);
             processLogger.deleteLogFile();
-            processLogger.closeLoggerContext();
         }
     }
 }
@@ -0,0 +1,78 @@
+package org.cloudfoundry.multiapps.controller.persistence.services;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.persistence.EntityManagerFactory;
+
+import org.cloudfoundry.multiapps.common.ConflictException;
+import org.cloudfoundry.multiapps.common.NotFoundException;
+import org.cloudfoundry.multiapps.controller.persistence.Messages;
+import org.cloudfoundry.multiapps.controller.persistence.dto.UploadSessionDto;
+import org.cloudfoundry.multiapps.controller.persistence.model.ImmutableUploadSessionEntry;
+import org.cloudfoundry.multiapps.controller.persistence.model.UploadSessionEntry;
+import org.cloudfoundry.multiapps.controller.persistence.query.UploadSessionsQuery;
+import org.cloudfoundry.multiapps.controller.persistence.query.impl.UploadSessionsQueryImpl;
+
+@Named
+public class UploadSessionService extends PersistenceService<UploadSessionEntry, UploadSessionDto, String> {
+
+    @Inject
+    public UploadSessionService(EntityManagerFactory entityManagerFactory) {
+        super(entityManagerFactory);
+    }
+
+    public UploadSessionsQuery createQuery() {
+        return new UploadSessionsQueryImpl(createEntityManager());
+    }
+
+    @Override
+    protected PersistenceObjectMapper<UploadSessionEntry, UploadSessionDto> getPersistenceObjectMapper() {
+        return new UploadSessionMapper();
+    }
+
+    @Override
+    protected void onEntityConflict(UploadSessionDto dto, Throwable t) {
+        throw new ConflictException(t, Messages.UPLOAD_SESSION_ALREADY_EXISTS, dto.getPrimaryKey());
+    }
+
+    @Override
+    protected void onEntityNotFound(String primaryKey) {
+        throw new NotFoundException(Messages.UPLOAD_SESSION_NOT_FOUND, primaryKey);
+    }
+
+    public static class UploadSessionMapper implements PersistenceObjectMapper<UploadSessionEntry, UploadSessionDto> {
+
+        @Override
+        public UploadSessionEntry fromDto(UploadSessionDto dto) {
+            return ImmutableUploadSessionEntry.builder()
+                                         .id(dto.getPrimaryKey())
+                                         .user(dto.getMtaUser())
+                                         .spaceGuid(dto.getSpaceGuid())
+                                         .namespace(dto.getNamespace())
+                                         .fileName(dto.getFileName())
+                                         .fileSize(dto.getFileSize())
+                                         .chunkSize(dto.getChunkSize())
+                                         .fileId(dto.getFileId())
+                                         .multipartUploadId(dto.getMultipartUploadId())
+                                         .digest(dto.getDigest())
+                                         .addedAt(dto.getAddedAt())
+                                         .build();
+        }
+
+        @Override
+        public UploadSessionDto toDto(UploadSessionEntry session) {
+            return new UploadSessionDto(session.getId(),
+                                        session.getUser(),
+                                        session.getSpaceGuid(),
+                                        session.getNamespace(),
+                                        session.getFileName(),
+                                        session.getFileSize(),
+                                        session.getChunkSize(),
+                                        session.getFileId(),
+                                        session.getMultipartUploadId(),
+                                        session.getDigest(),
+                                        session.getAddedAt());
+        }
+    }
+
+}
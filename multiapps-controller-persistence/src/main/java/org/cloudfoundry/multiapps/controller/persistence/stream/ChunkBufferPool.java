@@ -0,0 +1,66 @@
+package org.cloudfoundry.multiapps.controller.persistence.stream;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of buffers of the same size shared by all {@link ParallelRangeInputStream}s, so that the memory used for read-ahead is bounded by
+ * {@code maxMemory} regardless of the number of open streams. Released buffers are kept for reuse and a new buffer is allocated only when
+ * no released buffer is available.
+ */
+public class ChunkBufferPool {
+
+    private final int bufferSize;
+    private final int maxBuffers;
+    private final Semaphore availableBuffers;
+    private final Queue<byte[]> freeBuffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger allocatedBuffers = new AtomicInteger();
+
+    public ChunkBufferPool(int bufferSize, long maxMemory) {
+        this.bufferSize = bufferSize;
+        this.maxBuffers = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxMemory / bufferSize));
+        this.availableBuffers = new Semaphore(maxBuffers);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Returns a buffer of {@link #getBufferSize()} bytes, or null if all buffers allowed by the memory limit are in use
+     */
+    public byte[] tryAcquire() {
+        if (!availableBuffers.tryAcquire()) {
+            return null;
+        }
+        byte[] buffer = freeBuffers.poll();
+        if (buffer != null) {
+            return buffer;
+        }
+        allocatedBuffers.incrementAndGet();
+        return new byte[bufferSize];
+    }
+
+    /**
+     * Returns a buffer acquired with {@link #tryAcquire()} to the pool. The buffer must not be used after it is released.
+     */
+    public void release(byte[] buffer) {
+        freeBuffers.add(buffer);
+        availableBuffers.release();
+    }
+
+    int getMaxBuffers() {
+        return maxBuffers;
+    }
+
+    int getAvailableBuffers() {
+        return availableBuffers.availablePermits();
+    }
+
+    int getAllocatedBuffers() {
+        return allocatedBuffers.get();
+    }
+
+}
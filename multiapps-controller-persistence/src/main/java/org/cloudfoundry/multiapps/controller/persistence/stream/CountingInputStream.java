@@ -0,0 +1,30 @@
+package org.cloudfoundry.multiapps.controller.persistence.stream;
+
+import java.io.InputStream;
+
+import org.apache.commons.io.input.ProxyInputStream;
+
+/**
+ * Counts the bytes read from the underlying stream, so that the size of content streamed with an unknown length is known once it is
+ * fully read.
+ */
+public class CountingInputStream extends ProxyInputStream {
+
+    private long count;
+
+    public CountingInputStream(InputStream inputStream) {
+        super(inputStream);
+    }
+
+    @Override
+    protected synchronized void afterRead(int n) {
+        if (n > 0) {
+            count += n;
+        }
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+}
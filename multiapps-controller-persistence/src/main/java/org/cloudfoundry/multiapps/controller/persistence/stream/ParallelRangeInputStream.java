@@ -0,0 +1,243 @@
+package org.cloudfoundry.multiapps.controller.persistence.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.cloudfoundry.multiapps.controller.persistence.Messages;
+import org.cloudfoundry.multiapps.controller.persistence.services.FileStorageException;
+
+/**
+ * Reads a file of a known size with concurrent range requests of the buffer size of a {@link ChunkBufferPool}. At most {@code window}
+ * chunks are fetched or buffered at any time. The stream starts with a single buffer and takes more buffers from the pool only while the
+ * pool has free buffers, so it keeps reading, one chunk at a time, when the memory limit of the pool is reached. The buffers are returned
+ * to the pool when the stream is read to the end or closed. The chunks are returned in order, regardless of the order in which their
+ * requests complete.
+ */
+public class ParallelRangeInputStream extends InputStream {
+
+    private final RangeOpener rangeOpener;
+    private final long size;
+    private final int window;
+    private final ChunkBufferPool bufferPool;
+    private final ExecutorService executor;
+    private final Deque<ChunkRequest> pendingChunks = new ArrayDeque<>();
+    // Guards the buffers of the pending chunks, which are released by the requests that are still running when the stream is closed
+    private final Object buffersLock = new Object();
+
+    private long nextChunkStartPosition;
+    private Chunk currentChunk;
+    private int currentChunkPosition;
+    private boolean closed;
+
+    /**
+     * @param firstBuffer a buffer acquired from {@code bufferPool}, which guarantees that the stream can always fetch its next chunk
+     */
+    public ParallelRangeInputStream(RangeOpener rangeOpener, long size, int window, ChunkBufferPool bufferPool, byte[] firstBuffer,
+                                    ExecutorService executor) {
+        this.rangeOpener = rangeOpener;
+        this.size = size;
+        this.window = window;
+        this.bufferPool = bufferPool;
+        this.executor = executor;
+        requestChunks(firstBuffer);
+    }
+
+    @Override
+    public synchronized int read() throws IOException {
+        if (!ensureCurrentChunk()) {
+            return -1;
+        }
+        return currentChunk.buffer[currentChunkPosition++] & 0xFF;
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureCurrentChunk()) {
+            return -1;
+        }
+        int bytesToCopy = Math.min(len, currentChunk.length - currentChunkPosition);
+        System.arraycopy(currentChunk.buffer, currentChunkPosition, b, off, bytesToCopy);
+        currentChunkPosition += bytesToCopy;
+        return bytesToCopy;
+    }
+
+    @Override
+    public synchronized int available() {
+        return currentChunk == null ? 0 : currentChunk.length - currentChunkPosition;
+    }
+
+    @Override
+    public synchronized void close() {
+        synchronized (buffersLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pendingChunks.forEach(ChunkRequest::discard);
+        }
+        pendingChunks.clear();
+        if (currentChunk != null) {
+            bufferPool.release(currentChunk.buffer);
+            currentChunk = null;
+        }
+    }
+
+    private boolean ensureCurrentChunk() throws IOException {
+        if (closed) {
+            throw new IOException(Messages.STREAM_IS_CLOSED);
+        }
+        if (currentChunk != null && currentChunkPosition < currentChunk.length) {
+            return true;
+        }
+        if (currentChunk != null) {
+            byte[] readBuffer = currentChunk.buffer;
+            currentChunk = null;
+            requestChunks(readBuffer);
+        }
+        ChunkRequest nextChunk = pendingChunks.poll();
+        if (nextChunk == null) {
+            return false;
+        }
+        currentChunk = awaitChunk(nextChunk);
+        currentChunkPosition = 0;
+        return true;
+    }
+
+    private Chunk awaitChunk(ChunkRequest chunkRequest) throws IOException {
+        try {
+            return chunkRequest.future.get();
+        } catch (ExecutionException e) {
+            bufferPool.release(chunkRequest.buffer);
+            close();
+            throw new IOException(e.getCause()
+                                   .getMessage(),
+                                  e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            pendingChunks.addFirst(chunkRequest);
+            close();
+            throw new InterruptedIOException(e.getMessage());
+        }
+    }
+
+    /**
+     * Requests the following chunks into the given free buffer and, while the window is not full, into buffers acquired from the pool. The
+     * free buffer is released if it is not needed anymore.
+     */
+    private void requestChunks(byte[] freeBuffer) {
+        byte[] buffer = freeBuffer;
+        while (pendingChunks.size() < window && nextChunkStartPosition < size) {
+            if (buffer == null) {
+                buffer = bufferPool.tryAcquire();
+            }
+            if (buffer == null) {
+                return;
+            }
+            long startPosition = nextChunkStartPosition;
+            int length = (int) Math.min(buffer.length, size - startPosition);
+            ChunkRequest chunkRequest = new ChunkRequest(buffer, startPosition, length);
+            chunkRequest.future = executor.submit(chunkRequest);
+            pendingChunks.add(chunkRequest);
+            nextChunkStartPosition += length;
+            buffer = null;
+        }
+        if (buffer != null) {
+            bufferPool.release(buffer);
+        }
+    }
+
+    private Chunk readChunk(byte[] buffer, long startPosition, int length) throws IOException, FileStorageException {
+        try (InputStream rangeStream = rangeOpener.open(startPosition, startPosition + length)) {
+            int bytesRead = rangeStream.readNBytes(buffer, 0, length);
+            if (bytesRead != length) {
+                throw new IOException(MessageFormat.format(Messages.UNEXPECTED_END_OF_RANGE_0_1_AFTER_2_BYTES, startPosition,
+                                                           startPosition + length, bytesRead));
+            }
+            return new Chunk(buffer, length);
+        }
+    }
+
+    @FunctionalInterface
+    public interface RangeOpener {
+
+        /**
+         * Opens a stream over the bytes of the file in the range [startPosition, endPosition)
+         */
+        InputStream open(long startPosition, long endPosition) throws FileStorageException, IOException;
+
+    }
+
+    /**
+     * Reads a chunk into its buffer. The buffer is released by the stream, unless the stream is closed while the chunk is being read, in
+     * which case it is released by the request when the read completes, so that it is never reused while it is still written to.
+     */
+    private class ChunkRequest implements Callable<Chunk> {
+
+        private final byte[] buffer;
+        private final long startPosition;
+        private final int length;
+        private Future<Chunk> future;
+        private boolean started;
+        private boolean completed;
+
+        ChunkRequest(byte[] buffer, long startPosition, int length) {
+            this.buffer = buffer;
+            this.startPosition = startPosition;
+            this.length = length;
+        }
+
+        @Override
+        public Chunk call() throws IOException, FileStorageException {
+            synchronized (buffersLock) {
+                if (closed) {
+                    return null;
+                }
+                started = true;
+            }
+            try {
+                return readChunk(buffer, startPosition, length);
+            } finally {
+                synchronized (buffersLock) {
+                    completed = true;
+                    if (closed) {
+                        bufferPool.release(buffer);
+                    }
+                }
+            }
+        }
+
+        // Called with the buffers lock held after the stream is closed
+        void discard() {
+            future.cancel(true);
+            if (!started || completed) {
+                bufferPool.release(buffer);
+            }
+        }
+
+    }
+
+    private static class Chunk {
+
+        private final byte[] buffer;
+        private final int length;
+
+        Chunk(byte[] buffer, int length) {
+            this.buffer = buffer;
+            this.length = length;
+        }
+
+    }
+
+}
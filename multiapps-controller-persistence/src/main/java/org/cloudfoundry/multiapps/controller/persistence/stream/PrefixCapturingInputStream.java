@@ -0,0 +1,57 @@
+package org.cloudfoundry.multiapps.controller.persistence.stream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.ProxyInputStream;
+
+/**
+ * Keeps a copy of the first bytes read from the underlying stream, so that the beginning of content which is streamed to its destination
+ * can be inspected afterwards without reading the content again. At most {@code maxPrefixSize} bytes are kept.
+ */
+public class PrefixCapturingInputStream extends ProxyInputStream {
+
+    private final int maxPrefixSize;
+    private final ByteArrayOutputStream prefix = new ByteArrayOutputStream();
+
+    public PrefixCapturingInputStream(InputStream inputStream, int maxPrefixSize) {
+        super(inputStream);
+        this.maxPrefixSize = maxPrefixSize;
+    }
+
+    @Override
+    public synchronized int read() throws IOException {
+        int b = super.read();
+        if (b >= 0 && prefix.size() < maxPrefixSize) {
+            prefix.write(b);
+        }
+        return b;
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) throws IOException {
+        int bytesRead = super.read(b, off, len);
+        if (bytesRead > 0 && prefix.size() < maxPrefixSize) {
+            prefix.write(b, off, Math.min(bytesRead, maxPrefixSize - prefix.size()));
+        }
+        return bytesRead;
+    }
+
+    @Override
+    public int read(byte[] b) throws IOException {
+        return read(b, 0, b.length);
+    }
+
+    // Skipped bytes are read, so that they are captured as well
+    @Override
+    public long skip(long n) throws IOException {
+        return IOUtils.skip(this, n);
+    }
+
+    public synchronized byte[] getPrefix() {
+        return prefix.toByteArray();
+    }
+
+}
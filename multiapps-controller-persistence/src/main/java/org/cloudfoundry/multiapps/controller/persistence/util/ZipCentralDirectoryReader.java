@@ -0,0 +1,216 @@
+package org.cloudfoundry.multiapps.controller.persistence.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.cloudfoundry.multiapps.controller.persistence.model.ArchiveEntryWithStreamPositions;
+import org.cloudfoundry.multiapps.controller.persistence.model.ImmutableArchiveEntryWithStreamPositions;
+import org.cloudfoundry.multiapps.controller.persistence.services.FileStorageException;
+
+/**
+ * Builds an index of the entries of a stored ZIP archive by reading only its tail (end of central directory record) and its central
+ * directory. Archives which are not self-contained (e.g. single parts of a split archive) or which cannot be parsed result in an empty
+ * index.
+ */
+public class ZipCentralDirectoryReader {
+
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06064b50;
+    private static final int CENTRAL_DIRECTORY_FILE_HEADER_SIGNATURE = 0x02014b50;
+
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int MAX_ARCHIVE_COMMENT_SIZE = 0xFFFF;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE = 20;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE = 56;
+    private static final int CENTRAL_DIRECTORY_FILE_HEADER_SIZE = 46;
+    private static final int ZIP64_EXTENDED_INFORMATION_TAG = 0x0001;
+    private static final long ZIP64_MAGIC_VALUE = 0xFFFFFFFFL;
+
+    private static final long MAX_CENTRAL_DIRECTORY_SIZE = 64 * 1024 * 1024L; // 64MB
+
+    private final RangeReader rangeReader;
+
+    public ZipCentralDirectoryReader(RangeReader rangeReader) {
+        this.rangeReader = rangeReader;
+    }
+
+    public List<ArchiveEntryWithStreamPositions> readEntries(long archiveSize) throws FileStorageException {
+        if (archiveSize < END_OF_CENTRAL_DIRECTORY_SIZE) {
+            return Collections.emptyList();
+        }
+        long tailStartPosition = Math.max(0, archiveSize - END_OF_CENTRAL_DIRECTORY_SIZE - MAX_ARCHIVE_COMMENT_SIZE
+            - ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE);
+        byte[] tail = rangeReader.read(tailStartPosition, archiveSize);
+        if (tail == null) {
+            return Collections.emptyList();
+        }
+        ByteBuffer tailBuffer = ByteBuffer.wrap(tail)
+                                          .order(ByteOrder.LITTLE_ENDIAN);
+        int endOfCentralDirectoryOffset = findEndOfCentralDirectory(tailBuffer);
+        if (endOfCentralDirectoryOffset < 0) {
+            return Collections.emptyList();
+        }
+        CentralDirectoryLocation location = getCentralDirectoryLocation(tailBuffer, endOfCentralDirectoryOffset, tailStartPosition);
+        if (location == null || !location.isConsistent() || location.size > MAX_CENTRAL_DIRECTORY_SIZE) {
+            return Collections.emptyList();
+        }
+        byte[] centralDirectory = rangeReader.read(location.offset, location.offset + location.size);
+        if (centralDirectory == null) {
+            return Collections.emptyList();
+        }
+        return parseCentralDirectory(centralDirectory, location.offset);
+    }
+
+    private int findEndOfCentralDirectory(ByteBuffer tailBuffer) {
+        for (int i = tailBuffer.limit() - END_OF_CENTRAL_DIRECTORY_SIZE; i >= 0; i--) {
+            if (tailBuffer.getInt(i) == END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private CentralDirectoryLocation getCentralDirectoryLocation(ByteBuffer tailBuffer, int endOfCentralDirectoryOffset,
+                                                                 long tailStartPosition)
+        throws FileStorageException {
+        long size = Integer.toUnsignedLong(tailBuffer.getInt(endOfCentralDirectoryOffset + 12));
+        long offset = Integer.toUnsignedLong(tailBuffer.getInt(endOfCentralDirectoryOffset + 16));
+        int locatorOffset = endOfCentralDirectoryOffset - ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE;
+        if (locatorOffset < 0 || tailBuffer.getInt(locatorOffset) != ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE) {
+            return new CentralDirectoryLocation(offset, size, tailStartPosition + endOfCentralDirectoryOffset);
+        }
+        long zip64EndOfCentralDirectoryPosition = tailBuffer.getLong(locatorOffset + 8);
+        byte[] zip64EndOfCentralDirectory = rangeReader.read(zip64EndOfCentralDirectoryPosition,
+                                                             zip64EndOfCentralDirectoryPosition + ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE);
+        if (zip64EndOfCentralDirectory == null || zip64EndOfCentralDirectory.length < ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE) {
+            return null;
+        }
+        ByteBuffer zip64Buffer = ByteBuffer.wrap(zip64EndOfCentralDirectory)
+                                           .order(ByteOrder.LITTLE_ENDIAN);
+        if (zip64Buffer.getInt(0) != ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+            return null;
+        }
+        return new CentralDirectoryLocation(zip64Buffer.getLong(48), zip64Buffer.getLong(40), zip64EndOfCentralDirectoryPosition);
+    }
+
+    private List<ArchiveEntryWithStreamPositions> parseCentralDirectory(byte[] centralDirectory, long centralDirectoryOffset) {
+        ByteBuffer buffer = ByteBuffer.wrap(centralDirectory)
+                                      .order(ByteOrder.LITTLE_ENDIAN);
+        List<EntryHeader> headers = new ArrayList<>();
+        int position = 0;
+        while (position + CENTRAL_DIRECTORY_FILE_HEADER_SIZE <= centralDirectory.length) {
+            if (buffer.getInt(position) != CENTRAL_DIRECTORY_FILE_HEADER_SIGNATURE) {
+                return Collections.emptyList();
+            }
+            int nameLength = Short.toUnsignedInt(buffer.getShort(position + 28));
+            int extraFieldLength = Short.toUnsignedInt(buffer.getShort(position + 30));
+            int commentLength = Short.toUnsignedInt(buffer.getShort(position + 32));
+            int nameOffset = position + CENTRAL_DIRECTORY_FILE_HEADER_SIZE;
+            if (nameOffset + nameLength + extraFieldLength > centralDirectory.length) {
+                return Collections.emptyList();
+            }
+            String name = new String(centralDirectory, nameOffset, nameLength, StandardCharsets.UTF_8);
+            headers.add(readEntryHeader(buffer, position, name, nameOffset + nameLength, extraFieldLength));
+            position = nameOffset + nameLength + extraFieldLength + commentLength;
+        }
+        return toArchiveEntries(headers, centralDirectoryOffset);
+    }
+
+    private EntryHeader readEntryHeader(ByteBuffer buffer, int headerPosition, String name, int extraFieldOffset, int extraFieldLength) {
+        long uncompressedSize = Integer.toUnsignedLong(buffer.getInt(headerPosition + 24));
+        long compressedSize = Integer.toUnsignedLong(buffer.getInt(headerPosition + 20));
+        long localHeaderOffset = Integer.toUnsignedLong(buffer.getInt(headerPosition + 42));
+        if (uncompressedSize != ZIP64_MAGIC_VALUE && localHeaderOffset != ZIP64_MAGIC_VALUE) {
+            return new EntryHeader(name, uncompressedSize, localHeaderOffset);
+        }
+        int position = extraFieldOffset;
+        int extraFieldEnd = extraFieldOffset + extraFieldLength;
+        while (position + 4 <= extraFieldEnd) {
+            int tag = Short.toUnsignedInt(buffer.getShort(position));
+            int size = Short.toUnsignedInt(buffer.getShort(position + 2));
+            if (tag == ZIP64_EXTENDED_INFORMATION_TAG) {
+                // The 64-bit values are present only for the fields which are set to the magic value, in this fixed order
+                int valuePosition = position + 4;
+                if (uncompressedSize == ZIP64_MAGIC_VALUE) {
+                    uncompressedSize = buffer.getLong(valuePosition);
+                    valuePosition += Long.BYTES;
+                }
+                if (compressedSize == ZIP64_MAGIC_VALUE) {
+                    valuePosition += Long.BYTES;
+                }
+                if (localHeaderOffset == ZIP64_MAGIC_VALUE) {
+                    localHeaderOffset = buffer.getLong(valuePosition);
+                }
+                break;
+            }
+            position += 4 + size;
+        }
+        return new EntryHeader(name, uncompressedSize, localHeaderOffset);
+    }
+
+    private List<ArchiveEntryWithStreamPositions> toArchiveEntries(List<EntryHeader> headers, long centralDirectoryOffset) {
+        headers.sort(Comparator.comparingLong(header -> header.localHeaderOffset));
+        List<ArchiveEntryWithStreamPositions> entries = new ArrayList<>(headers.size());
+        for (int i = 0; i < headers.size(); i++) {
+            EntryHeader header = headers.get(i);
+            long endPosition = i + 1 < headers.size() ? headers.get(i + 1).localHeaderOffset : centralDirectoryOffset;
+            entries.add(ImmutableArchiveEntryWithStreamPositions.builder()
+                                                                .name(header.name)
+                                                                .startPosition(header.localHeaderOffset)
+                                                                .endPosition(endPosition)
+                                                                .uncompressedSize(header.uncompressedSize)
+                                                                .build());
+        }
+        return entries;
+    }
+
+    @FunctionalInterface
+    public interface RangeReader {
+
+        /**
+         * @param startPosition the first byte to read (inclusive)
+         * @param endPosition the last byte to read (exclusive)
+         */
+        byte[] read(long startPosition, long endPosition) throws FileStorageException;
+
+    }
+
+    private static class CentralDirectoryLocation {
+
+        private final long offset;
+        private final long size;
+        private final long endPosition;
+
+        CentralDirectoryLocation(long offset, long size, long endPosition) {
+            this.offset = offset;
+            this.size = size;
+            this.endPosition = endPosition;
+        }
+
+        boolean isConsistent() {
+            return offset >= 0 && size >= 0 && offset + size == endPosition;
+        }
+
+    }
+
+    private static class EntryHeader {
+
+        private final String name;
+        private final long uncompressedSize;
+        private final long localHeaderOffset;
+
+        EntryHeader(String name, long uncompressedSize, long localHeaderOffset) {
+            this.name = name;
+            this.uncompressedSize = uncompressedSize;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+
+    }
+
+}
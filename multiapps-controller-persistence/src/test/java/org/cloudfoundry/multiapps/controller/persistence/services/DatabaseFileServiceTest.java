@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
@@ -115,6 +116,56 @@ class DatabaseFileServiceTest {
         validateFileContent(fileEntry, expectedFileDigest);
     }
 
+    @Test
+    void addFileWithUnknownSizeTest() throws Exception {
+        FileEntry fileEntry = fileService.addFile(ImmutableFileEntry.builder()
+                                                                    .space(SPACE_1)
+                                                                    .namespace(NAMESPACE_1)
+                                                                    .name(PIC_STORAGE_NAME)
+                                                                    .build(),
+                                                  getResource(PIC_RESOURCE_NAME));
+        verifyFileEntry(fileEntry, SPACE_1, NAMESPACE_1);
+
+        FileEntry getFileEntry = fileService.getFile(SPACE_1, fileEntry.getId());
+        verifyFileEntry(getFileEntry, SPACE_1, NAMESPACE_1);
+    }
+
+    @Test
+    void addFileWithUnexpectedSizeTest() throws Exception {
+        FileEntry fileEntry = ImmutableFileEntry.builder()
+                                                .space(SPACE_1)
+                                                .namespace(NAMESPACE_1)
+                                                .name(PIC_STORAGE_NAME)
+                                                .size(BigInteger.valueOf(PIC_SIZE + 1))
+                                                .build();
+        InputStream content = getResource(PIC_RESOURCE_NAME);
+
+        assertThrows(FileStorageException.class, () -> fileService.addFile(fileEntry, content));
+        assertTrue(fileService.listFiles(SPACE_1, NAMESPACE_1)
+                              .isEmpty());
+    }
+
+    @Test
+    void listFilesDoesNotContainChunksTest() throws Exception {
+        FileEntry fileEntry = addTestFile(SPACE_1, NAMESPACE_1);
+        FileEntry chunkedFileEntry = ImmutableFileEntry.builder()
+                                                       .id(UUID.randomUUID()
+                                                               .toString())
+                                                       .space(SPACE_1)
+                                                       .namespace(NAMESPACE_1)
+                                                       .name(PIC_STORAGE_NAME)
+                                                       .size(BigInteger.valueOf(PIC_SIZE))
+                                                       .build();
+        fileService.addChunk(chunkedFileEntry, null, 1, PIC_SIZE, getResource(PIC_RESOURCE_NAME));
+
+        List<FileEntry> listFiles = fileService.listFiles(SPACE_1, NAMESPACE_1);
+        assertEquals(1, listFiles.size());
+        assertEquals(fileEntry.getId(), listFiles.get(0)
+                                                 .getId());
+        assertEquals(1, fileService.listFilesBySpaceAndOperationId(SPACE_1, chunkedFileEntry.getId())
+                                   .size());
+    }
+
     @Test
     void deleteBySpaceAndNamespaceTest() throws Exception {
         addTestFile(SPACE_1, NAMESPACE_1);
@@ -2,18 +2,28 @@ package org.cloudfoundry.multiapps.controller.persistence.services;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
 import org.apache.commons.io.IOUtils;
 import org.cloudfoundry.multiapps.controller.persistence.DataSourceWithDialect;
@@ -28,6 +38,8 @@ import org.mockito.MockitoAnnotations;
 
 class FileServiceTest extends DatabaseFileServiceTest {
 
+    private static final String MULTIPART_UPLOAD_ID = "multipart-upload-id";
+
     @Mock
     private FileStorage fileStorage;
 
@@ -72,7 +84,7 @@ class FileServiceTest extends DatabaseFileServiceTest {
     void consumeFileContentTest() throws Exception {
         fileService.consumeFileContent(SPACE_1, "1111-2222-3333-4444", mock(FileContentConsumer.class));
         Mockito.verify(fileStorage)
-               .processFileContent(Mockito.eq(SPACE_1), Mockito.eq("1111-2222-3333-4444"), Mockito.any());
+               .processFileContent(fileEntryWithId(SPACE_1, "1111-2222-3333-4444"), Mockito.any());
     }
 
     @Test
@@ -80,7 +92,7 @@ class FileServiceTest extends DatabaseFileServiceTest {
     void deleteBySpaceAndNamespaceTest() throws Exception {
         super.deleteBySpaceAndNamespaceTest();
         Mockito.verify(fileStorage)
-               .deleteFilesBySpaceAndNamespace(Mockito.eq(SPACE_1), Mockito.eq(NAMESPACE_1));
+               .deleteFilesBySpaceAndNamespace(Mockito.eq(SPACE_1), Mockito.eq(NAMESPACE_1), Mockito.anySet());
     }
 
     @Test
@@ -88,7 +100,7 @@ class FileServiceTest extends DatabaseFileServiceTest {
     void deleteBySpaceAndNamespaceWithTwoNamespacesTest() throws Exception {
         super.deleteBySpaceAndNamespaceWithTwoNamespacesTest();
         Mockito.verify(fileStorage)
-               .deleteFilesBySpaceAndNamespace(Mockito.eq(SPACE_1), Mockito.eq(NAMESPACE_1));
+               .deleteFilesBySpaceAndNamespace(Mockito.eq(SPACE_1), Mockito.eq(NAMESPACE_1), Mockito.anySet());
     }
 
     @Test
@@ -96,7 +108,7 @@ class FileServiceTest extends DatabaseFileServiceTest {
     void deleteBySpaceTest() throws Exception {
         super.deleteBySpaceTest();
         Mockito.verify(fileStorage)
-               .deleteFilesBySpaceIds(Mockito.eq(List.of(SPACE_1)));
+               .deleteFilesBySpaceIds(Mockito.eq(List.of(SPACE_1)), Mockito.anySet());
     }
 
     @Test
@@ -106,7 +118,7 @@ class FileServiceTest extends DatabaseFileServiceTest {
 
         boolean deleteFile = fileService.deleteFile(SPACE_2, fileEntry.getId());
         assertFalse(deleteFile);
-        Mockito.verify(fileStorage)
+        Mockito.verify(fileStorage, Mockito.never())
                .deleteFile(Mockito.eq(fileEntry.getId()), Mockito.eq(SPACE_2));
 
         deleteFile = fileService.deleteFile(SPACE_1, fileEntry.getId());
@@ -129,8 +141,8 @@ class FileServiceTest extends DatabaseFileServiceTest {
         } catch (FileStorageException e) {
             Mockito.verify(fileStorage)
                    .deleteFile(Mockito.eq(fileEntry.getId()), Mockito.eq(SPACE_1));
-            FileEntry fileStillExists = fileService.getFile(SPACE_1, fileEntry.getId());
-            assertNotNull(fileStillExists);
+            // The attributes are committed before the content is deleted, the content is removed by a later clean up
+            assertNull(fileService.getFile(SPACE_1, fileEntry.getId()));
         }
     }
 
@@ -139,17 +151,17 @@ class FileServiceTest extends DatabaseFileServiceTest {
     void deleteByModificationTimeTest() throws Exception {
         super.deleteByModificationTimeTest();
         Mockito.verify(fileStorage)
-               .deleteFilesModifiedBefore(Mockito.any());
+               .deleteFilesModifiedBefore(Mockito.any(), Mockito.anySet());
     }
 
     @Test
     @Override
     void testOpenInputStream() throws Exception {
-        when(fileStorage.openInputStream(anyString(), anyString()))
+        when(fileStorage.openInputStream(Mockito.any(FileEntry.class)))
                 .thenReturn(getResource(PIC_RESOURCE_NAME));
         super.testOpenInputStream();
         Mockito.verify(fileStorage)
-               .openInputStream(anyString(), anyString());
+               .openInputStream(Mockito.any(FileEntry.class));
     }
 
     @Test
@@ -198,12 +210,286 @@ class FileServiceTest extends DatabaseFileServiceTest {
         assertEquals(1, fileEntries.size());
     }
 
+    @Test
+    void processArchiveEntriesContentReadsOnlyIndexedRangeTest() throws Exception {
+        byte[] archive = createArchive(List.of("META-INF/MANIFEST.MF", "module/", "module/first.txt", "module/second.txt", "other.txt"));
+        mockFileContentRanges(archive);
+        FileEntry fileEntry = fileService.addFile(ImmutableFileEntry.builder()
+                                                                    .space(SPACE_1)
+                                                                    .namespace(NAMESPACE_1)
+                                                                    .name("archive.mtar")
+                                                                    .size(BigInteger.valueOf(archive.length))
+                                                                    .build(),
+                                                  new ByteArrayInputStream(archive));
+
+        List<String> entryNames = fileService.processArchiveEntriesContent(SPACE_1, fileEntry.getId(), "module/", this::readEntryNames);
+
+        assertEquals(List.of("module/", "module/first.txt", "module/second.txt"), entryNames);
+        Mockito.verify(fileStorage, Mockito.never())
+               .processFileContent(Mockito.any(FileEntry.class), Mockito.any());
+    }
+
+    @Test
+    void processArchiveEntriesContentWithoutIndexTest() throws Exception {
+        FileEntry fileEntry = addTestFile(SPACE_1, NAMESPACE_1);
+
+        fileService.processArchiveEntriesContent(SPACE_1, fileEntry.getId(), "module/", this::readEntryNames);
+
+        assertTrue(fileService.getArchiveIndex(SPACE_1, fileEntry.getId())
+                              .isEmpty());
+        Mockito.verify(fileStorage)
+               .processFileContent(fileEntryWithId(SPACE_1, fileEntry.getId()), Mockito.any());
+    }
+
+    @Test
+    void addFileWithSameContentSharesStoredContentTest() throws Exception {
+        FileEntry fileEntry = addTestFile(SPACE_1, NAMESPACE_1);
+        FileEntry sameContentFileEntry = addTestFile(SPACE_1, NAMESPACE_2);
+
+        assertNull(fileEntry.getContentId());
+        assertEquals(fileEntry.getId(), sameContentFileEntry.getContentId());
+        assertEquals(fileEntry.getId(), fileService.getFile(SPACE_1, sameContentFileEntry.getId())
+                                                   .getContentId());
+        Mockito.verify(fileStorage)
+               .deleteFile(sameContentFileEntry.getId(), SPACE_1);
+
+        fileService.consumeFileContent(SPACE_1, sameContentFileEntry.getId(), mock(FileContentConsumer.class));
+        Mockito.verify(fileStorage)
+               .processFileContent(fileEntryWithId(SPACE_1, fileEntry.getId()), Mockito.any());
+    }
+
+    @Test
+    void openInputStreamOfFileEntryWithSharedContentTest() throws Exception {
+        FileEntry fileEntry = addTestFile(SPACE_1, NAMESPACE_1);
+        FileEntry sameContentFileEntry = addTestFile(SPACE_1, NAMESPACE_2);
+
+        fileService.openInputStream(sameContentFileEntry);
+        Mockito.verify(fileStorage)
+               .openInputStream(fileEntryWithId(SPACE_1, fileEntry.getId()));
+    }
+
+    @Test
+    void addFileWithSameContentInOtherSpaceDoesNotShareStoredContentTest() throws Exception {
+        addTestFile(SPACE_1, NAMESPACE_1);
+        FileEntry sameContentFileEntry = addTestFile(SPACE_2, NAMESPACE_1);
+
+        assertNull(sameContentFileEntry.getContentId());
+        Mockito.verify(fileStorage, Mockito.never())
+               .deleteFile(sameContentFileEntry.getId(), SPACE_2);
+    }
+
+    @Test
+    void addFileWithExpectedDigestSkipsUploadTest() throws Exception {
+        FileEntry fileEntry = addTestFile(SPACE_1, NAMESPACE_1);
+        InputStream content = mock(InputStream.class);
+
+        FileEntry sameContentFileEntry = fileService.addFile(ImmutableFileEntry.builder()
+                                                                               .space(SPACE_1)
+                                                                               .namespace(NAMESPACE_2)
+                                                                               .name(PIC_STORAGE_NAME)
+                                                                               .size(BigInteger.valueOf(PIC_SIZE))
+                                                                               .digest(fileEntry.getDigest()
+                                                                                                .toLowerCase())
+                                                                               .build(),
+                                                             content);
+
+        assertEquals(fileEntry.getId(), sameContentFileEntry.getContentId());
+        assertEquals(fileEntry.getDigest(), sameContentFileEntry.getDigest());
+        Mockito.verifyNoInteractions(content);
+        Mockito.verify(fileStorage)
+               .addFile(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void addFileWithExpectedDigestFromOtherSpaceDoesNotShareStoredContentTest() throws Exception {
+        FileEntry fileEntry = addTestFile(SPACE_1, NAMESPACE_1);
+
+        FileEntry sameContentFileEntry = fileService.addFile(ImmutableFileEntry.builder()
+                                                                               .space(SPACE_2)
+                                                                               .namespace(NAMESPACE_1)
+                                                                               .name(PIC_STORAGE_NAME)
+                                                                               .size(BigInteger.valueOf(PIC_SIZE))
+                                                                               .digest(fileEntry.getDigest())
+                                                                               .build(),
+                                                             getResource(PIC_RESOURCE_NAME));
+
+        assertNull(sameContentFileEntry.getContentId());
+        Mockito.verify(fileStorage, Mockito.times(2))
+               .addFile(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void addFileWithUnexpectedDigestTest() throws Exception {
+        FileEntry fileEntry = ImmutableFileEntry.builder()
+                                                .space(SPACE_1)
+                                                .namespace(NAMESPACE_1)
+                                                .name(PIC_STORAGE_NAME)
+                                                .size(BigInteger.valueOf(PIC_SIZE))
+                                                .digest("0123456789ABCDEF")
+                                                .build();
+        InputStream content = getResource(PIC_RESOURCE_NAME);
+
+        assertThrows(FileStorageException.class, () -> fileService.addFile(fileEntry, content));
+        assertTrue(fileService.listFiles(SPACE_1, NAMESPACE_1)
+                              .isEmpty());
+        Mockito.verify(fileStorage)
+               .deleteFile(anyString(), Mockito.eq(SPACE_1));
+    }
+
+    @Test
+    void completeChunkedUploadVerifiesDigestOfAssembledContentTest() throws Exception {
+        String expectedDigest = addTestFile(SPACE_2, NAMESPACE_1).getDigest();
+        FileEntry fileEntry = createMultipartUploadFileEntry(expectedDigest.toLowerCase());
+        when(fileStorage.completeMultipartUpload(fileEntry, MULTIPART_UPLOAD_ID, 2)).thenReturn((long) PIC_SIZE);
+        when(fileStorage.openInputStream(SPACE_1, fileEntry.getId())).thenAnswer(invocation -> getResource(PIC_RESOURCE_NAME));
+
+        FileEntry storedFileEntry = fileService.completeChunkedUpload(fileEntry, MULTIPART_UPLOAD_ID, 2);
+
+        assertEquals(expectedDigest, storedFileEntry.getDigest());
+        assertEquals(expectedDigest, fileService.getFile(SPACE_1, fileEntry.getId())
+                                                .getDigest());
+    }
+
+    @Test
+    void completeChunkedUploadWithUnexpectedDigestTest() throws Exception {
+        FileEntry fileEntry = createMultipartUploadFileEntry("0123456789ABCDEF");
+        when(fileStorage.completeMultipartUpload(fileEntry, MULTIPART_UPLOAD_ID, 2)).thenReturn((long) PIC_SIZE);
+        when(fileStorage.openInputStream(SPACE_1, fileEntry.getId())).thenAnswer(invocation -> getResource(PIC_RESOURCE_NAME));
+
+        assertThrows(FileStorageException.class, () -> fileService.completeChunkedUpload(fileEntry, MULTIPART_UPLOAD_ID, 2));
+        assertNull(fileService.getFile(SPACE_1, fileEntry.getId()));
+        Mockito.verify(fileStorage)
+               .deleteFile(fileEntry.getId(), SPACE_1);
+    }
+
+    private FileEntry createMultipartUploadFileEntry(String digest) {
+        return ImmutableFileEntry.builder()
+                                 .id("multipart-upload-file-id")
+                                 .space(SPACE_1)
+                                 .namespace(NAMESPACE_1)
+                                 .name(PIC_STORAGE_NAME)
+                                 .size(BigInteger.valueOf(PIC_SIZE))
+                                 .digest(digest)
+                                 .modified(LocalDateTime.now())
+                                 .build();
+    }
+
+    @Test
+    void deleteFileWithSharedContentTest() throws Exception {
+        FileEntry fileEntry = addTestFile(SPACE_1, NAMESPACE_1);
+        FileEntry sameContentFileEntry = addTestFile(SPACE_1, NAMESPACE_2);
+
+        assertTrue(fileService.deleteFile(SPACE_1, fileEntry.getId()));
+        Mockito.verify(fileStorage, Mockito.never())
+               .deleteFile(fileEntry.getId(), SPACE_1);
+
+        assertTrue(fileService.deleteFile(SPACE_1, sameContentFileEntry.getId()));
+        Mockito.verify(fileStorage)
+               .deleteFile(fileEntry.getId(), SPACE_1);
+    }
+
+    @Test
+    void deleteFilesByIdsDeletesContentAfterAttributesTest() throws Exception {
+        FileEntry fileEntry = addTestFile(SPACE_1, NAMESPACE_1);
+        Mockito.doAnswer(invocation -> {
+            assertNull(fileService.getFile(SPACE_1, fileEntry.getId()));
+            throw new FileStorageException("expected exception");
+        })
+               .when(fileStorage)
+               .deleteFilesByIds(Mockito.anyList());
+
+        assertThrows(FileStorageException.class, () -> fileService.deleteFilesByIds(List.of(fileEntry.getId())));
+        assertNull(fileService.getFile(SPACE_1, fileEntry.getId()));
+    }
+
+    @Test
+    void deleteBySpaceAndNamespaceRetainsSharedContentTest() throws Exception {
+        FileEntry fileEntry = addTestFile(SPACE_1, NAMESPACE_1);
+        addTestFile(SPACE_1, NAMESPACE_2);
+
+        fileService.deleteBySpaceAndNamespace(SPACE_1, NAMESPACE_1);
+
+        Mockito.verify(fileStorage)
+               .deleteFilesBySpaceAndNamespace(SPACE_1, NAMESPACE_1, Set.of(fileEntry.getId()));
+    }
+
+    @Test
+    void deleteBySpaceAndNamespaceRetainsOnlySharedContentOfDeletedFilesTest() throws Exception {
+        addTestFile(SPACE_1, NAMESPACE_2);
+        addTestFile(SPACE_1, NAMESPACE_1);
+
+        fileService.deleteBySpaceAndNamespace(SPACE_1, NAMESPACE_1);
+
+        // The file which stored the shared content is not deleted, so the storage does not delete its content
+        Mockito.verify(fileStorage)
+               .deleteFilesBySpaceAndNamespace(SPACE_1, NAMESPACE_1, Set.of());
+    }
+
+    @Test
+    void deleteFilesByIdsWithSharedContentTest() throws Exception {
+        FileEntry fileEntry = addTestFile(SPACE_1, NAMESPACE_1);
+        FileEntry sameContentFileEntry = addTestFile(SPACE_1, NAMESPACE_2);
+
+        fileService.deleteFilesByIds(List.of(fileEntry.getId()));
+        Mockito.verify(fileStorage)
+               .deleteFilesByIds(List.of());
+
+        fileService.deleteFilesByIds(List.of(sameContentFileEntry.getId()));
+        Mockito.verify(fileStorage)
+               .deleteFilesByIds(Mockito.argThat(contentIds -> Set.copyOf(contentIds)
+                                                                  .equals(Set.of(fileEntry.getId(), sameContentFileEntry.getId()))));
+    }
+
+    private byte[] createArchive(List<String> entryNames) throws IOException {
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(archive)) {
+            for (String entryName : entryNames) {
+                zipOutputStream.putNextEntry(new ZipEntry(entryName));
+                if (!entryName.endsWith("/")) {
+                    zipOutputStream.write(entryName.getBytes(StandardCharsets.UTF_8));
+                }
+                zipOutputStream.closeEntry();
+            }
+        }
+        return archive.toByteArray();
+    }
+
+    private void mockFileContentRanges(byte[] content) throws FileStorageException {
+        Mockito.doAnswer(invocation -> {
+            long startPosition = invocation.getArgument(2);
+            long endPosition = invocation.getArgument(3);
+            FileContentProcessor<?> fileContentProcessor = invocation.getArgument(4);
+            return fileContentProcessor.process(new ByteArrayInputStream(Arrays.copyOfRange(content, (int) startPosition,
+                                                                                            (int) endPosition)));
+        })
+               .when(fileStorage)
+               .processFileContentRange(anyString(), anyString(), Mockito.anyLong(), Mockito.anyLong(), Mockito.any());
+    }
+
+    private static FileEntry fileEntryWithId(String space, String id) {
+        return Mockito.argThat(fileEntry -> space.equals(fileEntry.getSpace()) && id.equals(fileEntry.getId()));
+    }
+
+    private List<String> readEntryNames(InputStream archiveStream) throws IOException {
+        List<String> entryNames = new ArrayList<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(archiveStream)) {
+            for (ZipEntry zipEntry; (zipEntry = zipInputStream.getNextEntry()) != null;) {
+                if (zipEntry.getName()
+                            .startsWith("module/")) {
+                    entryNames.add(zipEntry.getName());
+                }
+            }
+        }
+        return entryNames;
+    }
+
     @Override
     protected FileEntry addFile(String space, String namespace, String fileName, String resourceName, String operationId) throws Exception {
         FileEntry fileEntry = super.addFile(space, namespace, fileName, resourceName, operationId);
         FileEntry fileWithoutDigest = ImmutableFileEntry.copyOf(fileEntry)
                                                         .withDigest(null)
-                                                        .withDigestAlgorithm(null);
+                                                        .withDigestAlgorithm(null)
+                                                        .withContentId(null);
         Mockito.verify(fileStorage)
                .addFile(Mockito.eq(fileWithoutDigest), Mockito.any());
         return fileEntry;
@@ -215,7 +501,7 @@ class FileServiceTest extends DatabaseFileServiceTest {
                                                                                                      dataSource.getDataSourceDialect()) {
             @Override
             protected String getSelectFilesWithoutOperationCreatedAfterTime1AndBeforeTime2Query() {
-                return String.format("SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE, OPERATION_ID FROM %s WHERE MODIFIED > ? AND MODIFIED < ? AND OPERATION_ID IS NULL",
+                return String.format("SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE, OPERATION_ID, CONTENT_ID FROM %s WHERE MODIFIED > ? AND MODIFIED < ? AND OPERATION_ID IS NULL",
                                      FileService.DEFAULT_TABLE_NAME);
             }
         };
@@ -226,7 +512,8 @@ class FileServiceTest extends DatabaseFileServiceTest {
     protected void verifyFileIsStored(FileEntry fileEntry) throws Exception {
         FileEntry fileWithoutDigest = ImmutableFileEntry.copyOf(fileEntry)
                                                         .withDigest(null)
-                                                        .withDigestAlgorithm(null);
+                                                        .withDigestAlgorithm(null)
+                                                        .withContentId(null);
         Mockito.verify(fileStorage)
                .addFile(Mockito.eq(fileWithoutDigest), Mockito.any());
     }
@@ -113,6 +113,17 @@ class HistoricOperationEventServiceTest {
 
     }
 
+    @Test
+    void testFindNewerThanOperations() {
+        historicOperationEventService.add(HISTORIC_OPERATION_1);
+        historicOperationEventService.add(HISTORIC_OPERATION_2);
+        List<HistoricOperationEvent> historicOperations = historicOperationEventService.createQuery()
+                                                                                       .newerThan(DATE_1)
+                                                                                       .list();
+        assertEquals(1, historicOperations.size());
+        verifyHistoricOperationsAreEqual(HISTORIC_OPERATION_2, historicOperations.get(0));
+    }
+
     @Test
     void testOrderByTimestamp() {
         historicOperationEventService.add(HISTORIC_OPERATION_1);
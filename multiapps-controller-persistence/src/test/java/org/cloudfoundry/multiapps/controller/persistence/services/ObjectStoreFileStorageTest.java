@@ -1,13 +1,20 @@
 package org.cloudfoundry.multiapps.controller.persistence.services;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -17,14 +24,22 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.xml.bind.DatatypeConverter;
 
+import org.apache.commons.io.IOUtils;
 import org.cloudfoundry.multiapps.common.util.DigestHelper;
 import org.cloudfoundry.multiapps.controller.persistence.model.FileEntry;
 import org.cloudfoundry.multiapps.controller.persistence.model.ImmutableFileEntry;
+import org.cloudfoundry.multiapps.controller.persistence.stream.ChunkBufferPool;
+import org.cloudfoundry.multiapps.controller.persistence.stream.ParallelRangeInputStream;
 import org.jclouds.ContextBuilder;
 import org.jclouds.blobstore.BlobStore;
 import org.jclouds.blobstore.BlobStoreContext;
@@ -32,6 +47,7 @@ import org.jclouds.blobstore.domain.Blob;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import org.springframework.http.MediaType;
 
 class ObjectStoreFileStorageTest {
@@ -40,6 +56,8 @@ class ObjectStoreFileStorageTest {
     private static final String SECOND_FILE_TEST_LOCATION = "src/test/resources/pexels-photo-463467.jpeg";
     private static final String DIGEST_METHOD = "MD5";
     private static final String CONTAINER = "container4e";
+    // The transient provider returns at most 1000 blobs per page
+    private static final int BLOBS_COUNT_ON_MULTIPLE_PAGES = 2500;
 
     private String spaceId;
     private String namespace;
@@ -83,6 +101,86 @@ class ObjectStoreFileStorageTest {
         assertFileExists(true, fileEntry);
     }
 
+    @Test
+    void addFileWithUnknownSize() throws Exception {
+        FileEntry fileEntry = addFileWithUnknownSize(TEST_FILE_LOCATION);
+
+        assertFileExists(true, fileEntry);
+        assertArrayEquals(Files.readAllBytes(Paths.get(TEST_FILE_LOCATION)),
+                          fileStorage.processFileContent(fileEntry.getSpace(), fileEntry.getId(), IOUtils::toByteArray));
+    }
+
+    @Test
+    void addFileWithUnknownSizeInParts() throws Exception {
+        fileStorage = new ObjectStoreFileStorage(blobStoreContext.getBlobStore(), CONTAINER) {
+            @Override
+            protected int getUploadPartSize() {
+                return 64 * 1024;
+            }
+        };
+        FileEntry fileEntry = addFileWithUnknownSize(TEST_FILE_LOCATION);
+
+        Blob blob = blobStoreContext.getBlobStore()
+                                    .getBlob(CONTAINER, fileEntry.getId());
+        assertEquals(spaceId, blob.getMetadata()
+                                  .getUserMetadata()
+                                  .get("space"));
+        assertArrayEquals(Files.readAllBytes(Paths.get(TEST_FILE_LOCATION)),
+                          fileStorage.processFileContent(fileEntry.getSpace(), fileEntry.getId(), IOUtils::toByteArray));
+    }
+
+    @Test
+    void addFileWithUnknownSizeWithoutMultipartUploadSupport() throws Exception {
+        BlobStore blobStore = Mockito.spy(blobStoreContext.getBlobStore());
+        Mockito.doThrow(new UnsupportedOperationException())
+               .when(blobStore)
+               .initiateMultipartUpload(Mockito.any(), Mockito.any(), Mockito.any());
+        fileStorage = new ObjectStoreFileStorage(blobStore, CONTAINER) {
+            @Override
+            protected int getUploadPartSize() {
+                return 64 * 1024;
+            }
+        };
+        FileEntry fileEntry = addFileWithUnknownSize(TEST_FILE_LOCATION);
+
+        assertFileExists(true, fileEntry);
+        assertArrayEquals(Files.readAllBytes(Paths.get(TEST_FILE_LOCATION)),
+                          fileStorage.processFileContent(fileEntry.getSpace(), fileEntry.getId(), IOUtils::toByteArray));
+    }
+
+    @Test
+    void testMultipartUploadWithPartsUploadedOutOfOrder() throws Exception {
+        byte[] content = Files.readAllBytes(Paths.get(TEST_FILE_LOCATION));
+        int partSize = content.length / 2 + 1;
+        FileEntry fileEntry = enrichFileEntry(createFileEntry(), Paths.get(TEST_FILE_LOCATION), null);
+
+        String uploadId = fileStorage.startMultipartUpload(fileEntry);
+        uploadPart(fileEntry, uploadId, 2, Arrays.copyOfRange(content, partSize, content.length));
+        uploadPart(fileEntry, uploadId, 1, Arrays.copyOfRange(content, 0, partSize));
+        assertEquals(Set.of(1, 2), fileStorage.getUploadedParts(fileEntry, uploadId));
+        assertEquals(content.length, fileStorage.completeMultipartUpload(fileEntry, uploadId, 2));
+
+        assertArrayEquals(content, fileStorage.processFileContent(fileEntry.getSpace(), fileEntry.getId(), IOUtils::toByteArray));
+    }
+
+    @Test
+    void testCompleteMultipartUploadWithMissingParts() throws Exception {
+        FileEntry fileEntry = enrichFileEntry(createFileEntry(), Paths.get(TEST_FILE_LOCATION), null);
+
+        String uploadId = fileStorage.startMultipartUpload(fileEntry);
+        uploadPart(fileEntry, uploadId, 2, new byte[] { 1, 2, 3 });
+
+        FileStorageException exception = assertThrows(FileStorageException.class,
+                                                      () -> fileStorage.completeMultipartUpload(fileEntry, uploadId, 3));
+        assertTrue(exception.getMessage()
+                            .contains("[1, 3]"));
+        assertFileExists(false, fileEntry);
+    }
+
+    private void uploadPart(FileEntry fileEntry, String uploadId, int partNumber, byte[] content) throws FileStorageException {
+        fileStorage.uploadPart(fileEntry, uploadId, partNumber, content.length, new ByteArrayInputStream(content));
+    }
+
     @Test
     void getFileEntriesWithoutContent() throws Exception {
         List<FileEntry> fileEntries = new ArrayList<>();
@@ -115,7 +213,7 @@ class ObjectStoreFileStorageTest {
         FileEntry secondFile = addFile(SECOND_FILE_TEST_LOCATION);
         FileEntry fileInOtherSpace = addFile(TEST_FILE_LOCATION, "otherspace", namespace);
 
-        fileStorage.deleteFilesBySpaceIds(List.of(spaceId));
+        fileStorage.deleteFilesBySpaceIds(List.of(spaceId), Collections.emptySet());
         assertFileExists(false, firstFile);
         assertFileExists(false, secondFile);
         assertFileExists(true, fileInOtherSpace);
@@ -128,7 +226,7 @@ class ObjectStoreFileStorageTest {
         FileEntry fileInOtherSpace = addFile(TEST_FILE_LOCATION, "otherspace", namespace);
         FileEntry fileInOtherNamespace = addFile(TEST_FILE_LOCATION, spaceId, "othernamespace");
 
-        fileStorage.deleteFilesBySpaceAndNamespace(spaceId, namespace);
+        fileStorage.deleteFilesBySpaceAndNamespace(spaceId, namespace, Collections.emptySet());
         assertFileExists(true, fileInOtherNamespace);
         assertFileExists(true, fileInOtherSpace);
         assertFileExists(false, firstFile);
@@ -151,7 +249,8 @@ class ObjectStoreFileStorageTest {
         String blobWithNoMetadataId = addBlobWithNoMetadata();
 
         int deletedFiles = fileStorage.deleteFilesModifiedBefore(LocalDateTime.ofInstant(Instant.ofEpochMilli(currentMillis - oldFilesTtl),
-                                                                                         ZoneId.systemDefault()));
+                                                                                         ZoneId.systemDefault()),
+                                                                 Collections.emptySet());
 
         assertEquals(3, deletedFiles);
         assertFileExists(true, fileEntryToRemain1);
@@ -162,6 +261,41 @@ class ObjectStoreFileStorageTest {
                                    .getBlob(CONTAINER, blobWithNoMetadataId));
     }
 
+    @Test
+    void deleteFilesModifiedBeforeRetainsSharedFiles() throws Exception {
+        LocalDateTime pastMoment = LocalDateTime.now()
+                                                .minusMinutes(15);
+        FileEntry sharedFileEntry = addFile(TEST_FILE_LOCATION, spaceId, namespace, pastMoment);
+        FileEntry fileEntryToDelete = addFile(SECOND_FILE_TEST_LOCATION, spaceId, namespace, pastMoment);
+
+        int deletedFiles = fileStorage.deleteFilesModifiedBefore(LocalDateTime.now()
+                                                                              .minusMinutes(10),
+                                                                 Set.of(sharedFileEntry.getId()));
+
+        assertEquals(1, deletedFiles);
+        assertFileExists(true, sharedFileEntry);
+        assertFileExists(false, fileEntryToDelete);
+    }
+
+    @Test
+    void getFileEntriesWithoutContentWithSharedContent() throws Exception {
+        FileEntry fileEntry = addFile(TEST_FILE_LOCATION);
+        FileEntry sharedContentFileEntry = ImmutableFileEntry.builder()
+                                                             .id(UUID.randomUUID()
+                                                                     .toString())
+                                                             .contentId(fileEntry.getId())
+                                                             .build();
+        FileEntry fileEntryWithoutContent = ImmutableFileEntry.builder()
+                                                              .id(UUID.randomUUID()
+                                                                      .toString())
+                                                              .build();
+
+        List<FileEntry> fileEntriesWithoutContent = fileStorage.getFileEntriesWithoutContent(List.of(fileEntry, sharedContentFileEntry,
+                                                                                                     fileEntryWithoutContent));
+
+        assertEquals(List.of(fileEntryWithoutContent), fileEntriesWithoutContent);
+    }
+
     @Test
     void testConnection() {
         assertDoesNotThrow(() -> fileStorage.testConnection());
@@ -175,6 +309,65 @@ class ObjectStoreFileStorageTest {
                                    .getBlob(CONTAINER, fileEntry.getId()));
     }
 
+    @Test
+    void deleteFilesModifiedBeforeOnMultiplePages() {
+        List<String> blobIds = addBlobsWithNoMetadata(BLOBS_COUNT_ON_MULTIPLE_PAGES);
+
+        int deletedFiles = fileStorage.deleteFilesModifiedBefore(LocalDateTime.now(), Collections.emptySet());
+
+        assertEquals(BLOBS_COUNT_ON_MULTIPLE_PAGES, deletedFiles);
+        blobIds.forEach(blobId -> assertNull(blobStoreContext.getBlobStore()
+                                                             .blobMetadata(CONTAINER, blobId)));
+    }
+
+    @Test
+    void testDeleteFilesByIdsOnMultiplePagesWithExecutor() throws Exception {
+        List<String> blobIds = addBlobsWithNoMetadata(BLOBS_COUNT_ON_MULTIPLE_PAGES);
+        List<String> blobIdsToDelete = blobIds.subList(0, BLOBS_COUNT_ON_MULTIPLE_PAGES - 100);
+        ExecutorService objectStoreExecutor = Executors.newFixedThreadPool(2);
+        try {
+            fileStorage = new ObjectStoreFileStorage(blobStoreContext.getBlobStore(), CONTAINER, objectStoreExecutor, null, 0);
+            fileStorage.deleteFilesByIds(blobIdsToDelete);
+        } finally {
+            objectStoreExecutor.shutdownNow();
+        }
+
+        blobIdsToDelete.forEach(blobId -> assertNull(blobStoreContext.getBlobStore()
+                                                                     .blobMetadata(CONTAINER, blobId)));
+        blobIds.subList(BLOBS_COUNT_ON_MULTIPLE_PAGES - 100, BLOBS_COUNT_ON_MULTIPLE_PAGES)
+               .forEach(blobId -> assertNotNull(blobStoreContext.getBlobStore()
+                                                                .blobMetadata(CONTAINER, blobId)));
+    }
+
+    @Test
+    void getFileEntriesWithoutContentOnMultiplePages() {
+        List<String> blobIds = addBlobsWithNoMetadata(BLOBS_COUNT_ON_MULTIPLE_PAGES);
+        FileEntry lastExistingFile = ImmutableFileEntry.builder()
+                                                       .from(createFileEntry())
+                                                       .id(blobIds.get(BLOBS_COUNT_ON_MULTIPLE_PAGES - 1))
+                                                       .build();
+        FileEntry nonExistingFile = createFileEntry();
+
+        List<FileEntry> withoutContent = fileStorage.getFileEntriesWithoutContent(List.of(lastExistingFile, nonExistingFile));
+
+        assertEquals(List.of(nonExistingFile), withoutContent);
+    }
+
+    private List<String> addBlobsWithNoMetadata(int count) {
+        BlobStore blobStore = blobStoreContext.getBlobStore();
+        List<String> blobIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String id = UUID.randomUUID()
+                            .toString();
+            Blob blob = blobStore.blobBuilder(id)
+                                 .payload(id.getBytes(StandardCharsets.UTF_8))
+                                 .build();
+            blobStore.putBlob(CONTAINER, blob);
+            blobIds.add(id);
+        }
+        return blobIds;
+    }
+
     private String addBlobWithNoMetadata() throws Exception {
         BlobStore blobStore = blobStoreContext.getBlobStore();
         Path path = Paths.get(TEST_FILE_LOCATION);
@@ -200,6 +393,71 @@ class ObjectStoreFileStorageTest {
         validateFileContent(fileEntry, testFileDigest);
     }
 
+    @Test
+    void processFileContentRange() throws Exception {
+        FileEntry fileEntry = addFile(TEST_FILE_LOCATION);
+        byte[] fileContent = Files.readAllBytes(Paths.get(TEST_FILE_LOCATION));
+
+        byte[] contentRange = fileStorage.processFileContentRange(fileEntry.getSpace(), fileEntry.getId(), 1024, 4096,
+                                                                  IOUtils::toByteArray);
+
+        assertArrayEquals(Arrays.copyOfRange(fileContent, 1024, 4096), contentRange);
+    }
+
+    @Test
+    void processFileContentWithReadAhead() throws Exception {
+        FileEntry fileEntry = addFile(TEST_FILE_LOCATION);
+        String testFileDigest = DigestHelper.computeFileChecksum(Paths.get(TEST_FILE_LOCATION), DIGEST_METHOD)
+                                            .toLowerCase();
+        ExecutorService objectStoreExecutor = Executors.newFixedThreadPool(2);
+        try {
+            fileStorage = new ObjectStoreFileStorage(blobStoreContext.getBlobStore(), CONTAINER, objectStoreExecutor,
+                                                     new ChunkBufferPool(256 * 1024, 1024 * 1024), 3);
+            validateFileContent(fileEntry, testFileDigest);
+        } finally {
+            objectStoreExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void openInputStreamWithReadAhead() throws Exception {
+        FileEntry fileEntry = addFile(TEST_FILE_LOCATION);
+        byte[] fileContent = Files.readAllBytes(Paths.get(TEST_FILE_LOCATION));
+        ExecutorService objectStoreExecutor = Executors.newFixedThreadPool(2);
+        try {
+            fileStorage = new ObjectStoreFileStorage(blobStoreContext.getBlobStore(), CONTAINER, objectStoreExecutor,
+                                                     new ChunkBufferPool(100 * 1024, 1024 * 1024), 4);
+            try (InputStream inputStream = fileStorage.openInputStream(fileEntry.getSpace(), fileEntry.getId())) {
+                assertArrayEquals(fileContent, IOUtils.toByteArray(inputStream));
+            }
+            try (InputStream inputStream = fileStorage.openInputStream(fileEntry)) {
+                assertArrayEquals(fileContent, IOUtils.toByteArray(inputStream));
+            }
+        } finally {
+            objectStoreExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void openInputStreamWithReadAheadWhenAllBuffersAreInUse() throws Exception {
+        FileEntry fileEntry = addFile(TEST_FILE_LOCATION);
+        byte[] fileContent = Files.readAllBytes(Paths.get(TEST_FILE_LOCATION));
+        ChunkBufferPool bufferPool = new ChunkBufferPool(100 * 1024, 100 * 1024);
+        ExecutorService objectStoreExecutor = Executors.newFixedThreadPool(2);
+        try {
+            fileStorage = new ObjectStoreFileStorage(blobStoreContext.getBlobStore(), CONTAINER, objectStoreExecutor, bufferPool, 4);
+            try (InputStream readAheadStream = fileStorage.openInputStream(fileEntry);
+                InputStream inputStream = fileStorage.openInputStream(fileEntry)) {
+                assertInstanceOf(ParallelRangeInputStream.class, readAheadStream);
+                assertFalse(inputStream instanceof ParallelRangeInputStream);
+                assertArrayEquals(fileContent, IOUtils.toByteArray(inputStream));
+                assertArrayEquals(fileContent, IOUtils.toByteArray(readAheadStream));
+            }
+        } finally {
+            objectStoreExecutor.shutdownNow();
+        }
+    }
+
     @Test
     void testFileContentNotExisting() throws Exception {
         String fileId = "not-existing-file-id";
@@ -256,6 +514,19 @@ class ObjectStoreFileStorageTest {
         return fileEntry;
     }
 
+    private FileEntry addFileWithUnknownSize(String pathString) throws Exception {
+        Path testFilePath = Paths.get(pathString)
+                                 .toAbsolutePath();
+        FileEntry fileEntry = ImmutableFileEntry.builder()
+                                                .from(enrichFileEntry(createFileEntry(), testFilePath, null))
+                                                .size(null)
+                                                .build();
+        try (InputStream content = Files.newInputStream(testFilePath)) {
+            fileStorage.addFile(fileEntry, content);
+        }
+        return fileEntry;
+    }
+
     private FileEntry createFileEntry() {
         return createFileEntry(spaceId, namespace);
     }
@@ -103,10 +103,9 @@ class ProcessLoggerProviderTest {
 
         processLogger = processLoggerProvider.getLogger(execution, temporaryLogFile.getFileName()
                                                                                    .toString(),
-                                                        loggerContext -> PatternLayout.newBuilder()
-                                                                                      .withPattern(LOG_LAYOUT)
-                                                                                      .withConfiguration(loggerContext.getConfiguration())
-                                                                                      .build());
+                                                        PatternLayout.newBuilder()
+                                                                     .withPattern(LOG_LAYOUT)
+                                                                     .build());
 
         assertEquals(CORRELATION_ID, processLogger.getProcessId());
         assertEquals(TASK_ID, processLogger.getActivityId());
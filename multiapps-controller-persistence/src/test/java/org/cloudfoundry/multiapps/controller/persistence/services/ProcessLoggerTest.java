@@ -1,19 +1,25 @@
 package org.cloudfoundry.multiapps.controller.persistence.services;
 
-import org.apache.logging.log4j.core.Logger;
-import org.apache.logging.log4j.core.LoggerContext;
+import static org.cloudfoundry.multiapps.controller.persistence.services.ProcessLoggerProvider.LOG_LAYOUT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.logging.log4j.core.layout.PatternLayout;
 import org.cloudfoundry.multiapps.common.SLException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
-import java.io.File;
-
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
-
 class ProcessLoggerTest {
 
     private static final String CORRELATION_ID = "1234";
@@ -28,94 +34,52 @@ class ProcessLoggerTest {
     private static final String ERROR_MESSAGE = "This is ERROR test-message";
 
     private ProcessLogger processLogger;
-    protected LoggerContext loggerContext;
-    private Logger logger;
-    private File log;
     private ProcessLogsPersistenceService processLogsPersistenceService;
 
     @BeforeEach
     void setUp() {
-        loggerContext = Mockito.mock(LoggerContext.class);
-        logger = Mockito.mock(Logger.class);
-        log = Mockito.mock(File.class);
-        processLogger = new ProcessLogger(loggerContext, logger, log, TEST_FILE_NAME, SPACE_ID, CORRELATION_ID, TASK_ID);
+        PatternLayout layout = PatternLayout.newBuilder()
+                                            .withPattern(LOG_LAYOUT)
+                                            .build();
+        processLogger = new ProcessLogger(layout, TEST_LOGGER_NAME, TEST_FILE_NAME, SPACE_ID, CORRELATION_ID, TASK_ID);
         processLogsPersistenceService = Mockito.mock(ProcessLogsPersistenceService.class);
-
     }
 
     @Test
     void testProcessLogger() {
-        prepareContextForProtectedConstructor();
-        processLogger = new ProcessLogger(loggerContext, SPACE_ID, CORRELATION_ID, TASK_ID);
         processLogger.info(INFO_MESSAGE);
         processLogger.debug(DEBUG_MESSAGE);
         processLogger.trace(TRACE_MESSAGE);
         processLogger.warn(WARN_MESSAGE);
         processLogger.error(ERROR_MESSAGE);
 
-        verify(logger, times(1)).info((Object) INFO_MESSAGE);
-        verify(logger, times(1)).debug((Object) DEBUG_MESSAGE);
-        verify(logger, times(1)).trace((Object) TRACE_MESSAGE);
-        verify(logger, times(1)).error((Object) ERROR_MESSAGE);
-        verify(logger, times(1)).warn((Object) WARN_MESSAGE);
-    }
-
-    private void prepareContextForProtectedConstructor() {
-        when(loggerContext.getRootLogger()).thenReturn(logger);
+        String logContent = getPersistedLogContent();
+        assertTrue(logContent.contains(INFO_MESSAGE));
+        assertTrue(logContent.contains(DEBUG_MESSAGE));
+        assertTrue(logContent.contains(WARN_MESSAGE));
+        assertTrue(logContent.contains(ERROR_MESSAGE));
+        assertFalse(logContent.contains(TRACE_MESSAGE));
     }
 
     @Test
-    void info() {
+    void testLogLayout() {
         processLogger.info(INFO_MESSAGE);
-        verify(logger, times(1)).info((Object) INFO_MESSAGE);
-    }
-
-    @Test
-    void debug() {
-        processLogger.debug(DEBUG_MESSAGE);
-        verify(logger, times(1)).debug((Object) DEBUG_MESSAGE);
-    }
-
-    @Test
-    void testDebug() {
-        Exception exception = new SLException(ERROR_MESSAGE);
-        processLogger.debug(DEBUG_MESSAGE, exception);
-        verify(logger, times(1)).debug((Object) DEBUG_MESSAGE, exception);
-        assertEquals(ERROR_MESSAGE, exception.getMessage());
-    }
-
-    @Test
-    void error() {
-        processLogger.error(ERROR_MESSAGE);
-        verify(logger, times(1)).error((Object) ERROR_MESSAGE);
-    }
-
-    @Test
-    void testError() {
-        Exception exception = new SLException(ERROR_MESSAGE);
-        processLogger.error(ERROR_MESSAGE, exception);
-        verify(logger, times(1)).error((Object) ERROR_MESSAGE, exception);
-        assertEquals(ERROR_MESSAGE, exception.getMessage());
-    }
 
-    @Test
-    void trace() {
-        processLogger.trace(TRACE_MESSAGE);
-        verify(logger, times(1)).trace((Object) TRACE_MESSAGE);
-    }
-
-    @Test
-    void warn() {
-        processLogger.warn(WARN_MESSAGE);
-        verify(logger, times(1)).warn((Object) WARN_MESSAGE);
+        String logContent = getPersistedLogContent();
+        assertTrue(logContent.startsWith("#2.0#"));
+        assertTrue(logContent.contains("#INFO#" + TEST_LOGGER_NAME + "#"));
+        assertTrue(logContent.contains("#" + ProcessLogger.class.getName() + "#"));
+        assertTrue(logContent.endsWith(INFO_MESSAGE + "#" + System.lineSeparator() + System.lineSeparator()));
     }
 
     @Test
-    void testWarn() {
+    void testLogWithException() {
         Exception exception = new SLException(ERROR_MESSAGE);
         processLogger.warn(WARN_MESSAGE, exception);
-        verify(logger, times(1)).warn((Object) WARN_MESSAGE, exception);
-        assertEquals(ERROR_MESSAGE, exception.getMessage());
+
+        String logContent = getPersistedLogContent();
+        assertTrue(logContent.contains("#WARN#"));
+        assertTrue(logContent.contains(SLException.class.getName() + ": " + ERROR_MESSAGE));
     }
 
     @Test
@@ -130,39 +94,35 @@ class ProcessLoggerTest {
 
     @Test
     void persistLogFile() {
-        prepareContextForTruePersist();
+        processLogger.info(INFO_MESSAGE);
+        processLogger.persistLogFile(processLogsPersistenceService);
         processLogger.persistLogFile(processLogsPersistenceService);
-        verify(processLogsPersistenceService, times(1)).persistLog(SPACE_ID, CORRELATION_ID, log, TEST_FILE_NAME);
+        verify(processLogsPersistenceService, times(1)).persistLog(eq(SPACE_ID), eq(CORRELATION_ID), any(), eq(TEST_FILE_NAME));
     }
 
     @Test
-    void persistLogFileWithNullPassed() {
-        prepareContextForFalsePersist();
+    void persistLogFileWithoutMessages() {
         processLogger.persistLogFile(processLogsPersistenceService);
-        verify(processLogsPersistenceService, times(0)).persistLog(SPACE_ID, CORRELATION_ID, log, TEST_FILE_NAME);
+        verify(processLogsPersistenceService, never()).persistLog(anyString(), anyString(), any(), anyString());
     }
 
-    private void prepareContextForTruePersist() {
-        when(log.exists()).thenReturn(true);
-    }
-
-    private void prepareContextForFalsePersist() {
-        when(log.exists()).thenReturn(false);
+    @Test
+    void deleteLogFile() {
+        processLogger.info(INFO_MESSAGE);
+        processLogger.deleteLogFile();
+        processLogger.persistLogFile(processLogsPersistenceService);
+        verify(processLogsPersistenceService, never()).persistLog(anyString(), anyString(), any(), anyString());
     }
 
     @Test
     void getLoggerName() {
-        prepareContextForGetLoggerName();
         assertEquals(TEST_LOGGER_NAME, processLogger.getLoggerName());
     }
 
-    private void prepareContextForGetLoggerName() {
-        when(logger.getName()).thenReturn(TEST_LOGGER_NAME);
-    }
-
-    @Test
-    void closeLoggerContext() {
-        processLogger.closeLoggerContext();
-        verify(loggerContext, times(1)).close();
+    private String getPersistedLogContent() {
+        processLogger.persistLogFile(processLogsPersistenceService);
+        ArgumentCaptor<byte[]> contentCaptor = ArgumentCaptor.forClass(byte[].class);
+        verify(processLogsPersistenceService).persistLog(eq(SPACE_ID), eq(CORRELATION_ID), contentCaptor.capture(), eq(TEST_FILE_NAME));
+        return new String(contentCaptor.getValue(), StandardCharsets.UTF_8);
     }
-}
\ No newline at end of file
+}
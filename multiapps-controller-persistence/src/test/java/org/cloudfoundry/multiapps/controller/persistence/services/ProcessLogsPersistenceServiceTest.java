@@ -1,14 +1,23 @@
 package org.cloudfoundry.multiapps.controller.persistence.services;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.math.BigInteger;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.SQLException;
 import java.util.List;
 
+import javax.sql.DataSource;
+
 import org.apache.commons.io.FileUtils;
 import org.cloudfoundry.multiapps.controller.persistence.DataSourceWithDialect;
+import org.cloudfoundry.multiapps.controller.persistence.model.FileEntry;
 import org.cloudfoundry.multiapps.controller.persistence.test.TestDataSourceProvider;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,6 +30,7 @@ class ProcessLogsPersistenceServiceTest {
     private static final String OPERATION = "operation-1";
     private static final String LOG_FILE_NAME = "log-1";
     private static final String LOGS_FIE = "logs.txt";
+    private static final int LOG_LINES_COUNT = 1000;
     private static final String LIQUIBASE_CHANGELOG_LOCATION = "org/cloudfoundry/multiapps/controller/persistence/db/changelog/db-changelog.xml";
     protected DataSourceWithDialect testDataSource;
     private ProcessLogsPersistenceService processLogsPersistenceService;
@@ -49,7 +59,7 @@ class ProcessLogsPersistenceServiceTest {
     void getLogNamesTest() throws Exception {
         URL logsResource = getClass().getResource(LOGS_FIE);
         File logsFile = new File(logsResource.toURI());
-        processLogsPersistenceService.persistLog(SPACE, OPERATION, logsFile, LOG_FILE_NAME);
+        processLogsPersistenceService.persistLog(SPACE, OPERATION, Files.readAllBytes(logsFile.toPath()), LOG_FILE_NAME);
         List<String> logNames = processLogsPersistenceService.getLogNames(SPACE, OPERATION);
         assertEquals(1, logNames.size());
         assertEquals(LOG_FILE_NAME, logNames.get(0));
@@ -59,10 +69,58 @@ class ProcessLogsPersistenceServiceTest {
     void getLogContentTest() throws Exception {
         URL logsResource = getClass().getResource(LOGS_FIE);
         File logsFile = new File(logsResource.toURI());
-        processLogsPersistenceService.persistLog(SPACE, OPERATION, logsFile, LOG_FILE_NAME);
+        processLogsPersistenceService.persistLog(SPACE, OPERATION, Files.readAllBytes(logsFile.toPath()), LOG_FILE_NAME);
         String logContent = processLogsPersistenceService.getLogContent(SPACE, OPERATION, LOG_FILE_NAME);
         String actualFileContent = FileUtils.readFileToString(logsFile, StandardCharsets.UTF_8);
         assertEquals(actualFileContent, logContent);
     }
 
+    @Test
+    void getBytesWrittenPerThousandLogLinesTest() throws Exception {
+        StringBuilder expectedLogContent = new StringBuilder();
+        for (int i = 0; i < LOG_LINES_COUNT; i++) {
+            String logLine = "Polling step execution " + i + System.lineSeparator();
+            processLogsPersistenceService.persistLog(SPACE, OPERATION, logLine.getBytes(StandardCharsets.UTF_8), LOG_FILE_NAME);
+            expectedLogContent.append(logLine);
+        }
+        processLogsPersistenceService.flushLogs();
+
+        List<FileEntry> storedChunks = processLogsPersistenceService.listFilesBySpaceAndOperationId(SPACE, OPERATION);
+        BigInteger bytesWritten = storedChunks.stream()
+                                              .map(FileEntry::getSize)
+                                              .reduce(BigInteger.ZERO, BigInteger::add);
+        byte[] expectedLogBytes = expectedLogContent.toString()
+                                                    .getBytes(StandardCharsets.UTF_8);
+        assertEquals(1, storedChunks.size());
+        assertEquals(BigInteger.valueOf(expectedLogBytes.length), bytesWritten);
+        assertEquals(expectedLogContent.toString(), processLogsPersistenceService.getLogContent(SPACE, OPERATION, LOG_FILE_NAME));
+    }
+
+    @Test
+    void getLogContentOfChunksStoredByConsecutiveFlushesTest() throws Exception {
+        StringBuilder expectedLogContent = new StringBuilder();
+        for (int i = 0; i < LOG_LINES_COUNT; i++) {
+            String logLine = "Polling step execution " + i + System.lineSeparator();
+            processLogsPersistenceService.persistLog(SPACE, OPERATION, logLine.getBytes(StandardCharsets.UTF_8), LOG_FILE_NAME);
+            processLogsPersistenceService.flushLogs();
+            expectedLogContent.append(logLine);
+        }
+
+        assertEquals(expectedLogContent.toString(), processLogsPersistenceService.getLogContent(SPACE, OPERATION, LOG_FILE_NAME));
+    }
+
+    @Test
+    void failedFlushIsNotRetriedBeforeBackoffExpiresTest() throws Exception {
+        DataSource failingDataSource = mock(DataSource.class);
+        when(failingDataSource.getConnection()).thenThrow(new SQLException("expected exception"));
+        var failingProcessLogsPersistenceService = new ProcessLogsPersistenceService(new DataSourceWithDialect(failingDataSource));
+        byte[] logContent = new byte[(int) ProcessLogsPersistenceService.MAX_PENDING_BYTES];
+
+        failingProcessLogsPersistenceService.persistLog(SPACE, OPERATION, logContent, LOG_FILE_NAME);
+        failingProcessLogsPersistenceService.persistLog(SPACE, OPERATION, logContent, LOG_FILE_NAME);
+        failingProcessLogsPersistenceService.flushLogs();
+
+        verify(failingDataSource).getConnection();
+    }
+
 }
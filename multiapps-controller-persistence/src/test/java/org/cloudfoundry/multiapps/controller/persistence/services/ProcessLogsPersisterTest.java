@@ -49,7 +49,6 @@ class ProcessLogsPersisterTest {
         processLogsPersister.persistLogs(CORRELATION_ID, TASK_ID);
         verify(processLogger, times(1)).persistLogFile(processLogsPersistenceService);
         verify(processLoggerProvider, times(1)).removeLoggersCache(processLogger);
-        verify(processLogger, times(1)).closeLoggerContext();
         verify(processLogger, times(1)).deleteLogFile();
     }
 
@@ -0,0 +1,121 @@
+package org.cloudfoundry.multiapps.controller.persistence.stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.cloudfoundry.multiapps.controller.persistence.services.FileStorageException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ParallelRangeInputStreamTest {
+
+    private static final int CHUNK_SIZE = 1024;
+    private static final int WINDOW = 3;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(WINDOW);
+    private final ChunkBufferPool bufferPool = new ChunkBufferPool(CHUNK_SIZE, 100 * CHUNK_SIZE);
+    private final byte[] content = createContent(10 * CHUNK_SIZE + 100);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testReadContentInOrder() throws IOException {
+        try (ParallelRangeInputStream inputStream = createInputStream(this::openRange, bufferPool)) {
+            assertArrayEquals(content, IOUtils.toByteArray(inputStream));
+        }
+        assertEquals(WINDOW, bufferPool.getAllocatedBuffers());
+        assertEquals(bufferPool.getMaxBuffers(), bufferPool.getAvailableBuffers());
+    }
+
+    @Test
+    void testReadSingleBytes() throws IOException {
+        try (ParallelRangeInputStream inputStream = createInputStream(this::openRange, bufferPool)) {
+            for (byte expectedByte : content) {
+                assertEquals(expectedByte & 0xFF, inputStream.read());
+            }
+            assertEquals(-1, inputStream.read());
+        }
+    }
+
+    @Test
+    void testReadWhenMemoryLimitIsReached() throws IOException {
+        ChunkBufferPool exhaustedBufferPool = new ChunkBufferPool(CHUNK_SIZE, CHUNK_SIZE);
+
+        try (ParallelRangeInputStream inputStream = createInputStream(this::openRange, exhaustedBufferPool)) {
+            assertNull(exhaustedBufferPool.tryAcquire());
+            assertArrayEquals(content, IOUtils.toByteArray(inputStream));
+        }
+        assertEquals(1, exhaustedBufferPool.getAllocatedBuffers());
+        assertEquals(1, exhaustedBufferPool.getAvailableBuffers());
+    }
+
+    @Test
+    void testBuffersAreReleasedOnClose() throws Exception {
+        ParallelRangeInputStream inputStream = createInputStream(this::openRange, bufferPool);
+        inputStream.read();
+        inputStream.close();
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(bufferPool.getMaxBuffers(), bufferPool.getAvailableBuffers());
+    }
+
+    @Test
+    void testReadFailsWhenRangeCannotBeRead() {
+        ParallelRangeInputStream inputStream = createInputStream((startPosition, endPosition) -> {
+            if (startPosition > 0) {
+                throw new FileStorageException("Range cannot be read");
+            }
+            return openRange(startPosition, endPosition);
+        }, bufferPool);
+
+        IOException exception = assertThrows(IOException.class, () -> IOUtils.toByteArray(inputStream));
+        assertEquals("Range cannot be read", exception.getMessage());
+    }
+
+    @Test
+    void testReadFailsWhenRangeIsIncomplete() {
+        ParallelRangeInputStream inputStream = createInputStream((startPosition, endPosition) -> openRange(startPosition, endPosition - 1),
+                                                                 bufferPool);
+
+        assertThrows(IOException.class, () -> IOUtils.toByteArray(inputStream));
+    }
+
+    @Test
+    void testReadAfterClose() {
+        ParallelRangeInputStream inputStream = createInputStream(this::openRange, bufferPool);
+        inputStream.close();
+
+        assertThrows(IOException.class, inputStream::read);
+    }
+
+    private ParallelRangeInputStream createInputStream(ParallelRangeInputStream.RangeOpener rangeOpener, ChunkBufferPool bufferPool) {
+        return new ParallelRangeInputStream(rangeOpener, content.length, WINDOW, bufferPool, bufferPool.tryAcquire(), executor);
+    }
+
+    private ByteArrayInputStream openRange(long startPosition, long endPosition) {
+        return new ByteArrayInputStream(Arrays.copyOfRange(content, (int) startPosition, (int) endPosition));
+    }
+
+    private static byte[] createContent(int size) {
+        byte[] content = new byte[size];
+        new Random(42).nextBytes(content);
+        return content;
+    }
+
+}
@@ -0,0 +1,51 @@
+package org.cloudfoundry.multiapps.controller.persistence.stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+class PrefixCapturingInputStreamTest {
+
+    private final byte[] content = createContent(10 * 1024);
+
+    @Test
+    void testCaptureWholeContent() throws IOException {
+        PrefixCapturingInputStream inputStream = new PrefixCapturingInputStream(new ByteArrayInputStream(content), 2 * content.length);
+
+        assertArrayEquals(content, IOUtils.toByteArray(inputStream));
+        assertArrayEquals(content, inputStream.getPrefix());
+    }
+
+    @Test
+    void testCapturePrefixOfContent() throws IOException {
+        PrefixCapturingInputStream inputStream = new PrefixCapturingInputStream(new ByteArrayInputStream(content), 1000);
+
+        assertArrayEquals(content, IOUtils.toByteArray(inputStream));
+        assertArrayEquals(Arrays.copyOf(content, 1000), inputStream.getPrefix());
+    }
+
+    @Test
+    void testCaptureSingleAndSkippedBytes() throws IOException {
+        PrefixCapturingInputStream inputStream = new PrefixCapturingInputStream(new ByteArrayInputStream(content), 1000);
+
+        assertEquals(content[0] & 0xFF, inputStream.read());
+        assertEquals(500, inputStream.skip(500));
+        IOUtils.toByteArray(inputStream);
+
+        assertArrayEquals(Arrays.copyOf(content, 1000), inputStream.getPrefix());
+    }
+
+    private static byte[] createContent(int size) {
+        byte[] content = new byte[size];
+        new Random(42).nextBytes(content);
+        return content;
+    }
+
+}
@@ -0,0 +1,112 @@
+package org.cloudfoundry.multiapps.controller.persistence.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.cloudfoundry.multiapps.controller.persistence.model.ArchiveEntryWithStreamPositions;
+import org.junit.jupiter.api.Test;
+
+class ZipCentralDirectoryReaderTest {
+
+    private static final List<String> ENTRY_NAMES = List.of("META-INF/MANIFEST.MF", "META-INF/mtad.yaml", "web/", "web/index.html",
+                                                            "backend.jar");
+
+    @Test
+    void testReadEntries() throws Exception {
+        byte[] archive = createArchive();
+
+        List<ArchiveEntryWithStreamPositions> entries = readEntries(archive);
+
+        assertEquals(ENTRY_NAMES, entries.stream()
+                                         .map(ArchiveEntryWithStreamPositions::getName)
+                                         .toList());
+        assertEquals(0, entries.get(0)
+                               .getStartPosition());
+        for (int i = 1; i < entries.size(); i++) {
+            assertEquals(entries.get(i - 1)
+                                .getEndPosition(),
+                         entries.get(i)
+                                .getStartPosition());
+        }
+    }
+
+    @Test
+    void testReadEntriesWithUncompressedSizes() throws Exception {
+        byte[] archive = createArchive();
+
+        List<ArchiveEntryWithStreamPositions> entries = readEntries(archive);
+
+        for (ArchiveEntryWithStreamPositions entry : entries) {
+            long expectedSize = entry.getName()
+                                     .endsWith("/") ? 0 : entry.getName()
+                                                               .length();
+            assertEquals(expectedSize, entry.getUncompressedSize());
+        }
+    }
+
+    @Test
+    void testEntryRangeContainsOnlyTheEntry() throws Exception {
+        byte[] archive = createArchive();
+        ArchiveEntryWithStreamPositions entry = readEntries(archive).get(3);
+
+        byte[] entryRange = Arrays.copyOfRange(archive, (int) entry.getStartPosition(), (int) entry.getEndPosition());
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(entryRange))) {
+            assertEquals("web/index.html", zipInputStream.getNextEntry()
+                                                         .getName());
+            assertEquals("web/index.html", IOUtils.toString(zipInputStream, StandardCharsets.UTF_8));
+            assertEquals(null, zipInputStream.getNextEntry());
+        }
+    }
+
+    @Test
+    void testReadEntriesOfNonArchive() throws Exception {
+        byte[] content = "not an archive".repeat(10)
+                                         .getBytes(StandardCharsets.UTF_8);
+
+        assertTrue(readEntries(content).isEmpty());
+    }
+
+    @Test
+    void testReadEntriesOfArchivePart() throws Exception {
+        byte[] archive = createArchive();
+        byte[] firstPart = Arrays.copyOfRange(archive, 0, archive.length / 2);
+        byte[] lastPart = Arrays.copyOfRange(archive, archive.length / 2, archive.length);
+
+        assertTrue(readEntries(firstPart).isEmpty());
+        assertTrue(readEntries(lastPart).isEmpty());
+    }
+
+    private List<ArchiveEntryWithStreamPositions> readEntries(byte[] content) throws Exception {
+        ZipCentralDirectoryReader reader = new ZipCentralDirectoryReader((startPosition,
+                                                                          endPosition) -> Arrays.copyOfRange(content, (int) startPosition,
+                                                                                                             (int) endPosition));
+        return reader.readEntries(content.length);
+    }
+
+    private byte[] createArchive() throws IOException {
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(archive)) {
+            zipOutputStream.setComment("archive comment");
+            for (String entryName : ENTRY_NAMES) {
+                zipOutputStream.putNextEntry(new ZipEntry(entryName));
+                if (!entryName.endsWith("/")) {
+                    zipOutputStream.write(entryName.getBytes(StandardCharsets.UTF_8));
+                }
+                zipOutputStream.closeEntry();
+            }
+        }
+        return archive.toByteArray();
+    }
+
+}
@@ -22,6 +22,7 @@ public class Constants {
     public static final String VAR_SERVICE_INSTANCE_GUID_PREFIX = "SERVICE_INSTANCE_GUID_";
     public static final String UNKNOWN_LABEL = "unknown label";
     public static final String UNKNOWN_PLAN = "unknown plan";
+    public static final String MTA_ARCHIVE_METADATA_DIRECTORY = "META-INF/";
 
     protected Constants() {
     }
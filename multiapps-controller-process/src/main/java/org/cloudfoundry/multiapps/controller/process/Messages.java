@@ -14,6 +14,7 @@ public class Messages {
     public static final String ERROR_RETRIEVING_MTA_RESOURCE_CONTENT = "Error retrieving content of MTA resource \"{0}\"";
     public static final String ERROR_SERVICE_NEEDS_TO_BE_RECREATED_BUT_FLAG_NOT_SET = "Service described by MTA resource \"{0}\" of type [{1}] does not match already existing service \"{2}\" of type [{3}] and needs to be recreated. Use command line option \"--delete-services\" to enable the deletion of the existing one.";
     public static final String SIZE_OF_APP_EXCEEDS_MAX_SIZE_LIMIT = "The size of the application exceeds max size limit \"{0}\"";
+    public static final String INVALID_SIZE_OF_ZIP_ENTRY_0_EXPECTED_1_BYTES_BUT_GOT_2 = "Invalid size of ZIP entry \"{0}\": expected {1} bytes but got {2}";
     public static final String ERROR_RETRIEVING_REQUIRED_SERVICE_KEY_ELEMENT = "Unable to retrieve required service key element \"{0}\" for service \"{1}\"";
     public static final String ERROR_PARAMETER_1_MUST_NOT_BE_NEGATIVE = "Value \"{0}\" of parameter \"{1}\" must not be negative";
     public static final String INVALID_VALUE_0_FOR_PARAMETER_1_VALID_VALUES_ARE_2 = "Invalid value \"{0}\" for parameter \"{1}\". Valid values are: {2}";
@@ -175,6 +176,7 @@ public class Messages {
     public static final String ERROR_WHILE_POLLING_SERVICE_KEY_OPERATION_0 = "Error while polling service key operation \"{0}\"";
 
     // WARN log messages
+    public static final String COULD_NOT_ABORT_UPLOAD_SESSION_0 = "Could not abort upload session \"{0}\": {1}";
     public static final String CANNOT_RETRIEVE_SERVICE_INSTANCE_OF_OPTIONAL_SERVICE = "Cannot retrieve service instance of optional service \"{0}\"";
     public static final String CANNOT_RETRIEVE_PARAMETERS_OF_BINDING_BETWEEN_APPLICATION_0_AND_SERVICE_INSTANCE_1 = "Cannot retrieve parameters of binding between application \"{0}\" and service instance \"{1}\"";
     public static final String CANNOT_RETRIEVE_PARAMETERS_OF_BINDING_BETWEEN_APPLICATION_0_AND_SERVICE_INSTANCE_1_FIX = "Cannot retrieve parameters of binding between application \"{0}\" and service instance \"{1}\". Got 502.";
@@ -235,6 +237,11 @@ public class Messages {
     public static final String ERROR_WHILE_CREATING_SERVICE_KEY_0_FOR_OPTIONAL_SERVICE_1 = "Error while creating service key \"{0}\" for optional service \"{1}\"";
     public static final String ERROR_WHILE_DELETING_SERVICE_KEY_0_FOR_OPTIONAL_SERVICE_1 = "Error while deleting service key \"{0}\" for optional service \"{1}\"";
     public static final String SERVICE_KEY_0_IS_ALREADY_DELETED = "Service key \"{0}\" is already deleted";
+    public static final String COULD_NOT_PRE_EXTRACT_MODULE_0 = "Could not pre-extract content of MTA module \"{0}\"";
+    public static final String PRE_EXTRACTION_OF_MODULE_0_DID_NOT_COMPLETE_IN_1_SECONDS = "Pre-extraction of MTA module \"{0}\" did not complete in {1} seconds";
+    public static final String COULD_NOT_LOAD_ABORTED_PROCESSES = "Could not load aborted processes: {0}";
+    public static final String COULD_NOT_FIRE_TIMERS_OF_EXECUTION_0 = "Could not fire the timers of execution \"{0}\" now: {1}";
+    public static final String COULD_NOT_POLL_SERVICE_OPERATIONS_IN_SPACE_0_WAKING_UP_1_EXECUTIONS = "Could not poll the operations of services in space \"{0}\", {1} waiting executions will poll them on their own";
 
     // INFO log messages
     public static final String ACQUIRING_LOCK = "Process \"{0}\" attempting to acquire lock for operation on MTA \"{1}\"";
@@ -254,6 +261,7 @@ public class Messages {
     public static final String DELETED_HISTORIC_PROCESSES_0 = "Deleted historic processes: {0}";
     public static final String DELETED_FILES_0 = "Deleted files: {0}";
     public static final String DELETED_FILE_UPLOAD_JOBS_0 = "Deleted file upload jobs: {0}";
+    public static final String DELETED_UPLOAD_SESSIONS_0 = "Deleted upload sessions: {0}";
     public static final String FILES_FOR_OPERATION_0_WERE_UPDATED_1 = "Files for operation {0} were updated: {1}";
     public static final String ABORTED_OPERATIONS_0 = "Aborted operations: {0}";
     public static final String DELETED_OPERATIONS_0 = "Deleted operations: {0}";
@@ -293,6 +301,7 @@ public class Messages {
     public static final String CLOSING_STREAM_FOR_PART_0 = "Closing stream for part: {0}";
     public static final String CLOSING_STREAM_FOR_PART_STREAM_FINISHED_0 = "Closing stream for part, stream finished: {0}";
     public static final String CLOSING_LAST_STREAM_FOR_PART_0 = "Closing the last stream, part: {0}";
+    public static final String NOT_ENOUGH_DISK_SPACE_TO_PRE_EXTRACT_MODULE_0 = "Not enough free disk space to pre-extract content of MTA module \"{0}\"";
 
     // Progress messages
     public static final String OPERATION_ID = "Operation ID: {0}";
@@ -495,6 +504,7 @@ public class Messages {
     public static final String STARTED_ASYNC_UPLOAD_OF_APP_0 = "Started async upload of application \"{0}\"";
     public static final String DELETING_HISTORIC_PROCESS_0 = "Deleting historic process \"{0}\"...";
     public static final String DELETING_FILES_MODIFIED_BEFORE_0 = "Deleting files modified before: {0}";
+    public static final String DELETING_UPLOAD_SESSIONS_STARTED_BEFORE_0 = "Deleting upload sessions started before: {0}";
     public static final String DELETING_OPERATIONS_STARTED_BEFORE_0 = "Deleting operations started before: {0}";
     public static final String ABORTING_OPERATION_0 = "Aborting operation \"{0}\"...";
     public static final String DELETING_OPERATIONS_ABORTED_BEFORE_0 = "Deleting operations aborted before \"{0}\"...";
@@ -706,6 +716,10 @@ public class Messages {
     public static final String NEW_METADATA = "New metadata: {0}";
     public static final String OPENING_A_NEW_INPUT_STREAM_FOR_FILE_WITH_ID_0_AND_NAME_1 = "Opening a new input stream for file with ID: {0} and name: {1}";
     public static final String ARCHIVE_WITH_ID_0_AND_NAME_1_WAS_STORED = "Archive with ID: {0} and name: {1} was stored";
+    public static final String ARCHIVE_WITH_ID_0_HAS_NO_INDEX_MODULES_WILL_NOT_BE_PRE_EXTRACTED = "Archive with ID: {0} has no index, its modules will not be pre-extracted";
+    public static final String PRE_EXTRACTING_MODULES_0_OF_OPERATION_1 = "Pre-extracting modules {0} of operation \"{1}\"";
+    public static final String USING_PRE_EXTRACTED_CONTENT_OF_MODULE_0 = "Using pre-extracted content of MTA module \"{0}\"";
+    public static final String OPERATIONS_OF_SERVICES_0_CHANGED_WAKING_UP_EXECUTION_1 = "Operations of services {0} changed, waking up execution \"{1}\"";
 
     // Not log messages
     public static final String SERVICE_TYPE = "{0}/{1}";
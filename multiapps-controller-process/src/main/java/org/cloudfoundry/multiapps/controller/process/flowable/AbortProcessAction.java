@@ -21,6 +21,7 @@ import org.cloudfoundry.multiapps.controller.process.Messages;
 import org.cloudfoundry.multiapps.controller.process.dynatrace.DynatraceProcessEvent;
 import org.cloudfoundry.multiapps.controller.process.dynatrace.DynatracePublisher;
 import org.cloudfoundry.multiapps.controller.process.dynatrace.ImmutableDynatraceProcessEvent;
+import org.cloudfoundry.multiapps.controller.process.util.ProcessAbortSignalRegistry;
 import org.cloudfoundry.multiapps.controller.process.util.ProcessConflictPreventer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,16 +35,18 @@ public class AbortProcessAction extends ProcessAction {
     private final HistoricOperationEventService historicEventService;
     private final ProgressMessageService progressMessageService;
     private DynatracePublisher dynatracePublisher;
+    private final ProcessAbortSignalRegistry processAbortSignalRegistry;
 
     @Inject
     public AbortProcessAction(FlowableFacade flowableFacade, List<AdditionalProcessAction> additionalProcessActions,
                               HistoricOperationEventService historicEventService, OperationService operationService,
                               CloudControllerClientProvider cloudControllerClientProvider, ProgressMessageService progressMessageService,
-                              DynatracePublisher dynatracePublisher) {
+                              DynatracePublisher dynatracePublisher, ProcessAbortSignalRegistry processAbortSignalRegistry) {
         super(flowableFacade, additionalProcessActions, operationService, cloudControllerClientProvider);
         this.historicEventService = historicEventService;
         this.progressMessageService = progressMessageService;
         this.dynatracePublisher = dynatracePublisher;
+        this.processAbortSignalRegistry = processAbortSignalRegistry;
     }
 
     @Override
@@ -52,6 +55,7 @@ public class AbortProcessAction extends ProcessAction {
         historicEventService.add(ImmutableHistoricOperationEvent.of(superProcessInstanceId, HistoricOperationEvent.EventType.ABORTED));
         historicEventService.add(ImmutableHistoricOperationEvent.of(superProcessInstanceId,
                                                                     HistoricOperationEvent.EventType.ABORT_EXECUTED));
+        processAbortSignalRegistry.signalAbort(superProcessInstanceId);
         SAFE_EXECUTOR.execute(() -> publishDynatraceEvent(superProcessInstanceId));
     }
 
@@ -0,0 +1,81 @@
+package org.cloudfoundry.multiapps.controller.process.flowable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.flowable.variable.api.types.ValueFields;
+import org.flowable.variable.api.types.VariableType;
+
+/**
+ * Stores the byte array process variables larger than {@link #COMPRESSION_THRESHOLD}, such as the binary JSON of the deployment
+ * descriptors, compressed with Deflate. The values are stored with their own type name, so Flowable returns them decompressed and the
+ * values stored as plain byte arrays remain readable. Compression is disabled by default, as instances which do not know the type may still
+ * be running during an update and must be able to read the variables of the processes they execute. Reading compressed values is always
+ * supported.
+ */
+public class CompressedByteArrayType implements VariableType {
+
+    public static final String TYPE_NAME = "compressedBytes";
+
+    static final int COMPRESSION_THRESHOLD = 4 * 1024;
+
+    private final boolean compressionEnabled;
+
+    public CompressedByteArrayType(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+    }
+
+    @Override
+    public String getTypeName() {
+        return TYPE_NAME;
+    }
+
+    @Override
+    public boolean isCachable() {
+        return true;
+    }
+
+    @Override
+    public boolean isAbleToStore(Object value) {
+        return compressionEnabled && value instanceof byte[] && ((byte[]) value).length >= COMPRESSION_THRESHOLD;
+    }
+
+    @Override
+    public void setValue(Object value, ValueFields valueFields) {
+        valueFields.setBytes(compress((byte[]) value));
+    }
+
+    @Override
+    public Object getValue(ValueFields valueFields) {
+        return decompress(valueFields.getBytes());
+    }
+
+    private static byte[] compress(byte[] value) {
+        ByteArrayOutputStream compressedValue = new ByteArrayOutputStream(value.length / 4);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (OutputStream deflaterOutputStream = new DeflaterOutputStream(compressedValue, deflater)) {
+            deflaterOutputStream.write(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+        return compressedValue.toByteArray();
+    }
+
+    private static byte[] decompress(byte[] compressedValue) {
+        try (InputStream value = new InflaterInputStream(new ByteArrayInputStream(compressedValue))) {
+            return value.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
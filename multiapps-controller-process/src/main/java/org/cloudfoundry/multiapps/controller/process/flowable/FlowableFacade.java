@@ -16,6 +16,7 @@ import javax.inject.Named;
 import org.cloudfoundry.multiapps.controller.persistence.Constants;
 import org.cloudfoundry.multiapps.controller.process.Messages;
 import org.cloudfoundry.multiapps.controller.process.variables.Variables;
+import org.flowable.common.engine.api.FlowableException;
 import org.flowable.common.engine.api.FlowableObjectNotFoundException;
 import org.flowable.common.engine.api.FlowableOptimisticLockingException;
 import org.flowable.engine.ProcessEngine;
@@ -190,6 +191,40 @@ public class FlowableFacade {
         }
     }
 
+    /**
+     * Makes the timers on which the execution waits fire now, instead of when they are due. Failures are logged and not thrown, so that
+     * the executions woken up together do not depend on each other.
+     *
+     * @return whether a timer of the execution was found
+     */
+    public boolean fireTimersNow(String executionId) {
+        try {
+            List<Job> timerJobs = processEngine.getManagementService()
+                                               .createTimerJobQuery()
+                                               .executionId(executionId)
+                                               .list();
+            boolean timerFired = false;
+            for (Job timerJob : timerJobs) {
+                timerFired |= moveTimerToExecutableJob(timerJob);
+            }
+            return timerFired;
+        } catch (FlowableException e) {
+            LOGGER.warn(format(Messages.COULD_NOT_FIRE_TIMERS_OF_EXECUTION_0, executionId, e.getMessage()), e);
+            return false;
+        }
+    }
+
+    private boolean moveTimerToExecutableJob(Job timerJob) {
+        try {
+            processEngine.getManagementService()
+                         .moveTimerToExecutableJob(timerJob.getId());
+            return true;
+        } catch (FlowableObjectNotFoundException e) {
+            LOGGER.debug(e.getMessage(), e);
+            return false;
+        }
+    }
+
     public void trigger(String executionId, Map<String, Object> variables) {
         processEngine.getRuntimeService()
                      .trigger(executionId, variables);
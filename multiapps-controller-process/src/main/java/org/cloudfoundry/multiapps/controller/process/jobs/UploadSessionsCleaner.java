@@ -0,0 +1,63 @@
+package org.cloudfoundry.multiapps.controller.process.jobs;
+
+import static java.text.MessageFormat.format;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.cloudfoundry.multiapps.controller.persistence.model.UploadSessionEntry;
+import org.cloudfoundry.multiapps.controller.persistence.services.FileService;
+import org.cloudfoundry.multiapps.controller.persistence.services.FileStorageException;
+import org.cloudfoundry.multiapps.controller.persistence.services.UploadSessionService;
+import org.cloudfoundry.multiapps.controller.process.Messages;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Aborts the upload sessions which were never committed, so that the chunks they received do not occupy the storage. Chunks uploaded as
+ * parts of a multipart upload are not visible as files, so they are not deleted together with the expired files.
+ */
+@Named
+@Order(15)
+public class UploadSessionsCleaner implements Cleaner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UploadSessionsCleaner.class);
+
+    private final FileService fileService;
+    private final UploadSessionService uploadSessionService;
+
+    @Inject
+    public UploadSessionsCleaner(FileService fileService, UploadSessionService uploadSessionService) {
+        this.fileService = fileService;
+        this.uploadSessionService = uploadSessionService;
+    }
+
+    @Override
+    public void execute(LocalDateTime expirationTime) {
+        LOGGER.debug(CleanUpJob.LOG_MARKER, format(Messages.DELETING_UPLOAD_SESSIONS_STARTED_BEFORE_0, expirationTime));
+        List<UploadSessionEntry> expiredSessions = uploadSessionService.createQuery()
+                                                                       .addedBefore(expirationTime)
+                                                                       .list();
+        for (UploadSessionEntry session : expiredSessions) {
+            abortUploadSession(session);
+            uploadSessionService.createQuery()
+                                .id(session.getId())
+                                .delete();
+        }
+        LOGGER.info(CleanUpJob.LOG_MARKER, format(Messages.DELETED_UPLOAD_SESSIONS_0, expiredSessions.size()));
+    }
+
+    private void abortUploadSession(UploadSessionEntry session) {
+        try {
+            fileService.abortChunkedUpload(session.toFileEntry(), session.getMultipartUploadId());
+        } catch (FileStorageException | RuntimeException e) {
+            // The multipart upload may have already been aborted or expired in the object store
+            LOGGER.warn(CleanUpJob.LOG_MARKER, format(Messages.COULD_NOT_ABORT_UPLOAD_SESSION_0, session.getId(), e.getMessage()), e);
+        }
+    }
+
+}
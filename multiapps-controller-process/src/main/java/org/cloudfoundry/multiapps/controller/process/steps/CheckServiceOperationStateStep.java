@@ -8,6 +8,7 @@ import javax.inject.Named;
 
 import org.cloudfoundry.multiapps.controller.client.lib.domain.CloudServiceInstanceExtended;
 import org.cloudfoundry.multiapps.controller.process.util.ServiceOperationGetter;
+import org.cloudfoundry.multiapps.controller.process.util.ServiceOperationsPollingCoordinator;
 import org.cloudfoundry.multiapps.controller.process.util.ServiceProgressReporter;
 import org.cloudfoundry.multiapps.controller.process.variables.Variables;
 import org.springframework.beans.factory.config.BeanDefinition;
@@ -20,8 +21,9 @@ import com.sap.cloudfoundry.client.facade.CloudControllerClient;
 public class CheckServiceOperationStateStep extends CollectServicesInProgressStateStep {
 
     @Inject
-    CheckServiceOperationStateStep(ServiceOperationGetter serviceOperationGetter, ServiceProgressReporter serviceProgressReporter) {
-        super(serviceOperationGetter, serviceProgressReporter);
+    CheckServiceOperationStateStep(ServiceOperationGetter serviceOperationGetter, ServiceProgressReporter serviceProgressReporter,
+                                   ServiceOperationsPollingCoordinator serviceOperationsPollingCoordinator) {
+        super(serviceOperationGetter, serviceProgressReporter, serviceOperationsPollingCoordinator);
     }
 
     @Override
@@ -16,6 +16,7 @@ import org.cloudfoundry.multiapps.controller.client.lib.domain.ImmutableCloudSer
 import org.cloudfoundry.multiapps.controller.core.util.ApplicationConfiguration;
 import org.cloudfoundry.multiapps.controller.core.util.ForkJoinPoolUtil;
 import org.cloudfoundry.multiapps.controller.process.util.ServiceOperationGetter;
+import org.cloudfoundry.multiapps.controller.process.util.ServiceOperationsPollingCoordinator;
 import org.cloudfoundry.multiapps.controller.process.util.ServiceProgressReporter;
 import org.cloudfoundry.multiapps.controller.process.variables.Variables;
 import org.springframework.beans.factory.config.BeanDefinition;
@@ -30,8 +31,9 @@ public class CheckServicesToDeleteStep extends CollectServicesInProgressStateSte
     @Inject
     CheckServicesToDeleteStep(ServiceOperationGetter serviceOperationGetter,
                               ServiceProgressReporter serviceProgressReporter,
+                              ServiceOperationsPollingCoordinator serviceOperationsPollingCoordinator,
                               ApplicationConfiguration applicationConfiguration) {
-        super(serviceOperationGetter, serviceProgressReporter);
+        super(serviceOperationGetter, serviceProgressReporter, serviceOperationsPollingCoordinator);
         this.applicationConfiguration = applicationConfiguration;
     }
 
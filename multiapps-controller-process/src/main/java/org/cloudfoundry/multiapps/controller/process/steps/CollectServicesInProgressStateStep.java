@@ -9,6 +9,7 @@ import org.cloudfoundry.multiapps.controller.client.lib.domain.CloudServiceInsta
 import org.cloudfoundry.multiapps.controller.client.lib.domain.ImmutableCloudServiceInstanceExtended;
 import org.cloudfoundry.multiapps.controller.process.Messages;
 import org.cloudfoundry.multiapps.controller.process.util.ServiceOperationGetter;
+import org.cloudfoundry.multiapps.controller.process.util.ServiceOperationsPollingCoordinator;
 import org.cloudfoundry.multiapps.controller.process.util.ServiceProgressReporter;
 import org.cloudfoundry.multiapps.controller.process.variables.Variables;
 
@@ -22,10 +23,13 @@ public abstract class CollectServicesInProgressStateStep extends TimeoutAsyncFlo
 
     protected ServiceOperationGetter serviceOperationGetter;
     protected ServiceProgressReporter serviceProgressReporter;
+    protected ServiceOperationsPollingCoordinator serviceOperationsPollingCoordinator;
 
-    CollectServicesInProgressStateStep(ServiceOperationGetter serviceOperationGetter, ServiceProgressReporter serviceProgressReporter) {
+    CollectServicesInProgressStateStep(ServiceOperationGetter serviceOperationGetter, ServiceProgressReporter serviceProgressReporter,
+                                       ServiceOperationsPollingCoordinator serviceOperationsPollingCoordinator) {
         this.serviceOperationGetter = serviceOperationGetter;
         this.serviceProgressReporter = serviceProgressReporter;
+        this.serviceOperationsPollingCoordinator = serviceOperationsPollingCoordinator;
     }
 
     @Override
@@ -73,7 +77,8 @@ public abstract class CollectServicesInProgressStateStep extends TimeoutAsyncFlo
 
     @Override
     protected List<AsyncExecution> getAsyncStepExecutions(ProcessContext context) {
-        return Collections.singletonList(new PollServiceInProgressOperationsExecution(serviceOperationGetter, serviceProgressReporter));
+        return Collections.singletonList(new PollServiceInProgressOperationsExecution(serviceOperationGetter, serviceProgressReporter,
+                                                                                      serviceOperationsPollingCoordinator));
     }
 
     @Override
@@ -13,6 +13,7 @@ import org.cloudfoundry.multiapps.controller.process.Messages;
 import org.cloudfoundry.multiapps.controller.process.util.ExceptionMessageTailMapper;
 import org.cloudfoundry.multiapps.controller.process.util.ExceptionMessageTailMapper.CloudComponents;
 import org.cloudfoundry.multiapps.controller.process.util.ServiceOperationGetter;
+import org.cloudfoundry.multiapps.controller.process.util.ServiceOperationsPollingCoordinator;
 import org.cloudfoundry.multiapps.controller.process.util.ServiceProgressReporter;
 import org.cloudfoundry.multiapps.controller.process.util.ServiceRemover;
 import org.cloudfoundry.multiapps.controller.process.variables.Variables;
@@ -30,13 +31,15 @@ public class DeleteServiceStep extends AsyncFlowableStep {
     private final ServiceOperationGetter serviceOperationGetter;
     private final ServiceProgressReporter serviceProgressReporter;
     private final ServiceRemover serviceRemover;
+    private final ServiceOperationsPollingCoordinator serviceOperationsPollingCoordinator;
 
     @Inject
     public DeleteServiceStep(ServiceOperationGetter serviceOperationGetter, ServiceProgressReporter serviceProgressReporter,
-                             ServiceRemover serviceRemover) {
+                             ServiceRemover serviceRemover, ServiceOperationsPollingCoordinator serviceOperationsPollingCoordinator) {
         this.serviceOperationGetter = serviceOperationGetter;
         this.serviceProgressReporter = serviceProgressReporter;
         this.serviceRemover = serviceRemover;
+        this.serviceOperationsPollingCoordinator = serviceOperationsPollingCoordinator;
     }
 
     @Override
@@ -78,7 +81,8 @@ public class DeleteServiceStep extends AsyncFlowableStep {
 
     @Override
     protected List<AsyncExecution> getAsyncStepExecutions(ProcessContext context) {
-        return Collections.singletonList(new PollServiceDeleteOperationsExecution(serviceOperationGetter, serviceProgressReporter));
+        return Collections.singletonList(new PollServiceDeleteOperationsExecution(serviceOperationGetter, serviceProgressReporter,
+                                                                                  serviceOperationsPollingCoordinator));
     }
 
 }
@@ -210,7 +210,7 @@ public class DetermineServiceCreateUpdateServiceActionsStep extends SyncFlowable
         throws FileStorageException {
         String appArchiveId = context.getRequiredVariable(Variables.APP_ARCHIVE_ID);
         String spaceGuid = context.getVariable(Variables.SPACE_GUID);
-        return fileService.processFileContent(spaceGuid, appArchiveId, appArchiveStream -> {
+        return fileService.processArchiveEntriesContent(spaceGuid, appArchiveId, fileName, appArchiveStream -> {
             try (InputStream is = ArchiveHandler.getInputStream(appArchiveStream, fileName, configuration.getMaxManifestSize())) {
                 return mergeCredentials(service, is);
             } catch (IOException e) {
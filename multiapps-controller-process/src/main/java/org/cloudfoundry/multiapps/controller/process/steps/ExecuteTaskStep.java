@@ -5,12 +5,9 @@ import java.time.Duration;
 import java.util.List;
 import java.util.function.LongSupplier;
 
-import javax.inject.Inject;
 import javax.inject.Named;
 
 import org.cloudfoundry.multiapps.controller.client.lib.domain.CloudApplicationExtended;
-import org.cloudfoundry.multiapps.controller.core.cf.CloudControllerClientFactory;
-import org.cloudfoundry.multiapps.controller.core.security.token.TokenService;
 import org.cloudfoundry.multiapps.controller.process.Messages;
 import org.cloudfoundry.multiapps.controller.process.variables.Variables;
 import org.springframework.beans.factory.config.BeanDefinition;
@@ -25,11 +22,6 @@ public class ExecuteTaskStep extends TimeoutAsyncFlowableStep {
 
     protected LongSupplier currentTimeSupplier = System::currentTimeMillis;
 
-    @Inject
-    private CloudControllerClientFactory clientFactory;
-    @Inject
-    private TokenService tokenService;
-
     @Override
     protected StepPhase executeAsyncStep(ProcessContext context) {
         CloudApplicationExtended app = context.getVariable(Variables.APP_TO_PROCESS);
@@ -52,7 +44,7 @@ public class ExecuteTaskStep extends TimeoutAsyncFlowableStep {
 
     @Override
     protected List<AsyncExecution> getAsyncStepExecutions(ProcessContext context) {
-        return List.of(new PollExecuteTaskStatusExecution(clientFactory, tokenService));
+        return List.of(new PollExecuteTaskStatusExecution());
     }
 
     @Override
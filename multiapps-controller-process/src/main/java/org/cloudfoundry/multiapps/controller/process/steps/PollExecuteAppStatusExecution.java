@@ -11,11 +11,9 @@ import java.util.Objects;
 import java.util.UUID;
 
 import org.cloudfoundry.multiapps.controller.client.lib.domain.CloudApplicationExtended;
-import org.cloudfoundry.multiapps.controller.core.cf.CloudControllerClientFactory;
 import org.cloudfoundry.multiapps.controller.core.cf.apps.ApplicationStateAction;
 import org.cloudfoundry.multiapps.controller.core.helpers.ApplicationAttributes;
 import org.cloudfoundry.multiapps.controller.core.model.SupportedParameters;
-import org.cloudfoundry.multiapps.controller.core.security.token.TokenService;
 import org.cloudfoundry.multiapps.controller.persistence.services.ProcessLoggerProvider;
 import org.cloudfoundry.multiapps.controller.process.Messages;
 import org.cloudfoundry.multiapps.controller.process.variables.Variables;
@@ -57,17 +55,9 @@ public class PollExecuteAppStatusExecution implements AsyncExecution {
         }
     }
 
-    private final CloudControllerClientFactory clientFactory;
-    private final TokenService tokenService;
-
     private static final String DEFAULT_SUCCESS_MARKER = "STDOUT:SUCCESS";
     private static final String DEFAULT_FAILURE_MARKER = "STDERR:FAILURE";
 
-    public PollExecuteAppStatusExecution(CloudControllerClientFactory clientFactory, TokenService tokenService) {
-        this.clientFactory = clientFactory;
-        this.tokenService = tokenService;
-    }
-
     @Override
     public AsyncExecutionState execute(ProcessContext context) {
         List<ApplicationStateAction> actions = context.getVariable(Variables.APP_STATE_ACTIONS_TO_EXECUTE);
@@ -80,9 +70,7 @@ public class PollExecuteAppStatusExecution implements AsyncExecution {
         ApplicationAttributes appAttributes = ApplicationAttributes.fromApplication(app, app.getEnv());
 
         LocalDateTime logsOffset = context.getVariable(Variables.LOGS_OFFSET_FOR_APP_EXECUTION);
-        var user = context.getVariable(Variables.USER);
-        var correlationId = context.getVariable(Variables.CORRELATION_ID);
-        var logCacheClient = clientFactory.createLogCacheClient(tokenService.getToken(user), correlationId);
+        var logCacheClient = context.getLogCacheClient();
 
         UUID appGuid = client.getApplicationGuid(app.getName());
         List<ApplicationLog> recentLogs = logCacheClient.getRecentLogs(appGuid, logsOffset);
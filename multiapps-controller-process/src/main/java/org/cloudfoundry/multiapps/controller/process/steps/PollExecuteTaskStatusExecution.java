@@ -4,8 +4,6 @@ import java.text.MessageFormat;
 import java.util.UUID;
 
 import org.cloudfoundry.multiapps.controller.client.lib.domain.CloudApplicationExtended;
-import org.cloudfoundry.multiapps.controller.core.cf.CloudControllerClientFactory;
-import org.cloudfoundry.multiapps.controller.core.security.token.TokenService;
 import org.cloudfoundry.multiapps.controller.persistence.services.ProcessLoggerProvider;
 import org.cloudfoundry.multiapps.controller.process.Messages;
 import org.cloudfoundry.multiapps.controller.process.variables.Variables;
@@ -19,14 +17,6 @@ public class PollExecuteTaskStatusExecution implements AsyncExecution {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PollExecuteTaskStatusExecution.class);
 
-    private final CloudControllerClientFactory clientFactory;
-    private final TokenService tokenService;
-
-    public PollExecuteTaskStatusExecution(CloudControllerClientFactory clientFactory, TokenService tokenService) {
-        this.clientFactory = clientFactory;
-        this.tokenService = tokenService;
-    }
-
     @Override
     public AsyncExecutionState execute(ProcessContext context) {
         CloudTask taskToPoll = context.getVariable(Variables.STARTED_TASK);
@@ -41,9 +31,7 @@ public class PollExecuteTaskStatusExecution implements AsyncExecution {
         ProcessLoggerProvider processLoggerProvider = context.getStepLogger()
                                                              .getProcessLoggerProvider();
 
-        var user = context.getVariable(Variables.USER);
-        var correlationId = context.getVariable(Variables.CORRELATION_ID);
-        var logCacheClient = clientFactory.createLogCacheClient(tokenService.getToken(user), correlationId);
+        var logCacheClient = context.getLogCacheClient();
 
         UUID appGuid = client.getApplicationGuid(app.getName());
         StepsUtil.saveAppLogs(context, logCacheClient, appGuid, app.getName(), LOGGER, processLoggerProvider);
@@ -7,6 +7,7 @@ import org.cloudfoundry.multiapps.common.SLException;
 import org.cloudfoundry.multiapps.controller.client.lib.domain.CloudServiceInstanceExtended;
 import org.cloudfoundry.multiapps.controller.process.Messages;
 import org.cloudfoundry.multiapps.controller.process.util.ServiceOperationGetter;
+import org.cloudfoundry.multiapps.controller.process.util.ServiceOperationsPollingCoordinator;
 import org.cloudfoundry.multiapps.controller.process.util.ServiceProgressReporter;
 import org.cloudfoundry.multiapps.controller.process.util.StepLogger;
 import org.cloudfoundry.multiapps.controller.process.variables.Variables;
@@ -16,8 +17,9 @@ import com.sap.cloudfoundry.client.facade.domain.ServiceOperation;
 public class PollServiceDeleteOperationsExecution extends PollServiceOperationsExecution {
 
     public PollServiceDeleteOperationsExecution(ServiceOperationGetter serviceOperationGetter,
-                                                ServiceProgressReporter serviceProgressReporter) {
-        super(serviceOperationGetter, serviceProgressReporter);
+                                                ServiceProgressReporter serviceProgressReporter,
+                                                ServiceOperationsPollingCoordinator serviceOperationsPollingCoordinator) {
+        super(serviceOperationGetter, serviceProgressReporter, serviceOperationsPollingCoordinator);
     }
 
     @Override
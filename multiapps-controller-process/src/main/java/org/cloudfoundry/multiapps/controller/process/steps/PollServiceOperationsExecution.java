@@ -15,6 +15,7 @@ import org.cloudfoundry.multiapps.controller.client.lib.domain.CloudServiceInsta
 import org.cloudfoundry.multiapps.controller.core.security.serialization.SecureSerialization;
 import org.cloudfoundry.multiapps.controller.process.Messages;
 import org.cloudfoundry.multiapps.controller.process.util.ServiceOperationGetter;
+import org.cloudfoundry.multiapps.controller.process.util.ServiceOperationsPollingCoordinator;
 import org.cloudfoundry.multiapps.controller.process.util.ServiceProgressReporter;
 import org.cloudfoundry.multiapps.controller.process.util.StepLogger;
 import org.cloudfoundry.multiapps.controller.process.variables.Variables;
@@ -27,11 +28,13 @@ public abstract class PollServiceOperationsExecution implements AsyncExecution {
 
     private final ServiceOperationGetter serviceOperationGetter;
     private final ServiceProgressReporter serviceProgressReporter;
+    private final ServiceOperationsPollingCoordinator serviceOperationsPollingCoordinator;
 
-    protected PollServiceOperationsExecution(ServiceOperationGetter serviceOperationGetter,
-                                             ServiceProgressReporter serviceProgressReporter) {
+    protected PollServiceOperationsExecution(ServiceOperationGetter serviceOperationGetter, ServiceProgressReporter serviceProgressReporter,
+                                             ServiceOperationsPollingCoordinator serviceOperationsPollingCoordinator) {
         this.serviceOperationGetter = serviceOperationGetter;
         this.serviceProgressReporter = serviceProgressReporter;
+        this.serviceOperationsPollingCoordinator = serviceOperationsPollingCoordinator;
     }
 
     @Override
@@ -62,8 +65,10 @@ public abstract class PollServiceOperationsExecution implements AsyncExecution {
         context.setVariable(Variables.SERVICES_TO_POLL, remainingServicesToPoll);
 
         if (remainingServicesToPoll.isEmpty()) {
+            serviceOperationsPollingCoordinator.unwatch(context);
             return AsyncExecutionState.FINISHED;
         }
+        serviceOperationsPollingCoordinator.watch(context, getServiceNames(remainingServicesToPoll));
         return AsyncExecutionState.RUNNING;
     }
 
@@ -139,6 +144,12 @@ public abstract class PollServiceOperationsExecution implements AsyncExecution {
                                         .collect(Collectors.toList());
     }
 
+    private List<String> getServiceNames(List<CloudServiceInstanceExtended> services) {
+        return services.stream()
+                       .map(CloudServiceInstanceExtended::getName)
+                       .collect(Collectors.toList());
+    }
+
     private boolean isOperationInProgress(Entry<CloudServiceInstanceExtended, ServiceOperation> serviceWithLastOperation) {
         ServiceOperation.State operationState = serviceWithLastOperation.getValue()
                                                                         .getState();
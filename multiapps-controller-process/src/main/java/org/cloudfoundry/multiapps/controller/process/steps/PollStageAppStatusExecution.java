@@ -3,8 +3,6 @@ package org.cloudfoundry.multiapps.controller.process.steps;
 import java.text.MessageFormat;
 import java.util.UUID;
 
-import org.cloudfoundry.multiapps.controller.core.cf.CloudControllerClientFactory;
-import org.cloudfoundry.multiapps.controller.core.security.token.TokenService;
 import org.cloudfoundry.multiapps.controller.persistence.services.ProcessLoggerProvider;
 import org.cloudfoundry.multiapps.controller.process.Messages;
 import org.cloudfoundry.multiapps.controller.process.util.ApplicationStager;
@@ -23,14 +21,9 @@ public class PollStageAppStatusExecution implements AsyncExecution {
     private static final Logger LOGGER = LoggerFactory.getLogger(PollStageAppStatusExecution.class);
 
     private final ApplicationStager applicationStager;
-    private final CloudControllerClientFactory clientFactory;
-    private final TokenService tokenService;
 
-    public PollStageAppStatusExecution(ApplicationStager applicationStager, CloudControllerClientFactory clientFactory,
-                                       TokenService tokenService) {
+    public PollStageAppStatusExecution(ApplicationStager applicationStager) {
         this.applicationStager = applicationStager;
-        this.clientFactory = clientFactory;
-        this.tokenService = tokenService;
     }
 
     @Override
@@ -45,9 +38,7 @@ public class PollStageAppStatusExecution implements AsyncExecution {
 
         ProcessLoggerProvider processLoggerProvider = stepLogger.getProcessLoggerProvider();
 
-        var user = context.getVariable(Variables.USER);
-        var correlationId = context.getVariable(Variables.CORRELATION_ID);
-        var logCacheClient = clientFactory.createLogCacheClient(tokenService.getToken(user), correlationId);
+        var logCacheClient = context.getLogCacheClient();
 
         UUID appGuid = client.getApplicationGuid(application.getName());
         StepsUtil.saveAppLogs(context, logCacheClient, appGuid, application.getName(), LOGGER, processLoggerProvider);
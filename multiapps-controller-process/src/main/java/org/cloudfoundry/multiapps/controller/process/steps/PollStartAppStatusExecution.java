@@ -7,8 +7,6 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
-import org.cloudfoundry.multiapps.controller.core.cf.CloudControllerClientFactory;
-import org.cloudfoundry.multiapps.controller.core.security.token.TokenService;
 import org.cloudfoundry.multiapps.controller.core.util.UriUtil;
 import org.cloudfoundry.multiapps.controller.persistence.services.ProcessLoggerProvider;
 import org.cloudfoundry.multiapps.controller.process.Messages;
@@ -30,14 +28,6 @@ public class PollStartAppStatusExecution implements AsyncExecution {
         STARTING, STARTED, CRASHED, DOWN
     }
 
-    private final CloudControllerClientFactory clientFactory;
-    private final TokenService tokenService;
-
-    public PollStartAppStatusExecution(CloudControllerClientFactory clientFactory, TokenService tokenService) {
-        this.clientFactory = clientFactory;
-        this.tokenService = tokenService;
-    }
-
     @Override
     public AsyncExecutionState execute(ProcessContext context) {
         String appToPoll = getAppToPoll(context).getName();
@@ -53,9 +43,7 @@ public class PollStartAppStatusExecution implements AsyncExecution {
         ProcessLoggerProvider processLoggerProvider = context.getStepLogger()
                                                              .getProcessLoggerProvider();
 
-        var user = context.getVariable(Variables.USER);
-        var correlationId = context.getVariable(Variables.CORRELATION_ID);
-        var logCacheClient = clientFactory.createLogCacheClient(tokenService.getToken(user), correlationId);
+        var logCacheClient = context.getLogCacheClient();
 
         StepsUtil.saveAppLogs(context, logCacheClient, app.getGuid(), app.getName(), LOGGER, processLoggerProvider);
         return checkStartupStatus(context, app, status);
@@ -1,5 +1,14 @@
 package org.cloudfoundry.multiapps.controller.process.steps;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
+
 import org.cloudfoundry.multiapps.common.SLException;
 import org.cloudfoundry.multiapps.controller.core.cf.CloudControllerClientProvider;
 import org.cloudfoundry.multiapps.controller.process.Messages;
@@ -10,13 +19,16 @@ import org.cloudfoundry.multiapps.controller.process.variables.VariableHandling;
 import org.cloudfoundry.multiapps.controller.process.variables.Variables;
 import org.flowable.engine.delegate.DelegateExecution;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.sap.cloudfoundry.client.facade.CloudControllerClient;
+import com.sap.cloudfoundry.client.facade.adapters.LogCacheClient;
 
 public class ProcessContext {
 
     private final DelegateExecution execution;
     private final StepLogger stepLogger;
     private final CloudControllerClientProvider clientProvider;
+    private final Map<Variable<?>, DeserializedVariable<?>> deserializedVariables = new IdentityHashMap<>();
 
     public ProcessContext(DelegateExecution execution, StepLogger stepLogger, CloudControllerClientProvider clientProvider) {
         this.execution = execution;
@@ -47,6 +59,12 @@ public class ProcessContext {
         return new LoggingCloudControllerClient(delegate, stepLogger);
     }
 
+    public LogCacheClient getLogCacheClient() {
+        String userName = StepsUtil.determineCurrentUser(execution);
+        String correlationId = getVariable(Variables.CORRELATION_ID);
+        return clientProvider.getLogCacheClient(userName, correlationId);
+    }
+
     public <T> T getRequiredVariable(Variable<T> variable) {
         T value = getVariable(variable);
         if (value == null) {
@@ -55,8 +73,53 @@ public class ProcessContext {
         return value;
     }
 
+    /**
+     * Deserializes every immutable variable at most once per context, as long as its serialized value in the execution is not changed.
+     * Mutable values are deserialized on every call, so that a step which modifies a value without setting it does not see the modified
+     * value when it reads the variable again. The context is created for each step execution, so the deserialized values are not shared
+     * between steps.
+     */
     public <T> T getVariable(Variable<T> variable) {
-        return VariableHandling.get(execution, variable);
+        Object serializedValue = execution.getVariable(variable.getName());
+        if (serializedValue == null) {
+            deserializedVariables.remove(variable);
+            return variable.getDefaultValue();
+        }
+        DeserializedVariable<T> deserializedVariable = getDeserializedVariable(variable);
+        if (deserializedVariable != null && deserializedVariable.serializedValue == serializedValue) {
+            return deserializedVariable.getValue();
+        }
+        T value = variable.getSerializer()
+                          .deserialize(serializedValue);
+        if (isImmutable(value) || isListOfImmutables(value)) {
+            deserializedVariables.put(variable, new DeserializedVariable<>(serializedValue, value));
+        } else {
+            deserializedVariables.remove(variable);
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> DeserializedVariable<T> getDeserializedVariable(Variable<T> variable) {
+        return (DeserializedVariable<T>) deserializedVariables.get(variable);
+    }
+
+    private static boolean isListOfImmutables(Object value) {
+        return value instanceof List && ((List<?>) value).stream()
+                                                          .allMatch(element -> element == null || isImmutable(element));
+    }
+
+    private static boolean isImmutable(Object value) {
+        return value instanceof String || value instanceof Boolean || value instanceof Integer || value instanceof Long
+            || value instanceof Enum || value instanceof UUID || isGeneratedImmutable(value.getClass());
+    }
+
+    private static boolean isGeneratedImmutable(Class<?> valueClass) {
+        // The value types of the generated immutable classes declare them as the classes to which they are deserialized
+        return Stream.concat(Stream.of(valueClass.getSuperclass()), Arrays.stream(valueClass.getInterfaces()))
+                     .filter(Objects::nonNull)
+                     .map(valueType -> valueType.getAnnotation(JsonDeserialize.class))
+                     .anyMatch(jsonDeserialize -> jsonDeserialize != null && jsonDeserialize.as() == valueClass);
     }
 
     public <T> T getVariableBackwardsCompatible(Variable<T> variable) {
@@ -65,10 +128,33 @@ public class ProcessContext {
 
     public <T> void setVariable(Variable<T> variable, T value) {
         VariableHandling.set(execution, variable, value);
+        deserializedVariables.remove(variable);
     }
 
     public void removeVariable(Variable<?> variable) {
         VariableHandling.remove(execution, variable);
+        deserializedVariables.remove(variable);
+    }
+
+    private static class DeserializedVariable<T> {
+
+        private final Object serializedValue;
+        private final T value;
+
+        DeserializedVariable(Object serializedValue, T value) {
+            this.serializedValue = serializedValue;
+            this.value = copyIfList(value);
+        }
+
+        T getValue() {
+            return copyIfList(value);
+        }
+
+        // The elements of the lists are immutable, but the lists are not, so every caller gets its own copy
+        @SuppressWarnings("unchecked")
+        private static <V> V copyIfList(V value) {
+            return value instanceof List ? (V) new ArrayList<>((List<?>) value) : value;
+        }
     }
 
 }
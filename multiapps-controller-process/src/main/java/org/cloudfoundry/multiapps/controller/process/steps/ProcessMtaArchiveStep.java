@@ -1,23 +1,30 @@
 package org.cloudfoundry.multiapps.controller.process.steps;
 
 import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.function.Function;
 import java.util.jar.Manifest;
 
 import javax.inject.Inject;
 
 import org.cloudfoundry.multiapps.controller.core.helpers.DescriptorParserFacadeFactory;
+import org.cloudfoundry.multiapps.controller.core.helpers.ModuleToDeployHelper;
 import org.cloudfoundry.multiapps.controller.core.helpers.MtaArchiveElements;
 import org.cloudfoundry.multiapps.controller.core.helpers.MtaArchiveHelper;
 import org.cloudfoundry.multiapps.controller.persistence.services.FileStorageException;
 import org.cloudfoundry.multiapps.controller.persistence.services.OperationService;
+import org.cloudfoundry.multiapps.controller.process.Constants;
 import org.cloudfoundry.multiapps.controller.process.Messages;
+import org.cloudfoundry.multiapps.controller.process.util.ModulesPreExtractor;
 import org.cloudfoundry.multiapps.controller.process.util.ProcessConflictPreventer;
 import org.cloudfoundry.multiapps.controller.process.variables.Variables;
 import org.cloudfoundry.multiapps.mta.handlers.ArchiveHandler;
 import org.cloudfoundry.multiapps.mta.handlers.DescriptorParserFacade;
 import org.cloudfoundry.multiapps.mta.model.DeploymentDescriptor;
+import org.cloudfoundry.multiapps.mta.model.Module;
 
 public class ProcessMtaArchiveStep extends SyncFlowableStep {
 
@@ -25,6 +32,10 @@ public class ProcessMtaArchiveStep extends SyncFlowableStep {
     private OperationService operationService;
     @Inject
     protected DescriptorParserFacadeFactory descriptorParserFactory;
+    @Inject
+    protected ModulesPreExtractor modulesPreExtractor;
+    @Inject
+    protected ModuleToDeployHelper moduleToDeployHelper;
 
     protected Function<OperationService, ProcessConflictPreventer> conflictPreventerSupplier = ProcessConflictPreventer::new;
 
@@ -37,6 +48,7 @@ public class ProcessMtaArchiveStep extends SyncFlowableStep {
         processApplicationArchive(context, appArchiveId);
         setMtaIdForProcess(context);
         acquireOperationLock(context);
+        preExtractModules(context, appArchiveId);
 
         getStepLogger().debug(Messages.MTA_ARCHIVE_PROCESSED);
         return StepPhase.DONE;
@@ -48,12 +60,15 @@ public class ProcessMtaArchiveStep extends SyncFlowableStep {
     }
 
     private void processApplicationArchive(ProcessContext context, String appArchiveId) throws FileStorageException {
-        DeploymentDescriptor descriptor = fileService.processFileContent(context.getVariable(Variables.SPACE_GUID), appArchiveId,
-                                                                         this::extractDeploymentDescriptor);
+        String spaceGuid = context.getVariable(Variables.SPACE_GUID);
+        DeploymentDescriptor descriptor = fileService.processArchiveEntriesContent(spaceGuid, appArchiveId,
+                                                                                   Constants.MTA_ARCHIVE_METADATA_DIRECTORY,
+                                                                                   this::extractDeploymentDescriptor);
         context.setVariable(Variables.DEPLOYMENT_DESCRIPTOR, descriptor);
 
-        MtaArchiveHelper helper = fileService.processFileContent(context.getVariable(Variables.SPACE_GUID), appArchiveId,
-                                                                 this::createMtaArchiveHelperFromManifest);
+        MtaArchiveHelper helper = fileService.processArchiveEntriesContent(spaceGuid, appArchiveId,
+                                                                           Constants.MTA_ARCHIVE_METADATA_DIRECTORY,
+                                                                           this::createMtaArchiveHelperFromManifest);
         MtaArchiveElements mtaArchiveElements = new MtaArchiveElements();
         addMtaArchiveModulesInMtaArchiveElements(context, helper, mtaArchiveElements);
         addMtaRequiredDependenciesInMtaArchiveElements(helper, mtaArchiveElements);
@@ -106,6 +121,32 @@ public class ProcessMtaArchiveStep extends SyncFlowableStep {
         context.setVariable(Variables.MTA_ID, mtaId);
     }
 
+    private void preExtractModules(ProcessContext context, String appArchiveId) throws FileStorageException {
+        MtaArchiveElements mtaArchiveElements = context.getVariable(Variables.MTA_ARCHIVE_ELEMENTS);
+        Collection<String> moduleFileNames = getModulesToPreExtract(context).stream()
+                                                                            .map(mtaArchiveElements::getModuleFileName)
+                                                                            .filter(Objects::nonNull)
+                                                                            .distinct()
+                                                                            .toList();
+        modulesPreExtractor.extractModules(context.getVariable(Variables.CORRELATION_ID), context.getVariable(Variables.SPACE_GUID),
+                                           appArchiveId, moduleFileNames);
+    }
+
+    private Collection<String> getModulesToPreExtract(ProcessContext context) {
+        DeploymentDescriptor deploymentDescriptor = context.getVariable(Variables.DEPLOYMENT_DESCRIPTOR);
+        List<String> modulesForDeployment = context.getVariable(Variables.MODULES_FOR_DEPLOYMENT);
+        return deploymentDescriptor.getModules()
+                                   .stream()
+                                   .filter(module -> module.getType() != null && moduleToDeployHelper.isApplication(module))
+                                   .map(Module::getName)
+                                   .filter(moduleName -> isModuleSpecifiedForDeployment(modulesForDeployment, moduleName))
+                                   .toList();
+    }
+
+    private boolean isModuleSpecifiedForDeployment(List<String> modulesForDeployment, String moduleName) {
+        return modulesForDeployment == null || modulesForDeployment.isEmpty() || modulesForDeployment.contains(moduleName);
+    }
+
     private void acquireOperationLock(ProcessContext context) {
         DeploymentDescriptor deploymentDescriptor = context.getVariable(Variables.DEPLOYMENT_DESCRIPTOR);
         String mtaId = deploymentDescriptor.getId();
@@ -7,14 +7,13 @@ import java.util.stream.Collectors;
 import org.cloudfoundry.multiapps.common.ContentException;
 import org.cloudfoundry.multiapps.common.SLException;
 import org.cloudfoundry.multiapps.controller.core.model.ErrorType;
-import org.cloudfoundry.multiapps.controller.persistence.model.HistoricOperationEvent;
 import org.cloudfoundry.multiapps.controller.persistence.model.ImmutableProgressMessage;
 import org.cloudfoundry.multiapps.controller.persistence.model.ProgressMessage.ProgressMessageType;
 import org.cloudfoundry.multiapps.controller.persistence.services.ProcessLogger;
 import org.cloudfoundry.multiapps.controller.persistence.services.ProcessLogsPersister;
 import org.cloudfoundry.multiapps.controller.persistence.services.ProgressMessageService;
 import org.cloudfoundry.multiapps.controller.process.Messages;
-import org.cloudfoundry.multiapps.controller.process.util.ProcessHelper;
+import org.cloudfoundry.multiapps.controller.process.util.ProcessAbortSignalRegistry;
 import org.cloudfoundry.multiapps.controller.process.util.StepLogger;
 import org.cloudfoundry.multiapps.controller.process.variables.Variables;
 import org.flowable.engine.ProcessEngineConfiguration;
@@ -116,18 +115,11 @@ public abstract class ProcessStepHelper {
 
     public void failStepIfProcessIsAborted(ProcessContext context) {
         String correlationId = context.getVariable(Variables.CORRELATION_ID);
-        List<HistoricOperationEvent> historicOperationEvents = getProcessHelper().getHistoricOperationEventByProcessId(correlationId);
-        if (isProcessAborted(historicOperationEvents)) {
+        if (getProcessAbortSignalRegistry().isAborted(correlationId)) {
             throw new SLException(Messages.PROCESS_WAS_ABORTED);
         }
     }
 
-    public static boolean isProcessAborted(List<HistoricOperationEvent> historicOperationEvents) {
-        return historicOperationEvents.stream()
-                                      .map(HistoricOperationEvent::getType)
-                                      .anyMatch(HistoricOperationEvent.EventType.ABORT_EXECUTED::equals);
-    }
-
     public abstract ProgressMessageService getProgressMessageService();
 
     public abstract ProcessLogsPersister getProcessLogsPersister();
@@ -136,6 +128,6 @@ public abstract class ProcessStepHelper {
 
     public abstract ProcessEngineConfiguration getProcessEngineConfiguration();
 
-    public abstract ProcessHelper getProcessHelper();
+    public abstract ProcessAbortSignalRegistry getProcessAbortSignalRegistry();
 
 }
@@ -11,6 +11,7 @@ import org.cloudfoundry.multiapps.controller.client.lib.domain.CloudServiceInsta
 import org.cloudfoundry.multiapps.controller.core.util.OperationExecutionState;
 import org.cloudfoundry.multiapps.controller.process.Messages;
 import org.cloudfoundry.multiapps.controller.process.util.ServiceOperationGetter;
+import org.cloudfoundry.multiapps.controller.process.util.ServiceOperationsPollingCoordinator;
 import org.cloudfoundry.multiapps.controller.process.util.ServiceProgressReporter;
 import org.cloudfoundry.multiapps.controller.process.variables.Variables;
 import org.springframework.http.HttpStatus;
@@ -27,6 +28,8 @@ public abstract class ServiceStep extends AsyncFlowableStep {
     private ServiceOperationGetter serviceOperationGetter;
     @Inject
     private ServiceProgressReporter serviceProgressReporter;
+    @Inject
+    private ServiceOperationsPollingCoordinator serviceOperationsPollingCoordinator;
 
     @Override
     protected StepPhase executeAsyncStep(ProcessContext context) {
@@ -85,4 +88,8 @@ public abstract class ServiceStep extends AsyncFlowableStep {
         return serviceProgressReporter;
     }
 
+    protected ServiceOperationsPollingCoordinator getServiceOperationsPollingCoordinator() {
+        return serviceOperationsPollingCoordinator;
+    }
+
 }
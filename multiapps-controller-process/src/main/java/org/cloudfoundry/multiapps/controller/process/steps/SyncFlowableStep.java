@@ -18,7 +18,7 @@ import org.cloudfoundry.multiapps.controller.persistence.services.ProgressMessag
 import org.cloudfoundry.multiapps.controller.process.Messages;
 import org.cloudfoundry.multiapps.controller.process.util.ExceptionMessageTailMapper;
 import org.cloudfoundry.multiapps.controller.process.util.ExceptionMessageTailMapper.CloudComponents;
-import org.cloudfoundry.multiapps.controller.process.util.ProcessHelper;
+import org.cloudfoundry.multiapps.controller.process.util.ProcessAbortSignalRegistry;
 import org.cloudfoundry.multiapps.controller.process.util.StepLogger;
 import org.cloudfoundry.multiapps.controller.process.variables.VariableHandling;
 import org.cloudfoundry.multiapps.controller.process.variables.Variables;
@@ -58,7 +58,7 @@ public abstract class SyncFlowableStep implements JavaDelegate {
     private ProcessLogsPersister processLogsPersister;
     private StepLogger stepLogger;
     @Inject
-    private ProcessHelper processHelper;
+    private ProcessAbortSignalRegistry processAbortSignalRegistry;
 
     @Override
     public void execute(DelegateExecution execution) {
@@ -202,7 +202,7 @@ public abstract class SyncFlowableStep implements JavaDelegate {
                                                    .stepLogger(getStepLogger())
                                                    .processLogsPersister(getProcessLogsPersister())
                                                    .processEngineConfiguration(processEngineConfiguration)
-                                                   .processHelper(processHelper)
+                                                   .processAbortSignalRegistry(processAbortSignalRegistry)
                                                    .build();
         }
         return stepHelper;
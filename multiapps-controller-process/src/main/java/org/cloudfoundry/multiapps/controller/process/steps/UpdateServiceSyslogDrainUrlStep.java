@@ -50,7 +50,8 @@ public class UpdateServiceSyslogDrainUrlStep extends ServiceStep {
     @Override
     protected List<AsyncExecution> getAsyncStepExecutions(ProcessContext context) {
         return Collections.singletonList(new PollServiceCreateOrUpdateOperationsExecution(getServiceOperationGetter(),
-                                                                                          getServiceProgressReporter()));
+                                                                                          getServiceProgressReporter(),
+                                                                                          getServiceOperationsPollingCoordinator()));
     }
 
     @Override
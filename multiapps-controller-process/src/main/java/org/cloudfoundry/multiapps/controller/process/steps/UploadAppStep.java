@@ -33,10 +33,11 @@ import org.cloudfoundry.multiapps.controller.persistence.services.FileContentPro
 import org.cloudfoundry.multiapps.controller.persistence.services.FileStorageException;
 import org.cloudfoundry.multiapps.controller.process.Messages;
 import org.cloudfoundry.multiapps.controller.process.util.ApplicationArchiveContext;
-import org.cloudfoundry.multiapps.controller.process.util.ApplicationArchiveReader;
 import org.cloudfoundry.multiapps.controller.process.util.ApplicationStager;
 import org.cloudfoundry.multiapps.controller.process.util.ApplicationZipBuilder;
 import org.cloudfoundry.multiapps.controller.process.util.CloudPackagesGetter;
+import org.cloudfoundry.multiapps.controller.process.util.ExtractedApplicationArchive;
+import org.cloudfoundry.multiapps.controller.process.util.ModulesPreExtractor;
 import org.cloudfoundry.multiapps.controller.process.variables.Variables;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,11 +56,11 @@ public class UploadAppStep extends TimeoutAsyncFlowableStep {
     static final int DEFAULT_APP_UPLOAD_TIMEOUT = (int) TimeUnit.HOURS.toSeconds(1);
     private static final Logger LOGGER = LoggerFactory.getLogger(UploadAppStep.class);
     @Inject
-    protected ApplicationArchiveReader applicationArchiveReader;
-    @Inject
     protected ApplicationZipBuilder applicationZipBuilder;
     @Inject
     protected CloudPackagesGetter cloudPackagesGetter;
+    @Inject
+    protected ModulesPreExtractor modulesPreExtractor;
 
     @Override
     public StepPhase executeAsyncStep(ProcessContext context) throws FileStorageException {
@@ -78,42 +79,60 @@ public class UploadAppStep extends TimeoutAsyncFlowableStep {
             return StepPhase.DONE;
         }
 
-        String newApplicationDigest = getNewApplicationDigest(context, moduleFileName);
-        CloudApplication cloudApp = client.getApplication(applicationToProcess.getName());
-
-        var appEnv = client.getApplicationEnvironment(cloudApp.getGuid());
+        ExtractedApplicationArchive extractedApplication = extractApplicationFromArchive(context, moduleFileName);
+        Path extractedAppPath = extractedApplication.getPath();
+        String newApplicationDigest = extractedApplication.getDigest();
+        CloudApplication cloudApp;
+        Map<String, String> appEnv;
+        boolean contentChanged;
+        Optional<StepPhase> stepPhaseWithoutUpload;
+        try {
+            cloudApp = client.getApplication(applicationToProcess.getName());
+            appEnv = client.getApplicationEnvironment(cloudApp.getGuid());
+            contentChanged = detectApplicationFileDigestChanges(appEnv, newApplicationDigest);
+            stepPhaseWithoutUpload = contentChanged ? Optional.empty()
+                : getStepPhaseForUnchangedContent(context, applicationToProcess, cloudApp);
+        } catch (RuntimeException e) {
+            FileUtils.cleanUp(extractedAppPath, LOGGER);
+            throw e;
+        }
 
-        boolean contentChanged = detectApplicationFileDigestChanges(appEnv, newApplicationDigest);
+        if (stepPhaseWithoutUpload.isPresent()) {
+            FileUtils.cleanUp(extractedAppPath, LOGGER);
+            return stepPhaseWithoutUpload.get();
+        }
+        proceedWithUpload(context, applicationToProcess, moduleFileName, extractedAppPath);
         if (contentChanged) {
-            proceedWithUpload(context, applicationToProcess, moduleFileName);
-            attemptToUpdateApplicationDigest(context.getControllerClient(), cloudApp, appEnv, newApplicationDigest);
-            return StepPhase.POLL;
+            attemptToUpdateApplicationDigest(client, cloudApp, appEnv, newApplicationDigest);
         }
+        return StepPhase.POLL;
+    }
 
+    private Optional<StepPhase> getStepPhaseForUnchangedContent(ProcessContext context, CloudApplicationExtended applicationToProcess,
+                                                                CloudApplication cloudApp) {
+        CloudControllerClient client = context.getControllerClient();
         Optional<CloudPackage> mostRecentPackage = cloudPackagesGetter.getMostRecentAppPackage(client, cloudApp.getGuid());
         if (mostRecentPackage.isEmpty()) {
-            proceedWithUpload(context, applicationToProcess, moduleFileName);
-            return StepPhase.POLL;
+            return Optional.empty();
         }
 
         CloudPackage latestPackage = mostRecentPackage.get();
         Optional<CloudPackage> currentPackage = cloudPackagesGetter.getAppPackage(client, cloudApp.getGuid());
         if (currentPackage.isEmpty() && isPackageInValidState(latestPackage)) {
-            return useLatestPackage(context, latestPackage);
+            return Optional.of(useLatestPackage(context, latestPackage));
         }
 
         if (currentPackage.isEmpty() || !isAppStagedCorrectly(context, cloudApp)) {
-            proceedWithUpload(context, applicationToProcess, moduleFileName);
-            return StepPhase.POLL;
+            return Optional.empty();
         }
 
         if (isPackageInValidState(latestPackage)
             && (context.getVariable(Variables.APP_NEEDS_RESTAGE) || !packagesMatch(currentPackage.get(), latestPackage))) {
-            return useLatestPackage(context, latestPackage);
+            return Optional.of(useLatestPackage(context, latestPackage));
         }
 
         getStepLogger().info(Messages.CONTENT_OF_APPLICATION_0_IS_NOT_CHANGED, applicationToProcess.getName());
-        return StepPhase.DONE;
+        return Optional.of(StepPhase.DONE);
     }
 
     private boolean packagesMatch(CloudPackage currentPackage, CloudPackage latestPackage) {
@@ -125,20 +144,6 @@ public class UploadAppStep extends TimeoutAsyncFlowableStep {
         return client.createDockerPackage(applicationGuid, application.getDockerInfo());
     }
 
-    private String getNewApplicationDigest(ProcessContext context, String fileName) throws FileStorageException {
-        return fileService.processFileContent(context.getVariable(Variables.SPACE_GUID),
-                                              context.getRequiredVariable(Variables.APP_ARCHIVE_ID),
-                                              createDigestCalculatorFileContentProcessor(fileName));
-    }
-
-    private FileContentProcessor<String> createDigestCalculatorFileContentProcessor(String fileName) {
-        return appArchiveStream -> {
-            long maxSize = configuration.getMaxResourceFileSize();
-            ApplicationArchiveContext applicationArchiveContext = createApplicationArchiveContext(appArchiveStream, fileName, maxSize);
-            return applicationArchiveReader.calculateApplicationDigest(applicationArchiveContext);
-        };
-    }
-
     protected ApplicationArchiveContext createApplicationArchiveContext(InputStream appArchiveStream, String fileName, long maxSize) {
         return new ApplicationArchiveContext(appArchiveStream, fileName, maxSize);
     }
@@ -149,12 +154,11 @@ public class UploadAppStep extends TimeoutAsyncFlowableStep {
         return !newApplicationDigest.equals(currentApplicationDigest);
     }
 
-    private void proceedWithUpload(ProcessContext context, CloudApplicationExtended application, String moduleFileName)
-        throws FileStorageException {
+    private void proceedWithUpload(ProcessContext context, CloudApplicationExtended application, String moduleFileName,
+                                   Path extractedAppPath) {
         getStepLogger().debug(Messages.UPLOADING_FILE_0_FOR_APP_1, moduleFileName, application.getName());
 
-        CloudPackage cloudPackage = asyncUploadFiles(context, application, context.getRequiredVariable(Variables.APP_ARCHIVE_ID),
-                                                     moduleFileName);
+        CloudPackage cloudPackage = asyncUploadFiles(context, application, extractedAppPath);
 
         getStepLogger().info(Messages.STARTED_ASYNC_UPLOAD_OF_APP_0, application.getName());
         LOGGER.info(format(Messages.UPLOADED_PACKAGE_0, cloudPackage));
@@ -186,25 +190,36 @@ public class UploadAppStep extends TimeoutAsyncFlowableStep {
                                                              .getName());
     }
 
-    private CloudPackage asyncUploadFiles(ProcessContext context, CloudApplication app, String appArchiveId, String fileName)
-        throws FileStorageException {
-        Path extractedAppPath = extractApplicationFromArchive(context, appArchiveId, fileName);
+    private CloudPackage asyncUploadFiles(ProcessContext context, CloudApplication app, Path extractedAppPath) {
         LOGGER.debug(MessageFormat.format(Messages.APPLICATION_WITH_NAME_0_SAVED_TO_1, app.getName(), extractedAppPath));
         getStepLogger().infoWithoutProgressMessage(Messages.SIZE_OF_APP_0_IS_1_BYTES, app.getName(), extractedAppPath.toFile()
                                                                                                                      .length());
         return upload(context, app, extractedAppPath);
     }
 
-    private Path extractApplicationFromArchive(ProcessContext context, String appArchiveId, String fileName) throws FileStorageException {
-        return fileService.processFileContent(context.getVariable(Variables.SPACE_GUID), appArchiveId, appArchiveStream -> {
+    private ExtractedApplicationArchive extractApplicationFromArchive(ProcessContext context, String fileName)
+        throws FileStorageException {
+        String correlationId = context.getVariable(Variables.CORRELATION_ID);
+        Optional<ExtractedApplicationArchive> preExtractedApplication = modulesPreExtractor.take(correlationId, fileName);
+        if (preExtractedApplication.isPresent()) {
+            getStepLogger().debug(Messages.USING_PRE_EXTRACTED_CONTENT_OF_MODULE_0, fileName);
+            return preExtractedApplication.get();
+        }
+        return fileService.processArchiveEntriesContent(context.getVariable(Variables.SPACE_GUID),
+                                                        context.getRequiredVariable(Variables.APP_ARCHIVE_ID), fileName,
+                                                        createExtractorFileContentProcessor(fileName));
+    }
+
+    private FileContentProcessor<ExtractedApplicationArchive> createExtractorFileContentProcessor(String fileName) {
+        return appArchiveStream -> {
             long maxSize = configuration.getMaxResourceFileSize();
             ApplicationArchiveContext applicationArchiveContext = createApplicationArchiveContext(appArchiveStream, fileName, maxSize);
             return extractFromMtar(applicationArchiveContext);
-        });
+        };
     }
 
-    protected Path extractFromMtar(ApplicationArchiveContext applicationArchiveContext) {
-        return applicationZipBuilder.extractApplicationInNewArchive(applicationArchiveContext);
+    protected ExtractedApplicationArchive extractFromMtar(ApplicationArchiveContext applicationArchiveContext) {
+        return applicationZipBuilder.extractApplication(applicationArchiveContext);
     }
 
     private CloudPackage upload(ProcessContext context, CloudApplication app, Path filePath) {
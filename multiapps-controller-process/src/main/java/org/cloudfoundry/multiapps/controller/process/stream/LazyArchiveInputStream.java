@@ -6,6 +6,7 @@ import java.io.InputStream;
 import java.text.MessageFormat;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.io.IOUtils;
 import org.cloudfoundry.multiapps.common.SLException;
@@ -25,31 +26,32 @@ public class LazyArchiveInputStream extends InputStream {
     private final FileService fileService;
     private final List<FileEntry> archiveFileEntries;
     private final StepLogger stepLogger;
-    private final int archiveSize;
-    private final AtomicInteger totalBytesRead;
+    private final long archiveSize;
+    private final AtomicLong totalBytesRead;
     private final AtomicInteger partIndex;
 
     private InputStream currentInputStream;
+    private InputStream nextInputStream;
 
-    public LazyArchiveInputStream(FileService fileService, List<FileEntry> archiveFileEntries, StepLogger stepLogger, int archiveSize) {
+    public LazyArchiveInputStream(FileService fileService, List<FileEntry> archiveFileEntries, StepLogger stepLogger, long archiveSize) {
         this.fileService = fileService;
         this.archiveFileEntries = archiveFileEntries;
         this.stepLogger = stepLogger;
         this.archiveSize = archiveSize;
-        this.totalBytesRead = new AtomicInteger(0);
+        this.totalBytesRead = new AtomicLong(0);
         this.partIndex = new AtomicInteger(0);
     }
 
     @Override
     public synchronized int read() throws IOException {
         if (currentInputStream == null) {
-            currentInputStream = openBufferedInputStream(archiveFileEntries.get(partIndex.get()));
+            currentInputStream = openPart(partIndex.get());
         }
         int c = currentInputStream.read();
         if (c == -1 && partIndex.get() < archiveFileEntries.size() - 1) {
             IOUtils.closeQuietly(currentInputStream, e -> LOGGER.warn(e.getMessage(), e));
             LOGGER.info(MessageFormat.format(Messages.CLOSING_STREAM_FOR_PART_0, partIndex));
-            currentInputStream = openBufferedInputStream(archiveFileEntries.get(partIndex.incrementAndGet()));
+            currentInputStream = openPart(partIndex.incrementAndGet());
             c = currentInputStream.read();
         } else if (c == -1) {
             LOGGER.info(MessageFormat.format(Messages.CLOSING_STREAM_FOR_PART_STREAM_FINISHED_0, partIndex));
@@ -64,13 +66,13 @@ public class LazyArchiveInputStream extends InputStream {
     @Override
     public synchronized int read(byte[] b, int off, int len) throws IOException {
         if (currentInputStream == null) {
-            currentInputStream = openBufferedInputStream(archiveFileEntries.get(partIndex.get()));
+            currentInputStream = openPart(partIndex.get());
         }
         int bytesRead = currentInputStream.read(b, off, len);
         if (bytesRead == -1 && partIndex.get() < archiveFileEntries.size() - 1) {
             IOUtils.closeQuietly(currentInputStream, e -> LOGGER.warn(e.getMessage(), e));
             LOGGER.info(MessageFormat.format(Messages.CLOSING_STREAM_FOR_PART_0, partIndex));
-            currentInputStream = openBufferedInputStream(archiveFileEntries.get(partIndex.incrementAndGet()));
+            currentInputStream = openPart(partIndex.incrementAndGet());
             bytesRead = currentInputStream.read(b, off, len);
         } else if (bytesRead == -1) {
             LOGGER.info(MessageFormat.format(Messages.CLOSING_STREAM_FOR_PART_STREAM_FINISHED_0, partIndex));
@@ -84,20 +86,31 @@ public class LazyArchiveInputStream extends InputStream {
 
     @Override
     public synchronized int available() throws IOException {
-        return archiveSize - totalBytesRead.get();
+        return (int) Math.min(Integer.MAX_VALUE, archiveSize - totalBytesRead.get());
     }
 
     @Override
     public void close() throws IOException {
         LOGGER.info(MessageFormat.format(Messages.CLOSING_LAST_STREAM_FOR_PART_0, partIndex));
         IOUtils.closeQuietly(currentInputStream, e -> LOGGER.warn(e.getMessage(), e));
+        IOUtils.closeQuietly(nextInputStream, e -> LOGGER.warn(e.getMessage(), e));
+    }
+
+    private InputStream openPart(int index) {
+        InputStream inputStream = nextInputStream != null ? nextInputStream : openBufferedInputStream(archiveFileEntries.get(index));
+        nextInputStream = null;
+        // When the file storage reads ahead, the next part is opened in advance so that its content is fetched while this part is read
+        if (fileService.supportsReadAhead() && index < archiveFileEntries.size() - 1) {
+            nextInputStream = openBufferedInputStream(archiveFileEntries.get(index + 1));
+        }
+        return inputStream;
     }
 
     private BufferedInputStream openBufferedInputStream(FileEntry archiveFileEntry) {
         try {
             stepLogger.debug(Messages.OPENING_A_NEW_INPUT_STREAM_FOR_FILE_WITH_ID_0_AND_NAME_1, archiveFileEntry.getId(),
                              archiveFileEntry.getName());
-            InputStream inputStream = fileService.openInputStream(archiveFileEntry.getSpace(), archiveFileEntry.getId());
+            InputStream inputStream = fileService.openInputStream(archiveFileEntry);
             return new BufferedInputStream(inputStream, BUFFERED_SIZE);
         } catch (FileStorageException e) {
             throw new SLException(e, e.getMessage());
@@ -1,16 +1,19 @@
 package org.cloudfoundry.multiapps.controller.process.util;
 
+import java.io.BufferedInputStream;
 import java.io.InputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.zip.ZipInputStream;
 
 import org.cloudfoundry.multiapps.controller.persistence.Constants;
 
 public class ApplicationArchiveContext {
-    private final ZipInputStream zipInputStream;
+
+    private static final int BUFFER_SIZE = 64 * 1024; // 64KB
+
+    private final RawZipInputStream zipInputStream;
     private final String moduleFileName;
     private final long maxSizeInBytes;
     private long currentSizeInBytes;
@@ -18,7 +21,8 @@ public class ApplicationArchiveContext {
     private Set<String> alreadyUploadedFiles;
 
     public ApplicationArchiveContext(InputStream inputStream, String moduleFileName, long maxSizeInBytes) {
-        this.zipInputStream = new ZipInputStream(inputStream);
+        // ZipInputStream reads the underlying stream in small chunks, so it is buffered to reduce the number of reads from the file storage
+        this.zipInputStream = new RawZipInputStream(new BufferedInputStream(inputStream, BUFFER_SIZE));
         this.moduleFileName = moduleFileName;
         this.maxSizeInBytes = maxSizeInBytes;
         createDigestCalculator(Constants.DIGEST_ALGORITHM);
@@ -40,7 +44,7 @@ public class ApplicationArchiveContext {
         currentSizeInBytes += sizeInBytes;
     }
 
-    public ZipInputStream getZipInputStream() {
+    public RawZipInputStream getZipInputStream() {
         return zipInputStream;
     }
 
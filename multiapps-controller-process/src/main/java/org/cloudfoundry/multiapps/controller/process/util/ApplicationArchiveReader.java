@@ -13,7 +13,7 @@ import org.cloudfoundry.multiapps.controller.process.Messages;
 
 @Named
 public class ApplicationArchiveReader {
-    protected static final int BUFFER_SIZE = 4 * 1024; // 4KB
+    protected static final int BUFFER_SIZE = 64 * 1024; // 64KB
 
     public String calculateApplicationDigest(ApplicationArchiveContext applicationArchiveContext) {
         try {
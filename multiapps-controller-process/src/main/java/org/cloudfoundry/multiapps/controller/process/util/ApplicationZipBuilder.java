@@ -1,12 +1,12 @@
 package org.cloudfoundry.multiapps.controller.process.util;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -23,7 +23,7 @@ import org.slf4j.LoggerFactory;
 public class ApplicationZipBuilder {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ApplicationZipBuilder.class);
-    private static final int BUFFER_SIZE = 4 * 1024; // 4KB
+    private static final int BUFFER_SIZE = 64 * 1024; // 64KB
     private final ApplicationArchiveReader applicationArchiveReader;
 
     @Inject
@@ -43,8 +43,17 @@ public class ApplicationZipBuilder {
         }
     }
 
+    public ExtractedApplicationArchive extractApplication(ApplicationArchiveContext applicationArchiveContext) {
+        Path appPath = extractApplicationInNewArchive(applicationArchiveContext);
+        return ImmutableExtractedApplicationArchive.builder()
+                                                   .path(appPath)
+                                                   .digest(applicationArchiveContext.getApplicationDigestCalculator()
+                                                                                    .getDigest())
+                                                   .build();
+    }
+
     private void saveAllEntries(Path dirPath, ApplicationArchiveContext applicationArchiveContext) throws IOException {
-        try (OutputStream fileOutputStream = Files.newOutputStream(dirPath)) {
+        try (OutputStream fileOutputStream = new BufferedOutputStream(Files.newOutputStream(dirPath), BUFFER_SIZE)) {
             ZipEntry zipEntry = applicationArchiveReader.getFirstZipEntry(applicationArchiveContext);
             if (zipEntry.isDirectory()) {
                 saveAsZip(fileOutputStream, applicationArchiveContext, zipEntry);
@@ -56,28 +65,42 @@ public class ApplicationZipBuilder {
 
     private void saveAsZip(OutputStream fileOutputStream, ApplicationArchiveContext applicationArchiveContext, ZipEntry zipEntry)
         throws IOException {
-        try (ZipOutputStream zipOutputStream = new ZipOutputStream(fileOutputStream)) {
+        try (RawZipWriter zipWriter = new RawZipWriter(fileOutputStream)) {
             String moduleFileName = applicationArchiveContext.getModuleFileName();
             do {
-                if (!isAlreadyUploaded(zipEntry.getName(), applicationArchiveContext) && !zipEntry.isDirectory()) {
-                    zipOutputStream.putNextEntry(createNewZipEntry(zipEntry.getName(), moduleFileName));
-                    copy(applicationArchiveContext.getZipInputStream(), zipOutputStream, applicationArchiveContext);
-                    zipOutputStream.closeEntry();
-
+                if (!zipEntry.isDirectory()) {
+                    saveAsZipEntry(zipWriter, applicationArchiveContext, zipEntry);
                 }
             } while ((zipEntry = applicationArchiveReader.getNextEntryByName(moduleFileName, applicationArchiveContext)) != null);
         }
     }
 
-    private ZipEntry createNewZipEntry(String zipEntryName, String moduleFileName) {
-        return new UtcAdjustedZipEntry(FileUtils.getRelativePath(moduleFileName, zipEntryName));
+    private void saveAsZipEntry(RawZipWriter zipWriter, ApplicationArchiveContext applicationArchiveContext, ZipEntry zipEntry)
+        throws IOException {
+        if (isAlreadyUploaded(zipEntry.getName(), applicationArchiveContext)) {
+            applicationArchiveReader.calculateDigestFromArchive(applicationArchiveContext);
+            return;
+        }
+        String entryName = FileUtils.getRelativePath(applicationArchiveContext.getModuleFileName(), zipEntry.getName());
+        RawZipInputStream zipInputStream = applicationArchiveContext.getZipInputStream();
+        if (zipEntry.getMethod() == ZipEntry.STORED) {
+            copy(zipInputStream, zipWriter.putStoredEntry(entryName, zipEntry.getSize(), zipEntry.getCrc()), applicationArchiveContext);
+        } else {
+            // The compressed data is copied as it is and the entry is inflated only to calculate the digest of the application
+            zipInputStream.copyRawDataTo(zipWriter.putDeflatedEntry(entryName));
+            copy(zipInputStream, OutputStream.nullOutputStream(), applicationArchiveContext);
+        }
+        // The CRC and the sizes of a deflated entry are known once it has been read completely
+        zipWriter.closeEntry(zipEntry.getCrc(), zipEntry.getCompressedSize(), zipEntry.getSize());
     }
 
     private void saveToFile(OutputStream fileOutputStream, ApplicationArchiveContext applicationArchiveContext, ZipEntry zipEntry)
         throws IOException {
         String moduleFileName = applicationArchiveContext.getModuleFileName();
         do {
-            if (!isAlreadyUploaded(zipEntry.getName(), applicationArchiveContext)) {
+            if (isAlreadyUploaded(zipEntry.getName(), applicationArchiveContext)) {
+                applicationArchiveReader.calculateDigestFromArchive(applicationArchiveContext);
+            } else {
                 copy(applicationArchiveContext.getZipInputStream(), fileOutputStream, applicationArchiveContext);
             }
         } while ((zipEntry = applicationArchiveReader.getNextEntryByName(moduleFileName, applicationArchiveContext)) != null);
@@ -88,10 +111,15 @@ public class ApplicationZipBuilder {
                                         .contains(zipEntryName);
     }
 
+    /**
+     * Copies the content of the current entry and feeds it to the digest calculator of the context, so that the digest of the application
+     * is available once it is extracted, without reading the archive a second time.
+     */
     protected void copy(InputStream input, OutputStream output, ApplicationArchiveContext applicationArchiveContext) throws IOException {
         byte[] buffer = new byte[BUFFER_SIZE];
         int numberOfReadBytes = 0;
         long maxSizeInBytes = applicationArchiveContext.getMaxSizeInBytes();
+        DigestCalculator applicationDigestCalculator = applicationArchiveContext.getApplicationDigestCalculator();
         while ((numberOfReadBytes = input.read(buffer)) != -1) {
             long currentSizeInBytes = applicationArchiveContext.getCurrentSizeInBytes();
             if (currentSizeInBytes + numberOfReadBytes > maxSizeInBytes) {
@@ -99,6 +127,7 @@ public class ApplicationZipBuilder {
             }
             output.write(buffer, 0, numberOfReadBytes);
             applicationArchiveContext.calculateCurrentSizeInBytes(numberOfReadBytes);
+            applicationDigestCalculator.updateDigest(buffer, 0, numberOfReadBytes);
         }
     }
 
@@ -0,0 +1,14 @@
+package org.cloudfoundry.multiapps.controller.process.util;
+
+import java.nio.file.Path;
+
+import org.immutables.value.Value;
+
+@Value.Immutable
+public interface ExtractedApplicationArchive {
+
+    Path getPath();
+
+    String getDigest();
+
+}
@@ -0,0 +1,267 @@
+package org.cloudfoundry.multiapps.controller.process.util;
+
+import static java.text.MessageFormat.format;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.cloudfoundry.multiapps.controller.core.util.ApplicationConfiguration;
+import org.cloudfoundry.multiapps.controller.core.util.FileUtils;
+import org.cloudfoundry.multiapps.controller.persistence.model.ArchiveEntryWithStreamPositions;
+import org.cloudfoundry.multiapps.controller.persistence.services.FileService;
+import org.cloudfoundry.multiapps.controller.persistence.services.FileStorageException;
+import org.cloudfoundry.multiapps.controller.process.Messages;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Extracts the content of the modules of an MTA archive in parallel, right after the archive is processed, so that the upload of each
+ * module does not have to read the archive again. Only archives with an index are pre-extracted, since every module is then read with a
+ * ranged request, which covers only its own entries. At most as many modules of an operation as there are extraction threads are
+ * extracted at a time, so a single operation cannot fill the queue of the executor. The extracted modules are known only to the current
+ * instance, so when {@link #take(String, String)} returns nothing, the module has to be extracted by the caller.
+ */
+@Named
+public class ModulesPreExtractor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ModulesPreExtractor.class);
+    private static final Duration MAX_PRE_EXTRACTED_MODULES_AGE = Duration.ofHours(12);
+    private static final Duration MAX_WAIT_FOR_RUNNING_EXTRACTION = Duration.ofMinutes(10);
+
+    private final FileService fileService;
+    private final ApplicationZipBuilder applicationZipBuilder;
+    private final ApplicationConfiguration configuration;
+    private final ExecutorService modulesExtractionExecutor;
+    private final Map<String, OperationModules> modulesByOperation = new ConcurrentHashMap<>();
+    private final AtomicLong reservedDiskSpace = new AtomicLong();
+
+    @Inject
+    public ModulesPreExtractor(FileService fileService, ApplicationZipBuilder applicationZipBuilder, ApplicationConfiguration configuration,
+                               @Named("modulesExtractionExecutor") ExecutorService modulesExtractionExecutor) {
+        this.fileService = fileService;
+        this.applicationZipBuilder = applicationZipBuilder;
+        this.configuration = configuration;
+        this.modulesExtractionExecutor = modulesExtractionExecutor;
+    }
+
+    public void extractModules(String correlationId, String spaceGuid, String appArchiveId, Collection<String> moduleFileNames)
+        throws FileStorageException {
+        discardExpiredModules();
+        discard(correlationId);
+        List<ArchiveEntryWithStreamPositions> archiveIndex = fileService.getArchiveIndex(spaceGuid, appArchiveId);
+        if (archiveIndex.isEmpty()) {
+            LOGGER.debug(format(Messages.ARCHIVE_WITH_ID_0_HAS_NO_INDEX_MODULES_WILL_NOT_BE_PRE_EXTRACTED, appArchiveId));
+            return;
+        }
+        LOGGER.debug(format(Messages.PRE_EXTRACTING_MODULES_0_OF_OPERATION_1, moduleFileNames, correlationId));
+        OperationModules operationModules = new OperationModules();
+        for (String moduleFileName : moduleFileNames) {
+            long moduleSize = getModuleSize(archiveIndex, moduleFileName);
+            if (moduleSize > 0) {
+                ModuleExtraction extraction = new ModuleExtraction(() -> extractModule(spaceGuid, appArchiveId, moduleFileName,
+                                                                                       moduleSize));
+                operationModules.extractions.put(moduleFileName, extraction);
+                operationModules.pendingExtractions.add(extraction);
+            }
+        }
+        modulesByOperation.put(correlationId, operationModules);
+        for (int i = 0; i < Math.max(1, configuration.getModulesExtractionMaxThreads()); i++) {
+            submitNextExtraction(operationModules);
+        }
+    }
+
+    private void submitNextExtraction(OperationModules operationModules) {
+        ModuleExtraction extraction = operationModules.pendingExtractions.poll();
+        if (extraction == null) {
+            return;
+        }
+        // Cancelled extractions are already complete, so the next module is submitted in their place
+        extraction.result.whenComplete((module, e) -> submitNextExtraction(operationModules));
+        if (extraction.result.isDone()) {
+            return;
+        }
+        try {
+            modulesExtractionExecutor.execute(extraction);
+        } catch (RejectedExecutionException e) {
+            extraction.cancelIfNotStarted();
+        }
+    }
+
+    private long getModuleSize(List<ArchiveEntryWithStreamPositions> archiveIndex, String moduleFileName) {
+        return archiveIndex.stream()
+                           .filter(entry -> entry.getName()
+                                                 .startsWith(moduleFileName))
+                           .mapToLong(this::getExtractedEntrySize)
+                           .sum();
+    }
+
+    private long getExtractedEntrySize(ArchiveEntryWithStreamPositions entry) {
+        // Indexes stored before the uncompressed sizes were recorded report 0, so the stored size is a lower bound
+        return Math.max(entry.getUncompressedSize(), entry.getEndPosition() - entry.getStartPosition());
+    }
+
+    private ExtractedApplicationArchive extractModule(String spaceGuid, String appArchiveId, String moduleFileName, long moduleSize)
+        throws FileStorageException, IOException {
+        if (!reserveDiskSpace(moduleSize)) {
+            LOGGER.info(format(Messages.NOT_ENOUGH_DISK_SPACE_TO_PRE_EXTRACT_MODULE_0, moduleFileName));
+            return null;
+        }
+        try {
+            return fileService.processArchiveEntriesContent(spaceGuid, appArchiveId, moduleFileName, appArchiveStream -> {
+                ApplicationArchiveContext applicationArchiveContext = new ApplicationArchiveContext(appArchiveStream, moduleFileName,
+                                                                                                    configuration.getMaxResourceFileSize());
+                return applicationZipBuilder.extractApplication(applicationArchiveContext);
+            });
+        } finally {
+            reservedDiskSpace.addAndGet(-moduleSize);
+        }
+    }
+
+    private boolean reserveDiskSpace(long moduleSize) throws IOException {
+        long usableDiskSpace = Files.getFileStore(getTempDirectory())
+                                    .getUsableSpace();
+        long reserved = reservedDiskSpace.addAndGet(moduleSize);
+        if (usableDiskSpace - reserved < configuration.getModulesExtractionMinFreeDiskSpace()) {
+            reservedDiskSpace.addAndGet(-moduleSize);
+            return false;
+        }
+        return true;
+    }
+
+    protected Path getTempDirectory() {
+        return Path.of(System.getProperty("java.io.tmpdir"));
+    }
+
+    /**
+     * Returns the pre-extracted module, waiting for its extraction if it is already running. An extraction which has not started yet is
+     * cancelled, so the caller extracts the module directly instead of waiting for the other modules to be extracted first.
+     */
+    public Optional<ExtractedApplicationArchive> take(String correlationId, String moduleFileName) {
+        OperationModules operationModules = modulesByOperation.get(correlationId);
+        if (operationModules == null) {
+            return Optional.empty();
+        }
+        ModuleExtraction extraction = operationModules.extractions.remove(moduleFileName);
+        if (extraction == null) {
+            return Optional.empty();
+        }
+        if (extraction.cancelIfNotStarted()) {
+            return Optional.empty();
+        }
+        return getExtractedModule(moduleFileName, extraction).filter(module -> Files.exists(module.getPath()));
+    }
+
+    public void discard(String correlationId) {
+        OperationModules operationModules = modulesByOperation.remove(correlationId);
+        if (operationModules != null) {
+            operationModules.pendingExtractions.clear();
+            operationModules.extractions.forEach(this::discard);
+        }
+    }
+
+    private void discard(String moduleFileName, ModuleExtraction extraction) {
+        if (extraction.cancelIfNotStarted()) {
+            return;
+        }
+        // A running extraction cannot be interrupted safely, so its module is deleted as soon as it completes
+        extraction.result.whenComplete((module, e) -> {
+            if (e != null) {
+                LOGGER.warn(format(Messages.COULD_NOT_PRE_EXTRACT_MODULE_0, moduleFileName), e);
+            } else if (module != null) {
+                FileUtils.cleanUp(module.getPath(), LOGGER);
+            }
+        });
+    }
+
+    private void discardExpiredModules() {
+        Instant expirationTime = Instant.now()
+                                        .minus(MAX_PRE_EXTRACTED_MODULES_AGE);
+        modulesByOperation.entrySet()
+                          .stream()
+                          .filter(operationModules -> operationModules.getValue().createdAt.isBefore(expirationTime))
+                          .map(Map.Entry::getKey)
+                          .toList()
+                          .forEach(this::discard);
+    }
+
+    private Optional<ExtractedApplicationArchive> getExtractedModule(String moduleFileName, ModuleExtraction extraction) {
+        try {
+            return Optional.ofNullable(extraction.result.get(MAX_WAIT_FOR_RUNNING_EXTRACTION.toMillis(), TimeUnit.MILLISECONDS));
+        } catch (ExecutionException e) {
+            LOGGER.warn(format(Messages.COULD_NOT_PRE_EXTRACT_MODULE_0, moduleFileName), e.getCause());
+        } catch (TimeoutException e) {
+            LOGGER.warn(format(Messages.PRE_EXTRACTION_OF_MODULE_0_DID_NOT_COMPLETE_IN_1_SECONDS, moduleFileName,
+                               MAX_WAIT_FOR_RUNNING_EXTRACTION.toSeconds()));
+            discard(moduleFileName, extraction);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            discard(moduleFileName, extraction);
+        }
+        return Optional.empty();
+    }
+
+    private static class OperationModules {
+
+        private final Instant createdAt = Instant.now();
+        private final Map<String, ModuleExtraction> extractions = new ConcurrentHashMap<>();
+        private final Queue<ModuleExtraction> pendingExtractions = new ConcurrentLinkedQueue<>();
+
+    }
+
+    private static class ModuleExtraction implements Runnable {
+
+        // Set either when the extraction starts or when it is cancelled, whichever happens first
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CompletableFuture<ExtractedApplicationArchive> result = new CompletableFuture<>();
+        private final Callable<ExtractedApplicationArchive> extractor;
+
+        ModuleExtraction(Callable<ExtractedApplicationArchive> extractor) {
+            this.extractor = extractor;
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                result.complete(extractor.call());
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        boolean cancelIfNotStarted() {
+            if (!claimed.compareAndSet(false, true)) {
+                return false;
+            }
+            result.complete(null);
+            return true;
+        }
+
+    }
+
+}
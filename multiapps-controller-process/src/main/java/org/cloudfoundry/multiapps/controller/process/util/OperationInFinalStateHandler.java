@@ -21,6 +21,7 @@ import org.cloudfoundry.multiapps.controller.persistence.services.FileService;
 import org.cloudfoundry.multiapps.controller.persistence.services.FileStorageException;
 import org.cloudfoundry.multiapps.controller.persistence.services.HistoricOperationEventService;
 import org.cloudfoundry.multiapps.controller.persistence.services.OperationService;
+import org.cloudfoundry.multiapps.controller.persistence.services.ProcessLogsPersistenceService;
 import org.cloudfoundry.multiapps.controller.process.Messages;
 import org.cloudfoundry.multiapps.controller.process.dynatrace.DynatraceProcessDuration;
 import org.cloudfoundry.multiapps.controller.process.dynatrace.DynatracePublisher;
@@ -49,6 +50,10 @@ public class OperationInFinalStateHandler {
     private OperationTimeAggregator operationTimeAggregator;
     @Inject
     private DynatracePublisher dynatracePublisher;
+    @Inject
+    private ModulesPreExtractor modulesPreExtractor;
+    @Inject
+    private ProcessLogsPersistenceService processLogsPersistenceService;
     private final SafeExecutor safeExecutor = new SafeExecutor();
 
     public void handle(DelegateExecution execution, ProcessType processType, Operation.State state) {
@@ -58,7 +63,10 @@ public class OperationInFinalStateHandler {
     private void handleInternal(DelegateExecution execution, ProcessType processType, Operation.State state) {
         String correlationId = VariableHandling.get(execution, Variables.CORRELATION_ID);
         safeExecutor.execute(() -> deleteDeploymentFiles(execution));
+        safeExecutor.execute(() -> modulesPreExtractor.discard(correlationId));
         safeExecutor.execute(() -> deleteCloudControllerClientForProcess(execution));
+        // The logs of the operation must be complete when its final state is visible, even if they are read from another instance
+        safeExecutor.execute(processLogsPersistenceService::flushLogs);
         safeExecutor.execute(() -> setOperationState(correlationId, state));
         safeExecutor.execute(() -> trackOperationDuration(correlationId, execution, processType, state));
     }
@@ -0,0 +1,99 @@
+package org.cloudfoundry.multiapps.controller.process.util;
+
+import java.text.MessageFormat;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.cloudfoundry.multiapps.controller.core.util.ApplicationConfiguration;
+import org.cloudfoundry.multiapps.controller.persistence.model.HistoricOperationEvent;
+import org.cloudfoundry.multiapps.controller.persistence.query.HistoricOperationEventQuery;
+import org.cloudfoundry.multiapps.controller.persistence.services.HistoricOperationEventService;
+import org.cloudfoundry.multiapps.controller.process.Messages;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Keeps the IDs of recently aborted processes in memory, so that steps do not have to query the historic operation events before each
+ * execution. Aborts executed by this instance are known immediately, while aborts executed by other instances are loaded with a single
+ * query once per polling interval. If the aborts have not been loaded recently, the historic operation events are queried directly.
+ */
+@Named
+public class ProcessAbortSignalRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProcessAbortSignalRegistry.class);
+
+    // Covers the clock difference between instances and the time between adding an event and committing it
+    static final long REFRESH_OVERLAP_IN_SECONDS = 60;
+    static final long RETENTION_IN_HOURS = 1;
+    static final int MAX_MISSED_REFRESHES = 3;
+
+    private final Map<String, LocalDateTime> abortedProcesses = new ConcurrentHashMap<>();
+    private final HistoricOperationEventService historicOperationEventService;
+    private final ApplicationConfiguration configuration;
+    private volatile LocalDateTime lastRefreshTime;
+
+    @Inject
+    public ProcessAbortSignalRegistry(HistoricOperationEventService historicOperationEventService, ApplicationConfiguration configuration) {
+        this.historicOperationEventService = historicOperationEventService;
+        this.configuration = configuration;
+    }
+
+    public void signalAbort(String processId) {
+        abortedProcesses.put(processId, LocalDateTime.now());
+    }
+
+    public boolean isAborted(String processId) {
+        if (abortedProcesses.containsKey(processId)) {
+            return true;
+        }
+        if (isRefreshedRecently()) {
+            return false;
+        }
+        return !getAbortExecutedEventsQuery().processId(processId)
+                                             .list()
+                                             .isEmpty();
+    }
+
+    private boolean isRefreshedRecently() {
+        LocalDateTime refreshTime = lastRefreshTime;
+        long maxRefreshAgeInSeconds = (long) MAX_MISSED_REFRESHES * configuration.getStepPollingIntervalInSeconds();
+        return refreshTime != null && refreshTime.isAfter(LocalDateTime.now()
+                                                                       .minusSeconds(maxRefreshAgeInSeconds));
+    }
+
+    @Scheduled(fixedRateString = "#{@applicationConfiguration.getStepPollingIntervalInSeconds()}", timeUnit = TimeUnit.SECONDS)
+    public void refresh() {
+        LocalDateTime refreshTime = LocalDateTime.now();
+        LocalDateTime retentionStart = refreshTime.minusHours(RETENTION_IN_HOURS);
+        try {
+            List<HistoricOperationEvent> abortExecutedEvents = getAbortExecutedEventsQuery().newerThan(getRefreshStart(retentionStart))
+                                                                                            .list();
+            abortExecutedEvents.forEach(event -> abortedProcesses.putIfAbsent(event.getProcessId(), event.getTimestamp()));
+            lastRefreshTime = refreshTime;
+        } catch (RuntimeException e) {
+            LOGGER.warn(MessageFormat.format(Messages.COULD_NOT_LOAD_ABORTED_PROCESSES, e.getMessage()), e);
+        }
+        abortedProcesses.values()
+                        .removeIf(abortTime -> abortTime.isBefore(retentionStart));
+    }
+
+    private LocalDateTime getRefreshStart(LocalDateTime retentionStart) {
+        if (lastRefreshTime == null) {
+            return retentionStart;
+        }
+        return lastRefreshTime.minusSeconds(REFRESH_OVERLAP_IN_SECONDS);
+    }
+
+    private HistoricOperationEventQuery getAbortExecutedEventsQuery() {
+        return historicOperationEventService.createQuery()
+                                            .type(HistoricOperationEvent.EventType.ABORT_EXECUTED);
+    }
+
+}
@@ -0,0 +1,55 @@
+package org.cloudfoundry.multiapps.controller.process.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.ZipInputStream;
+
+/**
+ * A {@link ZipInputStream} which can also copy the compressed data of the current deflated entry while the entry is being read, so that
+ * the entry can be written to another archive without being compressed again. The compressed data is taken from the input passed to the
+ * inflater, which is always consumed completely before more input is read, except for the last input of the entry, whose remainder
+ * belongs to the data descriptor or to the next entry.
+ */
+public class RawZipInputStream extends ZipInputStream {
+
+    private OutputStream rawDataOutput;
+    private int pendingRawDataLength;
+
+    public RawZipInputStream(InputStream inputStream) {
+        super(inputStream);
+    }
+
+    /**
+     * Copies the compressed data of the current entry to the given output, until the end of the entry is read.
+     */
+    public void copyRawDataTo(OutputStream rawDataOutput) {
+        this.rawDataOutput = rawDataOutput;
+        this.pendingRawDataLength = 0;
+    }
+
+    @Override
+    protected void fill() throws IOException {
+        writePendingRawData(pendingRawDataLength);
+        super.fill();
+        pendingRawDataLength = len;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int length) throws IOException {
+        int numberOfReadBytes = super.read(b, off, length);
+        if (numberOfReadBytes == -1 && rawDataOutput != null) {
+            writePendingRawData(pendingRawDataLength - inf.getRemaining());
+            rawDataOutput = null;
+        }
+        return numberOfReadBytes;
+    }
+
+    private void writePendingRawData(int length) throws IOException {
+        if (rawDataOutput != null && length > 0) {
+            rawDataOutput.write(buf, 0, length);
+        }
+        pendingRawDataLength = 0;
+    }
+
+}
@@ -0,0 +1,280 @@
+package org.cloudfoundry.multiapps.controller.process.util;
+
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+import org.cloudfoundry.multiapps.controller.process.Messages;
+
+/**
+ * Writes a ZIP archive from entry data which is already in its final form. Stored entries are written with their known size and CRC and
+ * deflated entries are written with the compressed data of another archive followed by a data descriptor, so no entry is compressed again.
+ * All entries get the same timestamp, so archives with the same content are identical.
+ */
+public class RawZipWriter implements Closeable {
+
+    private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+    private static final int DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+    private static final int CENTRAL_DIRECTORY_FILE_HEADER_SIGNATURE = 0x02014b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+
+    private static final int LOCAL_FILE_HEADER_SIZE = 30;
+    private static final int CENTRAL_DIRECTORY_FILE_HEADER_SIZE = 46;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE = 56;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE = 20;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+
+    private static final int VERSION = 20;
+    private static final int ZIP64_VERSION = 45;
+    private static final int DATA_DESCRIPTOR_FLAG = 0x0008;
+    private static final int UTF8_NAME_FLAG = 0x0800;
+    private static final int MIN_DOS_TIME = (1 << 21) | (1 << 16); // 1980-01-01 00:00:00
+    private static final int ZIP64_EXTENDED_INFORMATION_TAG = 0x0001;
+    private static final long ZIP64_MAGIC_VALUE = 0xFFFFFFFFL;
+    private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+    private final OutputStream output;
+    private final List<EntryRecord> entries = new ArrayList<>();
+    private long position;
+    private EntryRecord currentEntry;
+
+    public RawZipWriter(OutputStream output) {
+        this.output = output;
+    }
+
+    /**
+     * Starts a stored entry. Exactly {@code size} bytes with the given CRC have to be written to the returned stream.
+     */
+    public OutputStream putStoredEntry(String name, long size, long crc) throws IOException {
+        EntryRecord entry = new EntryRecord(name, ZipEntry.STORED, UTF8_NAME_FLAG, position);
+        entry.crc = crc;
+        entry.size = size;
+        entry.compressedSize = size;
+        boolean zip64 = size >= ZIP64_MAGIC_VALUE;
+        byte[] extra = zip64 ? createZip64ExtraField(size, size) : new byte[0];
+        ByteBuffer header = createLocalFileHeader(entry, zip64 ? ZIP64_VERSION : VERSION, extra.length);
+        header.putInt((int) crc)
+              .putInt((int) Math.min(size, ZIP64_MAGIC_VALUE))
+              .putInt((int) Math.min(size, ZIP64_MAGIC_VALUE))
+              .putShort((short) entry.name.length)
+              .putShort((short) extra.length);
+        writeHeader(header, entry.name, extra);
+        return startEntry(entry);
+    }
+
+    /**
+     * Starts a deflated entry. The compressed data has to be written to the returned stream and its CRC and sizes are written after it,
+     * when the entry is closed.
+     */
+    public OutputStream putDeflatedEntry(String name) throws IOException {
+        EntryRecord entry = new EntryRecord(name, ZipEntry.DEFLATED, UTF8_NAME_FLAG | DATA_DESCRIPTOR_FLAG, position);
+        ByteBuffer header = createLocalFileHeader(entry, VERSION, 0);
+        header.putInt(0)
+              .putInt(0)
+              .putInt(0)
+              .putShort((short) entry.name.length)
+              .putShort((short) 0);
+        writeHeader(header, entry.name, new byte[0]);
+        return startEntry(entry);
+    }
+
+    private ByteBuffer createLocalFileHeader(EntryRecord entry, int version, int extraFieldLength) {
+        return createBuffer(LOCAL_FILE_HEADER_SIZE + entry.name.length + extraFieldLength).putInt(LOCAL_FILE_HEADER_SIGNATURE)
+                                                                                         .putShort((short) version)
+                                                                                         .putShort((short) entry.flags)
+                                                                                         .putShort((short) entry.method)
+                                                                                         .putInt(MIN_DOS_TIME);
+    }
+
+    private OutputStream startEntry(EntryRecord entry) {
+        currentEntry = entry;
+        entries.add(entry);
+        return new FilterOutputStream(output) {
+
+            @Override
+            public void write(int b) throws IOException {
+                output.write(b);
+                entry.writtenSize++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                output.write(b, off, len);
+                entry.writtenSize += len;
+            }
+
+            @Override
+            public void close() {
+                // The entry is closed with closeEntry, the archive with close
+            }
+
+        };
+    }
+
+    /**
+     * Completes the current entry. The values are the ones of the original entry and are checked against the data which was written.
+     */
+    public void closeEntry(long crc, long compressedSize, long size) throws IOException {
+        EntryRecord entry = currentEntry;
+        currentEntry = null;
+        position += entry.writtenSize;
+        if (entry.writtenSize != compressedSize) {
+            throw new ZipException(MessageFormat.format(Messages.INVALID_SIZE_OF_ZIP_ENTRY_0_EXPECTED_1_BYTES_BUT_GOT_2,
+                                                        new String(entry.name, StandardCharsets.UTF_8), compressedSize, entry.writtenSize));
+        }
+        if (entry.method == ZipEntry.STORED) {
+            return;
+        }
+        entry.crc = crc;
+        entry.compressedSize = compressedSize;
+        entry.size = size;
+        boolean zip64 = compressedSize >= ZIP64_MAGIC_VALUE || size >= ZIP64_MAGIC_VALUE;
+        ByteBuffer dataDescriptor = createBuffer(zip64 ? 24 : 16).putInt(DATA_DESCRIPTOR_SIGNATURE)
+                                                                 .putInt((int) crc);
+        if (zip64) {
+            dataDescriptor.putLong(compressedSize)
+                          .putLong(size);
+        } else {
+            dataDescriptor.putInt((int) compressedSize)
+                          .putInt((int) size);
+        }
+        write(dataDescriptor.array());
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            long centralDirectoryOffset = position;
+            for (EntryRecord entry : entries) {
+                writeCentralDirectoryFileHeader(entry);
+            }
+            writeEndOfCentralDirectory(centralDirectoryOffset, position - centralDirectoryOffset);
+        } finally {
+            output.close();
+        }
+    }
+
+    private void writeCentralDirectoryFileHeader(EntryRecord entry) throws IOException {
+        List<Long> zip64Values = new ArrayList<>();
+        for (long value : new long[] { entry.size, entry.compressedSize, entry.offset }) {
+            if (value >= ZIP64_MAGIC_VALUE) {
+                zip64Values.add(value);
+            }
+        }
+        byte[] extra = new byte[0];
+        if (!zip64Values.isEmpty()) {
+            ByteBuffer extraBuffer = createBuffer(4 + zip64Values.size() * Long.BYTES).putShort((short) ZIP64_EXTENDED_INFORMATION_TAG)
+                                                                                      .putShort((short) (zip64Values.size() * Long.BYTES));
+            zip64Values.forEach(extraBuffer::putLong);
+            extra = extraBuffer.array();
+        }
+        int version = zip64Values.isEmpty() ? VERSION : ZIP64_VERSION;
+        ByteBuffer header = createBuffer(CENTRAL_DIRECTORY_FILE_HEADER_SIZE + entry.name.length + extra.length);
+        header.putInt(CENTRAL_DIRECTORY_FILE_HEADER_SIGNATURE)
+              .putShort((short) version)
+              .putShort((short) version)
+              .putShort((short) entry.flags)
+              .putShort((short) entry.method)
+              .putInt(MIN_DOS_TIME)
+              .putInt((int) entry.crc)
+              .putInt((int) Math.min(entry.compressedSize, ZIP64_MAGIC_VALUE))
+              .putInt((int) Math.min(entry.size, ZIP64_MAGIC_VALUE))
+              .putShort((short) entry.name.length)
+              .putShort((short) extra.length)
+              .putShort((short) 0) // comment length
+              .putShort((short) 0) // disk number
+              .putShort((short) 0) // internal attributes
+              .putInt(0) // external attributes
+              .putInt((int) Math.min(entry.offset, ZIP64_MAGIC_VALUE));
+        writeHeader(header, entry.name, extra);
+    }
+
+    private void writeEndOfCentralDirectory(long centralDirectoryOffset, long centralDirectorySize) throws IOException {
+        int entriesCount = entries.size();
+        if (entriesCount >= ZIP64_MAGIC_COUNT || centralDirectoryOffset >= ZIP64_MAGIC_VALUE
+            || centralDirectorySize >= ZIP64_MAGIC_VALUE) {
+            long zip64EndOfCentralDirectoryOffset = position;
+            write(createBuffer(ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE).putInt(ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE)
+                                                                   .putLong(ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE - 12)
+                                                                   .putShort((short) ZIP64_VERSION)
+                                                                   .putShort((short) ZIP64_VERSION)
+                                                                   .putInt(0) // disk number
+                                                                   .putInt(0) // disk with the central directory
+                                                                   .putLong(entriesCount)
+                                                                   .putLong(entriesCount)
+                                                                   .putLong(centralDirectorySize)
+                                                                   .putLong(centralDirectoryOffset)
+                                                                   .array());
+            write(createBuffer(ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE).putInt(ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE)
+                                                                           .putInt(0) // disk with the zip64 end of central directory
+                                                                           .putLong(zip64EndOfCentralDirectoryOffset)
+                                                                           .putInt(1) // total number of disks
+                                                                           .array());
+        }
+        write(createBuffer(END_OF_CENTRAL_DIRECTORY_SIZE).putInt(END_OF_CENTRAL_DIRECTORY_SIGNATURE)
+                                                         .putShort((short) 0) // disk number
+                                                         .putShort((short) 0) // disk with the central directory
+                                                         .putShort((short) Math.min(entriesCount, ZIP64_MAGIC_COUNT))
+                                                         .putShort((short) Math.min(entriesCount, ZIP64_MAGIC_COUNT))
+                                                         .putInt((int) Math.min(centralDirectorySize, ZIP64_MAGIC_VALUE))
+                                                         .putInt((int) Math.min(centralDirectoryOffset, ZIP64_MAGIC_VALUE))
+                                                         .putShort((short) 0) // comment length
+                                                         .array());
+    }
+
+    private byte[] createZip64ExtraField(long size, long compressedSize) {
+        return createBuffer(20).putShort((short) ZIP64_EXTENDED_INFORMATION_TAG)
+                               .putShort((short) 16)
+                               .putLong(size)
+                               .putLong(compressedSize)
+                               .array();
+    }
+
+    private void writeHeader(ByteBuffer header, byte[] name, byte[] extra) throws IOException {
+        header.put(name)
+              .put(extra);
+        write(header.array());
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        output.write(bytes);
+        position += bytes.length;
+    }
+
+    private static ByteBuffer createBuffer(int size) {
+        return ByteBuffer.allocate(size)
+                         .order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static class EntryRecord {
+
+        private final byte[] name;
+        private final int method;
+        private final int flags;
+        private final long offset;
+        private long crc;
+        private long compressedSize;
+        private long size;
+        private long writtenSize;
+
+        EntryRecord(String name, int method, int flags, long offset) {
+            this.name = name.getBytes(StandardCharsets.UTF_8);
+            this.method = method;
+            this.flags = flags;
+            this.offset = offset;
+        }
+
+    }
+
+}
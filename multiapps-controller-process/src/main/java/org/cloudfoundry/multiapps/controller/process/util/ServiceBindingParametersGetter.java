@@ -89,7 +89,7 @@ public class ServiceBindingParametersGetter {
                 throw new SLException(e, Messages.ERROR_RETRIEVING_MTA_REQUIRED_DEPENDENCY_CONTENT, fileName);
             }
         };
-        return fileService.processFileContent(context.getVariable(Variables.SPACE_GUID), archiveId, fileProcessor);
+        return fileService.processArchiveEntriesContent(context.getVariable(Variables.SPACE_GUID), archiveId, fileName, fileProcessor);
     }
 
     private Map<String, Object> getDescriptorProvidedBindingParameters(CloudApplicationExtended app, CloudServiceInstanceExtended service) {
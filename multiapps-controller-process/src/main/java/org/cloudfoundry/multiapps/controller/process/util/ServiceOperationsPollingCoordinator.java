@@ -0,0 +1,212 @@
+package org.cloudfoundry.multiapps.controller.process.util;
+
+import java.text.MessageFormat;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.cloudfoundry.multiapps.controller.core.cf.clients.ServiceInstancesLastOperationGetter;
+import org.cloudfoundry.multiapps.controller.core.cf.clients.WebClientFactory;
+import org.cloudfoundry.multiapps.controller.core.security.token.TokenService;
+import org.cloudfoundry.multiapps.controller.core.util.ApplicationConfiguration;
+import org.cloudfoundry.multiapps.controller.process.Messages;
+import org.cloudfoundry.multiapps.controller.process.flowable.FlowableFacade;
+import org.cloudfoundry.multiapps.controller.process.steps.ProcessContext;
+import org.cloudfoundry.multiapps.controller.process.variables.Variables;
+import org.flowable.engine.delegate.DelegateExecution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.sap.cloudfoundry.client.facade.CloudCredentials;
+import com.sap.cloudfoundry.client.facade.domain.ServiceOperation;
+
+/**
+ * Polls the operations of the services, on which executions of this instance wait, with one request per user and space, instead of one
+ * request per service and execution. An execution is woken up as soon as the operation of any of its services is no longer in progress.
+ * Waiting executions keep a timer with a longer duration, so that they still poll on their own if this instance is stopped or the batched
+ * polling fails.
+ */
+@Named
+public class ServiceOperationsPollingCoordinator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServiceOperationsPollingCoordinator.class);
+
+    static final int FALLBACK_POLLING_INTERVAL_MULTIPLIER = 6;
+
+    private final Map<String, WatchedExecution> watchedExecutions = new ConcurrentHashMap<>();
+    private final ApplicationConfiguration configuration;
+    private final WebClientFactory webClientFactory;
+    private final TokenService tokenService;
+    private final FlowableFacade flowableFacade;
+
+    @Inject
+    public ServiceOperationsPollingCoordinator(ApplicationConfiguration configuration, WebClientFactory webClientFactory,
+                                               TokenService tokenService, FlowableFacade flowableFacade) {
+        this.configuration = configuration;
+        this.webClientFactory = webClientFactory;
+        this.tokenService = tokenService;
+        this.flowableFacade = flowableFacade;
+    }
+
+    public void watch(ProcessContext context, Collection<String> serviceNames) {
+        String executionId = context.getExecution()
+                                    .getId();
+        watchedExecutions.put(executionId, new WatchedExecution(executionId,
+                                                                context.getVariable(Variables.USER),
+                                                                context.getVariable(Variables.SPACE_GUID),
+                                                                context.getVariable(Variables.CORRELATION_ID),
+                                                                Set.copyOf(serviceNames),
+                                                                Instant.now()));
+    }
+
+    public void unwatch(ProcessContext context) {
+        watchedExecutions.remove(context.getExecution()
+                                        .getId());
+    }
+
+    /**
+     * Used in the timer definitions of the processes, which wait for service operations.
+     */
+    public int getPollingIntervalInSeconds(DelegateExecution execution) {
+        int pollingInterval = configuration.getStepPollingIntervalInSeconds();
+        if (watchedExecutions.containsKey(execution.getId())) {
+            return pollingInterval * FALLBACK_POLLING_INTERVAL_MULTIPLIER;
+        }
+        return pollingInterval;
+    }
+
+    @Scheduled(fixedRateString = "#{@applicationConfiguration.getStepPollingIntervalInSeconds()}", timeUnit = TimeUnit.SECONDS)
+    public void pollServiceOperations() {
+        removeExpiredExecutions();
+        Map<WatchedSpace, List<WatchedExecution>> executionsBySpace = watchedExecutions.values()
+                                                                                       .stream()
+                                                                                       .collect(Collectors.groupingBy(WatchedSpace::new));
+        executionsBySpace.forEach(this::pollServiceOperations);
+    }
+
+    private void removeExpiredExecutions() {
+        long expirationInSeconds = 2L * FALLBACK_POLLING_INTERVAL_MULTIPLIER * configuration.getStepPollingIntervalInSeconds();
+        Instant expiredBefore = Instant.now()
+                                       .minusSeconds(expirationInSeconds);
+        watchedExecutions.values()
+                         .removeIf(watchedExecution -> watchedExecution.watchedSince.isBefore(expiredBefore));
+    }
+
+    private void pollServiceOperations(WatchedSpace space, List<WatchedExecution> executions) {
+        Set<String> serviceNames = executions.stream()
+                                             .flatMap(execution -> execution.serviceNames.stream())
+                                             .collect(Collectors.toSet());
+        Map<String, ServiceOperation> lastOperations;
+        try {
+            lastOperations = getLastOperations(space, serviceNames);
+        } catch (RuntimeException e) {
+            LOGGER.warn(MessageFormat.format(Messages.COULD_NOT_POLL_SERVICE_OPERATIONS_IN_SPACE_0_WAKING_UP_1_EXECUTIONS, space.spaceGuid,
+                                             executions.size()),
+                        e);
+            executions.forEach(this::wakeUp);
+            return;
+        }
+        for (WatchedExecution execution : executions) {
+            List<String> changedServices = getServicesWithChangedOperations(execution, lastOperations);
+            if (!changedServices.isEmpty()) {
+                LOGGER.debug(MessageFormat.format(Messages.OPERATIONS_OF_SERVICES_0_CHANGED_WAKING_UP_EXECUTION_1, changedServices,
+                                                  execution.executionId));
+                wakeUp(execution);
+            }
+        }
+    }
+
+    private Map<String, ServiceOperation> getLastOperations(WatchedSpace space, Collection<String> serviceNames) {
+        var token = tokenService.getToken(space.user);
+        var credentials = new CloudCredentials(token, true);
+        return getServiceInstancesLastOperationGetter(credentials, space.correlationId).getLastOperations(space.spaceGuid, serviceNames);
+    }
+
+    protected ServiceInstancesLastOperationGetter getServiceInstancesLastOperationGetter(CloudCredentials credentials,
+                                                                                        String correlationId) {
+        return new ServiceInstancesLastOperationGetter(configuration, webClientFactory, credentials, correlationId);
+    }
+
+    private List<String> getServicesWithChangedOperations(WatchedExecution execution, Map<String, ServiceOperation> lastOperations) {
+        List<String> changedServices = new ArrayList<>();
+        for (String serviceName : execution.serviceNames) {
+            ServiceOperation lastOperation = lastOperations.get(serviceName);
+            if (lastOperation == null || !isInProgress(lastOperation)) {
+                changedServices.add(serviceName);
+            }
+        }
+        return changedServices;
+    }
+
+    private boolean isInProgress(ServiceOperation lastOperation) {
+        return lastOperation.getState() == ServiceOperation.State.INITIAL || lastOperation.getState() == ServiceOperation.State.IN_PROGRESS;
+    }
+
+    // The execution keeps being watched until its timer is found, as the transaction which created the timer may not be committed yet
+    private void wakeUp(WatchedExecution execution) {
+        if (flowableFacade.fireTimersNow(execution.executionId)) {
+            watchedExecutions.remove(execution.executionId, execution);
+        }
+    }
+
+    private static class WatchedExecution {
+
+        private final String executionId;
+        private final String user;
+        private final String spaceGuid;
+        private final String correlationId;
+        private final Set<String> serviceNames;
+        private final Instant watchedSince;
+
+        WatchedExecution(String executionId, String user, String spaceGuid, String correlationId, Set<String> serviceNames,
+                         Instant watchedSince) {
+            this.executionId = executionId;
+            this.user = user;
+            this.spaceGuid = spaceGuid;
+            this.correlationId = correlationId;
+            this.serviceNames = serviceNames;
+            this.watchedSince = watchedSince;
+        }
+    }
+
+    private static class WatchedSpace {
+
+        private final String user;
+        private final String spaceGuid;
+        private final String correlationId;
+
+        WatchedSpace(WatchedExecution execution) {
+            this.user = execution.user;
+            this.spaceGuid = execution.spaceGuid;
+            this.correlationId = execution.correlationId;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof WatchedSpace)) {
+                return false;
+            }
+            WatchedSpace other = (WatchedSpace) object;
+            return user.equals(other.user) && spaceGuid.equals(other.spaceGuid);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * user.hashCode() + spaceGuid.hashCode();
+        }
+    }
+
+}
@@ -18,6 +18,7 @@ import org.cloudfoundry.multiapps.controller.persistence.services.HistoricOperat
 import org.cloudfoundry.multiapps.controller.persistence.services.ProgressMessageService;
 import org.cloudfoundry.multiapps.controller.process.dynatrace.DynatraceProcessEvent;
 import org.cloudfoundry.multiapps.controller.process.dynatrace.DynatracePublisher;
+import org.cloudfoundry.multiapps.controller.process.util.ProcessAbortSignalRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -37,6 +38,8 @@ class AbortProcessActionTest extends ProcessActionTest {
     private ProgressMessage progressMessage;
     @Mock
     private DynatracePublisher dynatracePublisher;
+    @Mock
+    private ProcessAbortSignalRegistry processAbortSignalRegistry;
 
     private static final String SPACE_ID = "9ba1dfc7-9c2c-40d5-8bf9-fd04fa7a1722";
     private static final String MTA_ID = "my-mta";
@@ -59,6 +62,8 @@ class AbortProcessActionTest extends ProcessActionTest {
                .add(ImmutableHistoricOperationEvent.of(PROCESS_GUID, HistoricOperationEvent.EventType.ABORTED));
         Mockito.verify(historicOperationEventService)
                .add(ImmutableHistoricOperationEvent.of(PROCESS_GUID, HistoricOperationEvent.EventType.ABORT_EXECUTED));
+        Mockito.verify(processAbortSignalRegistry)
+               .signalAbort(PROCESS_GUID);
     }
 
     @Test
@@ -113,6 +118,7 @@ class AbortProcessActionTest extends ProcessActionTest {
                                       operationService,
                                       cloudControllerClientProvider,
                                       progressMessageService,
-                                      dynatracePublisher);
+                                      dynatracePublisher,
+                                      processAbortSignalRegistry);
     }
 }
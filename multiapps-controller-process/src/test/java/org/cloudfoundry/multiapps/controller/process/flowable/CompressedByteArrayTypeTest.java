@@ -0,0 +1,56 @@
+package org.cloudfoundry.multiapps.controller.process.flowable;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.flowable.variable.api.types.ValueFields;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+class CompressedByteArrayTypeTest {
+
+    private static final byte[] LARGE_VALUE = IntStream.range(0, 1000)
+                                                       .mapToObj(i -> "\"application-" + i + "\"")
+                                                       .collect(Collectors.joining(",", "[", "]"))
+                                                       .getBytes(StandardCharsets.UTF_8);
+
+    private final ValueFields valueFields = Mockito.mock(ValueFields.class);
+
+    @Test
+    void testLargeValueIsCompressed() {
+        CompressedByteArrayType type = new CompressedByteArrayType(true);
+
+        assertTrue(type.isAbleToStore(LARGE_VALUE));
+        type.setValue(LARGE_VALUE, valueFields);
+
+        ArgumentCaptor<byte[]> storedValue = ArgumentCaptor.forClass(byte[].class);
+        Mockito.verify(valueFields)
+               .setBytes(storedValue.capture());
+        assertTrue(storedValue.getValue().length < LARGE_VALUE.length / 4);
+        Mockito.when(valueFields.getBytes())
+               .thenReturn(storedValue.getValue());
+        assertArrayEquals(LARGE_VALUE, (byte[]) type.getValue(valueFields));
+    }
+
+    @Test
+    void testSmallValueIsNotStored() {
+        CompressedByteArrayType type = new CompressedByteArrayType(true);
+
+        assertFalse(type.isAbleToStore("[\"application\"]".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(type.isAbleToStore(null));
+    }
+
+    @Test
+    void testValueIsNotStoredWhenCompressionIsDisabled() {
+        CompressedByteArrayType type = new CompressedByteArrayType(false);
+
+        assertFalse(type.isAbleToStore(LARGE_VALUE));
+    }
+
+}
@@ -44,7 +44,7 @@ class FlowableActionFactoryTest {
     void testAbortAction() {
         Mockito.when(processActionRegistry.getAction(ABORT_ACTION_ID))
                .thenReturn(new AbortProcessAction(facade, List.of(additionalProcessAction), null, operationService,
-                                                  cloudControllerClientProvider, null, null));
+                                                  cloudControllerClientProvider, null, null, null));
         testAction(ABORT_ACTION_ID, AbortProcessAction.class);
     }
 
@@ -1,6 +1,8 @@
 package org.cloudfoundry.multiapps.controller.process.flowable;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 
@@ -12,6 +14,7 @@ import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.flowable.common.engine.api.FlowableObjectNotFoundException;
+import org.flowable.common.engine.api.FlowableOptimisticLockingException;
 import org.flowable.engine.ManagementService;
 import org.flowable.engine.ProcessEngine;
 import org.flowable.engine.ProcessEngineConfiguration;
@@ -20,6 +23,7 @@ import org.flowable.engine.runtime.Execution;
 import org.flowable.engine.runtime.ExecutionQuery;
 import org.flowable.job.api.DeadLetterJobQuery;
 import org.flowable.job.api.Job;
+import org.flowable.job.api.TimerJobQuery;
 import org.flowable.job.service.impl.asyncexecutor.DefaultAsyncJobExecutor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -50,6 +54,8 @@ class FlowableFacadeTest {
     private ManagementService mockedManagementService;
     @Mock
     private DeadLetterJobQuery mockedDeadLetterJobQuery;
+    @Mock
+    private TimerJobQuery mockedTimerJobQuery;
 
     @BeforeEach
     void setUp() throws Exception {
@@ -68,6 +74,10 @@ class FlowableFacadeTest {
                .thenReturn(mockedManagementService);
         Mockito.when(mockedManagementService.createDeadLetterJobQuery())
                .thenReturn(mockedDeadLetterJobQuery);
+        Mockito.when(mockedManagementService.createTimerJobQuery())
+               .thenReturn(mockedTimerJobQuery);
+        Mockito.when(mockedTimerJobQuery.executionId(anyString()))
+               .thenReturn(mockedTimerJobQuery);
 
         flowableFacade = new FlowableFacade(mockedProcessEngine);
     }
@@ -111,6 +121,24 @@ class FlowableFacadeTest {
         assertDoesNotThrow(() -> flowableFacade.executeJob(UUID_SUPPLIER.get()));
     }
 
+    @Test
+    void testFireTimersNow() {
+        Mockito.when(mockedTimerJobQuery.list())
+               .thenReturn(List.of(createMockedJob(JOB_ID)));
+        assertTrue(flowableFacade.fireTimersNow(UUID_SUPPLIER.get()));
+        Mockito.verify(mockedManagementService)
+               .moveTimerToExecutableJob(JOB_ID);
+    }
+
+    @Test
+    void testFireTimersNowWhenFlowableFails() {
+        Mockito.when(mockedTimerJobQuery.list())
+               .thenReturn(List.of(createMockedJob(JOB_ID)));
+        Mockito.when(mockedManagementService.moveTimerToExecutableJob(anyString()))
+               .thenThrow(FlowableOptimisticLockingException.class);
+        assertFalse(assertDoesNotThrow(() -> flowableFacade.fireTimersNow(UUID_SUPPLIER.get())));
+    }
+
     private void mockProcessExecutions(String... processInstanceIds) {
         Mockito.when(mockedExecutionQuery.rootProcessInstanceId(anyString()))
                .thenReturn(mockedExecutionQuery);
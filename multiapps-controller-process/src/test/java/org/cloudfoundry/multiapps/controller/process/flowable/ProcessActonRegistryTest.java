@@ -47,7 +47,8 @@ class ProcessActonRegistryTest {
 
     private List<ProcessAction> getProcessActions() {
         return List.of(new StartProcessAction(null, null, null, null), new ResumeProcessAction(null, null, null, null),
-                       new RetryProcessAction(null, null, null, null, null), new AbortProcessAction(null, null, null, null, null, null, null));
+                       new RetryProcessAction(null, null, null, null, null),
+                       new AbortProcessAction(null, null, null, null, null, null, null, null));
     }
 
 }
\ No newline at end of file
@@ -30,6 +30,7 @@ import org.cloudfoundry.multiapps.controller.process.flowable.Action;
 import org.cloudfoundry.multiapps.controller.process.flowable.AdditionalProcessAction;
 import org.cloudfoundry.multiapps.controller.process.flowable.FlowableFacade;
 import org.cloudfoundry.multiapps.controller.process.flowable.ProcessActionRegistry;
+import org.cloudfoundry.multiapps.controller.process.util.ProcessAbortSignalRegistry;
 import org.cloudfoundry.multiapps.controller.process.util.ProcessConflictPreventer;
 import org.flowable.common.engine.api.FlowableOptimisticLockingException;
 import org.junit.jupiter.api.BeforeEach;
@@ -66,6 +67,8 @@ class OperationsCleanerTest {
     private HistoricOperationEventService historicOperationEventService;
     @Mock
     private CloudControllerClientProvider cloudControllerClientProvider;
+    @Mock
+    private ProcessAbortSignalRegistry processAbortSignalRegistry;
     @InjectMocks
     private OperationsCleaner cleaner;
 
@@ -81,7 +84,8 @@ class OperationsCleanerTest {
                                                                                      operationService,
                                                                                      cloudControllerClientProvider,
                                                                                      progressMessageService,
-                                                                                     dynatracePublisher));
+                                                                                     dynatracePublisher,
+                                                                                     processAbortSignalRegistry));
     }
 
     @Test
@@ -230,14 +234,16 @@ class OperationsCleanerTest {
         public AbortProcessActionMock(FlowableFacade flowableFacade, List<AdditionalProcessAction> additionalProcessActions,
                                       HistoricOperationEventService historicOperationEventService, OperationService operationService,
                                       CloudControllerClientProvider cloudControllerClientProvider,
-                                      ProgressMessageService progressMessageService, DynatracePublisher dynatracePublisher) {
+                                      ProgressMessageService progressMessageService, DynatracePublisher dynatracePublisher,
+                                      ProcessAbortSignalRegistry processAbortSignalRegistry) {
             super(flowableFacade,
                   additionalProcessActions,
                   historicOperationEventService,
                   operationService,
                   cloudControllerClientProvider,
                   progressMessageService,
-                  dynatracePublisher);
+                  dynatracePublisher,
+                  processAbortSignalRegistry);
         }
 
         @Override
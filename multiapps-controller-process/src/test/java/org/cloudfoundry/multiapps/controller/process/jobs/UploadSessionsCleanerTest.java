@@ -0,0 +1,88 @@
+package org.cloudfoundry.multiapps.controller.process.jobs;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.cloudfoundry.multiapps.controller.persistence.model.ImmutableUploadSessionEntry;
+import org.cloudfoundry.multiapps.controller.persistence.model.UploadSessionEntry;
+import org.cloudfoundry.multiapps.controller.persistence.query.UploadSessionsQuery;
+import org.cloudfoundry.multiapps.controller.persistence.services.FileService;
+import org.cloudfoundry.multiapps.controller.persistence.services.FileStorageException;
+import org.cloudfoundry.multiapps.controller.persistence.services.UploadSessionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class UploadSessionsCleanerTest {
+
+    private static final LocalDateTime EXPIRATION_TIME = LocalDateTime.ofInstant(Instant.ofEpochMilli(5000), ZoneId.systemDefault());
+
+    @Mock
+    private FileService fileService;
+    @Mock
+    private UploadSessionService uploadSessionService;
+    @Mock(answer = Answers.RETURNS_SELF)
+    private UploadSessionsQuery query;
+    @InjectMocks
+    private UploadSessionsCleaner cleaner;
+
+    @BeforeEach
+    void initMocks() throws Exception {
+        MockitoAnnotations.openMocks(this)
+                          .close();
+        when(uploadSessionService.createQuery()).thenReturn(query);
+    }
+
+    @Test
+    void testExecute() throws FileStorageException {
+        UploadSessionEntry session = createSession("session-1", "upload-1");
+        when(query.list()).thenReturn(List.of(session));
+
+        cleaner.execute(EXPIRATION_TIME);
+
+        verify(query).addedBefore(EXPIRATION_TIME);
+        verify(fileService).abortChunkedUpload(session.toFileEntry(), "upload-1");
+        verify(query).id("session-1");
+        verify(query).delete();
+    }
+
+    @Test
+    void testExecuteDeletesSessionsWhichCannotBeAborted() throws FileStorageException {
+        UploadSessionEntry session1 = createSession("session-1", "upload-1");
+        UploadSessionEntry session2 = createSession("session-2", null);
+        when(query.list()).thenReturn(List.of(session1, session2));
+        doThrow(new FileStorageException("Upload not found")).when(fileService)
+                                                              .abortChunkedUpload(any(), any());
+
+        cleaner.execute(EXPIRATION_TIME);
+
+        verify(fileService, times(2)).abortChunkedUpload(any(), any());
+        verify(query, times(2)).delete();
+    }
+
+    private UploadSessionEntry createSession(String id, String multipartUploadId) {
+        return ImmutableUploadSessionEntry.builder()
+                                          .id(id)
+                                          .user("user")
+                                          .spaceGuid("space")
+                                          .fileName("app.mtar")
+                                          .fileSize(100)
+                                          .chunkSize(10)
+                                          .fileId("file-" + id)
+                                          .multipartUploadId(multipartUploadId)
+                                          .addedAt(EXPIRATION_TIME.minusDays(1))
+                                          .build();
+    }
+
+}
@@ -83,7 +83,7 @@ class CheckServiceOperationStateStepTest extends SyncFlowableStepTest<CheckServi
 
     @Override
     protected CheckServiceOperationStateStep createStep() {
-        return new CheckServiceOperationStateStep(null, null);
+        return new CheckServiceOperationStateStep(null, null, null);
     }
 
 }
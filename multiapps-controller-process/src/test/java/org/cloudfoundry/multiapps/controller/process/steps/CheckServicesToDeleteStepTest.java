@@ -120,6 +120,6 @@ class CheckServicesToDeleteStepTest extends SyncFlowableStepTest<CheckServicesTo
 
     @Override
     protected CheckServicesToDeleteStep createStep() {
-        return new CheckServicesToDeleteStep(null, null, applicationConfiguration);
+        return new CheckServicesToDeleteStep(null, null, null, applicationConfiguration);
     }
 }
@@ -16,6 +16,7 @@ import java.util.stream.Stream;
 import org.cloudfoundry.multiapps.controller.client.lib.domain.ImmutableCloudServiceInstanceExtended;
 import org.cloudfoundry.multiapps.controller.process.util.ServiceAction;
 import org.cloudfoundry.multiapps.controller.process.util.ServiceOperationGetter;
+import org.cloudfoundry.multiapps.controller.process.util.ServiceOperationsPollingCoordinator;
 import org.cloudfoundry.multiapps.controller.process.util.ServiceProgressReporter;
 import org.cloudfoundry.multiapps.controller.process.util.ServiceRemover;
 import org.cloudfoundry.multiapps.controller.process.variables.Variables;
@@ -36,6 +37,7 @@ class DeleteServiceStepTest extends SyncFlowableStepTest<DeleteServiceStep> {
     private ServiceProgressReporter serviceProgressReporter;
     private ServiceRemover serviceRemover;
     private ServiceOperationGetter serviceOperationGetter;
+    private ServiceOperationsPollingCoordinator serviceOperationsPollingCoordinator;
 
     // @formatter:off
     static Stream<Arguments> testServiceDelete() {
@@ -118,7 +120,8 @@ class DeleteServiceStepTest extends SyncFlowableStepTest<DeleteServiceStep> {
         serviceOperationGetter = mock(ServiceOperationGetter.class);
         serviceProgressReporter = mock(ServiceProgressReporter.class);
         serviceRemover = mock(ServiceRemover.class);
-        return new DeleteServiceStep(serviceOperationGetter, serviceProgressReporter, serviceRemover);
+        serviceOperationsPollingCoordinator = mock(ServiceOperationsPollingCoordinator.class);
+        return new DeleteServiceStep(serviceOperationGetter, serviceProgressReporter, serviceRemover, serviceOperationsPollingCoordinator);
     }
 
 }
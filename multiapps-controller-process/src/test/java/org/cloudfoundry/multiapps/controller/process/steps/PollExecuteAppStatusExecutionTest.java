@@ -28,11 +28,9 @@ import org.cloudfoundry.multiapps.common.util.JsonUtil;
 import org.cloudfoundry.multiapps.controller.client.lib.domain.CloudApplicationExtended;
 import org.cloudfoundry.multiapps.controller.client.lib.domain.ImmutableCloudApplicationExtended;
 import org.cloudfoundry.multiapps.controller.core.Constants;
-import org.cloudfoundry.multiapps.controller.core.cf.CloudControllerClientFactory;
 import org.cloudfoundry.multiapps.controller.core.cf.CloudControllerClientProvider;
 import org.cloudfoundry.multiapps.controller.core.cf.apps.ApplicationStateAction;
 import org.cloudfoundry.multiapps.controller.core.model.SupportedParameters;
-import org.cloudfoundry.multiapps.controller.core.security.token.TokenService;
 import org.cloudfoundry.multiapps.controller.persistence.services.ProcessLogger;
 import org.cloudfoundry.multiapps.controller.persistence.services.ProcessLoggerProvider;
 import org.cloudfoundry.multiapps.controller.process.util.MockDelegateExecution;
@@ -72,10 +70,6 @@ class PollExecuteAppStatusExecutionTest {
     @Mock
     private CloudControllerClient client;
     @Mock
-    private CloudControllerClientFactory clientFactory;
-    @Mock
-    private TokenService tokenService;
-    @Mock
     private LogCacheClient logCacheClient;
 
     private DelegateExecution execution;
@@ -88,7 +82,7 @@ class PollExecuteAppStatusExecutionTest {
                           .close();
         execution = MockDelegateExecution.createSpyInstance();
         context = new ProcessContext(execution, stepLogger, clientProvider);
-        step = new PollExecuteAppStatusExecution(clientFactory, tokenService);
+        step = new PollExecuteAppStatusExecution();
     }
 
     static Stream<Arguments> testStep() {
@@ -181,7 +175,7 @@ class PollExecuteAppStatusExecutionTest {
 
     private void prepareClients(ApplicationLog applicationLog) {
         when(logCacheClient.getRecentLogs(any(), any())).thenReturn(List.of(applicationLog));
-        when(clientFactory.createLogCacheClient(any(), any())).thenReturn(logCacheClient);
+        when(clientProvider.getLogCacheClient(any(), any())).thenReturn(logCacheClient);
         when(client.getApplicationGuid(eq(APPLICATION_NAME))).thenReturn(UUID.fromString(APPLICATION_GUID));
         when(clientProvider.getControllerClient(any(), any(), any())).thenReturn(client);
     }
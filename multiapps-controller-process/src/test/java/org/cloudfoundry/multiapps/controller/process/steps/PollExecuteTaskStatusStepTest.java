@@ -12,8 +12,6 @@ import java.util.stream.Stream;
 
 import org.cloudfoundry.multiapps.controller.client.lib.domain.CloudApplicationExtended;
 import org.cloudfoundry.multiapps.controller.client.lib.domain.ImmutableCloudApplicationExtended;
-import org.cloudfoundry.multiapps.controller.core.cf.CloudControllerClientFactory;
-import org.cloudfoundry.multiapps.controller.core.security.token.TokenService;
 import org.cloudfoundry.multiapps.controller.process.variables.Variables;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -23,7 +21,6 @@ import com.sap.cloudfoundry.client.facade.adapters.LogCacheClient;
 import com.sap.cloudfoundry.client.facade.domain.CloudTask;
 import com.sap.cloudfoundry.client.facade.domain.ImmutableCloudMetadata;
 import com.sap.cloudfoundry.client.facade.domain.ImmutableCloudTask;
-import org.mockito.Mock;
 import org.mockito.Mockito;
 
 class PollExecuteTaskStatusStepTest extends AsyncStepOperationTest<ExecuteTaskStep> {
@@ -46,11 +43,6 @@ class PollExecuteTaskStatusStepTest extends AsyncStepOperationTest<ExecuteTaskSt
 
     private AsyncExecutionState expectedExecutionStatus;
 
-    @Mock
-    private CloudControllerClientFactory clientFactory;
-    @Mock
-    private TokenService tokenService;
-
     public static Stream<Arguments> testPollStateExecution() {
         return Stream.of(
 // @formatter:off
@@ -109,7 +101,7 @@ class PollExecuteTaskStatusStepTest extends AsyncStepOperationTest<ExecuteTaskSt
 
         var logCacheClient = Mockito.mock(LogCacheClient.class);
         when(logCacheClient.getRecentLogs(any(UUID.class), any())).thenReturn(Collections.emptyList());
-        when(clientFactory.createLogCacheClient(any(), any())).thenReturn(logCacheClient);
+        when(clientProvider.getLogCacheClient(any(), any())).thenReturn(logCacheClient);
     }
 
     @Override
@@ -20,6 +20,7 @@ import java.util.stream.Stream;
 import org.cloudfoundry.multiapps.controller.client.lib.domain.CloudServiceInstanceExtended;
 import org.cloudfoundry.multiapps.controller.client.lib.domain.ImmutableCloudServiceInstanceExtended;
 import org.cloudfoundry.multiapps.controller.process.util.ServiceOperationGetter;
+import org.cloudfoundry.multiapps.controller.process.util.ServiceOperationsPollingCoordinator;
 import org.cloudfoundry.multiapps.controller.process.util.ServiceProgressReporter;
 import org.cloudfoundry.multiapps.controller.process.variables.Variables;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -43,6 +44,8 @@ class PollServiceInProgressOperationsExecutionTest extends AsyncStepOperationTes
     @Mock
     private ServiceProgressReporter serviceProgressReporter;
     @Mock
+    private ServiceOperationsPollingCoordinator serviceOperationsPollingCoordinator;
+    @Mock
     private CloudControllerClient client;
 
     private boolean shouldVerifyStepLogger;
@@ -170,7 +173,7 @@ class PollServiceInProgressOperationsExecutionTest extends AsyncStepOperationTes
 
     @Override
     protected CheckServiceOperationStateStep createStep() {
-        return new CheckServiceOperationStateStep(serviceOperationGetter, serviceProgressReporter);
+        return new CheckServiceOperationStateStep(serviceOperationGetter, serviceProgressReporter, serviceOperationsPollingCoordinator);
     }
 
     @Override
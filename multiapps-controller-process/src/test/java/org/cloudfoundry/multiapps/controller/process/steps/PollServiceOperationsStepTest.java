@@ -19,6 +19,7 @@ import org.cloudfoundry.multiapps.common.util.JsonUtil;
 import org.cloudfoundry.multiapps.controller.client.lib.domain.CloudServiceInstanceExtended;
 import org.cloudfoundry.multiapps.controller.process.Messages;
 import org.cloudfoundry.multiapps.controller.process.util.ServiceOperationGetter;
+import org.cloudfoundry.multiapps.controller.process.util.ServiceOperationsPollingCoordinator;
 import org.cloudfoundry.multiapps.controller.process.util.ServiceProgressReporter;
 import org.cloudfoundry.multiapps.controller.process.variables.Variables;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -38,6 +39,8 @@ class PollServiceOperationsStepTest extends AsyncStepOperationTest<CreateService
     @Mock
     private ServiceProgressReporter serviceProgressReporter;
     @Mock
+    private ServiceOperationsPollingCoordinator serviceOperationsPollingCoordinator;
+    @Mock
     protected CloudControllerClient client;
 
     private StepInput input;
@@ -140,7 +143,8 @@ class PollServiceOperationsStepTest extends AsyncStepOperationTest<CreateService
 
     @Override
     protected List<AsyncExecution> getAsyncOperations(ProcessContext wrapper) {
-        return List.of(new PollServiceCreateOrUpdateOperationsExecution(serviceOperationGetter, serviceProgressReporter));
+        return List.of(new PollServiceCreateOrUpdateOperationsExecution(serviceOperationGetter, serviceProgressReporter,
+                                                                        serviceOperationsPollingCoordinator));
     }
 
 }
@@ -10,9 +10,7 @@ import java.util.stream.Stream;
 
 import org.cloudfoundry.multiapps.controller.client.lib.domain.CloudApplicationExtended;
 import org.cloudfoundry.multiapps.controller.client.lib.domain.ImmutableCloudApplicationExtended;
-import org.cloudfoundry.multiapps.controller.core.cf.CloudControllerClientFactory;
 import org.cloudfoundry.multiapps.controller.core.cf.CloudControllerClientProvider;
-import org.cloudfoundry.multiapps.controller.core.security.token.TokenService;
 import org.cloudfoundry.multiapps.controller.process.util.ApplicationStager;
 import org.cloudfoundry.multiapps.controller.process.util.ImmutableStagingState;
 import org.cloudfoundry.multiapps.controller.process.util.MockDelegateExecution;
@@ -47,10 +45,6 @@ class PollStageAppStatusExecutionTest {
     private CloudControllerClientProvider clientProvider;
     @Mock
     private CloudControllerClient client;
-    @Mock
-    private CloudControllerClientFactory clientFactory;
-    @Mock
-    private TokenService tokenService;
 
     private ProcessContext context;
     private DelegateExecution execution;
@@ -62,7 +56,7 @@ class PollStageAppStatusExecutionTest {
                           .close();
         execution = MockDelegateExecution.createSpyInstance();
         context = new ProcessContext(execution, stepLogger, clientProvider);
-        step = new PollStageAppStatusExecution(applicationStager, clientFactory, tokenService);
+        step = new PollStageAppStatusExecution(applicationStager);
     }
 
     static Stream<Arguments> testStep() {
@@ -0,0 +1,100 @@
+package org.cloudfoundry.multiapps.controller.process.steps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cloudfoundry.multiapps.controller.client.lib.domain.CloudApplicationExtended;
+import org.cloudfoundry.multiapps.controller.client.lib.domain.ImmutableCloudApplicationExtended;
+import org.cloudfoundry.multiapps.controller.core.cf.CloudControllerClientProvider;
+import org.cloudfoundry.multiapps.controller.process.util.MockDelegateExecution;
+import org.cloudfoundry.multiapps.controller.process.util.StepLogger;
+import org.cloudfoundry.multiapps.controller.process.variables.VariableHandling;
+import org.cloudfoundry.multiapps.controller.process.variables.Variables;
+import org.cloudfoundry.multiapps.mta.model.DeploymentDescriptor;
+import org.flowable.engine.delegate.DelegateExecution;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class ProcessContextTest {
+
+    private static final List<String> APPS_TO_DEPLOY = List.of("app-1", "app-2");
+    private static final CloudApplicationExtended APP_TO_PROCESS = ImmutableCloudApplicationExtended.builder()
+                                                                                                    .name("app-1")
+                                                                                                    .build();
+
+    private final DelegateExecution execution = MockDelegateExecution.createSpyInstance();
+    private final ProcessContext context = new ProcessContext(execution, Mockito.mock(StepLogger.class),
+                                                              Mockito.mock(CloudControllerClientProvider.class));
+
+    @Test
+    void testImmutableVariableIsDeserializedOnce() {
+        VariableHandling.set(execution, Variables.APP_TO_PROCESS, APP_TO_PROCESS);
+
+        CloudApplicationExtended appToProcess = context.getVariable(Variables.APP_TO_PROCESS);
+
+        assertEquals(APP_TO_PROCESS, appToProcess);
+        assertSame(appToProcess, context.getVariable(Variables.APP_TO_PROCESS));
+    }
+
+    @Test
+    void testListOfImmutablesIsCopiedForEveryCaller() {
+        VariableHandling.set(execution, Variables.APPS_TO_DEPLOY, APPS_TO_DEPLOY);
+
+        List<String> appsToDeploy = context.getVariable(Variables.APPS_TO_DEPLOY);
+        appsToDeploy.add("app-3");
+
+        assertEquals(APPS_TO_DEPLOY, context.getVariable(Variables.APPS_TO_DEPLOY));
+    }
+
+    @Test
+    void testMutableVariableIsDeserializedOnEveryCall() {
+        VariableHandling.set(execution, Variables.DEPLOYMENT_DESCRIPTOR, DeploymentDescriptor.createV3()
+                                                                                             .setId("mta-1"));
+
+        DeploymentDescriptor descriptor = context.getVariable(Variables.DEPLOYMENT_DESCRIPTOR);
+        descriptor.setId("mta-2");
+
+        assertNotSame(descriptor, context.getVariable(Variables.DEPLOYMENT_DESCRIPTOR));
+        assertEquals("mta-1", context.getVariable(Variables.DEPLOYMENT_DESCRIPTOR)
+                                     .getId());
+    }
+
+    @Test
+    void testVariableIsDeserializedAgainWhenChangedInExecution() {
+        VariableHandling.set(execution, Variables.APP_TO_PROCESS, APP_TO_PROCESS);
+        CloudApplicationExtended appToProcess = context.getVariable(Variables.APP_TO_PROCESS);
+
+        VariableHandling.set(execution, Variables.APP_TO_PROCESS, ImmutableCloudApplicationExtended.builder()
+                                                                                                   .name("app-2")
+                                                                                                   .build());
+
+        CloudApplicationExtended changedAppToProcess = context.getVariable(Variables.APP_TO_PROCESS);
+        assertNotSame(appToProcess, changedAppToProcess);
+        assertEquals("app-2", changedAppToProcess.getName());
+    }
+
+    @Test
+    void testSetVariableIsNotCached() {
+        List<String> appsToDeploy = new ArrayList<>(APPS_TO_DEPLOY);
+        context.setVariable(Variables.APPS_TO_DEPLOY, appsToDeploy);
+        appsToDeploy.add("app-3");
+
+        assertEquals(APPS_TO_DEPLOY, context.getVariable(Variables.APPS_TO_DEPLOY));
+        assertEquals(APPS_TO_DEPLOY, VariableHandling.get(execution, Variables.APPS_TO_DEPLOY));
+    }
+
+    @Test
+    void testRemovedVariableIsNotReturned() {
+        context.setVariable(Variables.APPS_TO_DEPLOY, APPS_TO_DEPLOY);
+
+        context.removeVariable(Variables.APPS_TO_DEPLOY);
+
+        assertNull(context.getVariable(Variables.APPS_TO_DEPLOY));
+    }
+
+}
@@ -3,10 +3,13 @@ package org.cloudfoundry.multiapps.controller.process.steps;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.jar.Manifest;
@@ -16,15 +19,20 @@ import org.cloudfoundry.multiapps.common.ParsingException;
 import org.cloudfoundry.multiapps.common.test.TestUtil;
 import org.cloudfoundry.multiapps.common.util.JsonUtil;
 import org.cloudfoundry.multiapps.controller.core.helpers.DescriptorParserFacadeFactory;
+import org.cloudfoundry.multiapps.controller.core.helpers.ModuleToDeployHelper;
 import org.cloudfoundry.multiapps.controller.core.helpers.MtaArchiveHelper;
 import org.cloudfoundry.multiapps.controller.core.util.ApplicationConfiguration;
 import org.cloudfoundry.multiapps.controller.persistence.services.FileContentProcessor;
+import org.cloudfoundry.multiapps.controller.process.util.ModulesPreExtractor;
 import org.cloudfoundry.multiapps.controller.process.util.ProcessConflictPreventer;
 import org.cloudfoundry.multiapps.controller.process.variables.Variables;
 import org.cloudfoundry.multiapps.mta.handlers.DescriptorParserFacade;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
@@ -36,6 +44,11 @@ class ProcessMtaArchiveStepTest extends SyncFlowableStepTest<ProcessMtaArchiveSt
 
     private final StepInput input;
 
+    @Mock
+    private ModulesPreExtractor modulesPreExtractor;
+    @Spy
+    private ModuleToDeployHelper moduleToDeployHelper;
+
     ProcessMtaArchiveStepTest() throws ParsingException {
         String json = TestUtil.getResourceAsString("process-mta-archive-step-1.json", getClass());
         this.input = JsonUtil.fromJson(json, StepInput.class);
@@ -62,17 +75,17 @@ class ProcessMtaArchiveStepTest extends SyncFlowableStepTest<ProcessMtaArchiveSt
             public T answer(InvocationOnMock invocation) throws Exception {
                 String fileId = invocation.getArgument(1);
                 int fileIndex = Integer.parseInt(fileId);
-                FileContentProcessor<T> fileContentProcessor = invocation.getArgument(2);
+                FileContentProcessor<T> fileContentProcessor = invocation.getArgument(3);
 
                 return fileContentProcessor.process(getClass().getResourceAsStream(input.archiveFileLocations.get(fileIndex)));
             }
 
         }).when(fileService)
-          .processFileContent(any(), any(), any());
+          .processArchiveEntriesContent(any(), any(), any(), any());
     }
 
     @Test
-    void testExecute() {
+    void testExecute() throws Exception {
         DescriptorParserFacadeFactory descriptorParserFactory = Mockito.mock(DescriptorParserFacadeFactory.class);
         Mockito.when(descriptorParserFactory.getInstance())
                .thenReturn(new DescriptorParserFacade());
@@ -84,6 +97,14 @@ class ProcessMtaArchiveStepTest extends SyncFlowableStepTest<ProcessMtaArchiveSt
         testModules();
         testResources();
         testDependencies();
+        testModulesArePreExtracted();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void testModulesArePreExtracted() throws Exception {
+        ArgumentCaptor<Collection<String>> moduleFileNamesCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(modulesPreExtractor).extractModules(eq(getCorrelationId()), eq(SPACE_ID), eq(FILE_ID), moduleFileNamesCaptor.capture());
+        assertEquals(input.expectedModules, Set.copyOf(moduleFileNamesCaptor.getValue()));
     }
 
     private void testModules() {
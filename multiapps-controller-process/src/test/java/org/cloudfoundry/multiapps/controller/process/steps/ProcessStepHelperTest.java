@@ -2,21 +2,17 @@ package org.cloudfoundry.multiapps.controller.process.steps;
 
 import static org.mockito.ArgumentMatchers.any;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import org.cloudfoundry.multiapps.common.ContentException;
 import org.cloudfoundry.multiapps.common.SLException;
 import org.cloudfoundry.multiapps.controller.core.model.ErrorType;
-import org.cloudfoundry.multiapps.controller.persistence.model.HistoricOperationEvent;
-import org.cloudfoundry.multiapps.controller.persistence.model.ImmutableHistoricOperationEvent;
 import org.cloudfoundry.multiapps.controller.persistence.services.ProcessLogger;
 import org.cloudfoundry.multiapps.controller.persistence.services.ProcessLogsPersister;
 import org.cloudfoundry.multiapps.controller.persistence.services.ProgressMessageService;
 import org.cloudfoundry.multiapps.controller.process.Messages;
-import org.cloudfoundry.multiapps.controller.process.util.ProcessHelper;
+import org.cloudfoundry.multiapps.controller.process.util.ProcessAbortSignalRegistry;
 import org.cloudfoundry.multiapps.controller.process.util.StepLogger;
 import org.cloudfoundry.multiapps.controller.process.variables.Variables;
 import org.flowable.bpmn.model.FlowElement;
@@ -49,7 +45,7 @@ class ProcessStepHelperTest {
     @Mock
     private ProcessEngineConfiguration processEngineConfiguration;
     @Mock
-    private ProcessHelper processHelper;
+    private ProcessAbortSignalRegistry processAbortSignalRegistry;
     @Mock
     private ProcessContext context;
     @Mock
@@ -67,7 +63,7 @@ class ProcessStepHelperTest {
                                                       .stepLogger(stepLogger)
                                                       .processLogsPersister(processLogsPersister)
                                                       .processEngineConfiguration(processEngineConfiguration)
-                                                      .processHelper(processHelper)
+                                                      .processAbortSignalRegistry(processAbortSignalRegistry)
                                                       .build();
     }
 
@@ -134,15 +130,16 @@ class ProcessStepHelperTest {
 
     @Test
     void testFailStepPhaseAbortIsInvoked() {
-        prepareHistoricOperationsEventGetter(HistoricOperationEvent.EventType.STARTED, HistoricOperationEvent.EventType.FINISHED,
-                                             HistoricOperationEvent.EventType.ABORT_EXECUTED);
+        Mockito.when(processAbortSignalRegistry.isAborted(CORRELATION_GUID))
+               .thenReturn(true);
         Exception exception = Assertions.assertThrows(SLException.class, () -> processStepHelper.failStepIfProcessIsAborted(context));
         Assertions.assertEquals(Messages.PROCESS_WAS_ABORTED, exception.getMessage());
     }
 
     @Test
     void testFailedStepPhaseAbortIsNotInvoked() {
-        prepareHistoricOperationsEventGetter(HistoricOperationEvent.EventType.STARTED, HistoricOperationEvent.EventType.FINISHED);
+        Mockito.when(processAbortSignalRegistry.isAborted(CORRELATION_GUID))
+               .thenReturn(false);
         Assertions.assertDoesNotThrow(() -> processStepHelper.failStepIfProcessIsAborted(context));
     }
 
@@ -179,23 +176,4 @@ class ProcessStepHelperTest {
                .thenReturn("activityId");
         return List.of(execution);
     }
-
-    private void prepareHistoricOperationsEventGetter(HistoricOperationEvent.EventType... eventTypes) {
-        List<HistoricOperationEvent> historicOperationEvents = mapEventTypesToHistoricEvents(eventTypes);
-        Mockito.when(processHelper.getHistoricOperationEventByProcessId(CORRELATION_GUID))
-               .thenReturn(historicOperationEvents);
-    }
-
-    private List<HistoricOperationEvent> mapEventTypesToHistoricEvents(HistoricOperationEvent.EventType... eventTypes) {
-        return Arrays.stream(eventTypes)
-                     .map(this::createImmutableHistoricOperationEvent)
-                     .collect(Collectors.toList());
-    }
-
-    private ImmutableHistoricOperationEvent createImmutableHistoricOperationEvent(HistoricOperationEvent.EventType eventType) {
-        return ImmutableHistoricOperationEvent.builder()
-                                              .processId(CORRELATION_GUID)
-                                              .type(eventType)
-                                              .build();
-    }
 }
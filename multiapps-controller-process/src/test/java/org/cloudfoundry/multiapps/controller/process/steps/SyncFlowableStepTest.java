@@ -25,7 +25,7 @@ import org.cloudfoundry.multiapps.controller.persistence.services.ProcessLogsPer
 import org.cloudfoundry.multiapps.controller.persistence.services.ProgressMessageService;
 import org.cloudfoundry.multiapps.controller.process.flowable.FlowableFacade;
 import org.cloudfoundry.multiapps.controller.process.util.MockDelegateExecution;
-import org.cloudfoundry.multiapps.controller.process.util.ProcessHelper;
+import org.cloudfoundry.multiapps.controller.process.util.ProcessAbortSignalRegistry;
 import org.cloudfoundry.multiapps.controller.process.util.StepLogger;
 import org.cloudfoundry.multiapps.controller.process.variables.Variables;
 import org.cloudfoundry.multiapps.mta.model.Module;
@@ -88,7 +88,7 @@ public abstract class SyncFlowableStepTest<T extends SyncFlowableStep> {
     protected ProcessEngineConfiguration processEngineConfiguration;
     protected final ProcessLoggerProvider processLoggerProvider = Mockito.spy(ProcessLoggerProvider.class);
     @Mock
-    protected ProcessHelper processHelper;
+    protected ProcessAbortSignalRegistry processAbortSignalRegistry;
     @InjectMocks
     protected ProcessLogsPersister processLogsPersister = Mockito.spy(ProcessLogsPersister.class);
 
@@ -10,7 +10,9 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
@@ -39,6 +41,8 @@ import org.cloudfoundry.multiapps.controller.process.util.ApplicationArchiveCont
 import org.cloudfoundry.multiapps.controller.process.util.ApplicationArchiveReader;
 import org.cloudfoundry.multiapps.controller.process.util.ApplicationZipBuilder;
 import org.cloudfoundry.multiapps.controller.process.util.CloudPackagesGetter;
+import org.cloudfoundry.multiapps.controller.process.util.ImmutableExtractedApplicationArchive;
+import org.cloudfoundry.multiapps.controller.process.util.ModulesPreExtractor;
 import org.cloudfoundry.multiapps.controller.process.variables.Variables;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -85,6 +89,7 @@ class UploadAppStepGeneralTest extends SyncFlowableStepTest<UploadAppStep> {
                                                                            .build();
     private final MtaArchiveElements mtaArchiveElements = new MtaArchiveElements();
     private final CloudPackagesGetter cloudPackagesGetter = mock(CloudPackagesGetter.class);
+    private final ModulesPreExtractor modulesPreExtractor = mock(ModulesPreExtractor.class);
     @TempDir
     Path tempDir;
     private Path appFile;
@@ -137,10 +142,10 @@ class UploadAppStepGeneralTest extends SyncFlowableStepTest<UploadAppStep> {
             Files.createFile(appFile);
         }
         doAnswer(invocation -> {
-            FileContentProcessor contentProcessor = invocation.getArgument(2);
+            FileContentProcessor contentProcessor = invocation.getArgument(3);
             return contentProcessor.process(null);
         }).when(fileService)
-          .processFileContent(anyString(), anyString(), any());
+          .processArchiveEntriesContent(anyString(), anyString(), anyString(), any());
     }
 
     private void prepareContext() {
@@ -197,6 +202,37 @@ class UploadAppStepGeneralTest extends SyncFlowableStepTest<UploadAppStep> {
         assertEquals(StepPhase.RETRY.toString(), getExecutionStatus());
     }
 
+    @Test
+    void testUploadOfPreExtractedApplication() throws Exception {
+        prepareClients(NEW_MODULE_DIGEST);
+        var preExtractedApplication = ImmutableExtractedApplicationArchive.builder()
+                                                                          .path(appFile)
+                                                                          .digest(CURRENT_MODULE_DIGEST)
+                                                                          .build();
+        when(modulesPreExtractor.take(getCorrelationId(), APP_FILE)).thenReturn(Optional.of(preExtractedApplication));
+        step.execute(execution);
+        assertEquals(CLOUD_PACKAGE, context.getVariable(Variables.CLOUD_PACKAGE));
+        assertEquals(StepPhase.POLL.toString(), getExecutionStatus());
+        verify(fileService, never()).processArchiveEntriesContent(any(), any(), any(), any());
+    }
+
+    @Test
+    void testExtractedApplicationIsDeletedWhenContentIsNotChanged() {
+        when(client.getApplicationEnvironment(any(UUID.class))).thenReturn(Map.of("DEPLOY_ATTRIBUTES", "{\"app-content-digest\":\""
+            + CURRENT_MODULE_DIGEST + "\"}"));
+        var cloudPackage = createCloudPackage(Status.READY);
+        mockCloudPackagesGetter(cloudPackage);
+        when(cloudPackagesGetter.getMostRecentAppPackage(any(), any())).thenReturn(Optional.of(cloudPackage));
+        when(client.getCurrentDropletForApplication(APP_GUID)).thenReturn(createDropletInfo(DROPLET_GUID, PACKAGE_GUID));
+        when(client.getBuildsForApplication(any())).thenReturn(List.of(createStagedBuild()));
+        prepareClients(CURRENT_MODULE_DIGEST);
+        step.execute(execution);
+        assertEquals(StepPhase.DONE.toString(), getExecutionStatus());
+        assertFalse(appFile.toFile()
+                           .exists());
+        verify(client, never()).asyncUploadApplication(any(), any(), any());
+    }
+
     @Test
     void testWithAvailableValidCloudPackage() {
         prepareClients(CURRENT_MODULE_DIGEST);
@@ -244,6 +280,18 @@ class UploadAppStepGeneralTest extends SyncFlowableStepTest<UploadAppStep> {
         assertEquals(stepPhase.toString(), getExecutionStatus());
     }
 
+    private CloudBuild createStagedBuild() {
+        return ImmutableCloudBuild.builder()
+                                  .metadata(ImmutableCloudMetadata.builder()
+                                                                  .createdAt(LocalDateTime.now())
+                                                                  .build())
+                                  .state(CloudBuild.State.STAGED)
+                                  .dropletInfo(ImmutableDropletInfo.builder()
+                                                                   .guid(UUID.randomUUID())
+                                                                   .build())
+                                  .build();
+    }
+
     private CloudPackage createCloudPackage(Status status) {
         ImmutableCloudMetadata cloudMetadata = ImmutableCloudMetadata.builder()
                                                                      .guid(PACKAGE_GUID)
@@ -292,9 +340,9 @@ class UploadAppStepGeneralTest extends SyncFlowableStepTest<UploadAppStep> {
     private class UploadAppStepMock extends UploadAppStep {
 
         public UploadAppStepMock() {
-            applicationArchiveReader = getApplicationArchiveReader();
-            applicationZipBuilder = spy(getApplicationZipBuilder(applicationArchiveReader));
+            applicationZipBuilder = spy(getApplicationZipBuilder(getApplicationArchiveReader()));
             cloudPackagesGetter = UploadAppStepGeneralTest.this.cloudPackagesGetter;
+            modulesPreExtractor = UploadAppStepGeneralTest.this.modulesPreExtractor;
         }
 
         private ApplicationArchiveReader getApplicationArchiveReader() {
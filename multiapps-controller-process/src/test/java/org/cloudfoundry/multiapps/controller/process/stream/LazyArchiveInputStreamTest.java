@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -107,6 +108,27 @@ class LazyArchiveInputStreamTest {
         verify(secondPartInputStream).close();
     }
 
+    @Test
+    void readOpensNextArchivePartInAdvanceWhenReadAheadIsSupported() throws IOException, FileStorageException {
+        prepareStream(2);
+        when(fileService.supportsReadAhead()).thenReturn(true);
+        mockStream(0, 1, FILE_ID_1);
+        InputStream secondPartInputStream = mockStream(10, 1, FILE_ID_2);
+        lazyArchiveInputStream.read(new byte[1], 0, 1);
+        verify(fileService).openInputStream(buildFileEntry(FILE_ID_2, CUSTOM_SPACE));
+        lazyArchiveInputStream.close();
+        verify(secondPartInputStream).close();
+    }
+
+    @Test
+    void readDoesNotOpenNextArchivePartInAdvanceWithoutReadAhead() throws IOException, FileStorageException {
+        prepareStream(2);
+        mockStream(0, 1, FILE_ID_1);
+        mockStream(10, 1, FILE_ID_2);
+        lazyArchiveInputStream.read(new byte[1], 0, 1);
+        verify(fileService, never()).openInputStream(buildFileEntry(FILE_ID_2, CUSTOM_SPACE));
+    }
+
     private void prepareStream(int archiveSize) {
         lazyArchiveInputStream = new LazyArchiveInputStream(fileService, buildMockedFileEntries(), stepLogger, archiveSize);
     }
@@ -132,7 +154,7 @@ class LazyArchiveInputStreamTest {
             buffer[0] = (byte) firstValueFromStream;
             return totalBytesRead;
         });
-        when(fileService.openInputStream(CUSTOM_SPACE, fileId)).thenReturn(inputStream);
+        when(fileService.openInputStream(buildFileEntry(fileId, CUSTOM_SPACE))).thenReturn(inputStream);
         return inputStream;
     }
 
@@ -1,5 +1,7 @@
 package org.cloudfoundry.multiapps.controller.process.util;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -8,6 +10,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.text.MessageFormat;
 import java.util.Collections;
 import java.util.HashSet;
@@ -15,6 +18,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 import org.cloudfoundry.multiapps.common.SLException;
@@ -26,6 +30,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.MockitoAnnotations;
 
 class ApplicationZipBuilderTest {
@@ -78,6 +83,45 @@ class ApplicationZipBuilderTest {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("testCreateNewZip")
+    void testDigestIsCalculatedDuringExtraction(String mtar, String fileName) {
+        ApplicationArchiveReader reader = new ApplicationArchiveReader();
+        String expectedDigest = reader.calculateApplicationDigest(getApplicationArchiveContext(mtar, fileName));
+        ApplicationArchiveContext applicationArchiveContext = getApplicationArchiveContext(mtar, fileName);
+        ApplicationZipBuilder zipBuilder = new ApplicationZipBuilder(reader);
+        appPath = zipBuilder.extractApplicationInNewArchive(applicationArchiveContext);
+        assertEquals(expectedDigest, applicationArchiveContext.getApplicationDigestCalculator()
+                                                              .getDigest());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { SAMPLE_MTAR, SAMPLE_FLAT_MTAR })
+    void testEntriesKeepTheirOriginalCompressedData(String mtar) throws IOException {
+        ApplicationArchiveContext applicationArchiveContext = getApplicationArchiveContext(mtar, "web/");
+        ApplicationZipBuilder zipBuilder = new ApplicationZipBuilder(new ApplicationArchiveReader());
+        appPath = zipBuilder.extractApplicationInNewArchive(applicationArchiveContext);
+        Path mtarPath = Files.createTempFile(null, ".mtar");
+        try (InputStream mtarStream = getClass().getResourceAsStream(mtar)) {
+            Files.copy(mtarStream, mtarPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+        try (ZipFile mtarFile = new ZipFile(mtarPath.toFile()); ZipFile zipFile = new ZipFile(appPath.toFile())) {
+            assertTrue(zipFile.size() > 0);
+            for (ZipEntry entry : Collections.list(zipFile.entries())) {
+                ZipEntry originalEntry = mtarFile.getEntry("web/" + entry.getName());
+                assertEquals(originalEntry.getMethod(), entry.getMethod());
+                assertEquals(originalEntry.getCompressedSize(), entry.getCompressedSize());
+                assertEquals(originalEntry.getCrc(), entry.getCrc());
+                try (InputStream originalContent = mtarFile.getInputStream(originalEntry);
+                    InputStream content = zipFile.getInputStream(entry)) {
+                    assertArrayEquals(originalContent.readAllBytes(), content.readAllBytes());
+                }
+            }
+        } finally {
+            Files.deleteIfExists(mtarPath);
+        }
+    }
+
     private ApplicationArchiveContext getApplicationArchiveContext(String mtar, String fileName) {
         return new ApplicationArchiveContext(getClass().getResourceAsStream(mtar), fileName, MAX_UPLOAD_FILE_SIZE);
     }
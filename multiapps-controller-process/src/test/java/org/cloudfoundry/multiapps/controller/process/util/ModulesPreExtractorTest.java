@@ -0,0 +1,229 @@
+package org.cloudfoundry.multiapps.controller.process.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.cloudfoundry.multiapps.controller.core.util.ApplicationConfiguration;
+import org.cloudfoundry.multiapps.controller.persistence.model.ImmutableArchiveEntryWithStreamPositions;
+import org.cloudfoundry.multiapps.controller.persistence.services.FileContentProcessor;
+import org.cloudfoundry.multiapps.controller.persistence.services.FileService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class ModulesPreExtractorTest {
+
+    private static final String SAMPLE_MTAR = "com.sap.mta.sample-1.2.1-beta.mtar";
+    private static final String CORRELATION_ID = "1";
+    private static final String SPACE_GUID = "space-guid";
+    private static final String APP_ARCHIVE_ID = "app-archive-id";
+    private static final String MODULE_FILE_NAME = "web/";
+    private static final String OTHER_MODULE_FILE_NAME = "db/";
+    private static final long MAX_RESOURCE_FILE_SIZE = 1024 * 1024 * 1024L; // 1gb
+
+    @Mock
+    private FileService fileService;
+    @Mock
+    private ApplicationConfiguration configuration;
+    @TempDir
+    Path tempDir;
+
+    private final List<Path> extractedModules = new ArrayList<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private ModulesPreExtractor modulesPreExtractor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this)
+                          .close();
+        when(configuration.getMaxResourceFileSize()).thenReturn(MAX_RESOURCE_FILE_SIZE);
+        when(configuration.getModulesExtractionMinFreeDiskSpace()).thenReturn(0L);
+        when(configuration.getModulesExtractionMaxThreads()).thenReturn(1);
+        var moduleEntry = ImmutableArchiveEntryWithStreamPositions.builder()
+                                                                  .name(MODULE_FILE_NAME)
+                                                                  .startPosition(0)
+                                                                  .endPosition(1024)
+                                                                  .build();
+        var otherModuleEntry = ImmutableArchiveEntryWithStreamPositions.builder()
+                                                                       .name(OTHER_MODULE_FILE_NAME)
+                                                                       .startPosition(1024)
+                                                                       .endPosition(2048)
+                                                                       .build();
+        when(fileService.getArchiveIndex(SPACE_GUID, APP_ARCHIVE_ID)).thenReturn(List.of(moduleEntry, otherModuleEntry));
+        doAnswer(invocation -> {
+            FileContentProcessor<?> fileContentProcessor = invocation.getArgument(3);
+            return fileContentProcessor.process(getClass().getResourceAsStream(SAMPLE_MTAR));
+        }).when(fileService)
+          .processArchiveEntriesContent(eq(SPACE_GUID), eq(APP_ARCHIVE_ID), anyString(), any());
+        modulesPreExtractor = new ModulesPreExtractor(fileService, createApplicationZipBuilder(), configuration, executor);
+    }
+
+    private ApplicationZipBuilder createApplicationZipBuilder() {
+        return new ApplicationZipBuilder(new ApplicationArchiveReader()) {
+            @Override
+            protected Path createTempFile() throws IOException {
+                Path extractedModule = Files.createTempFile(tempDir, null, ".zip");
+                extractedModules.add(extractedModule);
+                return extractedModule;
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testTakePreExtractedModule() throws Exception {
+        modulesPreExtractor.extractModules(CORRELATION_ID, SPACE_GUID, APP_ARCHIVE_ID, List.of(MODULE_FILE_NAME));
+        awaitExtraction();
+
+        Optional<ExtractedApplicationArchive> extractedModule = modulesPreExtractor.take(CORRELATION_ID, MODULE_FILE_NAME);
+
+        assertTrue(extractedModule.isPresent());
+        assertTrue(Files.exists(extractedModule.get()
+                                               .getPath()));
+        assertEquals(calculateDigest(), extractedModule.get()
+                                                       .getDigest());
+        assertFalse(modulesPreExtractor.take(CORRELATION_ID, MODULE_FILE_NAME)
+                                       .isPresent());
+    }
+
+    @Test
+    void testModulesAreNotPreExtractedWithoutArchiveIndex() throws Exception {
+        when(fileService.getArchiveIndex(SPACE_GUID, APP_ARCHIVE_ID)).thenReturn(Collections.emptyList());
+
+        modulesPreExtractor.extractModules(CORRELATION_ID, SPACE_GUID, APP_ARCHIVE_ID, List.of(MODULE_FILE_NAME));
+        awaitExtraction();
+
+        assertFalse(modulesPreExtractor.take(CORRELATION_ID, MODULE_FILE_NAME)
+                                       .isPresent());
+        verify(fileService, never()).processArchiveEntriesContent(any(), any(), any(), any());
+    }
+
+    @Test
+    void testModulesAreNotPreExtractedWithoutEnoughDiskSpace() throws Exception {
+        when(configuration.getModulesExtractionMinFreeDiskSpace()).thenReturn(Long.MAX_VALUE);
+
+        modulesPreExtractor.extractModules(CORRELATION_ID, SPACE_GUID, APP_ARCHIVE_ID, List.of(MODULE_FILE_NAME));
+        awaitExtraction();
+
+        assertFalse(modulesPreExtractor.take(CORRELATION_ID, MODULE_FILE_NAME)
+                                       .isPresent());
+        assertTrue(extractedModules.isEmpty());
+    }
+
+    @Test
+    void testDiscardDeletesPreExtractedModules() throws Exception {
+        modulesPreExtractor.extractModules(CORRELATION_ID, SPACE_GUID, APP_ARCHIVE_ID, List.of(MODULE_FILE_NAME));
+        awaitExtraction();
+
+        modulesPreExtractor.discard(CORRELATION_ID);
+
+        assertEquals(1, extractedModules.size());
+        assertFalse(Files.exists(extractedModules.get(0)));
+        assertFalse(modulesPreExtractor.take(CORRELATION_ID, MODULE_FILE_NAME)
+                                       .isPresent());
+    }
+
+    @Test
+    void testModulesAreNotPreExtractedWhenUncompressedSizeExceedsDiskSpace() throws Exception {
+        var moduleEntry = ImmutableArchiveEntryWithStreamPositions.builder()
+                                                                  .name(MODULE_FILE_NAME)
+                                                                  .startPosition(0)
+                                                                  .endPosition(1024)
+                                                                  .uncompressedSize(Long.MAX_VALUE / 2)
+                                                                  .build();
+        when(fileService.getArchiveIndex(SPACE_GUID, APP_ARCHIVE_ID)).thenReturn(List.of(moduleEntry));
+
+        modulesPreExtractor.extractModules(CORRELATION_ID, SPACE_GUID, APP_ARCHIVE_ID, List.of(MODULE_FILE_NAME));
+        awaitExtraction();
+
+        assertFalse(modulesPreExtractor.take(CORRELATION_ID, MODULE_FILE_NAME)
+                                       .isPresent());
+        assertTrue(extractedModules.isEmpty());
+    }
+
+    @Test
+    void testRunningExtractionIsWaitedFor() throws Exception {
+        CountDownLatch extractionStarted = new CountDownLatch(1);
+        CountDownLatch extractionAllowed = new CountDownLatch(1);
+        blockExtraction(extractionStarted, extractionAllowed);
+        modulesPreExtractor.extractModules(CORRELATION_ID, SPACE_GUID, APP_ARCHIVE_ID, List.of(MODULE_FILE_NAME));
+        assertTrue(extractionStarted.await(1, TimeUnit.MINUTES));
+        CompletableFuture.runAsync(extractionAllowed::countDown, CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS));
+
+        Optional<ExtractedApplicationArchive> extractedModule = modulesPreExtractor.take(CORRELATION_ID, MODULE_FILE_NAME);
+
+        assertTrue(extractedModule.isPresent());
+        assertTrue(Files.exists(extractedModule.get()
+                                               .getPath()));
+        verify(fileService, times(1)).processArchiveEntriesContent(eq(SPACE_GUID), eq(APP_ARCHIVE_ID), eq(MODULE_FILE_NAME), any());
+    }
+
+    @Test
+    void testExtractionWhichHasNotStartedIsCancelled() throws Exception {
+        CountDownLatch extractionStarted = new CountDownLatch(1);
+        CountDownLatch extractionAllowed = new CountDownLatch(1);
+        blockExtraction(extractionStarted, extractionAllowed);
+        modulesPreExtractor.extractModules(CORRELATION_ID, SPACE_GUID, APP_ARCHIVE_ID, List.of(MODULE_FILE_NAME, OTHER_MODULE_FILE_NAME));
+        assertTrue(extractionStarted.await(1, TimeUnit.MINUTES));
+
+        assertFalse(modulesPreExtractor.take(CORRELATION_ID, OTHER_MODULE_FILE_NAME)
+                                       .isPresent());
+        extractionAllowed.countDown();
+        assertTrue(modulesPreExtractor.take(CORRELATION_ID, MODULE_FILE_NAME)
+                                      .isPresent());
+        awaitExtraction();
+
+        verify(fileService, never()).processArchiveEntriesContent(any(), any(), eq(OTHER_MODULE_FILE_NAME), any());
+    }
+
+    private void blockExtraction(CountDownLatch extractionStarted, CountDownLatch extractionAllowed) throws Exception {
+        doAnswer(invocation -> {
+            extractionStarted.countDown();
+            extractionAllowed.await();
+            FileContentProcessor<?> fileContentProcessor = invocation.getArgument(3);
+            return fileContentProcessor.process(getClass().getResourceAsStream(SAMPLE_MTAR));
+        }).when(fileService)
+          .processArchiveEntriesContent(eq(SPACE_GUID), eq(APP_ARCHIVE_ID), anyString(), any());
+    }
+
+    private void awaitExtraction() throws InterruptedException {
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+    }
+
+    private String calculateDigest() {
+        ApplicationArchiveContext applicationArchiveContext = new ApplicationArchiveContext(getClass().getResourceAsStream(SAMPLE_MTAR),
+                                                                                            MODULE_FILE_NAME, MAX_RESOURCE_FILE_SIZE);
+        return new ApplicationArchiveReader().calculateApplicationDigest(applicationArchiveContext);
+    }
+
+}
@@ -14,6 +14,7 @@ import org.cloudfoundry.multiapps.controller.persistence.query.impl.OperationQue
 import org.cloudfoundry.multiapps.controller.persistence.services.FileService;
 import org.cloudfoundry.multiapps.controller.persistence.services.FileStorageException;
 import org.cloudfoundry.multiapps.controller.persistence.services.OperationService;
+import org.cloudfoundry.multiapps.controller.persistence.services.ProcessLogsPersistenceService;
 import org.cloudfoundry.multiapps.controller.process.dynatrace.DynatraceProcessDuration;
 import org.cloudfoundry.multiapps.controller.process.dynatrace.DynatracePublisher;
 import org.cloudfoundry.multiapps.controller.process.variables.VariableHandling;
@@ -24,6 +25,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -58,6 +60,10 @@ class OperationInFinalStateHandlerTest {
     private ProcessTime processTime;
     @Mock
     private OperationService operationService;
+    @Mock
+    private ModulesPreExtractor modulesPreExtractor;
+    @Mock
+    private ProcessLogsPersistenceService processLogsPersistenceService;
 
     @InjectMocks
     private final OperationInFinalStateHandler eventHandler = new OperationInFinalStateHandler();
@@ -98,6 +104,8 @@ class OperationInFinalStateHandlerTest {
 
         verifyOperationSetState();
         verifyDeleteDeploymentFiles(expectedFileIdsToSweep);
+        Mockito.verify(modulesPreExtractor)
+               .discard(PROCESS_ID);
         verifyDynatracePublisher();
     }
 
@@ -136,7 +144,10 @@ class OperationInFinalStateHandlerTest {
 
     private void verifyOperationSetState() {
         ArgumentCaptor<ImmutableOperation> arg = ArgumentCaptor.forClass(ImmutableOperation.class);
-        Mockito.verify(operationService)
+        InOrder inOrder = Mockito.inOrder(processLogsPersistenceService, operationService);
+        inOrder.verify(processLogsPersistenceService)
+               .flushLogs();
+        inOrder.verify(operationService)
                .update(Mockito.any(), arg.capture());
         Operation updatedOperation = arg.getValue();
         assertEquals(OPERATION_STATE, updatedOperation.getState());
@@ -0,0 +1,97 @@
+package org.cloudfoundry.multiapps.controller.process.util;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.cloudfoundry.multiapps.common.SLException;
+import org.cloudfoundry.multiapps.controller.core.util.ApplicationConfiguration;
+import org.cloudfoundry.multiapps.controller.persistence.model.HistoricOperationEvent;
+import org.cloudfoundry.multiapps.controller.persistence.model.ImmutableHistoricOperationEvent;
+import org.cloudfoundry.multiapps.controller.persistence.query.HistoricOperationEventQuery;
+import org.cloudfoundry.multiapps.controller.persistence.services.HistoricOperationEventService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class ProcessAbortSignalRegistryTest {
+
+    private static final String PROCESS_ID = "process-id";
+    private static final String OTHER_PROCESS_ID = "other-process-id";
+
+    @Mock
+    private HistoricOperationEventService historicOperationEventService;
+    @Mock(answer = Answers.RETURNS_SELF)
+    private HistoricOperationEventQuery historicOperationEventQuery;
+    @Mock
+    private ApplicationConfiguration configuration;
+
+    private ProcessAbortSignalRegistry processAbortSignalRegistry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this)
+                          .close();
+        when(configuration.getStepPollingIntervalInSeconds()).thenReturn(5);
+        when(historicOperationEventService.createQuery()).thenReturn(historicOperationEventQuery);
+        when(historicOperationEventQuery.list()).thenReturn(Collections.emptyList());
+        processAbortSignalRegistry = new ProcessAbortSignalRegistry(historicOperationEventService, configuration);
+    }
+
+    @Test
+    void testSignaledAbortIsKnownWithoutQuery() {
+        processAbortSignalRegistry.signalAbort(PROCESS_ID);
+
+        assertTrue(processAbortSignalRegistry.isAborted(PROCESS_ID));
+        verify(historicOperationEventService, never()).createQuery();
+    }
+
+    @Test
+    void testEventsAreQueriedBeforeFirstRefresh() {
+        when(historicOperationEventQuery.list()).thenReturn(List.of(createAbortExecutedEvent(PROCESS_ID)));
+
+        assertTrue(processAbortSignalRegistry.isAborted(PROCESS_ID));
+        verify(historicOperationEventQuery).processId(PROCESS_ID);
+    }
+
+    @Test
+    void testAbortsOfOtherInstancesAreLoadedOnRefresh() {
+        when(historicOperationEventQuery.list()).thenReturn(List.of(createAbortExecutedEvent(PROCESS_ID)));
+
+        processAbortSignalRegistry.refresh();
+
+        assertTrue(processAbortSignalRegistry.isAborted(PROCESS_ID));
+        assertFalse(processAbortSignalRegistry.isAborted(OTHER_PROCESS_ID));
+        verify(historicOperationEventQuery).type(HistoricOperationEvent.EventType.ABORT_EXECUTED);
+        verify(historicOperationEventQuery).newerThan(any());
+        verify(historicOperationEventQuery, never()).processId(anyString());
+    }
+
+    @Test
+    void testEventsAreQueriedWhenRefreshFails() {
+        when(historicOperationEventQuery.list()).thenThrow(new SLException("Database is not available"))
+                                                .thenReturn(Collections.emptyList());
+
+        processAbortSignalRegistry.refresh();
+
+        assertFalse(processAbortSignalRegistry.isAborted(PROCESS_ID));
+        verify(historicOperationEventQuery).processId(PROCESS_ID);
+    }
+
+    private static HistoricOperationEvent createAbortExecutedEvent(String processId) {
+        return ImmutableHistoricOperationEvent.builder()
+                                              .processId(processId)
+                                              .type(HistoricOperationEvent.EventType.ABORT_EXECUTED)
+                                              .build();
+    }
+
+}
@@ -0,0 +1,117 @@
+package org.cloudfoundry.multiapps.controller.process.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RawZipWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testCopyEntriesWithoutCompressingThemAgain() throws IOException {
+        Map<String, byte[]> entries = createEntries();
+        byte[] archive = createArchive(entries);
+
+        Path copiedArchive = tempDir.resolve("copy.zip");
+        try (RawZipInputStream zipInputStream = new RawZipInputStream(new ByteArrayInputStream(archive));
+            RawZipWriter zipWriter = new RawZipWriter(Files.newOutputStream(copiedArchive))) {
+            for (ZipEntry entry; (entry = zipInputStream.getNextEntry()) != null;) {
+                copyEntry(zipInputStream, zipWriter, entry);
+            }
+        }
+
+        try (ZipFile zipFile = new ZipFile(copiedArchive.toFile())) {
+            assertEquals(entries.size(), zipFile.size());
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                assertArrayEquals(entry.getValue(), zipFile.getInputStream(zipFile.getEntry(entry.getKey()))
+                                                           .readAllBytes());
+            }
+        }
+        try (ZipInputStream zipInputStream = new ZipInputStream(Files.newInputStream(copiedArchive))) {
+            for (ZipEntry entry; (entry = zipInputStream.getNextEntry()) != null;) {
+                assertArrayEquals(entries.get(entry.getName()), zipInputStream.readAllBytes());
+            }
+        }
+    }
+
+    @Test
+    void testEntryWithUnexpectedSizeIsRejected() throws IOException {
+        try (RawZipWriter zipWriter = new RawZipWriter(new ByteArrayOutputStream())) {
+            zipWriter.putStoredEntry("entry", 2, 0)
+                     .write(new byte[1]);
+
+            assertThrows(ZipException.class, () -> zipWriter.closeEntry(0, 2, 2));
+        }
+    }
+
+    private void copyEntry(RawZipInputStream zipInputStream, RawZipWriter zipWriter, ZipEntry entry) throws IOException {
+        if (entry.getMethod() == ZipEntry.STORED) {
+            zipInputStream.transferTo(zipWriter.putStoredEntry(entry.getName(), entry.getSize(), entry.getCrc()));
+        } else {
+            zipInputStream.copyRawDataTo(zipWriter.putDeflatedEntry(entry.getName()));
+            zipInputStream.transferTo(OutputStream.nullOutputStream());
+        }
+        zipWriter.closeEntry(entry.getCrc(), entry.getCompressedSize(), entry.getSize());
+    }
+
+    private Map<String, byte[]> createEntries() {
+        Random random = new Random(0);
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        for (int i = 0; i < 50; i++) {
+            // Entries of different sizes and compression ratios end at different positions in the input of the inflater
+            byte[] content = new byte[random.nextInt(i % 5 == 0 ? 200000 : 2000)];
+            for (int j = 0; j < content.length; j++) {
+                content[j] = (byte) random.nextInt(i % 2 == 0 ? 256 : 4);
+            }
+            entries.put("resources/file-" + i, content);
+        }
+        return entries;
+    }
+
+    private byte[] createArchive(Map<String, byte[]> entries) throws IOException {
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(archive)) {
+            int index = 0;
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                ZipEntry zipEntry = new ZipEntry(entry.getKey());
+                if (index++ % 3 == 0) {
+                    setStored(zipEntry, entry.getValue());
+                }
+                zipOutputStream.putNextEntry(zipEntry);
+                zipOutputStream.write(entry.getValue());
+                zipOutputStream.closeEntry();
+            }
+        }
+        return archive.toByteArray();
+    }
+
+    private void setStored(ZipEntry zipEntry, byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        zipEntry.setMethod(ZipEntry.STORED);
+        zipEntry.setSize(content.length);
+        zipEntry.setCrc(crc.getValue());
+    }
+
+}
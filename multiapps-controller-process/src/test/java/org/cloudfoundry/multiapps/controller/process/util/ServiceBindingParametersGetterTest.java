@@ -206,7 +206,7 @@ class ServiceBindingParametersGetterTest {
     }
 
     private void prepareFileService(Map<String, Object> filedProvidedParameters) throws FileStorageException {
-        when(fileService.processFileContent(any(), any(), any())).thenReturn(filedProvidedParameters);
+        when(fileService.processArchiveEntriesContent(any(), any(), any(), any())).thenReturn(filedProvidedParameters);
     }
 
     private void prepareClient(Map<String, Object> bindingParameters, boolean serviceBindingExist) {
@@ -0,0 +1,156 @@
+package org.cloudfoundry.multiapps.controller.process.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.cloudfoundry.multiapps.controller.core.cf.CloudControllerClientProvider;
+import org.cloudfoundry.multiapps.controller.core.cf.clients.ServiceInstancesLastOperationGetter;
+import org.cloudfoundry.multiapps.controller.core.cf.clients.WebClientFactory;
+import org.cloudfoundry.multiapps.controller.core.security.token.TokenService;
+import org.cloudfoundry.multiapps.controller.core.util.ApplicationConfiguration;
+import org.cloudfoundry.multiapps.controller.process.flowable.FlowableFacade;
+import org.cloudfoundry.multiapps.controller.process.steps.ProcessContext;
+import org.cloudfoundry.multiapps.controller.process.variables.Variables;
+import org.flowable.engine.delegate.DelegateExecution;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+
+import com.sap.cloudfoundry.client.facade.CloudCredentials;
+import com.sap.cloudfoundry.client.facade.CloudOperationException;
+import com.sap.cloudfoundry.client.facade.domain.ServiceOperation;
+
+class ServiceOperationsPollingCoordinatorTest {
+
+    private static final int POLLING_INTERVAL = 5;
+    private static final String USER = "user";
+    private static final String SPACE_GUID = "space-guid";
+    private static final String FIRST_EXECUTION_ID = "first-execution";
+    private static final String SECOND_EXECUTION_ID = "second-execution";
+
+    @Mock
+    private ApplicationConfiguration configuration;
+    @Mock
+    private WebClientFactory webClientFactory;
+    @Mock
+    private TokenService tokenService;
+    @Mock
+    private FlowableFacade flowableFacade;
+    @Mock
+    private ServiceInstancesLastOperationGetter lastOperationGetter;
+    @Mock
+    private StepLogger stepLogger;
+    @Mock
+    private CloudControllerClientProvider clientProvider;
+
+    private ServiceOperationsPollingCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this)
+                          .close();
+        when(configuration.getStepPollingIntervalInSeconds()).thenReturn(POLLING_INTERVAL);
+        when(flowableFacade.fireTimersNow(anyString())).thenReturn(true);
+        coordinator = new ServiceOperationsPollingCoordinator(configuration, webClientFactory, tokenService, flowableFacade) {
+            @Override
+            protected ServiceInstancesLastOperationGetter getServiceInstancesLastOperationGetter(CloudCredentials credentials,
+                                                                                                String correlationId) {
+                return lastOperationGetter;
+            }
+        };
+    }
+
+    @Test
+    void testPollingIntervalOfWatchedExecutionIsLonger() {
+        ProcessContext context = createContext(FIRST_EXECUTION_ID);
+        assertEquals(POLLING_INTERVAL, coordinator.getPollingIntervalInSeconds(context.getExecution()));
+
+        coordinator.watch(context, List.of("service-1"));
+        assertEquals(POLLING_INTERVAL * ServiceOperationsPollingCoordinator.FALLBACK_POLLING_INTERVAL_MULTIPLIER,
+                     coordinator.getPollingIntervalInSeconds(context.getExecution()));
+
+        coordinator.unwatch(context);
+        assertEquals(POLLING_INTERVAL, coordinator.getPollingIntervalInSeconds(context.getExecution()));
+    }
+
+    @Test
+    void testOnlyExecutionsWithChangedOperationsAreWokenUp() {
+        coordinator.watch(createContext(FIRST_EXECUTION_ID), List.of("service-1", "service-2"));
+        coordinator.watch(createContext(SECOND_EXECUTION_ID), List.of("service-3"));
+        Map<String, ServiceOperation> lastOperations = Map.of("service-1", createOperation(ServiceOperation.State.IN_PROGRESS),
+                                                              "service-2", createOperation(ServiceOperation.State.SUCCEEDED),
+                                                              "service-3", createOperation(ServiceOperation.State.IN_PROGRESS));
+        when(lastOperationGetter.getLastOperations(eq(SPACE_GUID), anyCollection())).thenReturn(lastOperations);
+
+        coordinator.pollServiceOperations();
+
+        verify(lastOperationGetter).getLastOperations(SPACE_GUID, Set.of("service-1", "service-2", "service-3"));
+        verify(flowableFacade).fireTimersNow(FIRST_EXECUTION_ID);
+        verify(flowableFacade, never()).fireTimersNow(SECOND_EXECUTION_ID);
+    }
+
+    @Test
+    void testExecutionWithMissingServiceIsWokenUp() {
+        coordinator.watch(createContext(FIRST_EXECUTION_ID), List.of("service-1"));
+        when(lastOperationGetter.getLastOperations(eq(SPACE_GUID), anyCollection())).thenReturn(Map.of());
+
+        coordinator.pollServiceOperations();
+
+        verify(flowableFacade).fireTimersNow(FIRST_EXECUTION_ID);
+    }
+
+    @Test
+    void testExecutionIsWatchedUntilItsTimerIsFired() {
+        coordinator.watch(createContext(FIRST_EXECUTION_ID), List.of("service-1"));
+        when(lastOperationGetter.getLastOperations(eq(SPACE_GUID), anyCollection())).thenReturn(Map.of());
+        when(flowableFacade.fireTimersNow(FIRST_EXECUTION_ID)).thenReturn(false, true);
+
+        coordinator.pollServiceOperations();
+        coordinator.pollServiceOperations();
+        coordinator.pollServiceOperations();
+
+        verify(flowableFacade, times(2)).fireTimersNow(FIRST_EXECUTION_ID);
+    }
+
+    @Test
+    void testAllExecutionsAreWokenUpWhenPollingFails() {
+        coordinator.watch(createContext(FIRST_EXECUTION_ID), List.of("service-1"));
+        coordinator.watch(createContext(SECOND_EXECUTION_ID), List.of("service-2"));
+        when(lastOperationGetter.getLastOperations(any(), anyCollection())).thenThrow(new CloudOperationException(HttpStatus.BAD_GATEWAY));
+
+        coordinator.pollServiceOperations();
+
+        verify(flowableFacade).fireTimersNow(FIRST_EXECUTION_ID);
+        verify(flowableFacade).fireTimersNow(SECOND_EXECUTION_ID);
+    }
+
+    private ProcessContext createContext(String executionId) {
+        DelegateExecution execution = MockDelegateExecution.createSpyInstance();
+        doReturn(executionId).when(execution)
+                             .getId();
+        ProcessContext context = new ProcessContext(execution, stepLogger, clientProvider);
+        context.setVariable(Variables.USER, USER);
+        context.setVariable(Variables.SPACE_GUID, SPACE_GUID);
+        context.setVariable(Variables.CORRELATION_ID, executionId);
+        return context;
+    }
+
+    private static ServiceOperation createOperation(ServiceOperation.State state) {
+        return new ServiceOperation(ServiceOperation.Type.CREATE, null, state);
+    }
+
+}
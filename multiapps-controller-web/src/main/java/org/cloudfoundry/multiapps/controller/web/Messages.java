@@ -13,6 +13,17 @@ public final class Messages {
     public static final String COULD_NOT_GET_FILES_0 = "Could not get files: {0}";
     public static final String COULD_NOT_UPLOAD_FILE_0 = "Could not upload file: {0}";
     public static final String NO_FILES_TO_UPLOAD = "Request has no files to upload!";
+    public static final String UPLOAD_SESSION_0_NOT_FOUND = "Upload session \"{0}\" was not found.";
+    public static final String INVALID_FILE_SIZE_0 = "Invalid file size {0}";
+    public static final String INVALID_MD5_DIGEST_0 = "Invalid MD5 digest \"{0}\", 32 hexadecimal digits were expected";
+    public static final String UPLOAD_SESSION_0_IS_ALREADY_BEING_COMMITTED = "Upload session \"{0}\" is already being committed";
+    public static final String INVALID_CHUNK_NUMBER_0_UPLOAD_SESSION_HAS_1_CHUNKS = "Invalid chunk number {0}, the upload session has {1} chunks";
+    public static final String SIZE_OF_CHUNK_0_IS_1_BUT_2_WAS_EXPECTED = "Size of chunk {0} is {1} bytes, but {2} bytes were expected";
+    public static final String COULD_NOT_START_UPLOAD_SESSION_0 = "Could not start upload session: {0}";
+    public static final String COULD_NOT_UPLOAD_CHUNK_0_OF_UPLOAD_SESSION_1_2 = "Could not upload chunk {0} of upload session \"{1}\": {2}";
+    public static final String COULD_NOT_GET_UPLOAD_SESSION_0_1 = "Could not get upload session \"{0}\": {1}";
+    public static final String COULD_NOT_COMMIT_UPLOAD_SESSION_0_1 = "Could not commit upload session \"{0}\": {1}";
+    public static final String COULD_NOT_DELETE_UPLOAD_SESSION_0_1 = "Could not delete upload session \"{0}\": {1}";
     public static final String ACTION_0_CANNOT_BE_EXECUTED_OVER_OPERATION_1_IN_STATE_2 = "Action \"{0}\" cannot be executed over operation \"{1}\" in state \"{2}\".";
     public static final String OPERATION_0_NOT_FOUND = "Operation \"{0}\" was not found.";
     public static final String TEMPORARY_PROBLEM_WITH_PERSISTENCE_LAYER = "Temporary problem with persistence layer of the service";
@@ -83,7 +94,10 @@ public final class Messages {
     public static final String UPLOADED_MTAR_FROM_REMOTE_ENDPOINT_AND_JOB_ID = "Uploaded MTAR from remote endpoint {} with job id: {} in {} ms";
     public static final String ASYNC_UPLOAD_JOB_FINISHED = "Async upload job {} finished";
     public static final String UPLOADING_MTAR_STREAM_FROM_REMOTE_ENDPOINT = "Uploading MTAR stream from remote endpoint: {}";
+    public static final String DEPLOYMENT_DESCRIPTOR_NOT_FOUND_IN_CAPTURED_PART_OF_ARCHIVE = "Deployment descriptor was not found in the captured part of archive {}, reading it from the file storage";
     public static final String CALLING_REMOTE_MTAR_ENDPOINT = "Calling remote MTAR endpoint {}";
+    public static final String CREATED_UPLOAD_SESSION = "Created upload session {} for file {} with size {} in {} chunks";
+    public static final String COMMITTED_UPLOAD_SESSION = "Committed upload session {} as file {} in {} ms";
 
     private Messages() {
     }
@@ -1,8 +1,10 @@
 package org.cloudfoundry.multiapps.controller.web.api.impl;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigInteger;
 import java.net.Authenticator;
 import java.net.PasswordAuthentication;
@@ -18,19 +20,35 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import javax.inject.Inject;
 import javax.inject.Named;
-
+import javax.servlet.http.HttpServletRequest;
+
+import org.apache.commons.fileupload.FileItemHeaders;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
+import org.apache.commons.fileupload.FileUploadException;
+import org.apache.commons.fileupload.servlet.ServletFileUpload;
+import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.input.ProxyInputStream;
+import org.cloudfoundry.multiapps.common.ConflictException;
+import org.cloudfoundry.multiapps.common.ContentException;
+import org.cloudfoundry.multiapps.common.NotFoundException;
 import org.cloudfoundry.multiapps.common.SLException;
 import org.cloudfoundry.multiapps.controller.api.FilesApiService;
 import org.cloudfoundry.multiapps.controller.api.model.AsyncUploadResult;
@@ -38,6 +56,8 @@ import org.cloudfoundry.multiapps.controller.api.model.FileMetadata;
 import org.cloudfoundry.multiapps.controller.api.model.FileUrl;
 import org.cloudfoundry.multiapps.controller.api.model.ImmutableAsyncUploadResult;
 import org.cloudfoundry.multiapps.controller.api.model.ImmutableFileMetadata;
+import org.cloudfoundry.multiapps.controller.api.model.ImmutableUploadSession;
+import org.cloudfoundry.multiapps.controller.api.model.UploadSession;
 import org.cloudfoundry.multiapps.controller.client.util.CheckedSupplier;
 import org.cloudfoundry.multiapps.controller.client.util.ResilientOperationExecutor;
 import org.cloudfoundry.multiapps.controller.core.auditlogging.FilesApiServiceAuditLog;
@@ -51,9 +71,13 @@ import org.cloudfoundry.multiapps.controller.persistence.model.AsyncUploadJobEnt
 import org.cloudfoundry.multiapps.controller.persistence.model.FileEntry;
 import org.cloudfoundry.multiapps.controller.persistence.model.ImmutableAsyncUploadJobEntry;
 import org.cloudfoundry.multiapps.controller.persistence.model.ImmutableFileEntry;
+import org.cloudfoundry.multiapps.controller.persistence.model.ImmutableUploadSessionEntry;
+import org.cloudfoundry.multiapps.controller.persistence.model.UploadSessionEntry;
 import org.cloudfoundry.multiapps.controller.persistence.services.AsyncUploadJobService;
 import org.cloudfoundry.multiapps.controller.persistence.services.FileService;
 import org.cloudfoundry.multiapps.controller.persistence.services.FileStorageException;
+import org.cloudfoundry.multiapps.controller.persistence.services.UploadSessionService;
+import org.cloudfoundry.multiapps.controller.persistence.stream.PrefixCapturingInputStream;
 import org.cloudfoundry.multiapps.controller.persistence.util.Configuration;
 import org.cloudfoundry.multiapps.controller.web.Constants;
 import org.cloudfoundry.multiapps.controller.web.Messages;
@@ -67,8 +91,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.multipart.MultipartHttpServletRequest;
 
 @Named
 public class FilesApiServiceImpl implements FilesApiService {
@@ -78,6 +100,14 @@ public class FilesApiServiceImpl implements FilesApiService {
     private static final int INPUT_STREAM_BUFFER_SIZE = 16 * 1024;
     private static final Duration HTTP_CONNECT_TIMEOUT = Duration.ofMinutes(10);
     private static final String RETRY_AFTER_SECONDS = "30";
+    // The object store providers accept at most 10000 parts in a multipart upload, all of them except the last one at least 5MB large
+    private static final long MIN_UPLOAD_CHUNK_SIZE = 5L * 1024 * 1024; // 5MB
+    private static final long DEFAULT_UPLOAD_CHUNK_SIZE = 32L * 1024 * 1024; // 32MB
+    private static final long MAX_UPLOAD_CHUNK_SIZE = 1024L * 1024 * 1024; // 1GB
+    private static final int MAX_UPLOAD_CHUNKS_COUNT = 10000;
+    private static final Pattern MD5_DIGEST_PATTERN = Pattern.compile("[0-9a-fA-F]{32}");
+    private static final int MAX_CAPTURED_ARCHIVE_PREFIX_SIZE = 1024 * 1024; // 1MB
+    private static final String DEPLOYMENT_DESCRIPTOR_ENTRY_NAME = "META-INF/mtad.yaml";
     private final CachedMap<String, AtomicLong> jobCounters = new CachedMap<>(Duration.ofHours(1));
     private final CachedMap<String, Future<?>> runningTasks = new CachedMap<>(Duration.ofHours(1));
     private final ResilientOperationExecutor resilientOperationExecutor = getResilientOperationExecutor();
@@ -95,6 +125,8 @@ public class FilesApiServiceImpl implements FilesApiService {
     private ExecutorService deployFromUrlExecutor;
     @Inject
     private FilesApiServiceAuditLog filesApiServiceAuditLog;
+    @Inject
+    private UploadSessionService uploadSessionService;
 
     @Override
     public ResponseEntity<List<FileMetadata>> getFiles(String spaceGuid, String namespace) {
@@ -111,19 +143,19 @@ public class FilesApiServiceImpl implements FilesApiService {
         }
     }
 
+    /**
+     * The multipart request is parsed while it is read, and the content of the first file in it is streamed directly to the file service,
+     * without being stored in a temporary file first.
+     */
     @Override
-    public ResponseEntity<FileMetadata> uploadFile(MultipartHttpServletRequest request, String spaceGuid, String namespace) {
+    public ResponseEntity<FileMetadata> uploadFile(HttpServletRequest request, String spaceGuid, String namespace) {
         LOGGER.trace(Messages.RECEIVED_UPLOAD_REQUEST, ServletUtil.decodeUri(request));
-        var multipartFile = getFileFromRequest(request);
-        try (InputStream in = new BufferedInputStream(multipartFile.getInputStream(), INPUT_STREAM_BUFFER_SIZE)) {
+        if (!ServletFileUpload.isMultipartContent(request)) {
+            throw new SLException(Messages.NO_FILES_TO_UPLOAD);
+        }
+        try {
             var startTime = LocalDateTime.now();
-            FileEntry fileEntry = fileService.addFile(ImmutableFileEntry.builder()
-                                                                        .space(spaceGuid)
-                                                                        .namespace(namespace)
-                                                                        .name(multipartFile.getOriginalFilename())
-                                                                        .size(BigInteger.valueOf(multipartFile.getSize()))
-                                                                        .build(),
-                                                      in);
+            FileEntry fileEntry = addFileFromRequest(request, spaceGuid, namespace);
             FileMetadata file = parseFileEntry(fileEntry);
             filesApiServiceAuditLog.logUploadFile(SecurityContextUtil.getUsername(), spaceGuid, file);
             var endTime = LocalDateTime.now();
@@ -131,11 +163,49 @@ public class FilesApiServiceImpl implements FilesApiService {
                          file.getDigestAlgorithm(), ChronoUnit.MILLIS.between(startTime, endTime));
             return ResponseEntity.status(HttpStatus.CREATED)
                                  .body(file);
+        } catch (SLException e) {
+            throw e;
         } catch (Exception e) {
             throw new SLException(e, Messages.COULD_NOT_UPLOAD_FILE_0, e.getMessage());
         }
     }
 
+    private FileEntry addFileFromRequest(HttpServletRequest request, String spaceGuid, String namespace)
+        throws FileUploadException, IOException, FileStorageException {
+        FileItemIterator items = getServletFileUpload().getItemIterator(request);
+        while (items.hasNext()) {
+            FileItemStream item = items.next();
+            if (item.isFormField()) {
+                continue;
+            }
+            try (InputStream in = new BufferedInputStream(item.openStream(), INPUT_STREAM_BUFFER_SIZE)) {
+                return fileService.addFile(ImmutableFileEntry.builder()
+                                                             .space(spaceGuid)
+                                                             .namespace(namespace)
+                                                             .name(FilenameUtils.getName(item.getName()))
+                                                             .size(getFileSize(item))
+                                                             .build(),
+                                           in);
+            }
+        }
+        throw new SLException(Messages.NO_FILES_TO_UPLOAD);
+    }
+
+    private ServletFileUpload getServletFileUpload() {
+        long maxUploadSize = new Configuration().getMaxUploadSize();
+        ServletFileUpload servletFileUpload = new ServletFileUpload();
+        servletFileUpload.setSizeMax(maxUploadSize);
+        servletFileUpload.setFileSizeMax(maxUploadSize);
+        return servletFileUpload;
+    }
+
+    private BigInteger getFileSize(FileItemStream item) {
+        // The size is always counted while the content is stored, and a file whose size differs from the one sent by the client is rejected
+        FileItemHeaders headers = item.getHeaders();
+        String contentLength = headers == null ? null : headers.getHeader(Constants.CONTENT_LENGTH);
+        return contentLength == null ? null : new BigInteger(contentLength.trim());
+    }
+
     @Override
     public ResponseEntity<Void> startUploadFromUrl(String spaceGuid, String namespace, FileUrl fileUrl) {
         String decodedUrl = new String(Base64.getUrlDecoder()
@@ -224,14 +294,171 @@ public class FilesApiServiceImpl implements FilesApiService {
                                                              .build());
     }
 
-    private MultipartFile getFileFromRequest(MultipartHttpServletRequest request) {
-        var parts = request.getFileMap();
-        var it = parts.values()
-                      .iterator();
-        if (!it.hasNext()) {
-            throw new SLException(Messages.NO_FILES_TO_UPLOAD);
+    /**
+     * Starts a resumable upload, whose chunks are stored as parts of a multipart upload when the object store supports it, so that the file
+     * is assembled by the object store itself when the session is committed. Chunks which were not received, e.g. due to a connection
+     * failure, can be found with {@link #getUploadSession(String, String, String)} and sent again.
+     */
+    @Override
+    public ResponseEntity<UploadSession> startUploadSession(String spaceGuid, String namespace, UploadSession uploadSession) {
+        long fileSize = uploadSession.getSize();
+        long maxUploadSize = new Configuration().getMaxUploadSize();
+        if (fileSize < 0) {
+            throw new ContentException(Messages.INVALID_FILE_SIZE_0, fileSize);
+        }
+        if (fileSize > maxUploadSize) {
+            throw new ContentException(Messages.MAX_UPLOAD_SIZE_EXCEEDED, maxUploadSize);
+        }
+        String digest = uploadSession.getDigest();
+        if (digest != null && !MD5_DIGEST_PATTERN.matcher(digest)
+                                                 .matches()) {
+            throw new ContentException(Messages.INVALID_MD5_DIGEST_0, digest);
+        }
+        var session = ImmutableUploadSessionEntry.builder()
+                                                 .id(UUID.randomUUID()
+                                                         .toString())
+                                                 .user(SecurityContextUtil.getUsername())
+                                                 .spaceGuid(spaceGuid)
+                                                 .namespace(namespace)
+                                                 .fileName(FilenameUtils.getName(uploadSession.getFileName()))
+                                                 .fileSize(fileSize)
+                                                 .chunkSize(getUploadChunkSize(fileSize, uploadSession.getChunkSize()))
+                                                 .digest(digest == null ? null : digest.toUpperCase())
+                                                 .fileId(UUID.randomUUID()
+                                                             .toString())
+                                                 .addedAt(LocalDateTime.now())
+                                                 .build();
+        try {
+            String multipartUploadId = fileService.startChunkedUpload(session.toFileEntry());
+            var sessionWithUploadId = session.withMultipartUploadId(multipartUploadId);
+            uploadSessionService.add(sessionWithUploadId);
+            LOGGER.debug(Messages.CREATED_UPLOAD_SESSION, session.getId(), session.getFileName(), fileSize, session.getChunksCount());
+            UploadSession result = toUploadSessionResult(sessionWithUploadId, Collections.emptySet());
+            filesApiServiceAuditLog.logStartUploadSession(SecurityContextUtil.getUsername(), spaceGuid, result);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                                 .body(result);
+        } catch (FileStorageException e) {
+            throw new SLException(e, Messages.COULD_NOT_START_UPLOAD_SESSION_0, e.getMessage());
+        }
+    }
+
+    private long getUploadChunkSize(long fileSize, Long requestedChunkSize) {
+        long chunkSize = requestedChunkSize == null ? DEFAULT_UPLOAD_CHUNK_SIZE
+            : Math.max(MIN_UPLOAD_CHUNK_SIZE, Math.min(MAX_UPLOAD_CHUNK_SIZE, requestedChunkSize));
+        long minChunkSizeForFile = (fileSize + MAX_UPLOAD_CHUNKS_COUNT - 1) / MAX_UPLOAD_CHUNKS_COUNT;
+        return Math.max(chunkSize, minChunkSizeForFile);
+    }
+
+    @Override
+    public ResponseEntity<UploadSession> getUploadSession(String spaceGuid, String namespace, String sessionId) {
+        var session = getUploadSessionEntry(spaceGuid, namespace, sessionId);
+        try {
+            Set<Integer> receivedChunks = fileService.getReceivedChunks(session.toFileEntry(), session.getMultipartUploadId());
+            return ResponseEntity.ok(toUploadSessionResult(session, receivedChunks));
+        } catch (FileStorageException e) {
+            throw new SLException(e, Messages.COULD_NOT_GET_UPLOAD_SESSION_0_1, sessionId, e.getMessage());
+        }
+    }
+
+    /**
+     * The chunk is streamed directly to the file service, so chunks of the same session can be uploaded in parallel. Uploading a chunk
+     * again replaces the previous one, so a failed chunk can simply be retried.
+     */
+    @Override
+    public ResponseEntity<Void> uploadChunk(HttpServletRequest request, String spaceGuid, String namespace, String sessionId,
+                                            int chunkNumber) {
+        var session = getUploadSessionEntry(spaceGuid, namespace, sessionId);
+        if (chunkNumber < 1 || chunkNumber > session.getChunksCount()) {
+            throw new ContentException(Messages.INVALID_CHUNK_NUMBER_0_UPLOAD_SESSION_HAS_1_CHUNKS, chunkNumber, session.getChunksCount());
+        }
+        long chunkSize = session.getSizeOfChunk(chunkNumber);
+        long contentLength = request.getContentLengthLong();
+        if (contentLength != chunkSize) {
+            throw new ContentException(Messages.SIZE_OF_CHUNK_0_IS_1_BUT_2_WAS_EXPECTED, chunkNumber, contentLength, chunkSize);
+        }
+        try (InputStream content = request.getInputStream()) {
+            fileService.addChunk(session.toFileEntry(), session.getMultipartUploadId(), chunkNumber, chunkSize, content);
+            return ResponseEntity.noContent()
+                                 .build();
+        } catch (FileStorageException | IOException e) {
+            throw new SLException(e, Messages.COULD_NOT_UPLOAD_CHUNK_0_OF_UPLOAD_SESSION_1_2, chunkNumber, sessionId, e.getMessage());
+        }
+    }
+
+    /**
+     * The session is removed before the file is assembled, so that only one of several concurrent commits of the session proceeds and no
+     * chunks are added or cleaned up meanwhile. If the commit fails, the session is added again, so that the commit can be retried.
+     */
+    @Override
+    public ResponseEntity<FileMetadata> commitUploadSession(String spaceGuid, String namespace, String sessionId) {
+        var session = getUploadSessionEntry(spaceGuid, namespace, sessionId);
+        int deletedSessions = uploadSessionService.createQuery()
+                                                  .id(session.getId())
+                                                  .delete();
+        if (deletedSessions == 0) {
+            throw new ConflictException(Messages.UPLOAD_SESSION_0_IS_ALREADY_BEING_COMMITTED, sessionId);
+        }
+        boolean isCommitted = false;
+        try {
+            var startTime = LocalDateTime.now();
+            FileEntry fileEntry = fileService.completeChunkedUpload(session.toFileEntry(), session.getMultipartUploadId(),
+                                                                    session.getChunksCount());
+            isCommitted = true;
+            FileMetadata file = parseFileEntry(fileEntry);
+            filesApiServiceAuditLog.logUploadFile(SecurityContextUtil.getUsername(), spaceGuid, file);
+            LOGGER.debug(Messages.COMMITTED_UPLOAD_SESSION, sessionId, file.getId(),
+                         ChronoUnit.MILLIS.between(startTime, LocalDateTime.now()));
+            return ResponseEntity.status(HttpStatus.CREATED)
+                                 .body(file);
+        } catch (FileStorageException e) {
+            throw new SLException(e, Messages.COULD_NOT_COMMIT_UPLOAD_SESSION_0_1, sessionId, e.getMessage());
+        } finally {
+            if (!isCommitted) {
+                uploadSessionService.add(session);
+            }
+        }
+    }
+
+    @Override
+    public ResponseEntity<Void> deleteUploadSession(String spaceGuid, String namespace, String sessionId) {
+        var session = getUploadSessionEntry(spaceGuid, namespace, sessionId);
+        try {
+            fileService.abortChunkedUpload(session.toFileEntry(), session.getMultipartUploadId());
+            uploadSessionService.createQuery()
+                                .id(session.getId())
+                                .delete();
+            return ResponseEntity.noContent()
+                                 .build();
+        } catch (FileStorageException e) {
+            throw new SLException(e, Messages.COULD_NOT_DELETE_UPLOAD_SESSION_0_1, sessionId, e.getMessage());
+        }
+    }
+
+    private UploadSessionEntry getUploadSessionEntry(String spaceGuid, String namespace, String sessionId) {
+        var sessions = uploadSessionService.createQuery()
+                                           .id(sessionId)
+                                           // the ID fully qualifies the session, the other filters prevent accessing a session from
+                                           // another space, namespace or a different user
+                                           .spaceGuid(spaceGuid)
+                                           .user(SecurityContextUtil.getUsername())
+                                           .namespace(namespace)
+                                           .list();
+        if (sessions.isEmpty()) {
+            throw new NotFoundException(Messages.UPLOAD_SESSION_0_NOT_FOUND, sessionId);
         }
-        return it.next();
+        return sessions.get(0);
+    }
+
+    private UploadSession toUploadSessionResult(UploadSessionEntry session, Set<Integer> receivedChunks) {
+        return ImmutableUploadSession.builder()
+                                     .id(session.getId())
+                                     .fileName(session.getFileName())
+                                     .size(session.getFileSize())
+                                     .chunkSize(session.getChunkSize())
+                                     .chunksCount(session.getChunksCount())
+                                     .digest(session.getDigest())
+                                     .receivedChunks(new TreeSet<>(receivedChunks))
+                                     .build();
     }
 
     protected ResilientOperationExecutor getResilientOperationExecutor() {
@@ -339,13 +566,12 @@ public class FilesApiServiceImpl implements FilesApiService {
                                                                                 .withStartedAt(startTime);
         try {
             jobEntryWithStartTime = uploadJobService.update(jobEntry, jobEntryWithStartTime);
-            FileEntry fileEntry = resilientOperationExecutor.execute((CheckedSupplier<FileEntry>) () -> doUploadFileFromUrl(spaceGuid,
-                                                                                                                            namespace,
-                                                                                                                            fileUrl,
-                                                                                                                            counter));
+            CheckedSupplier<UploadedArchive> upload = () -> doUploadFileFromUrl(spaceGuid, namespace, fileUrl, counter);
+            UploadedArchive uploadedArchive = resilientOperationExecutor.execute(upload);
+            FileEntry fileEntry = uploadedArchive.fileEntry;
             LOGGER.trace(Messages.UPLOADED_MTAR_FROM_REMOTE_ENDPOINT_AND_JOB_ID, jobEntry.getUrl(), jobEntry.getId(),
                          ChronoUnit.MILLIS.between(startTime, LocalDateTime.now()));
-            var descriptor = fileService.processFileContent(spaceGuid, fileEntry.getId(), this::extractDeploymentDescriptor);
+            var descriptor = extractDeploymentDescriptor(fileEntry, uploadedArchive.archivePrefix);
             LOGGER.debug(Messages.ASYNC_UPLOAD_JOB_FINISHED, jobEntry.getId());
             uploadJobService.update(jobEntryWithStartTime, ImmutableAsyncUploadJobEntry.copyOf(jobEntryWithStartTime)
                                                                                        .withFileId(fileEntry.getId())
@@ -360,7 +586,7 @@ public class FilesApiServiceImpl implements FilesApiService {
         }
     }
 
-    private FileEntry doUploadFileFromUrl(String spaceGuid, String namespace, String fileUrl, AtomicLong counter) throws Exception {
+    private UploadedArchive doUploadFileFromUrl(String spaceGuid, String namespace, String fileUrl, AtomicLong counter) throws Exception {
         if (!UriUtil.isUrlSecure(fileUrl)) {
             throw new SLException(Messages.MTAR_ENDPOINT_NOT_SECURE);
         }
@@ -382,16 +608,20 @@ public class FilesApiServiceImpl implements FilesApiService {
         resetCounterOnRetry(counter);
         // Normal stream returned from the http response always returns 0 when InputStream::available() is executed which seems to break
         // JClods library: https://issues.apache.org/jira/browse/JCLOUDS-1623
+        // The beginning of the archive, where the deployment descriptor is usually located, is captured while the archive is stored, so
+        // that the descriptor can be read without downloading the archive again
         try (CountingInputStream source = new CountingInputStream(response.body(), counter);
-            BufferedInputStream bufferedContent = new BufferedInputStream(source, INPUT_STREAM_BUFFER_SIZE)) {
+            PrefixCapturingInputStream capturingSource = new PrefixCapturingInputStream(source, MAX_CAPTURED_ARCHIVE_PREFIX_SIZE);
+            BufferedInputStream bufferedContent = new BufferedInputStream(capturingSource, INPUT_STREAM_BUFFER_SIZE)) {
             LOGGER.debug(Messages.UPLOADING_MTAR_STREAM_FROM_REMOTE_ENDPOINT, response.uri());
-            return fileService.addFile(ImmutableFileEntry.builder()
-                                                         .space(spaceGuid)
-                                                         .namespace(namespace)
-                                                         .name(fileName)
-                                                         .size(BigInteger.valueOf(fileSize))
-                                                         .build(),
-                                       bufferedContent);
+            FileEntry fileEntry = fileService.addFile(ImmutableFileEntry.builder()
+                                                                        .space(spaceGuid)
+                                                                        .namespace(namespace)
+                                                                        .name(fileName)
+                                                                        .size(BigInteger.valueOf(fileSize))
+                                                                        .build(),
+                                                      bufferedContent);
+            return new UploadedArchive(fileEntry, capturingSource.getPrefix());
         }
     }
 
@@ -471,12 +701,48 @@ public class FilesApiServiceImpl implements FilesApiService {
         return pathFragments[pathFragments.length - 1];
     }
 
+    private DeploymentDescriptor extractDeploymentDescriptor(FileEntry fileEntry, byte[] archivePrefix) throws FileStorageException {
+        if (containsDeploymentDescriptor(archivePrefix)) {
+            return extractDeploymentDescriptor(new ByteArrayInputStream(archivePrefix));
+        }
+        // Only the descriptor entry is read when the archive was indexed on upload
+        LOGGER.debug(Messages.DEPLOYMENT_DESCRIPTOR_NOT_FOUND_IN_CAPTURED_PART_OF_ARCHIVE, fileEntry.getId());
+        return fileService.processArchiveEntriesContent(fileEntry, DEPLOYMENT_DESCRIPTOR_ENTRY_NAME, this::extractDeploymentDescriptor);
+    }
+
+    private boolean containsDeploymentDescriptor(byte[] archivePrefix) {
+        try (ZipInputStream zipStream = new ZipInputStream(new ByteArrayInputStream(archivePrefix))) {
+            for (ZipEntry entry = zipStream.getNextEntry(); entry != null; entry = zipStream.getNextEntry()) {
+                if (DEPLOYMENT_DESCRIPTOR_ENTRY_NAME.equals(entry.getName())) {
+                    // The entry is complete only if it can be read to its end
+                    zipStream.transferTo(OutputStream.nullOutputStream());
+                    return true;
+                }
+            }
+            return false;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
     private DeploymentDescriptor extractDeploymentDescriptor(InputStream appArchiveStream) {
         String descriptorString = ArchiveHandler.getDescriptor(appArchiveStream, configuration.getMaxMtaDescriptorSize());
         DescriptorParserFacade descriptorParserFacade = descriptorParserFactory.getInstance();
         return descriptorParserFacade.parseDeploymentDescriptor(descriptorString);
     }
 
+    private static class UploadedArchive {
+
+        private final FileEntry fileEntry;
+        private final byte[] archivePrefix;
+
+        UploadedArchive(FileEntry fileEntry, byte[] archivePrefix) {
+            this.fileEntry = fileEntry;
+            this.archivePrefix = archivePrefix;
+        }
+
+    }
+
     private static class CountingInputStream extends ProxyInputStream {
         private final AtomicLong bytes;
 
@@ -12,27 +12,32 @@ import org.cloudfoundry.multiapps.controller.persistence.util.EnvironmentService
 import org.cloudfoundry.multiapps.controller.web.configuration.bean.factory.ObjectStoreFileStorageFactoryBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.multipart.MultipartResolver;
-import org.springframework.web.multipart.commons.CommonsMultipartResolver;
 
 @Configuration
 public class FileStorageConfiguration {
 
     private static final String OBJECT_STORE_SERVICE_NAME = "deploy-service-os";
-    private static final long MAX_UPLOAD_SIZE = 4294967296L; // 4GB
 
     @Inject
     @Bean
-    public ObjectStoreFileStorageFactoryBean objectStoreFileStorage(EnvironmentServicesFinder vcapServiceFinder) {
-        return new ObjectStoreFileStorageFactoryBean(OBJECT_STORE_SERVICE_NAME, vcapServiceFinder);
+    public ObjectStoreFileStorageFactoryBean objectStoreFileStorage(EnvironmentServicesFinder vcapServiceFinder,
+                                                                    ApplicationConfiguration configuration) {
+        return new ObjectStoreFileStorageFactoryBean(OBJECT_STORE_SERVICE_NAME,
+                                                     vcapServiceFinder,
+                                                     configuration,
+                                                     objectStoreExecutor(configuration));
     }
 
-    @Bean(name = "filterMultipartResolver")
-    public MultipartResolver multipartResolver() {
-        CommonsMultipartResolver resolver = new CommonsMultipartResolver();
-        resolver.setMaxUploadSize(MAX_UPLOAD_SIZE);
-        resolver.setMaxUploadSizePerFile(MAX_UPLOAD_SIZE);
-        return resolver;
+    @Inject
+    @Bean(name = "objectStoreExecutor")
+    public ExecutorService objectStoreExecutor(ApplicationConfiguration configuration) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(configuration.getObjectStoreMaxThreads(),
+                                                             configuration.getObjectStoreMaxThreads(),
+                                                             30,
+                                                             TimeUnit.SECONDS,
+                                                             new LinkedBlockingQueue<>());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     @Inject
@@ -44,4 +49,16 @@ public class FileStorageConfiguration {
                                       TimeUnit.SECONDS,
                                       new LinkedBlockingQueue<>());
     }
+
+    @Inject
+    @Bean(name = "modulesExtractionExecutor")
+    public ExecutorService modulesExtractionExecutor(ApplicationConfiguration configuration) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(configuration.getModulesExtractionMaxThreads(),
+                                                             configuration.getModulesExtractionMaxThreads(),
+                                                             30,
+                                                             TimeUnit.SECONDS,
+                                                             new LinkedBlockingQueue<>());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
 }
@@ -1,5 +1,6 @@
 package org.cloudfoundry.multiapps.controller.web.configuration;
 
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
@@ -8,6 +9,7 @@ import javax.inject.Inject;
 import javax.sql.DataSource;
 
 import org.cloudfoundry.multiapps.controller.core.util.ApplicationConfiguration;
+import org.cloudfoundry.multiapps.controller.process.flowable.CompressedByteArrayType;
 import org.flowable.common.engine.impl.AbstractEngineConfiguration;
 import org.flowable.common.engine.impl.async.DefaultAsyncTaskExecutor;
 import org.flowable.common.engine.impl.persistence.StrongUuidGenerator;
@@ -59,7 +61,8 @@ public class FlowableConfiguration {
     @DependsOn("liquibaseChangelog")
     public SpringProcessEngineConfiguration processEngineConfiguration(DataSource dataSource, PlatformTransactionManager transactionManager,
                                                                        AsyncExecutor jobExecutor,
-                                                                       @Lazy FailedJobCommandFactory abortFailedProcessCommandFactory) {
+                                                                       @Lazy FailedJobCommandFactory abortFailedProcessCommandFactory,
+                                                                       ApplicationConfiguration configuration) {
         SpringProcessEngineConfiguration processEngineConfiguration = new SpringProcessEngineConfiguration();
         processEngineConfiguration.setDatabaseSchemaUpdate(DATABASE_SCHEMA_UPDATE);
         processEngineConfiguration.setDataSource(dataSource);
@@ -73,6 +76,9 @@ public class FlowableConfiguration {
         // Before introduction of Global lock mechanism, multi instance executions always lock parent execution. Now by default it's not
         // locked and this leads to concurrency issues with execution of parallel jobs and lead to failed mta operations.
         processEngineConfiguration.setParallelMultiInstanceAsyncLeave(false);
+        // The type is registered even when compression is disabled, so that the values compressed by other instances can be read
+        CompressedByteArrayType compressedByteArrayType = new CompressedByteArrayType(configuration.shouldCompressProcessVariables());
+        processEngineConfiguration.setCustomPreVariableTypes(List.of(compressedByteArrayType));
         return processEngineConfiguration;
     }
 
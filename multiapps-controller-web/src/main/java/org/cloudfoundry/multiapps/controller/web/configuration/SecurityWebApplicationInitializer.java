@@ -1,16 +1,7 @@
 package org.cloudfoundry.multiapps.controller.web.configuration;
 
-import javax.servlet.ServletContext;
-
 import org.springframework.security.web.context.AbstractSecurityWebApplicationInitializer;
-import org.springframework.web.multipart.support.MultipartFilter;
 
 public class SecurityWebApplicationInitializer extends AbstractSecurityWebApplicationInitializer {
 
-    @Override
-    protected void afterSpringSecurityFilterChain(ServletContext servletContext) {
-        super.afterSpringSecurityFilterChain(servletContext);
-        appendFilters(servletContext, new MultipartFilter());
-    }
-
 }
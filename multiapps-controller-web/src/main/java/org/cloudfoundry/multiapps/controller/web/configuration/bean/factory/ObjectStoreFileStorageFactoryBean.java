@@ -5,8 +5,11 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
+import org.cloudfoundry.multiapps.controller.core.util.ApplicationConfiguration;
 import org.cloudfoundry.multiapps.controller.persistence.services.ObjectStoreFileStorage;
+import org.cloudfoundry.multiapps.controller.persistence.stream.ChunkBufferPool;
 import org.cloudfoundry.multiapps.controller.persistence.util.EnvironmentServicesFinder;
 import org.cloudfoundry.multiapps.controller.web.Messages;
 import org.cloudfoundry.multiapps.controller.web.configuration.service.ObjectStoreServiceInfo;
@@ -26,11 +29,16 @@ public class ObjectStoreFileStorageFactoryBean implements FactoryBean<ObjectStor
 
     private final String serviceName;
     private final EnvironmentServicesFinder environmentServicesFinder;
+    private final ApplicationConfiguration configuration;
+    private final ExecutorService objectStoreExecutor;
     private ObjectStoreFileStorage objectStoreFileStorage;
 
-    public ObjectStoreFileStorageFactoryBean(String serviceName, EnvironmentServicesFinder environmentServicesFinder) {
+    public ObjectStoreFileStorageFactoryBean(String serviceName, EnvironmentServicesFinder environmentServicesFinder,
+                                             ApplicationConfiguration configuration, ExecutorService objectStoreExecutor) {
         this.serviceName = serviceName;
         this.environmentServicesFinder = environmentServicesFinder;
+        this.configuration = configuration;
+        this.objectStoreExecutor = objectStoreExecutor;
     }
 
     @Override
@@ -91,7 +99,13 @@ public class ObjectStoreFileStorageFactoryBean implements FactoryBean<ObjectStor
     }
 
     protected ObjectStoreFileStorage createFileStorage(ObjectStoreServiceInfo objectStoreServiceInfo, BlobStoreContext context) {
-        return new ObjectStoreFileStorage(context.getBlobStore(), objectStoreServiceInfo.getContainer());
+        ChunkBufferPool readAheadBufferPool = new ChunkBufferPool(configuration.getObjectStoreReadAheadChunkSize(),
+                                                                  configuration.getObjectStoreReadAheadMaxMemory());
+        return new ObjectStoreFileStorage(context.getBlobStore(),
+                                          objectStoreServiceInfo.getContainer(),
+                                          objectStoreExecutor,
+                                          readAheadBufferPool,
+                                          configuration.getObjectStoreReadAheadWindow());
     }
 
     @Override
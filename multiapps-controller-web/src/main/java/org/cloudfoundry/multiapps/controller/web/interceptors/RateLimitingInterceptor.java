@@ -8,10 +8,15 @@ import javax.inject.Named;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.apache.commons.fileupload.servlet.ServletFileUpload;
+import org.apache.commons.lang3.StringUtils;
 import org.cloudfoundry.multiapps.controller.web.Constants;
 import org.cloudfoundry.multiapps.controller.web.util.RateLimiterProvider;
+import org.cloudfoundry.multiapps.controller.web.util.RateLimiterProvider.EndpointClass;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 
 import io.github.resilience4j.ratelimiter.RateLimiterConfig;
 import io.github.resilience4j.ratelimiter.internal.AtomicRateLimiter;
@@ -33,9 +38,12 @@ public class RateLimitingInterceptor implements CustomHandlerInterceptor {
             return true;
         }
         String ipAddress = request.getRemoteAddr();
-        AtomicRateLimiter rateLimiter = rateLimiterProvider.getRateLimiter(ipAddress);
+        AtomicRateLimiter overallRateLimiter = rateLimiterProvider.getRateLimiter(ipAddress);
+        AtomicRateLimiter endpointClassRateLimiter = rateLimiterProvider.getRateLimiter(ipAddress, getEndpointClass(request));
 
-        boolean hasAcquiredPermission = rateLimiter.acquirePermission();
+        // Requests rejected by the limit of their endpoint class do not consume a permission of the overall limit
+        boolean hasAcquiredPermission = endpointClassRateLimiter.acquirePermission() && overallRateLimiter.acquirePermission();
+        AtomicRateLimiter rateLimiter = getMostRestrictiveRateLimiter(overallRateLimiter, endpointClassRateLimiter);
         AtomicRateLimiterMetrics metrics = rateLimiter.getDetailedMetrics();
         RateLimiterConfig config = rateLimiter.getRateLimiterConfig();
 
@@ -54,6 +62,30 @@ public class RateLimitingInterceptor implements CustomHandlerInterceptor {
         return request.getHeader(HttpHeaders.AUTHORIZATION) == null;
     }
 
+    private static EndpointClass getEndpointClass(HttpServletRequest request) {
+        if (ServletFileUpload.isMultipartContent(request) || isChunkUpload(request)) {
+            return EndpointClass.UPLOAD;
+        }
+        if (HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())) {
+            return EndpointClass.POLLING;
+        }
+        return EndpointClass.MUTATION;
+    }
+
+    private static boolean isChunkUpload(HttpServletRequest request) {
+        return HttpMethod.PUT.matches(request.getMethod())
+            && StringUtils.startsWithIgnoreCase(request.getContentType(), MediaType.APPLICATION_OCTET_STREAM_VALUE);
+    }
+
+    private static AtomicRateLimiter getMostRestrictiveRateLimiter(AtomicRateLimiter overallRateLimiter,
+                                                                   AtomicRateLimiter endpointClassRateLimiter) {
+        int overallAvailablePermissions = overallRateLimiter.getDetailedMetrics()
+                                                            .getAvailablePermissions();
+        int endpointClassAvailablePermissions = endpointClassRateLimiter.getDetailedMetrics()
+                                                                        .getAvailablePermissions();
+        return overallAvailablePermissions < endpointClassAvailablePermissions ? overallRateLimiter : endpointClassRateLimiter;
+    }
+
     private static long getUtcTimeForNextReset(long nanosToWaitForReset) {
         return OffsetDateTime.now(ZoneOffset.UTC)
                              .plusNanos(nanosToWaitForReset)
@@ -31,11 +31,23 @@ import com.sap.cloudfoundry.client.facade.domain.UserRole;
 import com.sap.cloudfoundry.client.facade.oauth2.OAuth2AccessTokenWithAdditionalInfo;
 import com.sap.cloudfoundry.client.facade.oauth2.TokenFactory;
 
+/**
+ * Checks whether users have the space roles required for an operation. The roles of a user are fetched for the checked space only, so that
+ * the cost of a cache miss does not grow with the number of spaces of the user. Roles which grant a permission are reused for the
+ * configured space developer cache time. Roles which deny it are only reused for {@link #RECENT_USER_ROLES_EXPIRATION}, so that newly
+ * assigned roles are recognized quickly, without requesting the roles of a denied user on every request. The roles of a user in all spaces
+ * are not prefetched, since a single miss would then page through every role of the user. The GUID resolved for an org and space name
+ * is reused for at most the space developer cache time and is resolved again after a denied check, so that a recreated space is found.
+ */
 @Named
 public class AuthorizationChecker implements DisposableBean {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AuthorizationChecker.class);
+    static final Duration RECENT_USER_ROLES_EXPIRATION = Duration.ofSeconds(5);
+
     private CachedMap<SpaceWithUser, Set<UserRole>> userRolesCache = null;
+    private CachedMap<SpaceWithUser, Set<UserRole>> recentUserRolesCache = null;
+    private CachedMap<CloudTarget, UUID> spaceGuidsCache = null;
 
     private final CloudControllerClientFactory clientFactory;
     private final TokenService tokenService;
@@ -58,6 +70,8 @@ public class AuthorizationChecker implements DisposableBean {
         }
         Integer cacheExpirationInSeconds = applicationConfiguration.getSpaceDeveloperCacheExpirationInSeconds();
         userRolesCache = new CachedMap<>(Duration.ofSeconds(cacheExpirationInSeconds));
+        recentUserRolesCache = new CachedMap<>(RECENT_USER_ROLES_EXPIRATION);
+        spaceGuidsCache = new CachedMap<>(Duration.ofSeconds(cacheExpirationInSeconds));
     }
 
     public void ensureUserIsAuthorized(HttpServletRequest request, UserInfo userInfo, CloudTarget target, String action) {
@@ -95,12 +109,24 @@ public class AuthorizationChecker implements DisposableBean {
             return true;
         }
         var userToken = tokenService.getToken(userInfo.getName());
-        var spaceClient = clientFactory.createSpaceClient(userToken);
-        var space = spaceClient.getSpace(orgName, spaceName);
-
-        CfRolesGetter rolesGetter = getRolesGetter(userToken);
+        CloudTarget target = new CloudTarget(orgName, spaceName);
+        UUID spaceGuid = spaceGuidsCache.computeIfAbsent(target, () -> getSpaceGuid(userToken, orgName, spaceName));
         UUID userGuid = UUID.fromString(userInfo.getId());
-        return hasPermissions(rolesGetter, getSpaceWithUser(userGuid, space.getGuid()), readOnly);
+        boolean hasPermissions = false;
+        try {
+            hasPermissions = hasPermissions(userToken, getSpaceWithUser(userGuid, spaceGuid), readOnly);
+            return hasPermissions;
+        } finally {
+            if (!hasPermissions) {
+                spaceGuidsCache.remove(target);
+            }
+        }
+    }
+
+    private UUID getSpaceGuid(OAuth2AccessTokenWithAdditionalInfo userToken, String orgName, String spaceName) {
+        return clientFactory.createSpaceClient(userToken)
+                            .getSpace(orgName, spaceName)
+                            .getGuid();
     }
 
     protected CfRolesGetter getRolesGetter(OAuth2AccessTokenWithAdditionalInfo token) {
@@ -112,10 +138,9 @@ public class AuthorizationChecker implements DisposableBean {
             return true;
         }
         var userToken = tokenService.getToken(userInfo.getName());
-        CfRolesGetter rolesGetter = getRolesGetter(userToken);
         UUID userGuid = UUID.fromString(userInfo.getId());
         UUID spaceGuid = convertSpaceIdToUUID(spaceId);
-        return hasPermissions(rolesGetter, getSpaceWithUser(userGuid, spaceGuid), readOnly);
+        return hasPermissions(userToken, getSpaceWithUser(userGuid, spaceGuid), readOnly);
     }
 
     private UUID convertSpaceIdToUUID(String spaceId) {
@@ -128,11 +153,15 @@ public class AuthorizationChecker implements DisposableBean {
         return spaceGuid;
     }
 
-    private boolean hasPermissions(CfRolesGetter rolesGetter, SpaceWithUser spaceWithUser, boolean readOnly) {
-        if (isSpaceDeveloperUsingCache(spaceWithUser)) {
+    private boolean hasPermissions(OAuth2AccessTokenWithAdditionalInfo userToken, SpaceWithUser spaceWithUser, boolean readOnly) {
+        Set<UserRole> cachedUserRoles = userRolesCache.get(spaceWithUser);
+        if (cachedUserRoles != null && hasPermissions(cachedUserRoles, readOnly)) {
             return true;
         }
-        Set<UserRole> userRoles = refreshUserRoles(rolesGetter, spaceWithUser);
+        return hasPermissions(getRecentUserRoles(userToken, spaceWithUser), readOnly);
+    }
+
+    private boolean hasPermissions(Set<UserRole> userRoles, boolean readOnly) {
         if (userRoles.contains(UserRole.SPACE_DEVELOPER)) {
             return true;
         }
@@ -143,14 +172,15 @@ public class AuthorizationChecker implements DisposableBean {
         return new SpaceWithUser(userGuid, spaceGuid);
     }
 
-    private boolean isSpaceDeveloperUsingCache(SpaceWithUser spaceWithUser) {
-        Set<UserRole> userRoles = userRolesCache.get(spaceWithUser);
-        return userRoles != null && userRoles.contains(UserRole.SPACE_DEVELOPER);
+    private Set<UserRole> getRecentUserRoles(OAuth2AccessTokenWithAdditionalInfo userToken, SpaceWithUser spaceWithUser) {
+        return recentUserRolesCache.computeIfAbsent(spaceWithUser, () -> refreshUserRoles(userToken, spaceWithUser));
     }
 
-    private Set<UserRole> refreshUserRoles(CfRolesGetter rolesGetter, SpaceWithUser spaceWithUser) {
-        Set<UserRole> userRoles = rolesGetter.getRoles(spaceWithUser.getSpaceGuid(), spaceWithUser.getUserGuid());
-        userRolesCache.put(spaceWithUser, userRoles);
+    private Set<UserRole> refreshUserRoles(OAuth2AccessTokenWithAdditionalInfo userToken, SpaceWithUser spaceWithUser) {
+        Set<UserRole> userRoles = getRolesGetter(userToken).getRoles(spaceWithUser.getSpaceGuid(), spaceWithUser.getUserGuid());
+        if (!userRoles.isEmpty()) {
+            userRolesCache.put(spaceWithUser, userRoles);
+        }
         return userRoles;
     }
 
@@ -181,5 +211,7 @@ public class AuthorizationChecker implements DisposableBean {
     @Override
     public void destroy() {
         userRolesCache.clear();
+        recentUserRolesCache.clear();
+        spaceGuidsCache.clear();
     }
 }
@@ -1,29 +1,78 @@
 package org.cloudfoundry.multiapps.controller.web.util;
 
 import java.time.Duration;
+import java.util.EnumMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
+import javax.inject.Inject;
 import javax.inject.Named;
 
+import org.cloudfoundry.multiapps.controller.core.model.CachedMap;
+import org.cloudfoundry.multiapps.controller.core.util.ApplicationConfiguration;
+
 import io.github.resilience4j.ratelimiter.RateLimiterConfig;
 import io.github.resilience4j.ratelimiter.internal.AtomicRateLimiter;
 
+/**
+ * Provides an overall rate limiter per client IP address, which is shared by all endpoint classes, and a rate limiter per client IP address
+ * and endpoint class, which further limits the requests of that class. The rate limiters are kept for one limit refresh period, after
+ * which their permissions would have been refreshed anyway, and the number of kept rate limiters is bounded, so that requests from many
+ * different addresses cannot grow the registry without limit.
+ */
 @Named
 public class RateLimiterProvider {
 
-    private final Map<String, AtomicRateLimiter> rateLimiters = new ConcurrentHashMap<>();
+    static final long MAX_RATE_LIMITERS_PER_ENDPOINT_CLASS = 100000;
+    static final int RATE_LIMIT_PER_HOUR = 5000;
+    private static final Duration LIMIT_REFRESH_PERIOD = Duration.ofHours(1);
+
+    private final RateLimiterConfig rateLimiterConfig = createRateLimiterConfig(RATE_LIMIT_PER_HOUR);
+    private final CachedMap<String, AtomicRateLimiter> overallRateLimiters;
+    private final Map<EndpointClass, RateLimiterConfig> rateLimiterConfigs = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, CachedMap<String, AtomicRateLimiter>> rateLimiters = new EnumMap<>(EndpointClass.class);
+
+    @Inject
+    public RateLimiterProvider(ApplicationConfiguration configuration) {
+        this(configuration, MAX_RATE_LIMITERS_PER_ENDPOINT_CLASS);
+    }
+
+    RateLimiterProvider(ApplicationConfiguration configuration, long maxRateLimitersPerEndpointClass) {
+        overallRateLimiters = new CachedMap<>(LIMIT_REFRESH_PERIOD, maxRateLimitersPerEndpointClass);
+        rateLimiterConfigs.put(EndpointClass.UPLOAD, createRateLimiterConfig(configuration.getRateLimitUploadsPerHour()));
+        rateLimiterConfigs.put(EndpointClass.POLLING, createRateLimiterConfig(configuration.getRateLimitPollingPerHour()));
+        rateLimiterConfigs.put(EndpointClass.MUTATION, createRateLimiterConfig(configuration.getRateLimitMutationsPerHour()));
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            rateLimiters.put(endpointClass, new CachedMap<>(LIMIT_REFRESH_PERIOD, maxRateLimitersPerEndpointClass));
+        }
+    }
 
     public AtomicRateLimiter getRateLimiter(String ipAddress) {
-        return rateLimiters.computeIfAbsent(ipAddress, k -> createRateLimiter());
+        return overallRateLimiters.computeIfAbsent(ipAddress, () -> createRateLimiter(rateLimiterConfig));
+    }
+
+    public AtomicRateLimiter getRateLimiter(String ipAddress, EndpointClass endpointClass) {
+        return rateLimiters.get(endpointClass)
+                           .computeIfAbsent(ipAddress, () -> createRateLimiter(rateLimiterConfigs.get(endpointClass)));
+    }
+
+    long getRateLimitersCount(EndpointClass endpointClass) {
+        return rateLimiters.get(endpointClass)
+                           .size();
     }
 
-    private AtomicRateLimiter createRateLimiter() {
-        RateLimiterConfig config = RateLimiterConfig.custom()
-                                                    .limitForPeriod(5000)
-                                                    .limitRefreshPeriod(Duration.ofHours(1))
-                                                    .timeoutDuration(Duration.ZERO)
-                                                    .build();
+    private static AtomicRateLimiter createRateLimiter(RateLimiterConfig config) {
         return new AtomicRateLimiter("MTA Rate Limiter", config);
     }
+
+    private static RateLimiterConfig createRateLimiterConfig(int limitForPeriod) {
+        return RateLimiterConfig.custom()
+                                .limitForPeriod(limitForPeriod)
+                                .limitRefreshPeriod(LIMIT_REFRESH_PERIOD)
+                                .timeoutDuration(Duration.ZERO)
+                                .build();
+    }
+
+    public enum EndpointClass {
+        UPLOAD, POLLING, MUTATION
+    }
 }
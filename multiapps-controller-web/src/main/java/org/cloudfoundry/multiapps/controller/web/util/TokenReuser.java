@@ -9,6 +9,7 @@ import java.util.Optional;
 
 import javax.inject.Named;
 
+import org.cloudfoundry.multiapps.controller.core.model.CachedMap;
 import org.cloudfoundry.multiapps.controller.persistence.OrderDirection;
 import org.cloudfoundry.multiapps.controller.persistence.model.AccessToken;
 import org.cloudfoundry.multiapps.controller.persistence.services.AccessTokenService;
@@ -18,24 +19,45 @@ import com.sap.cloudfoundry.client.facade.oauth2.OAuth2AccessTokenWithAdditional
 @Named
 public class TokenReuser {
 
+    private static final Duration REUSABLE_TOKENS_EXPIRATION_TIME = Duration.ofMinutes(1);
+
     private final AccessTokenService accessTokenService;
+    private final CachedMap<String, AccessToken> reusableTokens = new CachedMap<>(REUSABLE_TOKENS_EXPIRATION_TIME);
 
     public TokenReuser(AccessTokenService accessTokenService) {
         this.accessTokenService = accessTokenService;
     }
 
     public Optional<AccessToken> getTokenWithExpirationAfter(String username, long expiresAfterInSeconds) {
+        LocalDateTime dateAfter = calculateDateAfter(expiresAfterInSeconds);
+        Optional<AccessToken> reusableToken = getReusableToken(username, dateAfter);
+        if (reusableToken.isPresent()) {
+            return reusableToken;
+        }
         List<AccessToken> accessTokens = getTokensOrderedByExpiresAt(username);
         if (accessTokens.isEmpty()) {
             return Optional.empty();
         }
-        LocalDateTime dateAfter = calculateDateAfter(expiresAfterInSeconds);
         if (shouldUseLatestToken(accessTokens, dateAfter)) {
-            return Optional.of(accessTokens.get(0));
+            return Optional.of(reuseToken(username, accessTokens.get(0)));
         }
         return Optional.empty();
     }
 
+    private Optional<AccessToken> getReusableToken(String username, LocalDateTime dateAfter) {
+        AccessToken reusableToken = reusableTokens.get(username);
+        if (reusableToken != null && reusableToken.getExpiresAt()
+                                                  .isAfter(dateAfter)) {
+            return Optional.of(reusableToken);
+        }
+        return Optional.empty();
+    }
+
+    private AccessToken reuseToken(String username, AccessToken accessToken) {
+        reusableTokens.put(username, accessToken);
+        return accessToken;
+    }
+
     private List<AccessToken> getTokensOrderedByExpiresAt(String username) {
         return accessTokenService.createQuery()
                                  .username(username)
@@ -57,13 +79,17 @@ public class TokenReuser {
 
     public Optional<AccessToken> getTokenWithExpirationAfterOrReuseCurrent(String username, long expiresAfterInSeconds,
                                                                            OAuth2AccessTokenWithAdditionalInfo currentToken) {
+        LocalDateTime dateAfter = calculateDateAfter(expiresAfterInSeconds);
+        Optional<AccessToken> reusableToken = getReusableToken(username, dateAfter);
+        if (reusableToken.isPresent()) {
+            return reusableToken;
+        }
         List<AccessToken> accessTokens = getTokensOrderedByExpiresAt(username);
         if (accessTokens.isEmpty()) {
             return Optional.empty();
         }
-        LocalDateTime dateAfter = calculateDateAfter(expiresAfterInSeconds);
         if (shouldUseLatestToken(accessTokens, dateAfter)) {
-            return Optional.of(accessTokens.get(0));
+            return Optional.of(reuseToken(username, accessTokens.get(0)));
         }
         LocalDateTime currentTokenExpirationDate = getExpirationDate(currentToken);
         if (currentTokenExpirationDate.equals(accessTokens.get(0)
@@ -1,10 +1,15 @@
 package org.cloudfoundry.multiapps.controller.web.api.impl;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
 import java.net.http.HttpClient;
@@ -21,14 +26,25 @@ import java.util.Random;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import javax.persistence.NoResultException;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.cloudfoundry.multiapps.common.ConflictException;
+import org.cloudfoundry.multiapps.common.ContentException;
+import org.cloudfoundry.multiapps.common.NotFoundException;
 import org.cloudfoundry.multiapps.common.SLException;
 import org.cloudfoundry.multiapps.controller.api.model.AsyncUploadResult;
 import org.cloudfoundry.multiapps.controller.api.model.FileMetadata;
 import org.cloudfoundry.multiapps.controller.api.model.ImmutableFileUrl;
+import org.cloudfoundry.multiapps.controller.api.model.ImmutableUploadSession;
+import org.cloudfoundry.multiapps.controller.api.model.UploadSession;
 import org.cloudfoundry.multiapps.controller.client.util.ResilientOperationExecutor;
 import org.cloudfoundry.multiapps.controller.core.auditlogging.FilesApiServiceAuditLog;
 import org.cloudfoundry.multiapps.controller.core.helpers.DescriptorParserFacadeFactory;
@@ -38,11 +54,16 @@ import org.cloudfoundry.multiapps.controller.persistence.Constants;
 import org.cloudfoundry.multiapps.controller.persistence.model.AsyncUploadJobEntry;
 import org.cloudfoundry.multiapps.controller.persistence.model.FileEntry;
 import org.cloudfoundry.multiapps.controller.persistence.model.ImmutableFileEntry;
+import org.cloudfoundry.multiapps.controller.persistence.model.ImmutableUploadSessionEntry;
+import org.cloudfoundry.multiapps.controller.persistence.model.UploadSessionEntry;
 import org.cloudfoundry.multiapps.controller.persistence.query.AsyncUploadJobsQuery;
+import org.cloudfoundry.multiapps.controller.persistence.query.UploadSessionsQuery;
 import org.cloudfoundry.multiapps.controller.persistence.services.AsyncUploadJobService;
 import org.cloudfoundry.multiapps.controller.persistence.services.FileService;
 import org.cloudfoundry.multiapps.controller.persistence.services.FileStorageException;
+import org.cloudfoundry.multiapps.controller.persistence.services.UploadSessionService;
 import org.cloudfoundry.multiapps.controller.persistence.util.Configuration;
+import org.cloudfoundry.multiapps.controller.web.Messages;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -50,6 +71,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -60,8 +82,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
-import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.multipart.MultipartHttpServletRequest;
 
 class FilesApiServiceImplTest {
 
@@ -72,12 +92,11 @@ class FilesApiServiceImplTest {
     private static final String SPACE_GUID = "896e6be9-8217-4a1c-b938-09b30966157a";
     private static final String NAMESPACE = "custom-namespace";
     private static final String DIGEST_CHARACTER_TABLE = "123456789ABCDEF";
+    private static final String MULTIPART_BOUNDARY = "upload-boundary";
     @Mock
     private FileService fileService;
     @Mock
-    private MultipartHttpServletRequest request;
-    @Mock
-    private MultipartFile file;
+    private HttpServletRequest request;
     @Mock
     private HttpClient httpClient;
     @Mock
@@ -105,6 +124,8 @@ class FilesApiServiceImplTest {
     private DescriptorParserFacadeFactory descriptorParserFactory = new DescriptorParserFacadeFactory(configuration);
     @Mock
     private AsyncUploadJobService uploadJobService;
+    @Mock
+    private UploadSessionService uploadSessionService;
 
     @BeforeAll
     public static void setUser() {
@@ -148,44 +169,102 @@ class FilesApiServiceImplTest {
     void testUploadMtaFile() throws Exception {
         String fileName = "test.mtar";
         FileEntry fileEntry = createFileEntry(fileName);
-        long fileSize = fileEntry.getSize()
-                                 .longValue();
-
-        Mockito.when(file.getSize())
-               .thenReturn(fileSize);
-        Mockito.when(file.getOriginalFilename())
-               .thenReturn(fileName);
-        Mockito.when(file.getInputStream())
-               .thenReturn(Mockito.mock(InputStream.class));
-        Mockito.when(request.getFileMap())
-               .thenReturn(Map.of("file", file));
+        byte[] fileContent = "file content".getBytes(StandardCharsets.UTF_8);
+        mockMultipartRequest("Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n"
+            + "Content-Type: application/octet-stream\r\n\r\n", fileContent);
 
         Mockito.when(fileService.addFile(Mockito.eq(ImmutableFileEntry.builder()
                                                                       .space(SPACE_GUID)
                                                                       .namespace(NAMESPACE)
                                                                       .name(fileName)
-                                                                      .size(BigInteger.valueOf(fileSize))
                                                                       .build()),
                                          Mockito.any(InputStream.class)))
-               .thenReturn(fileEntry);
+               .thenAnswer(invocation -> {
+                   assertArrayEquals(fileContent, IOUtils.toByteArray((InputStream) invocation.getArgument(1)));
+                   return fileEntry;
+               });
 
         ResponseEntity<FileMetadata> response = testedClass.uploadFile(request, SPACE_GUID, NAMESPACE);
 
-        Mockito.verify(file)
-               .getInputStream();
         Mockito.verify(fileService)
-               .addFile(Mockito.eq(ImmutableFileEntry.builder()
-                                                     .space(SPACE_GUID)
-                                                     .namespace(NAMESPACE)
-                                                     .name(fileName)
-                                                     .size(BigInteger.valueOf(fileSize))
-                                                     .build()),
-                        Mockito.any(InputStream.class));
-
+               .addFile(Mockito.any(), Mockito.any(InputStream.class));
         FileMetadata fileMetadata = response.getBody();
         assertMetadataMatches(fileEntry, fileMetadata);
     }
 
+    @Test
+    void testUploadMtaFileWithPartSize() throws Exception {
+        String fileName = "test.mtar";
+        FileEntry fileEntry = createFileEntry(fileName);
+        byte[] fileContent = "file content".getBytes(StandardCharsets.UTF_8);
+        mockMultipartRequest("Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n"
+            + "Content-Length: " + fileContent.length + "\r\n\r\n", fileContent);
+
+        Mockito.when(fileService.addFile(Mockito.eq(ImmutableFileEntry.builder()
+                                                                      .space(SPACE_GUID)
+                                                                      .namespace(NAMESPACE)
+                                                                      .name(fileName)
+                                                                      .size(BigInteger.valueOf(fileContent.length))
+                                                                      .build()),
+                                         Mockito.any(InputStream.class)))
+               .thenReturn(fileEntry);
+
+        ResponseEntity<FileMetadata> response = testedClass.uploadFile(request, SPACE_GUID, NAMESPACE);
+
+        assertMetadataMatches(fileEntry, response.getBody());
+    }
+
+    @Test
+    void testUploadMtaFileWithoutFile() throws Exception {
+        mockMultipartRequest("Content-Disposition: form-data; name=\"namespace\"\r\n\r\n", NAMESPACE.getBytes(StandardCharsets.UTF_8));
+
+        SLException exception = Assertions.assertThrows(SLException.class, () -> testedClass.uploadFile(request, SPACE_GUID, NAMESPACE));
+
+        assertEquals(Messages.NO_FILES_TO_UPLOAD, exception.getMessage());
+        Mockito.verifyNoInteractions(fileService);
+    }
+
+    private void mockMultipartRequest(String partHeaders, byte[] partContent) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(("--" + MULTIPART_BOUNDARY + "\r\n" + partHeaders).getBytes(StandardCharsets.UTF_8));
+        body.write(partContent);
+        body.write(("\r\n--" + MULTIPART_BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        ByteArrayInputStream bodyStream = new ByteArrayInputStream(body.toByteArray());
+        Mockito.when(request.getMethod())
+               .thenReturn("POST");
+        Mockito.when(request.getContentType())
+               .thenReturn("multipart/form-data; boundary=" + MULTIPART_BOUNDARY);
+        Mockito.when(request.getContentLength())
+               .thenReturn(body.size());
+        Mockito.when(request.getInputStream())
+               .thenReturn(new ServletInputStream() {
+                   @Override
+                   public int read() {
+                       return bodyStream.read();
+                   }
+
+                   @Override
+                   public int read(byte[] b, int off, int len) {
+                       return bodyStream.read(b, off, len);
+                   }
+
+                   @Override
+                   public boolean isFinished() {
+                       return bodyStream.available() == 0;
+                   }
+
+                   @Override
+                   public boolean isReady() {
+                       return true;
+                   }
+
+                   @Override
+                   public void setReadListener(ReadListener readListener) {
+                       throw new UnsupportedOperationException();
+                   }
+               });
+    }
+
     @Test
     void testUploadFileFromUrl() throws Exception {
         String fileName = "test.mtar";
@@ -257,6 +336,65 @@ class FilesApiServiceImplTest {
         assertEquals(status, AsyncUploadResult.JobStatus.FINISHED);
     }
 
+    @Test
+    void testUploadFileFromUrlReadsDescriptorFromCapturedArchivePrefix() throws Exception {
+        FileEntry fileEntry = createFileEntry("test.mtar");
+        byte[] archive = createArchive("_schema-version: 3\nID: " + MTA_ID + "\nversion: 1.0.0\n");
+        HttpHeaders headers = HttpHeaders.of(Map.of("Content-Length", List.of(Integer.toString(archive.length))), (a, b) -> true);
+        AsyncUploadJobsQuery query = Mockito.mock(AsyncUploadJobsQuery.class, Answers.RETURNS_SELF);
+        var jobEntry = mockUploadJobEntry(null, AsyncUploadJobEntry.State.INITIAL, null);
+
+        Mockito.when(fileUrlResponse.headers())
+               .thenReturn(headers);
+        Mockito.when(fileUrlResponse.statusCode())
+               .thenReturn(200);
+        Mockito.when(fileUrlResponse.body())
+               .thenReturn(new ByteArrayInputStream(archive));
+        Mockito.when(httpClient.send(Mockito.any(), Mockito.eq(BodyHandlers.ofInputStream())))
+               .thenReturn(fileUrlResponse);
+        AsyncUploadJobsQuery queryReturningNoJobs = mock(AsyncUploadJobsQuery.class);
+        when(query.withStateAnyOf(AsyncUploadJobEntry.State.INITIAL, AsyncUploadJobEntry.State.RUNNING)).thenReturn(queryReturningNoJobs);
+        Mockito.when(uploadJobService.createQuery())
+               .thenReturn(query);
+        Mockito.when(uploadJobService.update(any(), any()))
+               .thenReturn(jobEntry);
+        Mockito.when(configuration.getMaxMtaDescriptorSize())
+               .thenReturn(1024L * 1024);
+        Mockito.when(fileService.addFile(Mockito.any(), Mockito.any(InputStream.class)))
+               .thenAnswer(invocation -> {
+                   IOUtils.consume((InputStream) invocation.getArgument(1));
+                   return fileEntry;
+               });
+        prepareAsyncExecutor(Mockito.mock(Future.class));
+
+        testedClass.startUploadFromUrl(SPACE_GUID, NAMESPACE, ImmutableFileUrl.of(FILE_URL));
+
+        ArgumentCaptor<AsyncUploadJobEntry> jobCaptor = ArgumentCaptor.forClass(AsyncUploadJobEntry.class);
+        Mockito.verify(uploadJobService, Mockito.times(2))
+               .update(any(), jobCaptor.capture());
+        AsyncUploadJobEntry finishedJob = jobCaptor.getValue();
+        assertEquals(AsyncUploadJobEntry.State.FINISHED, finishedJob.getState());
+        assertEquals(MTA_ID, finishedJob.getMtaId());
+        assertEquals(fileEntry.getId(), finishedJob.getFileId());
+        Mockito.verify(fileService, Mockito.never())
+               .processFileContent(any(), any(), any());
+        Mockito.verify(fileService, Mockito.never())
+               .processArchiveEntriesContent(any(FileEntry.class), any(), any());
+    }
+
+    private byte[] createArchive(String descriptor) throws IOException {
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipOutputStream zipStream = new ZipOutputStream(archive)) {
+            zipStream.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+            zipStream.write("Manifest-Version: 1.0\n".getBytes(StandardCharsets.UTF_8));
+            zipStream.putNextEntry(new ZipEntry("META-INF/mtad.yaml"));
+            zipStream.write(descriptor.getBytes(StandardCharsets.UTF_8));
+            zipStream.putNextEntry(new ZipEntry("module/content.txt"));
+            zipStream.write(new byte[64 * 1024]);
+        }
+        return archive.toByteArray();
+    }
+
     private void prepareAsyncExecutor(Future<?> future) {
         Mockito.doAnswer(invocationOnMock -> {
             Runnable r = invocationOnMock.getArgument(0);
@@ -448,6 +586,140 @@ class FilesApiServiceImplTest {
                                                                          .getStatus());
     }
 
+    @Test
+    void testStartUploadSession() throws Exception {
+        when(fileService.startChunkedUpload(any())).thenReturn("multipart-upload-id");
+        UploadSession uploadSession = ImmutableUploadSession.builder()
+                                                            .fileName("../test.mtar")
+                                                            .size(100L * 1024 * 1024)
+                                                            .chunkSize(10L * 1024 * 1024)
+                                                            .build();
+
+        ResponseEntity<UploadSession> response = testedClass.startUploadSession(SPACE_GUID, NAMESPACE, uploadSession);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        UploadSession result = response.getBody();
+        assertEquals("test.mtar", result.getFileName());
+        assertEquals(10, result.getChunksCount());
+        assertEquals(List.of(), result.getReceivedChunks());
+        ArgumentCaptor<UploadSessionEntry> sessionCaptor = ArgumentCaptor.forClass(UploadSessionEntry.class);
+        Mockito.verify(uploadSessionService)
+               .add(sessionCaptor.capture());
+        assertEquals(result.getId(), sessionCaptor.getValue()
+                                                  .getId());
+        assertEquals("multipart-upload-id", sessionCaptor.getValue()
+                                                         .getMultipartUploadId());
+    }
+
+    @Test
+    void testStartUploadSessionWithFileAboveMaxUploadSize() {
+        UploadSession uploadSession = ImmutableUploadSession.builder()
+                                                            .fileName("test.mtar")
+                                                            .size(MAX_PERMITTED_SIZE + 1)
+                                                            .build();
+
+        assertThrows(ContentException.class, () -> testedClass.startUploadSession(SPACE_GUID, NAMESPACE, uploadSession));
+    }
+
+    @Test
+    void testStartUploadSessionWithInvalidDigest() {
+        UploadSession uploadSession = ImmutableUploadSession.builder()
+                                                            .fileName("test.mtar")
+                                                            .size(1024)
+                                                            .digest("not-a-digest")
+                                                            .build();
+
+        assertThrows(ContentException.class, () -> testedClass.startUploadSession(SPACE_GUID, NAMESPACE, uploadSession));
+    }
+
+    @Test
+    void testUploadChunk() throws Exception {
+        UploadSessionEntry session = mockUploadSession(12L * 1024 * 1024, 5L * 1024 * 1024);
+        when(request.getContentLengthLong()).thenReturn(2L * 1024 * 1024);
+        ServletInputStream content = Mockito.mock(ServletInputStream.class);
+        when(request.getInputStream()).thenReturn(content);
+
+        ResponseEntity<Void> response = testedClass.uploadChunk(request, SPACE_GUID, NAMESPACE, session.getId(), 3);
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        Mockito.verify(fileService)
+               .addChunk(session.toFileEntry(), session.getMultipartUploadId(), 3, 2L * 1024 * 1024, content);
+    }
+
+    @Test
+    void testUploadChunkWithUnexpectedSize() {
+        UploadSessionEntry session = mockUploadSession(12L * 1024 * 1024, 5L * 1024 * 1024);
+        when(request.getContentLengthLong()).thenReturn(1024L);
+
+        assertThrows(ContentException.class, () -> testedClass.uploadChunk(request, SPACE_GUID, NAMESPACE, session.getId(), 1));
+        assertThrows(ContentException.class, () -> testedClass.uploadChunk(request, SPACE_GUID, NAMESPACE, session.getId(), 4));
+    }
+
+    @Test
+    void testCommitUploadSession() throws Exception {
+        UploadSessionEntry session = mockUploadSession(12L * 1024 * 1024, 5L * 1024 * 1024);
+        FileEntry fileEntry = createFileEntry("test.mtar");
+        when(fileService.completeChunkedUpload(session.toFileEntry(), session.getMultipartUploadId(), 3)).thenReturn(fileEntry);
+
+        ResponseEntity<FileMetadata> response = testedClass.commitUploadSession(SPACE_GUID, NAMESPACE, session.getId());
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertMetadataMatches(fileEntry, response.getBody());
+    }
+
+    @Test
+    void testCommitUploadSessionWhichIsAlreadyBeingCommitted() throws Exception {
+        UploadSessionEntry session = mockUploadSession(12L * 1024 * 1024, 5L * 1024 * 1024);
+        UploadSessionsQuery query = uploadSessionService.createQuery();
+        when(query.delete()).thenReturn(0);
+
+        assertThrows(ConflictException.class, () -> testedClass.commitUploadSession(SPACE_GUID, NAMESPACE, session.getId()));
+        Mockito.verify(fileService, Mockito.never())
+               .completeChunkedUpload(any(), any(), Mockito.anyInt());
+    }
+
+    @Test
+    void testCommitUploadSessionRestoresSessionOnFailure() throws Exception {
+        UploadSessionEntry session = mockUploadSession(12L * 1024 * 1024, 5L * 1024 * 1024);
+        Mockito.when(fileService.completeChunkedUpload(session.toFileEntry(), session.getMultipartUploadId(), 3))
+               .thenThrow(new FileStorageException("expected exception"));
+
+        assertThrows(SLException.class, () -> testedClass.commitUploadSession(SPACE_GUID, NAMESPACE, session.getId()));
+        Mockito.verify(uploadSessionService)
+               .add(session);
+    }
+
+    @Test
+    void testGetUploadSessionWhichDoesNotExist() {
+        UploadSessionsQuery query = Mockito.mock(UploadSessionsQuery.class, Answers.RETURNS_SELF);
+        when(query.list()).thenReturn(Collections.emptyList());
+        when(uploadSessionService.createQuery()).thenReturn(query);
+
+        assertThrows(NotFoundException.class, () -> testedClass.getUploadSession(SPACE_GUID, NAMESPACE, "not-existing"));
+    }
+
+    private UploadSessionEntry mockUploadSession(long fileSize, long chunkSize) {
+        UploadSessionEntry session = ImmutableUploadSessionEntry.builder()
+                                                                .id(UUID.randomUUID()
+                                                                        .toString())
+                                                                .user("user1")
+                                                                .spaceGuid(SPACE_GUID)
+                                                                .namespace(NAMESPACE)
+                                                                .fileName("test.mtar")
+                                                                .fileSize(fileSize)
+                                                                .chunkSize(chunkSize)
+                                                                .fileId(UUID.randomUUID()
+                                                                            .toString())
+                                                                .multipartUploadId("multipart-upload-id")
+                                                                .addedAt(LocalDateTime.now())
+                                                                .build();
+        UploadSessionsQuery query = Mockito.mock(UploadSessionsQuery.class, Answers.RETURNS_SELF);
+        when(query.list()).thenReturn(List.of(session));
+        when(query.delete()).thenReturn(1);
+        when(uploadSessionService.createQuery()).thenReturn(query);
+        return session;
+    }
+
     private void assertMetadataMatches(FileEntry expected, FileMetadata actual) {
         assertEquals(expected.getId(), actual.getId());
         assertEquals(expected.getName(), actual.getName());
@@ -9,7 +9,9 @@ import static org.mockito.Mockito.when;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
+import org.cloudfoundry.multiapps.controller.core.util.ApplicationConfiguration;
 import org.cloudfoundry.multiapps.controller.persistence.services.ObjectStoreFileStorage;
 import org.cloudfoundry.multiapps.controller.persistence.util.EnvironmentServicesFinder;
 import org.cloudfoundry.multiapps.controller.web.Constants;
@@ -37,6 +39,10 @@ class ObjectStoreFileStorageFactoryBeanTest {
     private EnvironmentServicesFinder environmentServicesFinder;
     @Mock
     private ObjectStoreFileStorage objectStoreFileStorage;
+    @Mock
+    private ApplicationConfiguration configuration;
+    @Mock
+    private ExecutorService objectStoreExecutor;
 
     @BeforeEach
     void setUp() throws Exception {
@@ -88,7 +94,7 @@ class ObjectStoreFileStorageFactoryBeanTest {
     private class ObjectStoreFileStorageFactoryBeanMock extends ObjectStoreFileStorageFactoryBean {
 
         public ObjectStoreFileStorageFactoryBeanMock(String serviceName, EnvironmentServicesFinder environmentServicesFinder) {
-            super(serviceName, environmentServicesFinder);
+            super(serviceName, environmentServicesFinder, configuration, objectStoreExecutor);
         }
 
         @Override
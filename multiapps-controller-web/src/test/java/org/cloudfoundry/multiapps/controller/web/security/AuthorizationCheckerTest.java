@@ -1,9 +1,13 @@
 package org.cloudfoundry.multiapps.controller.web.security;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Instant;
@@ -150,6 +154,58 @@ class AuthorizationCheckerTest {
         assertEquals(HttpStatus.NOT_FOUND, resultException.getStatus());
     }
 
+    @Test
+    void testRolesAreFetchedOncePerSpace() {
+        UUID otherSpaceId = UUID.randomUUID();
+        setUpMocks(EnumSet.of(UserRole.SPACE_DEVELOPER), null);
+        when(rolesGetter.getRoles(otherSpaceId, USER_ID)).thenReturn(EnumSet.of(UserRole.SPACE_AUDITOR));
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(authorizationChecker.checkPermissions(getUserInfo(), SPACE_ID.toString(), false));
+            assertTrue(authorizationChecker.checkPermissions(getUserInfo(), otherSpaceId.toString(), true));
+        }
+        verify(rolesGetter, times(1)).getRoles(SPACE_ID, USER_ID);
+        verify(rolesGetter, times(1)).getRoles(otherSpaceId, USER_ID);
+    }
+
+    @Test
+    void testDeniedPermissionsAreCached() {
+        setUpMocks(Collections.emptySet(), null);
+
+        for (int i = 0; i < 10; i++) {
+            assertFalse(authorizationChecker.checkPermissions(getUserInfo(), SPACE_ID.toString(), true));
+        }
+        verify(rolesGetter, times(1)).getRoles(SPACE_ID, USER_ID);
+    }
+
+    @Test
+    void testSpaceGuidIsResolvedOnce() {
+        setUpMocks(EnumSet.of(UserRole.SPACE_DEVELOPER), null);
+        mockSpace();
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(authorizationChecker.checkPermissions(getUserInfo(), ORG, SPACE, false));
+        }
+        verify(clientFactory, times(1)).createSpaceClient(any());
+    }
+
+    @Test
+    void testSpaceGuidIsResolvedAgainAfterDeniedCheck() {
+        UUID recreatedSpaceId = UUID.randomUUID();
+        setUpMocks(Collections.emptySet(), null);
+        when(rolesGetter.getRoles(recreatedSpaceId, USER_ID)).thenReturn(EnumSet.of(UserRole.SPACE_DEVELOPER));
+        CloudSpace space = getCloudSpace(getOrganization());
+        CloudSpace recreatedSpace = ImmutableCloudSpace.copyOf(space)
+                                                       .withMetadata(ImmutableCloudMetadata.of(recreatedSpaceId));
+        var spaceClient = Mockito.mock(CloudSpaceClient.class);
+        when(spaceClient.getSpace(ORG, SPACE)).thenReturn(space, recreatedSpace);
+        when(clientFactory.createSpaceClient(any())).thenReturn(spaceClient);
+
+        assertFalse(authorizationChecker.checkPermissions(getUserInfo(), ORG, SPACE, false));
+        assertTrue(authorizationChecker.checkPermissions(getUserInfo(), ORG, SPACE, false));
+        verify(clientFactory, times(2)).createSpaceClient(any());
+    }
+
     private void setUpMocks(Set<UserRole> spaceRoles, Exception exception) {
         var token = Mockito.mock(OAuth2AccessTokenWithAdditionalInfo.class);
         when(tokenService.getToken(anyString())).thenReturn(token);
@@ -0,0 +1,77 @@
+package org.cloudfoundry.multiapps.controller.web.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import org.cloudfoundry.multiapps.controller.core.util.ApplicationConfiguration;
+import org.cloudfoundry.multiapps.controller.web.util.RateLimiterProvider.EndpointClass;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class RateLimiterProviderTest {
+
+    private static final String IP_ADDRESS = "10.0.0.1";
+
+    @Mock
+    private ApplicationConfiguration configuration;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this)
+                          .close();
+        when(configuration.getRateLimitUploadsPerHour()).thenReturn(10);
+        when(configuration.getRateLimitPollingPerHour()).thenReturn(1000);
+        when(configuration.getRateLimitMutationsPerHour()).thenReturn(100);
+    }
+
+    @Test
+    void testRateLimiterIsReusedForTheSameClient() {
+        RateLimiterProvider rateLimiterProvider = new RateLimiterProvider(configuration);
+
+        assertSame(rateLimiterProvider.getRateLimiter(IP_ADDRESS, EndpointClass.POLLING),
+                   rateLimiterProvider.getRateLimiter(IP_ADDRESS, EndpointClass.POLLING));
+        assertNotSame(rateLimiterProvider.getRateLimiter(IP_ADDRESS, EndpointClass.POLLING),
+                      rateLimiterProvider.getRateLimiter(IP_ADDRESS, EndpointClass.MUTATION));
+    }
+
+    @Test
+    void testOverallRateLimiterIsSharedByAllEndpointClasses() {
+        RateLimiterProvider rateLimiterProvider = new RateLimiterProvider(configuration);
+
+        assertSame(rateLimiterProvider.getRateLimiter(IP_ADDRESS), rateLimiterProvider.getRateLimiter(IP_ADDRESS));
+        assertEquals(RateLimiterProvider.RATE_LIMIT_PER_HOUR, rateLimiterProvider.getRateLimiter(IP_ADDRESS)
+                                                                                 .getRateLimiterConfig()
+                                                                                 .getLimitForPeriod());
+    }
+
+    @Test
+    void testLimitsAreConfiguredPerEndpointClass() {
+        RateLimiterProvider rateLimiterProvider = new RateLimiterProvider(configuration);
+
+        assertEquals(10, getLimitForPeriod(rateLimiterProvider, EndpointClass.UPLOAD));
+        assertEquals(1000, getLimitForPeriod(rateLimiterProvider, EndpointClass.POLLING));
+        assertEquals(100, getLimitForPeriod(rateLimiterProvider, EndpointClass.MUTATION));
+    }
+
+    @Test
+    void testNumberOfRateLimitersIsBounded() {
+        RateLimiterProvider rateLimiterProvider = new RateLimiterProvider(configuration, 100);
+
+        for (int i = 0; i < 10000; i++) {
+            rateLimiterProvider.getRateLimiter("10.0." + (i / 256) + "." + (i % 256), EndpointClass.POLLING);
+        }
+        assertTrue(rateLimiterProvider.getRateLimitersCount(EndpointClass.POLLING) <= 100);
+    }
+
+    private static int getLimitForPeriod(RateLimiterProvider rateLimiterProvider, EndpointClass endpointClass) {
+        return rateLimiterProvider.getRateLimiter(IP_ADDRESS, endpointClass)
+                                  .getRateLimiterConfig()
+                                  .getLimitForPeriod();
+    }
+
+}
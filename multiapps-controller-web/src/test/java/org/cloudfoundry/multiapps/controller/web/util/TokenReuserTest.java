@@ -1,5 +1,6 @@
 package org.cloudfoundry.multiapps.controller.web.util;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -127,6 +128,40 @@ class TokenReuserTest {
         assertTrue(token.isPresent());
     }
 
+    @Test
+    void testReusableTokenIsNotQueriedAgain() {
+        AccessTokenQuery accessTokenQuery = getMockedAccessTokenQuery();
+        LocalDateTime datePlus5Mins = ZonedDateTime.now()
+                                                   .plus(Duration.ofSeconds(5 * 60))
+                                                   .toLocalDateTime();
+        AccessToken accessToken = getMockedAccessToken(datePlus5Mins);
+        Mockito.when(accessTokenQuery.list())
+               .thenReturn(List.of(accessToken));
+        OAuth2AccessTokenWithAdditionalInfo oauth2AccessToken = getMockedOauth2AccessToken(ZonedDateTime.now()
+                                                                                                        .toLocalDateTime());
+        tokenReuser.getTokenWithExpirationAfterOrReuseCurrent("test_user", 100, oauth2AccessToken);
+        Optional<AccessToken> token = tokenReuser.getTokenWithExpirationAfterOrReuseCurrent("test_user", 100, oauth2AccessToken);
+        assertEquals(accessToken, token.get());
+        Mockito.verify(accessTokenQuery, Mockito.times(1))
+               .list();
+    }
+
+    @Test
+    void testReusableTokenIsQueriedAgainWhenNotValidLongEnough() {
+        AccessTokenQuery accessTokenQuery = getMockedAccessTokenQuery();
+        LocalDateTime datePlus5Mins = ZonedDateTime.now()
+                                                   .plus(Duration.ofSeconds(5 * 60))
+                                                   .toLocalDateTime();
+        AccessToken accessToken = getMockedAccessToken(datePlus5Mins);
+        Mockito.when(accessTokenQuery.list())
+               .thenReturn(List.of(accessToken));
+        tokenReuser.getTokenWithExpirationAfter("test_user", 100);
+        Optional<AccessToken> token = tokenReuser.getTokenWithExpirationAfter("test_user", 10 * 60);
+        assertTrue(token.isEmpty());
+        Mockito.verify(accessTokenQuery, Mockito.times(2))
+               .list();
+    }
+
     private AccessTokenQuery getMockedAccessTokenQuery() {
         AccessTokenQuery accessTokenQuery = Mockito.mock(AccessTokenQuery.class);
         Mockito.when(accessTokenQuery.username(anyString()))